@@ -0,0 +1,101 @@
+package main.io;
+
+import main.mesh.Adjacency;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Reader of the BINARY mode mesh files. The file is memory mapped and read in the order of the ASCII mode file:
+ * the parameters are text lines ("name = value", terminated by a new line), and each block of numbers follows
+ * directly after the line of its count parameter:
+ * <ul>
+ * <li>coordinates: x, y, z of each point as little-endian 64-bit doubles,</li>
+ * <li>integer rows (elements, boundary faces): numRows + 1 row start offsets followed by the integers of all rows,
+ * all as little-endian 32-bit integers.</li>
+ * </ul>
+ * The files are limited to 2 GB, the size of a single memory map. The mapping is released by close(), after which
+ * the reader must not be used.
+ */
+public class BinaryDataFileReader implements MeshFileReader {
+    private MappedByteBuffer buffer;
+    private final byte[] commentBytes;
+
+    public BinaryDataFileReader(File file, String commentStr) throws FileNotFoundException {
+        this.buffer = DataFileReader.map(file);
+        this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.commentBytes = DataFileReader.commentBytes(commentStr);
+    }
+
+    /**
+     * @return true if the "mode" parameter in the header of the file is BINARY.
+     */
+    static boolean isBinary(File file, String commentStr) throws FileNotFoundException {
+        MappedByteBuffer buffer = DataFileReader.map(file);
+        byte[] commentBytes = DataFileReader.commentBytes(commentStr);
+        try {
+            String line;
+            while ((line = DataFileReader.nextLine(buffer, commentBytes)) != null && line.contains("=")) {
+                String[] tokens = line.split("=");
+                if (tokens[0].trim().equals("mode"))
+                    return tokens[1].trim().equals("BINARY");
+            }
+
+            return false;
+        } finally {
+            DataFileReader.unmap(buffer);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (buffer != null) {
+            DataFileReader.unmap(buffer);
+            buffer = null;
+        }
+    }
+
+    @Override
+    public String readParameter(String param) {
+        String line = DataFileReader.nextLine(buffer, commentBytes);
+        String[] tokens = line == null ? new String[]{""} : line.split("=");
+        if (!tokens[0].trim().equals(param) || tokens.length < 2)
+            throw new IllegalArgumentException("The expected parameter \"" + param + "\" does not exist at the location.");
+
+        return tokens[1].trim();
+    }
+
+    @Override
+    public double[] readCoordinates(int numPoints) {
+        double[] coordinates = new double[numPoints * 3];
+        require(coordinates.length * Double.BYTES);
+        buffer.asDoubleBuffer().get(coordinates);
+        buffer.position(buffer.position() + coordinates.length * Double.BYTES);
+
+        return coordinates;
+    }
+
+    @Override
+    public Adjacency readIntRows(int numRows) {
+        int[] start = readInts(numRows + 1);
+        int[] entries = readInts(start[numRows]);
+
+        return new Adjacency(start, entries);
+    }
+
+    private int[] readInts(int count) {
+        int[] ints = new int[count];
+        require(count * Integer.BYTES);
+        buffer.asIntBuffer().get(ints);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+
+        return ints;
+    }
+
+    private void require(int numBytes) {
+        if (numBytes < 0 || buffer.remaining() < numBytes)
+            throw new IllegalStateException("Unexpected end of the binary file.");
+    }
+}
@@ -0,0 +1,85 @@
+package main.io;
+
+import main.mesh.Adjacency;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writer of the BINARY mode files, in the layout read by BinaryDataFileReader.
+ */
+public class BinaryDataFileWriter implements AutoCloseable {
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    public BinaryDataFileWriter(File file) {
+        try {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.buffer = ByteBuffer.allocateDirect(BLOCK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public void writeParameter(String param, Object value) {
+        byte[] line = (param + " = " + value + "\n").getBytes(StandardCharsets.UTF_8);
+        reserve(line.length);
+        buffer.put(line);
+    }
+
+    public void writeCoordinates(double[] coordinates) {
+        for (double coordinate : coordinates) {
+            reserve(Double.BYTES);
+            buffer.putDouble(coordinate);
+        }
+    }
+
+    public void writeIntRows(Adjacency rows) {
+        writeInts(rows.start);
+        writeInts(rows.entries);
+    }
+
+    private void writeInts(int[] ints) {
+        for (int value : ints) {
+            reserve(Integer.BYTES);
+            buffer.putInt(value);
+        }
+    }
+
+    private void reserve(int numBytes) {
+        if (buffer.remaining() < numBytes) flush();
+        if (buffer.remaining() < numBytes)
+            throw new IllegalArgumentException("The line is too long.");
+    }
+
+    private void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
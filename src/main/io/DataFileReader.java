@@ -1,27 +1,138 @@
 package main.io;
 
 import main.geom.Point;
+import main.mesh.Adjacency;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 
-public class DataFileReader implements AutoCloseable {
+/**
+ * Reader of the ASCII data files. The file is memory mapped. The parameters and single lines are read sequentially,
+ * whereas the bulk reads (readCoordinates and readIntRows) split the lines into chunks and parse them in parallel.
+ * Both ignore the text of a line from the first occurrence of the comment string (matched literally, not as a
+ * regular expression). The files are limited to 2 GB, the size of a single memory map. The mapping is released by
+ * close(), after which the reader must not be used.
+ */
+public class DataFileReader implements MeshFileReader {
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+    private static final int MAX_CHUNK_SIZE = 1 << 26;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final double[] POWERS_OF_10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
 
-    private final Scanner fileScanner;
-    private final String commentStr;
+    private MappedByteBuffer buffer;
+    private final byte[] commentBytes;
 
     public DataFileReader(File file) throws FileNotFoundException {
         this(file, null);
     }
 
     public DataFileReader(File file, String commentStr) throws FileNotFoundException {
-        this.fileScanner = new Scanner(file);
-        this.commentStr = commentStr;
+        this.buffer = map(file);
+        this.commentBytes = commentBytes(commentStr);
     }
 
+    static byte[] commentBytes(String commentStr) {
+        return commentStr == null ? null : commentStr.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static MappedByteBuffer map(File file) throws FileNotFoundException {
+        if (!file.isFile())
+            throw new FileNotFoundException("The file " + file + " does not exist.");
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Files larger than 2 GB are not supported.");
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Releases the mapping now instead of when the buffer is garbage collected, which keeps the file open (and
+     * locked on Windows) until then. The buffer must not be accessed afterwards. If the JDK does not allow it, the
+     * mapping is left to the garbage collector.
+     */
+    static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // released by the garbage collector
+        }
+    }
+
+    /**
+     * Read the next line from the buffer ignoring blank lines and text after comment string.
+     *
+     * @param commentBytes Comment string (see commentBytes()), or null.
+     * @return Next valid line, or null at the end of the buffer.
+     */
+    static String nextLine(MappedByteBuffer buffer, byte[] commentBytes) {
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            int lineEnd = lineEnd(buffer, start);
+
+            byte[] bytes = new byte[contentEnd(buffer, start, lineEnd, commentBytes) - start];
+            buffer.get(bytes);
+            buffer.position(Math.min(lineEnd + 1, buffer.limit()));
+
+            String line = new String(bytes, StandardCharsets.UTF_8).trim();
+            if (!line.isEmpty())
+                return line;
+        }
+
+        return null;
+    }
+
+    private static int lineEnd(MappedByteBuffer buffer, int from) {
+        int end = from;
+        while (end < buffer.limit() && buffer.get(end) != '\n') end++;
+
+        return end;
+    }
+
+    /**
+     * @return End of the line without the comment, the same for the single lines and the bulk reads.
+     */
+    private static int contentEnd(MappedByteBuffer buffer, int from, int lineEnd, byte[] commentBytes) {
+        if (commentBytes == null) return lineEnd;
+
+        for (int i = from; i <= lineEnd - commentBytes.length; i++) {
+            int k = 0;
+            while (k < commentBytes.length && buffer.get(i + k) == commentBytes[k]) k++;
+            if (k == commentBytes.length) return i;
+        }
+
+        return lineEnd;
+    }
+
+    @Override
     public void close() {
-        fileScanner.close();
+        if (buffer != null) {
+            unmap(buffer);
+            buffer = null;
+        }
     }
 
     /**
@@ -30,18 +141,14 @@ public class DataFileReader implements AutoCloseable {
      * @return Next valid line.
      */
     private String nextLine() {
-        String nextLine = fileScanner.nextLine().trim();
-
-        if (commentStr != null)
-            nextLine = nextLine.split(commentStr)[0].trim();
-
-        // Since blank lines are ignored
-        if (nextLine.length() == 0)
-            nextLine = nextLine();
+        String line = nextLine(buffer, commentBytes);
+        if (line == null)
+            throw new NoSuchElementException("No line found");
 
-        return nextLine;
+        return line;
     }
 
+    @Override
     public String readParameter(String param) {
         String[] tokens = nextLine().split("=");
         if (!tokens[0].trim().equals(param))
@@ -50,6 +157,7 @@ public class DataFileReader implements AutoCloseable {
         return tokens[1].trim();
     }
 
+    @Override
     public int readIntParameter(String param) {
         return Integer.parseInt(readParameter(param));
     }
@@ -76,4 +184,248 @@ public class DataFileReader implements AutoCloseable {
 
         return intArray;
     }
+
+    @Override
+    public double[] readCoordinates(int numPoints) {
+        double[] coordinates = new double[numPoints * 3];
+        forEachLine(numPoints, (row, tokenizer) -> {
+            coordinates[row * 3] = tokenizer.nextDouble();
+            coordinates[row * 3 + 1] = tokenizer.nextDouble();
+            coordinates[row * 3 + 2] = tokenizer.nextDouble();
+        });
+
+        return coordinates;
+    }
+
+    @Override
+    public Adjacency readIntRows(int numRows) {
+        int position = buffer.position();
+        int[] start = new int[numRows + 1];
+        forEachLine(numRows, (row, tokenizer) -> start[row + 1] = tokenizer.countTokens());
+        Arrays.parallelPrefix(start, Integer::sum);
+
+        buffer.position(position);
+        int[] entries = new int[start[numRows]];
+        forEachLine(numRows, (row, tokenizer) -> {
+            for (int i = start[row]; i < start[row + 1]; i++) {
+                entries[i] = tokenizer.nextInt();
+            }
+        });
+
+        return new Adjacency(start, entries);
+    }
+
+    private interface LineParser {
+        void parse(int row, Tokenizer tokenizer);
+    }
+
+    /**
+     * Parse the next lines (ignoring blank lines and comments) in parallel and move past them.
+     * The remaining part of the file is split into chunks on line boundaries; the data lines in each chunk are
+     * counted to find the row number of the first line of every chunk before the chunks are parsed.
+     * The chunks are taken in rounds of growing size, so that only a little more than the required lines is scanned.
+     *
+     * @param numLines Number of lines to parse.
+     * @param parser   Parser of a single line, called with the row number of the line.
+     */
+    private void forEachLine(int numLines, LineParser parser) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<int[]> chunks = new ArrayList<>(); // {from, to, firstRow}
+        int numFound = 0;
+        int position = buffer.position();
+        int chunkSize = MIN_CHUNK_SIZE;
+        while (numFound < numLines) {
+            if (position >= buffer.limit())
+                throw new NoSuchElementException("No line found");
+
+            int[] bounds = new int[threads * CHUNKS_PER_THREAD + 1];
+            bounds[0] = position;
+            for (int c = 1; c < bounds.length; c++) {
+                int end = (int) Math.min((long) bounds[c - 1] + chunkSize, buffer.limit());
+                bounds[c] = end < buffer.limit() ? Math.min(lineEnd(buffer, end) + 1, buffer.limit()) : end;
+            }
+            int[] counts = IntStream.range(0, bounds.length - 1).parallel()
+                    .map(c -> countDataLines(bounds[c], bounds[c + 1]))
+                    .toArray();
+
+            for (int c = 0; c < counts.length && numFound < numLines && bounds[c] < bounds[c + 1]; c++) {
+                chunks.add(new int[]{bounds[c], bounds[c + 1], numFound});
+                numFound += counts[c];
+                position = bounds[c + 1];
+            }
+            chunkSize = Math.min(chunkSize * 2, MAX_CHUNK_SIZE);
+        }
+
+        int end = chunks.parallelStream()
+                .mapToInt(chunk -> parseChunk(chunk[0], chunk[1], chunk[2], numLines, parser))
+                .max().orElse(buffer.position());
+        buffer.position(end);
+    }
+
+    /**
+     * @return Position after the last parsed line of the chunk.
+     */
+    private int parseChunk(int from, int to, int firstRow, int numLines, LineParser parser) {
+        Tokenizer tokenizer = new Tokenizer();
+        int row = firstRow;
+        int position = from;
+        while (position < to && row < numLines) {
+            int lineEnd = lineEnd(buffer, position);
+            tokenizer.reset(position, contentEnd(buffer, position, lineEnd, commentBytes));
+            position = Math.min(lineEnd + 1, buffer.limit());
+            if (tokenizer.hasNext()) {
+                parser.parse(row, tokenizer);
+                row++;
+            }
+        }
+
+        return position;
+    }
+
+    private int countDataLines(int from, int to) {
+        Tokenizer tokenizer = new Tokenizer();
+        int count = 0;
+        int position = from;
+        while (position < to) {
+            int lineEnd = lineEnd(buffer, position);
+            tokenizer.reset(position, contentEnd(buffer, position, lineEnd, commentBytes));
+            if (tokenizer.hasNext()) count++;
+            position = lineEnd + 1;
+        }
+
+        return count;
+    }
+
+    /**
+     * Allocation-free parser of the whitespace separated numbers of a line.
+     * The doubles are parsed exactly (as Double.parseDouble) with the fast path of Clinger's algorithm when the
+     * digits fit in 53 bits and the decimal exponent is small, otherwise with Double.parseDouble.
+     */
+    private final class Tokenizer {
+        private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+        private int position;
+        private int end;
+
+        void reset(int from, int to) {
+            this.position = from;
+            this.end = to;
+        }
+
+        boolean hasNext() {
+            while (position < end && isWhitespace(buffer.get(position))) position++;
+            return position < end;
+        }
+
+        int countTokens() {
+            int count = 0;
+            while (hasNext()) {
+                while (position < end && !isWhitespace(buffer.get(position))) position++;
+                count++;
+            }
+
+            return count;
+        }
+
+        int nextInt() {
+            int start = token();
+            int i = start;
+            boolean negative = buffer.get(i) == '-';
+            if (negative || buffer.get(i) == '+') i++;
+
+            long value = 0;
+            while (i < position && isDigit(buffer.get(i)) && value <= Integer.MAX_VALUE) {
+                value = value * 10 + (buffer.get(i) - '0');
+                i++;
+            }
+            if (i != position || i == start + (negative ? 1 : 0) || value > Integer.MAX_VALUE + (negative ? 1L : 0L))
+                return Integer.parseInt(text(start)); // throws the exception of the invalid number
+
+            return (int) (negative ? -value : value);
+        }
+
+        double nextDouble() {
+            int start = token();
+            int i = start;
+            boolean negative = buffer.get(i) == '-';
+            if (negative || buffer.get(i) == '+') i++;
+
+            long mantissa = 0;
+            int exponent = 0;
+            int numDigits = 0;
+            boolean exact = true;
+            while (i < position && isDigit(buffer.get(i))) {
+                exact &= accumulate(mantissa, buffer.get(i));
+                if (exact) mantissa = mantissa * 10 + (buffer.get(i) - '0');
+                numDigits++;
+                i++;
+            }
+            if (i < position && buffer.get(i) == '.') {
+                i++;
+                while (i < position && isDigit(buffer.get(i))) {
+                    exact &= accumulate(mantissa, buffer.get(i));
+                    if (exact) mantissa = mantissa * 10 + (buffer.get(i) - '0');
+                    exponent--;
+                    numDigits++;
+                    i++;
+                }
+            }
+            if (i < position && (buffer.get(i) == 'e' || buffer.get(i) == 'E')) {
+                i++;
+                boolean negativeExponent = i < position && buffer.get(i) == '-';
+                if (i < position && (negativeExponent || buffer.get(i) == '+')) i++;
+                int e = 0;
+                int expStart = i;
+                while (i < position && isDigit(buffer.get(i)) && e < 1000) {
+                    e = e * 10 + (buffer.get(i) - '0');
+                    i++;
+                }
+                exact &= i > expStart;
+                exponent += negativeExponent ? -e : e;
+            }
+
+            if (!exact || i != position || numDigits == 0 || Math.abs(exponent) >= POWERS_OF_10.length)
+                return Double.parseDouble(text(start));
+
+            double value = exponent >= 0
+                    ? mantissa * POWERS_OF_10[exponent]
+                    : mantissa / POWERS_OF_10[-exponent];
+
+            return negative ? -value : value;
+        }
+
+        private boolean accumulate(long mantissa, byte digit) {
+            return mantissa <= (MAX_EXACT_MANTISSA - (digit - '0')) / 10;
+        }
+
+        /**
+         * @return Start of the next token, the position is moved to the end of the token.
+         */
+        private int token() {
+            if (!hasNext())
+                throw new NoSuchElementException("The line does not contain enough numbers.");
+
+            int start = position;
+            while (position < end && !isWhitespace(buffer.get(position))) position++;
+
+            return start;
+        }
+
+        private String text(int start) {
+            byte[] bytes = new byte[position - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(start + i);
+            }
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
 }
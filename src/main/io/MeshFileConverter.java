@@ -0,0 +1,74 @@
+package main.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+
+/**
+ * Converts the ASCII mode mesh files to BINARY mode. The structured (.cfds) and unstructured (.cfdu) files are
+ * distinguished by their extension.
+ * Usage: MeshFileConverter asciiMeshFile binaryMeshFile
+ */
+public class MeshFileConverter {
+
+    public static void main(String[] args) throws FileNotFoundException {
+        if (args.length != 2)
+            throw new IllegalArgumentException("Usage: MeshFileConverter asciiMeshFile binaryMeshFile");
+
+        toBinary(new File(args[0]), new File(args[1]));
+    }
+
+    public static void toBinary(File asciiFile, File binaryFile) throws FileNotFoundException {
+        String name = asciiFile.getName();
+        try (DataFileReader reader = new DataFileReader(asciiFile, "%");
+             BinaryDataFileWriter writer = new BinaryDataFileWriter(binaryFile)) {
+            int dim = reader.readIntParameter("dimension");
+            String mode = reader.readParameter("mode");
+            if (!mode.equals("ASCII"))
+                throw new IllegalArgumentException("The mesh file is not in ASCII mode.");
+
+            writer.writeParameter("dimension", dim);
+            writer.writeParameter("mode", "BINARY");
+
+            if (name.endsWith(".cfds")) {
+                convertStructured(reader, writer, dim);
+            } else if (name.endsWith(".cfdu")) {
+                convertUnstructured(reader, writer);
+            } else {
+                throw new IllegalArgumentException("The mesh file extension must be .cfds or .cfdu.");
+            }
+        }
+    }
+
+    private static void convertStructured(DataFileReader reader, BinaryDataFileWriter writer, int dim) {
+        String[] params = {"xi", "eta", "zeta"};
+        if (dim < 1 || dim > params.length)
+            throw new IllegalArgumentException("The mesh file dimension must be 1, 2 or 3.");
+
+        int numPoints = 1;
+        for (int d = 0; d < dim; d++) {
+            int num = reader.readIntParameter(params[d]);
+            writer.writeParameter(params[d], num);
+            numPoints *= num;
+        }
+        writer.writeCoordinates(reader.readCoordinates(numPoints));
+    }
+
+    private static void convertUnstructured(DataFileReader reader, BinaryDataFileWriter writer) {
+        int numPoints = reader.readIntParameter("points");
+        writer.writeParameter("points", numPoints);
+        writer.writeCoordinates(reader.readCoordinates(numPoints));
+
+        int numElements = reader.readIntParameter("elements");
+        writer.writeParameter("elements", numElements);
+        writer.writeIntRows(reader.readIntRows(numElements));
+
+        int numBoundaries = reader.readIntParameter("boundaries");
+        writer.writeParameter("boundaries", numBoundaries);
+        for (int bi = 0; bi < numBoundaries; bi++) {
+            writer.writeParameter("bname", reader.readParameter("bname"));
+            int numBndFaces = reader.readIntParameter("bfaces");
+            writer.writeParameter("bfaces", numBndFaces);
+            writer.writeIntRows(reader.readIntRows(numBndFaces));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package main.io;
+
+import main.mesh.Adjacency;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+
+/**
+ * Reader of the mesh files (.cfds and .cfdu), which are either in ASCII or in BINARY mode.
+ */
+public interface MeshFileReader extends AutoCloseable {
+
+    /**
+     * Open the mesh file with the reader of its mode, as given by the "mode" parameter of the header.
+     *
+     * @param file       Mesh file.
+     * @param commentStr Start of the comments in the parameter lines.
+     * @return Reader positioned at the start of the file.
+     */
+    static MeshFileReader open(File file, String commentStr) throws FileNotFoundException {
+        if (BinaryDataFileReader.isBinary(file, commentStr))
+            return new BinaryDataFileReader(file, commentStr);
+        else
+            return new DataFileReader(file, commentStr);
+    }
+
+    String readParameter(String param);
+
+    default int readIntParameter(String param) {
+        return Integer.parseInt(readParameter(param));
+    }
+
+    /**
+     * @param numPoints Number of points to read.
+     * @return Coordinates of the points (x0, y0, z0, x1, y1, z1, ...).
+     */
+    double[] readCoordinates(int numPoints);
+
+    /**
+     * @param numRows Number of rows to read, for example elements or boundary faces.
+     * @return The integers of each row, e.g. VTK type followed by the node indices of an element.
+     */
+    Adjacency readIntRows(int numRows);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,380 @@
+package main.io;
+
+import main.mesh.Adjacency;
+import main.mesh.CachedMesh;
+import main.mesh.GeometryStore;
+import main.mesh.Mesh;
+import main.mesh.MeshArrays;
+import main.physics.bc.BoundaryCondition;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * On-disk cache of the preprocessed mesh and of the preprocessed arrays (stencils and least-squares coefficients)
+ * of the solver components, so that repeated runs on the same mesh skip the whole preprocessing.
+ * The mesh entry holds the MeshArrays of the mesh (connectivity, colorings and geometry), from which mesh() restores
+ * a CachedMesh without reading the mesh file or constructing the mesh.
+ * The entries are stored in a sub-directory named by the SHA-256 hash of the format version, the mesh file and the
+ * options, which describe how the mesh is constructed from the file (for example the mesh class and the
+ * CellOrdering of a RenumberedMesh). The key is therefore known before the mesh is constructed. The name of each
+ * entry identifies the component and its stencil options. The entries are little-endian binary files which are read
+ * into memory (not mapped, so that they can be replaced while the solver runs), and they are written to a temporary
+ * file and moved in place, so that concurrent runs can share the cache. An entry whose header or lengths do not
+ * match the current mesh (truncated, or written by another version) is computed again and overwritten.
+ */
+public class PreprocessingCache {
+    private static final int ADJACENCY = 0x41444a31; // "ADJ1"
+    private static final int DOUBLES = 0x44424c31; // "DBL1"
+    private static final int MESH = 0x4d534831; // "MSH1"
+    /**
+     * To be incremented whenever the layout of an entry or of a cached array changes.
+     */
+    private static final int FORMAT_VERSION = 3;
+    private static final PreprocessingCache DISABLED = new PreprocessingCache();
+
+    private final Path directory;
+
+    private PreprocessingCache() {
+        this.directory = null;
+    }
+
+    /**
+     * @param cacheDirectory Directory in which the cache entries of all meshes are stored.
+     * @param meshFile       File from which the mesh is constructed.
+     * @param options        Options of the construction of the mesh, which the mesh and the entries depend on.
+     */
+    public PreprocessingCache(File cacheDirectory, File meshFile, String options) throws FileNotFoundException {
+        this.directory = cacheDirectory.toPath().resolve(key(meshFile, options));
+    }
+
+    /**
+     * @return Cache which does not store anything, the arrays are always computed.
+     */
+    public static PreprocessingCache disabled() {
+        return DISABLED;
+    }
+
+    private static String key(File meshFile, String options) throws FileNotFoundException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(FORMAT_VERSION).flip());
+        MappedByteBuffer meshBuffer = DataFileReader.map(meshFile);
+        try {
+            digest.update(meshBuffer);
+        } finally {
+            DataFileReader.unmap(meshBuffer);
+        }
+        digest.update(options.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * @param numVars   Number of variables of the cells and faces.
+     * @param bcs       Boundary conditions of the boundaries of a restored mesh, by the boundary name.
+     * @param construct Constructs the mesh from the mesh file with the options of the cache, if the mesh is not in
+     *                  the cache. Its faces must be numbered by Mesh.setAllFaceIndices().
+     * @return Mesh restored from the cache, or the constructed mesh.
+     */
+    public Mesh mesh(int numVars, Map<String, BoundaryCondition> bcs, MeshConstructor construct)
+            throws FileNotFoundException {
+        if (directory == null) return construct.construct();
+
+        Path file = directory.resolve("mesh.bin");
+        if (Files.isRegularFile(file)) {
+            MeshArrays arrays = readMesh(file);
+            if (arrays != null) return new CachedMesh(arrays, numVars, bcs);
+        }
+
+        Mesh mesh = construct.construct();
+        MeshArrays arrays = MeshArrays.of(mesh);
+        int[][] intArrays = intArrays(arrays);
+        double[][] doubleArrays = doubleArrays(arrays);
+        byte[][] names = new byte[arrays.boundaryNames.length][];
+        long numBytes = Integer.BYTES * 3;
+        for (int[] array : intArrays) numBytes += Integer.BYTES * (1L + array.length);
+        for (double[] array : doubleArrays) numBytes += Integer.BYTES + Double.BYTES * (long) array.length;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = arrays.boundaryNames[i].getBytes(StandardCharsets.UTF_8);
+            numBytes += Integer.BYTES + names[i].length;
+        }
+
+        ByteBuffer buffer = allocate(numBytes);
+        buffer.putInt(MESH).putInt(FORMAT_VERSION);
+        for (int[] array : intArrays) {
+            buffer.putInt(array.length);
+            buffer.asIntBuffer().put(array);
+            buffer.position(buffer.position() + Integer.BYTES * array.length);
+        }
+        for (double[] array : doubleArrays) {
+            buffer.putInt(array.length);
+            buffer.asDoubleBuffer().put(array);
+            buffer.position(buffer.position() + Double.BYTES * array.length);
+        }
+        buffer.putInt(names.length);
+        for (byte[] name : names) {
+            buffer.putInt(name.length).put(name);
+        }
+        write(file, buffer);
+
+        return mesh;
+    }
+
+    /**
+     * @param name    Name of the entry, including the options it depends on.
+     * @param numRows Number of rows of the adjacency, which a cached entry must have.
+     * @param numIds  Number of cell ids (Connectivity.cells.length) of the mesh, the entries must be smaller.
+     * @param compute Computes the adjacency if it is not in the cache.
+     * @return Cached or computed adjacency.
+     */
+    public Adjacency adjacency(String name, int numRows, int numIds, Supplier<Adjacency> compute) {
+        if (directory == null) return compute.get();
+
+        Path file = directory.resolve(name + ".bin");
+        if (Files.isRegularFile(file)) {
+            Adjacency adjacency = readAdjacency(file, numRows, numIds);
+            if (adjacency != null) return adjacency;
+        }
+
+        Adjacency adjacency = compute.get();
+        ByteBuffer buffer = allocate(Integer.BYTES * (4 + adjacency.start.length + adjacency.entries.length));
+        buffer.putInt(ADJACENCY).putInt(FORMAT_VERSION)
+                .putInt(adjacency.start.length).putInt(adjacency.entries.length);
+        buffer.asIntBuffer().put(adjacency.start).put(adjacency.entries);
+        write(file, buffer);
+
+        return adjacency;
+    }
+
+    /**
+     * @param name    Name of the entry, including the options it depends on.
+     * @param length  Length of the array, which a cached entry must have.
+     * @param compute Computes the array if it is not in the cache.
+     * @return Cached or computed array.
+     */
+    public double[] doubles(String name, int length, Supplier<double[]> compute) {
+        if (directory == null) return compute.get();
+
+        Path file = directory.resolve(name + ".bin");
+        if (Files.isRegularFile(file)) {
+            double[] array = readDoubles(file, length);
+            if (array != null) return array;
+        }
+
+        double[] array = compute.get();
+        ByteBuffer buffer = allocate(Integer.BYTES * 3 + Double.BYTES * (long) array.length);
+        buffer.putInt(DOUBLES).putInt(FORMAT_VERSION).putInt(array.length);
+        buffer.asDoubleBuffer().put(array);
+        write(file, buffer);
+
+        return array;
+    }
+
+    /**
+     * @return The cached adjacency, or null if the entry does not match.
+     */
+    private static Adjacency readAdjacency(Path file, int numRows, int numIds) {
+        ByteBuffer buffer = read(file, ADJACENCY, 2);
+        if (buffer == null) return null;
+
+        int startLength = buffer.getInt();
+        int entriesLength = buffer.getInt();
+        if (startLength != numRows + 1 || entriesLength < 0
+                || buffer.remaining() != Integer.BYTES * ((long) startLength + entriesLength)) return null;
+
+        int[] start = new int[startLength];
+        int[] entries = new int[entriesLength];
+        buffer.asIntBuffer().get(start);
+        buffer.position(buffer.position() + start.length * Integer.BYTES);
+        buffer.asIntBuffer().get(entries);
+
+        if (start[0] != 0 || start[numRows] != entriesLength) return null;
+        for (int i = 0; i < numRows; i++) {
+            if (start[i + 1] < start[i]) return null;
+        }
+        for (int entry : entries) {
+            if (entry < 0 || entry >= numIds) return null;
+        }
+
+        return new Adjacency(start, entries);
+    }
+
+    /**
+     * @return The cached array, or null if the entry does not match.
+     */
+    private static double[] readDoubles(Path file, int length) {
+        ByteBuffer buffer = read(file, DOUBLES, 1);
+        if (buffer == null) return null;
+
+        if (buffer.getInt() != length || buffer.remaining() != Double.BYTES * (long) length) return null;
+        double[] array = new double[length];
+        buffer.asDoubleBuffer().get(array);
+
+        return array;
+    }
+
+    /**
+     * Integer arrays of the mesh entry, in the order in which they are stored. They are followed by the arrays of
+     * doubleArrays() and by the boundary names.
+     */
+    private static int[][] intArrays(MeshArrays arrays) {
+        return new int[][]{arrays.cellTypes, arrays.faceTypes, arrays.boundaryStart,
+                arrays.faceNodes.start, arrays.faceNodes.entries,
+                arrays.cellFaces.start, arrays.cellFaces.entries, arrays.cellFaceSigns,
+                arrays.cellNodes.start, arrays.cellNodes.entries, arrays.nodeCells.start, arrays.nodeCells.entries,
+                arrays.faceLeft, arrays.faceRight,
+                arrays.faceColors.start, arrays.faceColors.entries, arrays.cellColors.start, arrays.cellColors.entries};
+    }
+
+    private static double[][] doubleArrays(MeshArrays arrays) {
+        return doubleArrays(arrays.nodeCoordinates, arrays.geometry);
+    }
+
+    private static double[][] doubleArrays(double[] nodeCoordinates, GeometryStore geometry) {
+        return new double[][]{nodeCoordinates, geometry.cellVolume, geometry.cellCentroid,
+                geometry.faceArea, geometry.faceCentroid, geometry.faceNormal,
+                geometry.faceTangent1, geometry.faceTangent2, geometry.faceAreaNormal};
+    }
+
+    /**
+     * @return The cached mesh arrays, or null if the entry is incomplete or inconsistent.
+     */
+    private static MeshArrays readMesh(Path file) {
+        ByteBuffer buffer = read(file, MESH, 0);
+        if (buffer == null) return null;
+
+        try {
+            int[] cellTypes = getInts(buffer);
+            int[] faceTypes = getInts(buffer);
+            int[] boundaryStart = getInts(buffer);
+            Adjacency faceNodes = new Adjacency(getInts(buffer), getInts(buffer));
+            Adjacency cellFaces = new Adjacency(getInts(buffer), getInts(buffer));
+            int[] cellFaceSigns = getInts(buffer);
+            Adjacency cellNodes = new Adjacency(getInts(buffer), getInts(buffer));
+            Adjacency nodeCells = new Adjacency(getInts(buffer), getInts(buffer));
+            int[] faceLeft = getInts(buffer);
+            int[] faceRight = getInts(buffer);
+            Adjacency faceColors = new Adjacency(getInts(buffer), getInts(buffer));
+            Adjacency cellColors = new Adjacency(getInts(buffer), getInts(buffer));
+
+            if (boundaryStart.length == 0 || boundaryStart[0] < 0 || boundaryStart[0] > faceTypes.length) return null;
+            int numCoordinates = buffer.getInt(buffer.position());
+            if (numCoordinates < 0 || numCoordinates % 3 != 0 || numCoordinates > buffer.remaining() / Double.BYTES)
+                return null;
+            double[] nodeCoordinates = new double[numCoordinates];
+            GeometryStore geometry = new GeometryStore(cellTypes.length, faceTypes.length - boundaryStart[0],
+                    faceTypes.length);
+            for (double[] array : doubleArrays(nodeCoordinates, geometry)) {
+                if (buffer.getInt() != array.length || buffer.remaining() < Double.BYTES * (long) array.length)
+                    return null;
+                buffer.asDoubleBuffer().get(array);
+                buffer.position(buffer.position() + Double.BYTES * array.length);
+            }
+
+            int numBoundaries = buffer.getInt();
+            if (numBoundaries != boundaryStart.length - 1) return null;
+            String[] boundaryNames = new String[numBoundaries];
+            for (int i = 0; i < numBoundaries; i++) {
+                int nameLength = buffer.getInt();
+                if (nameLength < 0 || nameLength > buffer.remaining()) return null;
+                byte[] name = new byte[nameLength];
+                buffer.get(name);
+                boundaryNames[i] = new String(name, StandardCharsets.UTF_8);
+            }
+            if (buffer.hasRemaining()) return null;
+
+            return new MeshArrays(nodeCoordinates, cellTypes, faceTypes, faceNodes, boundaryStart, boundaryNames,
+                    cellFaces, cellFaceSigns, cellNodes, nodeCells, faceLeft, faceRight, faceColors, cellColors,
+                    geometry);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Array of the length read from the buffer, followed by its values.
+     * @throws BufferUnderflowException If the buffer is shorter than the array.
+     */
+    private static int[] getInts(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || buffer.remaining() < Integer.BYTES * (long) length) throw new BufferUnderflowException();
+        int[] array = new int[length];
+        buffer.asIntBuffer().get(array);
+        buffer.position(buffer.position() + Integer.BYTES * length);
+
+        return array;
+    }
+
+    /**
+     * @param numLengths Number of lengths following the header.
+     * @return Buffer positioned after the header, or null if the entry is too short or of another type or version.
+     */
+    private static ByteBuffer read(Path file, int type, int numLengths) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < Integer.BYTES * (2 + numLengths)) return null;
+            if (buffer.getInt() != type || buffer.getInt() != FORMAT_VERSION) return null;
+
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ByteBuffer allocate(long numBytes) {
+        if (numBytes > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Cache entries larger than 2 GB are not supported.");
+
+        return ByteBuffer.allocate((int) numBytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void write(Path file, ByteBuffer buffer) {
+        try {
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, "entry", ".tmp");
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                buffer.rewind();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Constructs the mesh from the mesh file, with the options of the cache.
+     */
+    public interface MeshConstructor {
+        Mesh construct() throws FileNotFoundException;
+    }
+}
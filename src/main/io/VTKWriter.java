@@ -46,7 +46,7 @@ public class VTKWriter {
 
         double[][] primVarsCache = new double[cells.length][];
         for (int iCell = 0; iCell < cells.length; iCell++) {
-            primVarsCache[iCell] = govEqn.primitiveVars(mesh.cells().get(iCell).U);
+            primVarsCache[iCell] = govEqn.primitiveVars(mesh.cells().get(iCell).U());
         }
         String[] primVarNames = govEqn.primitiveVarNames();
 
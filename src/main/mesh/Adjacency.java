@@ -0,0 +1,50 @@
+package main.mesh;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Adjacency list in compressed sparse row format.
+ * The entries of row i are entries[start[i]], ..., entries[start[i + 1] - 1].
+ */
+public class Adjacency {
+    public final int[] start;
+    public final int[] entries;
+
+    public Adjacency(int[] start, int[] entries) {
+        if (start.length == 0 || start[start.length - 1] != entries.length)
+            throw new IllegalArgumentException("The row start array does not match the number of entries.");
+        this.start = start;
+        this.entries = entries;
+    }
+
+    public static Adjacency of(List<int[]> rows) {
+        int[] start = new int[rows.size() + 1];
+        for (int i = 0; i < rows.size(); i++) {
+            start[i + 1] = start[i] + rows.get(i).length;
+        }
+
+        int[] entries = new int[start[rows.size()]];
+        for (int i = 0; i < rows.size(); i++) {
+            System.arraycopy(rows.get(i), 0, entries, start[i], rows.get(i).length);
+        }
+
+        return new Adjacency(start, entries);
+    }
+
+    public int numRows() {
+        return start.length - 1;
+    }
+
+    public int size(int row) {
+        return start[row + 1] - start[row];
+    }
+
+    /**
+     * @param row Row number.
+     * @return Copy of the entries of the row.
+     */
+    public int[] row(int row) {
+        return Arrays.copyOfRange(entries, start[row], start[row + 1]);
+    }
+}
@@ -0,0 +1,267 @@
+package main.mesh;
+
+import main.geom.Point;
+import main.geom.VTKType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Coarse mesh of clusters of the cells of a fine mesh, for meshes without an index structure.
+ * <p>
+ * The clusters are grown greedily by an advancing front: starting from a seed cell, the neighbor sharing the largest
+ * face area with the cluster is added until the cluster has 2^dim cells or no free neighbor is left. The next seed is
+ * the oldest free neighbor of the clusters made so far. A cluster left with a single cell is merged into the
+ * neighboring cluster with which it shares the largest face area.
+ * <p>
+ * The faces of the coarse mesh are the fine faces separating two clusters and the fine boundary faces, with the same
+ * geometry, so a coarse cell has as many faces as its cells have with the other clusters. The volume of a coarse
+ * cell is the sum of the volumes of its cells, its centroid their volume weighted centroid and its nodes all the nodes
+ * of its cells. The coarse mesh has its own nodes, ghost cells, fields and connectivity; the boundaries keep their
+ * names and boundary conditions.
+ */
+public class AgglomeratedMesh implements Mesh {
+    private final List<Cell> cells;
+    private final List<Face> internalFaces;
+    private final List<Node> nodes;
+    private final List<Boundary> boundaries;
+    private final int[] coarseCells;
+
+    public AgglomeratedMesh(Mesh fineMesh) {
+        Connectivity connectivity = fineMesh.connectivity();
+        GeometryStore geometry = fineMesh.geometry();
+        List<Cell> fineCells = fineMesh.cells();
+        int numVars = fineCells.get(0).numVars();
+        int dim = fineCells.get(0).vtkType.dim;
+
+        this.coarseCells = agglomerate(connectivity, geometry, 1 << dim);
+        int numCoarseCells = Arrays.stream(coarseCells).max().orElse(-1) + 1;
+
+        Map<Node, Node> coarseNodes = new IdentityHashMap<>();
+        List<Node> nodeList = new ArrayList<>();
+        for (Node node : fineMesh.nodes()) {
+            Node coarseNode = new Node(node.location(), numVars);
+            coarseNodes.put(node, coarseNode);
+            nodeList.add(coarseNode);
+        }
+        this.nodes = List.copyOf(nodeList);
+
+        double[] volume = new double[numCoarseCells];
+        double[][] centroid = new double[numCoarseCells][3];
+        List<List<Node>> cellNodes = new ArrayList<>();
+        VTKType[] vtkTypes = new VTKType[numCoarseCells];
+        for (int c = 0; c < numCoarseCells; c++) {
+            cellNodes.add(new ArrayList<>());
+        }
+        for (Cell cell : fineCells) {
+            int c = coarseCells[cell.index()];
+            double vol = cell.shape.volume;
+            Point p = cell.shape.centroid;
+            volume[c] += vol;
+            centroid[c][0] += vol * p.x;
+            centroid[c][1] += vol * p.y;
+            centroid[c][2] += vol * p.z;
+            for (Node node : cell.nodes) {
+                Node coarseNode = coarseNodes.get(node);
+                if (!cellNodes.get(c).contains(coarseNode)) cellNodes.get(c).add(coarseNode);
+            }
+            // the nodes of a coarse cell form no standard cell, only the dimension of the type is meaningful
+            if (vtkTypes[c] == null) vtkTypes[c] = dim == 2 ? VTKType.VTK_POLYGON : cell.vtkType;
+        }
+        List<Cell> cellList = new ArrayList<>();
+        for (int c = 0; c < numCoarseCells; c++) {
+            Shape shape = new Shape(volume[c], new Point(centroid[c][0] / volume[c],
+                    centroid[c][1] / volume[c], centroid[c][2] / volume[c]));
+            cellList.add(new Cell(cellNodes.get(c).toArray(new Node[0]), vtkTypes[c], shape, numVars));
+        }
+        this.cells = List.copyOf(cellList);
+        setAllCellIndices();
+
+        List<Face> faceList = new ArrayList<>();
+        for (Face face : fineMesh.internalFaces()) {
+            int left = coarseCells[face.left.index()];
+            int right = coarseCells[face.right.index()];
+            if (left != right) {
+                faceList.add(coarseFace(face, cells.get(left), cells.get(right), coarseNodes));
+            }
+        }
+        this.internalFaces = List.copyOf(faceList);
+
+        List<Boundary> boundaryList = new ArrayList<>();
+        for (Boundary boundary : fineMesh.boundaries()) {
+            List<Face> bndFaces = new ArrayList<>();
+            for (Face face : boundary.faces) {
+                Face bndFace = coarseFace(face, cells.get(coarseCells[face.left.index()]), null, coarseNodes);
+                bndFace.right = Mesh.ghostCell(bndFace.left, bndFace);
+                bndFaces.add(bndFace);
+            }
+            boundaryList.add(new Boundary(boundary.name, bndFaces, boundary.bc().orElse(null)));
+        }
+        this.boundaries = List.copyOf(boundaryList);
+        setAllFaceIndices();
+
+        // Setup node neighbors
+        for (Cell cell : cells) {
+            for (Node node : cell.nodes) {
+                node.neighbors.add(cell);
+            }
+        }
+        for (Boundary bnd : boundaries) {
+            for (Face face : bnd.faces) {
+                for (Node node : face.right.nodes) {
+                    node.neighbors.add(face.right);
+                }
+            }
+        }
+
+        // Setup faces of cells
+        for (Face face : internalFaces) {
+            face.left.faces.add(face);
+            face.right.faces.add(face);
+        }
+        for (Boundary bnd : boundaries) {
+            for (Face face : bnd.faces) {
+                face.left.faces.add(face);
+                face.right.faces.add(face);
+            }
+        }
+
+        setupFields();
+    }
+
+    /**
+     * @return Cluster index of each cell of the fine mesh, indexed by the cell index.
+     */
+    private static int[] agglomerate(Connectivity connectivity, GeometryStore geometry, int clusterSize) {
+        int numCells = connectivity.numCells;
+        int[] cluster = new int[numCells];
+        Arrays.fill(cluster, -1);
+        // face area shared by each free cell with the cluster being grown
+        double[] sharedArea = new double[numCells];
+        List<Integer> candidates = new ArrayList<>();
+        Deque<Integer> front = new ArrayDeque<>();
+        int numClusters = 0;
+        int nextFreeCell = 0;
+
+        while (true) {
+            Integer seed = front.pollFirst();
+            while (seed != null && cluster[seed] != -1) {
+                seed = front.pollFirst();
+            }
+            if (seed == null) {
+                while (nextFreeCell < numCells && cluster[nextFreeCell] != -1) nextFreeCell++;
+                if (nextFreeCell == numCells) break;
+                seed = nextFreeCell;
+            }
+
+            int c = numClusters++;
+            int size = 0;
+            candidates.clear();
+            int cell = seed;
+            while (true) {
+                cluster[cell] = c;
+                size++;
+                for (int k = connectivity.cellFaces.start[cell]; k < connectivity.cellFaces.start[cell + 1]; k++) {
+                    int face = connectivity.cellFaces.entries[k];
+                    if (face >= connectivity.numInternalFaces) continue;
+                    int neighbor = connectivity.faceLeft[face] == cell
+                            ? connectivity.faceRight[face]
+                            : connectivity.faceLeft[face];
+                    if (cluster[neighbor] != -1) continue;
+                    if (sharedArea[neighbor] == 0.0) candidates.add(neighbor);
+                    sharedArea[neighbor] += geometry.faceArea[face];
+                }
+                if (size == clusterSize) break;
+
+                int best = -1;
+                for (int candidate : candidates) {
+                    if (cluster[candidate] == -1 && (best == -1 || sharedArea[candidate] > sharedArea[best]
+                            || sharedArea[candidate] == sharedArea[best] && candidate < best)) {
+                        best = candidate;
+                    }
+                }
+                if (best == -1) break;
+                cell = best;
+            }
+            for (int candidate : candidates) {
+                sharedArea[candidate] = 0.0;
+                if (cluster[candidate] == -1) front.addLast(candidate);
+            }
+
+            if (size == 1) {
+                int neighborCluster = largestNeighborCluster(connectivity, geometry, cluster, seed);
+                if (neighborCluster != -1) {
+                    cluster[seed] = neighborCluster;
+                    numClusters--;
+                }
+            }
+        }
+
+        return cluster;
+    }
+
+    /**
+     * @return Cluster other than its own with which the cell shares the largest face area, -1 if there is none.
+     */
+    private static int largestNeighborCluster(Connectivity connectivity, GeometryStore geometry, int[] cluster,
+                                              int cell) {
+        Map<Integer, Double> areas = new TreeMap<>();
+        for (int k = connectivity.cellFaces.start[cell]; k < connectivity.cellFaces.start[cell + 1]; k++) {
+            int face = connectivity.cellFaces.entries[k];
+            if (face >= connectivity.numInternalFaces) continue;
+            int neighbor = connectivity.faceLeft[face] == cell
+                    ? connectivity.faceRight[face]
+                    : connectivity.faceLeft[face];
+            if (cluster[neighbor] != -1 && cluster[neighbor] != cluster[cell])
+                areas.merge(cluster[neighbor], geometry.faceArea[face], Double::sum);
+        }
+
+        int best = -1;
+        for (Map.Entry<Integer, Double> entry : areas.entrySet()) {
+            if (best == -1 || entry.getValue() > areas.get(best)) best = entry.getKey();
+        }
+
+        return best;
+    }
+
+    private static Face coarseFace(Face face, Cell left, Cell right, Map<Node, Node> coarseNodes) {
+        Node[] faceNodes = Arrays.stream(face.nodes)
+                .map(coarseNodes::get)
+                .toArray(Node[]::new);
+
+        return new Face(faceNodes, face.vtkType, face.surface, left, right, left.numVars());
+    }
+
+    /**
+     * @return Index of the cell of this mesh that covers each cell of the fine mesh, indexed by the fine cell index.
+     */
+    public int[] coarseCellIndices() {
+        return coarseCells;
+    }
+
+    @Override
+    public List<Cell> cells() {
+        return cells;
+    }
+
+    @Override
+    public List<Face> internalFaces() {
+        return internalFaces;
+    }
+
+    @Override
+    public List<Node> nodes() {
+        return nodes;
+    }
+
+    @Override
+    public List<Boundary> boundaries() {
+        return boundaries;
+    }
+}
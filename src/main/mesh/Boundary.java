@@ -22,6 +22,6 @@ public class Boundary {
     }
 
     public Optional<BoundaryCondition> bc() {
-        return Optional.of(bc);
+        return Optional.ofNullable(bc);
     }
 }
@@ -0,0 +1,132 @@
+package main.mesh;
+
+import main.geom.Point;
+import main.geom.Vector;
+import main.physics.bc.BoundaryCondition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mesh restored from the MeshArrays of another mesh, without reading the mesh file or computing the faces, geometry,
+ * connectivity or colorings again. The cells, faces and nodes have the indices and the geometry of the mesh
+ * the arrays were taken from, and the ghost cells are created as by Mesh.ghostCell(). The boundary conditions are
+ * assigned by the names of the boundaries.
+ */
+public class CachedMesh implements Mesh {
+    private final List<Cell> cells;
+    private final List<Face> internalFaces;
+    private final List<Node> nodes;
+    private final List<Boundary> boundaries;
+
+    public CachedMesh(MeshArrays arrays, int numVars, Map<String, BoundaryCondition> bcs) {
+        GeometryStore geometry = arrays.geometry;
+
+        Node[] nodes = new Node[arrays.numNodes];
+        for (int i = 0; i < arrays.numNodes; i++) {
+            nodes[i] = new Node(arrays.nodeCoordinates[i * 3], arrays.nodeCoordinates[i * 3 + 1],
+                    arrays.nodeCoordinates[i * 3 + 2], numVars);
+        }
+
+        Cell[] cells = new Cell[arrays.numCells + arrays.numFaces - arrays.numInternalFaces];
+        for (int i = 0; i < arrays.numCells; i++) {
+            Shape shape = new Shape(geometry.cellVolume[i], point(geometry.cellCentroid, i));
+            cells[i] = new Cell(nodes(arrays.cellNodes, i, nodes), arrays.cellType(i), shape, numVars);
+            cells[i].setIndex(i);
+        }
+
+        Face[] faces = new Face[arrays.numFaces];
+        for (int i = 0; i < arrays.numFaces; i++) {
+            Node[] faceNodes = nodes(arrays.faceNodes, i, nodes);
+            Surface surface = new Surface(geometry.faceArea[i], point(geometry.faceCentroid, i),
+                    vector(geometry.faceNormal, i));
+            Cell left = cells[arrays.faceLeft[i]];
+            if (i >= arrays.numInternalFaces) {
+                int ghostId = arrays.faceRight[i];
+                Node[] ghostNodes = Arrays.stream(left.nodes)
+                        .filter(node -> Arrays.stream(faceNodes).anyMatch(n -> n == node))
+                        .toArray(Node[]::new);
+                Shape shape = new Shape(left.shape.volume, point(geometry.cellCentroid, ghostId));
+                cells[ghostId] = Cell.ghost(ghostNodes, arrays.faceType(i), shape, numVars);
+            }
+            faces[i] = new Face(faceNodes, arrays.faceType(i), surface, left, cells[arrays.faceRight[i]], numVars);
+            faces[i].setIndex(i);
+        }
+
+        // Faces of the cells and neighbors of the nodes, in the order of the mesh the arrays were taken from
+        for (int i = 0; i < arrays.numCells; i++) {
+            for (int k = arrays.cellFaces.start[i]; k < arrays.cellFaces.start[i + 1]; k++) {
+                cells[i].faces.add(faces[arrays.cellFaces.entries[k]]);
+            }
+        }
+        for (int i = arrays.numInternalFaces; i < arrays.numFaces; i++) {
+            faces[i].right.faces.add(faces[i]);
+        }
+        for (int i = 0; i < arrays.numNodes; i++) {
+            for (int k = arrays.nodeCells.start[i]; k < arrays.nodeCells.start[i + 1]; k++) {
+                nodes[i].neighbors.add(cells[arrays.nodeCells.entries[k]]);
+            }
+        }
+
+        List<Boundary> boundaries = new ArrayList<>();
+        for (int b = 0; b < arrays.boundaryNames.length; b++) {
+            String name = arrays.boundaryNames[b];
+            List<Face> boundaryFaces = List.of(Arrays.copyOfRange(faces, arrays.boundaryStart[b],
+                    arrays.boundaryStart[b + 1]));
+            boundaries.add(new Boundary(name, boundaryFaces, bcs.get(name)));
+        }
+
+        this.cells = List.of(Arrays.copyOf(cells, arrays.numCells));
+        this.internalFaces = List.of(Arrays.copyOf(faces, arrays.numInternalFaces));
+        this.nodes = List.of(nodes);
+        this.boundaries = List.copyOf(boundaries);
+
+        FieldStore fields = new FieldStore(geometry, numVars);
+        for (int i = 0; i < cells.length; i++) {
+            cells[i].setFields(fields, i);
+        }
+        for (int i = 0; i < faces.length; i++) {
+            faces[i].setFields(fields, i);
+        }
+        fields.setConnectivity(new Connectivity(cells, faces, nodes, arrays));
+    }
+
+    private static Node[] nodes(Adjacency adjacency, int row, Node[] nodes) {
+        Node[] rowNodes = new Node[adjacency.size(row)];
+        for (int k = 0; k < rowNodes.length; k++) {
+            rowNodes[k] = nodes[adjacency.entries[adjacency.start[row] + k]];
+        }
+
+        return rowNodes;
+    }
+
+    private static Point point(double[] array, int row) {
+        return new Point(array[row * 3], array[row * 3 + 1], array[row * 3 + 2]);
+    }
+
+    private static Vector vector(double[] array, int row) {
+        return new Vector(array[row * 3], array[row * 3 + 1], array[row * 3 + 2]);
+    }
+
+    @Override
+    public List<Cell> cells() {
+        return cells;
+    }
+
+    @Override
+    public List<Face> internalFaces() {
+        return internalFaces;
+    }
+
+    @Override
+    public List<Node> nodes() {
+        return nodes;
+    }
+
+    @Override
+    public List<Boundary> boundaries() {
+        return boundaries;
+    }
+}
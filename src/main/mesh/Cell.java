@@ -16,15 +16,15 @@ public class Cell {
     public final ArrayList<Face> faces;
     public final VTKType vtkType;
     public final Shape shape;
+    private final int numVars;
 
-    public final double[] U;
-    public final Vector[] gradientU;
-
-    public final double[] Wn;
-    public final double[] Wnm1;
-    public final double[] Wnm2;
-    public final double[] residual;
-    public final double[][] reconstructCoeffs;
+    /**
+     * Storage of the cell values, residual, solution history and reconstruction coefficients.
+     * The cells of a mesh share the store of the mesh, where the values of this cell are in row fieldRow.
+     * A stand-alone cell (ghost cell or a cell which is not part of a mesh yet) creates its own store when needed.
+     */
+    private FieldStore fields;
+    private int fieldRow;
 
     /**
      * Local time step or pseudo-time step
@@ -38,18 +38,18 @@ public class Cell {
         this.vtkType = vtkType;
         this.shape = shape;
 
-        this.U = new double[numVars];
-        this.gradientU = new Vector[numVars];
-        for (int var = 0; var < numVars; var++) {
-            this.gradientU[var] = new Vector(0, 0, 0);
-        }
+        this.numVars = numVars;
 
-        this.Wn = new double[numVars];
-        this.Wnm1 = new double[numVars];
-        this.Wnm2 = new double[numVars];
+        this.fields = null;
+        this.fieldRow = 0;
+    }
 
-        this.residual = new double[numVars];
-        this.reconstructCoeffs = new double[numVars][]; // The reconstructor can decide the length
+    /**
+     * Ghost cell, for which the boundary conditions set only the state U. The gradients are never computed,
+     * so they stay zero.
+     */
+    static Cell ghost(Node[] nodes, VTKType vtkType, Shape shape, int numVars) {
+        return new Cell(nodes, vtkType, shape, numVars);
     }
 
     public int index() {
@@ -63,6 +63,102 @@ public class Cell {
         this.index = index;
     }
 
+    /**
+     * Allows the index to be set again, used when the cells of a mesh are renumbered.
+     */
+    void clearIndex() {
+        this.index = -1;
+    }
+
+    public int numVars() {
+        return numVars;
+    }
+
+    public FieldStore fields() {
+        if (fields == null) {
+            fields = new FieldStore(1, 0, numVars);
+            fieldRow = 0;
+            if (shape != null) fields.geometry.setCell(0, shape);
+        }
+        return fields;
+    }
+
+    public int fieldRow() {
+        fields();
+        return fieldRow;
+    }
+
+    /**
+     * Binds the cell to a row of the store. The cell values are kept, the other fields start from zero.
+     */
+    void setFields(FieldStore fields, int fieldRow) {
+        if (this.fields != null)
+            System.arraycopy(this.fields.U, this.fields.cellOffset(this.fieldRow), fields.U,
+                    fields.cellOffset(fieldRow), numVars);
+        this.fields = fields;
+        this.fieldRow = fieldRow;
+    }
+
+    /**
+     * @return Copy of the cell values (FieldStore.U).
+     */
+    public double[] U() {
+        return fields().get(fields.U, fieldRow);
+    }
+
+    public double U(int var) {
+        return fields().U[fields.cellOffset(fieldRow) + var];
+    }
+
+    public void setU(double[] values) {
+        fields().set(fields.U, fieldRow, values);
+    }
+
+    public void setU(int var, double value) {
+        fields().U[fields.cellOffset(fieldRow) + var] = value;
+    }
+
+    public double[] residual() {
+        return fields().get(fields.residual, fieldRow);
+    }
+
+    public double[] Wn() {
+        return fields().get(fields.Wn, fieldRow);
+    }
+
+    public double[] Wnm1() {
+        return fields().get(fields.Wnm1, fieldRow);
+    }
+
+    public double[] Wnm2() {
+        return fields().get(fields.Wnm2, fieldRow);
+    }
+
+    /**
+     * @return Copy of the gradients of the cell values (FieldStore.cellGradients).
+     */
+    public Vector[] gradientU() {
+        FieldStore fields = fields();
+        Vector[] gradientU = new Vector[numVars];
+        for (int var = 0; var < numVars; var++) {
+            int offset = fields.coeffOffset(fieldRow, var);
+            gradientU[var] = new Vector(fields.cellGradients[offset], fields.cellGradients[offset + 1],
+                    fields.cellGradients[offset + 2]);
+        }
+
+        return gradientU;
+    }
+
+    public double[][] reconstructCoeffs() {
+        double[][] coeffs = new double[numVars][FieldStore.NUM_COEFFS];
+        for (int var = 0; var < numVars; var++) {
+            System.arraycopy(fields().reconstructCoeffs, fields.coeffOffset(fieldRow, var),
+                    coeffs[var], 0, FieldStore.NUM_COEFFS);
+        }
+
+        return coeffs;
+    }
+
     @Override
     public String toString() {
         return "Cell{" +
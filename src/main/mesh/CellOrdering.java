@@ -0,0 +1,179 @@
+package main.mesh;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.stream.IntStream;
+
+/**
+ * Orderings of the cells of a mesh which keep neighboring cells close in memory.
+ */
+public enum CellOrdering {
+    /**
+     * Reverse Cuthill-McKee ordering of the face neighbor graph, reduces the bandwidth of the cell adjacency.
+     */
+    REVERSE_CUTHILL_MCKEE {
+        @Override
+        public int[] order(Mesh mesh) {
+            return reverseCuthillMcKee(mesh.connectivity());
+        }
+    },
+    /**
+     * Cells sorted along a Hilbert curve through the cell centroids.
+     */
+    HILBERT {
+        @Override
+        public int[] order(Mesh mesh) {
+            return sortByKey(spaceFillingCurveKeys(mesh.geometry(), true));
+        }
+    },
+    /**
+     * Cells sorted along a Morton (Z-order) curve through the cell centroids.
+     */
+    MORTON {
+        @Override
+        public int[] order(Mesh mesh) {
+            return sortByKey(spaceFillingCurveKeys(mesh.geometry(), false));
+        }
+    };
+
+    /**
+     * @param mesh Mesh with its connectivity and geometry set up.
+     * @return Current indices of the cells in the new order, i.e. order[newIndex] = oldIndex.
+     */
+    public abstract int[] order(Mesh mesh);
+
+    private static int[] reverseCuthillMcKee(Connectivity connectivity) {
+        int numCells = connectivity.numCells;
+        Adjacency neighbors = connectivity.faceNeighbors();
+        int[] degree = new int[numCells];
+        for (int i = 0; i < numCells; i++) {
+            for (int k = neighbors.start[i]; k < neighbors.start[i + 1]; k++) {
+                if (neighbors.entries[k] < numCells) degree[i]++;
+            }
+        }
+
+        Integer[] byDegree = IntStream.range(0, numCells).boxed().toArray(Integer[]::new);
+        Arrays.sort(byDegree, Comparator.comparingInt(i -> degree[i]));
+
+        int[] order = new int[numCells];
+        int numOrdered = 0;
+        boolean[] visited = new boolean[numCells];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int start : byDegree) {
+            if (visited[start]) continue;
+            visited[start] = true;
+            queue.add(start);
+            while (!queue.isEmpty()) {
+                int cell = queue.poll();
+                order[numOrdered++] = cell;
+                int[] next = Arrays.stream(neighbors.row(cell))
+                        .filter(n -> n < numCells && !visited[n])
+                        .boxed()
+                        .sorted(Comparator.comparingInt(n -> degree[n]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                for (int n : next) {
+                    visited[n] = true;
+                    queue.add(n);
+                }
+            }
+        }
+
+        for (int i = 0; i < numCells / 2; i++) {
+            int temp = order[i];
+            order[i] = order[numCells - 1 - i];
+            order[numCells - 1 - i] = temp;
+        }
+
+        return order;
+    }
+
+    private static long[] spaceFillingCurveKeys(GeometryStore geometry, boolean hilbert) {
+        int numCells = geometry.numCells;
+        double[] min = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double[] max = {Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (int i = 0; i < numCells; i++) {
+            for (int d = 0; d < 3; d++) {
+                min[d] = Math.min(min[d], geometry.cellCentroid[i * 3 + d]);
+                max[d] = Math.max(max[d], geometry.cellCentroid[i * 3 + d]);
+            }
+        }
+
+        // Only the directions in which the mesh extends take part in the curve, so that 2D meshes use a 2D curve
+        int[] axes = IntStream.range(0, 3)
+                .filter(d -> max[d] - min[d] > 1e-12 * (Math.abs(max[d]) + Math.abs(min[d]) + 1.0))
+                .toArray();
+        int dim = Math.max(axes.length, 1);
+        int bits = Math.min(21, 63 / dim);
+        double scale = (1L << bits) - 1;
+
+        long[] keys = new long[numCells];
+        int[] coords = new int[dim];
+        for (int i = 0; i < numCells; i++) {
+            for (int a = 0; a < axes.length; a++) {
+                int d = axes[a];
+                coords[a] = (int) ((geometry.cellCentroid[i * 3 + d] - min[d]) / (max[d] - min[d]) * scale);
+            }
+            keys[i] = hilbert ? hilbertKey(coords, bits) : mortonKey(coords, bits);
+        }
+
+        return keys;
+    }
+
+    private static long mortonKey(int[] coords, int bits) {
+        long key = 0;
+        for (int b = bits - 1; b >= 0; b--) {
+            for (int coord : coords) {
+                key = (key << 1) | ((coord >> b) & 1);
+            }
+        }
+
+        return key;
+    }
+
+    /**
+     * Position along the Hilbert curve using the transposed form by J. Skilling,
+     * "Programming the Hilbert curve", AIP Conference Proceedings 707, 2004.
+     */
+    private static long hilbertKey(int[] coords, int bits) {
+        int n = coords.length;
+        int[] X = Arrays.copyOf(coords, n);
+
+        // Inverse undo
+        for (int Q = 1 << (bits - 1); Q > 1; Q >>= 1) {
+            int P = Q - 1;
+            for (int i = 0; i < n; i++) {
+                if ((X[i] & Q) != 0) {
+                    X[0] ^= P;
+                } else {
+                    int t = (X[0] ^ X[i]) & P;
+                    X[0] ^= t;
+                    X[i] ^= t;
+                }
+            }
+        }
+
+        // Gray encode
+        for (int i = 1; i < n; i++) {
+            X[i] ^= X[i - 1];
+        }
+        int t = 0;
+        for (int Q = 1 << (bits - 1); Q > 1; Q >>= 1) {
+            if ((X[n - 1] & Q) != 0) t ^= Q - 1;
+        }
+        for (int i = 0; i < n; i++) {
+            X[i] ^= t;
+        }
+
+        return mortonKey(X, bits);
+    }
+
+    private static int[] sortByKey(long[] keys) {
+        return IntStream.range(0, keys.length).boxed()
+                .sorted(Comparator.comparingLong(i -> keys[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
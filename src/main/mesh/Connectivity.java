@@ -0,0 +1,323 @@
+package main.mesh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Integer connectivity of a mesh, built once after the mesh is complete.
+ * Cells are identified by an id: the interior cells have their index as id, and the ghost cell of a boundary face
+ * has the id numCells + (face index - numInternalFaces), i.e. the ghost cells follow the interior cells in the order
+ * of the boundary faces. Faces are identified by their index and nodes by their position in Mesh.nodes().
+ */
+public class Connectivity {
+    public final int numCells;
+    public final int numInternalFaces;
+    public final int numFaces;
+    public final int numNodes;
+
+    /**
+     * Interior cells followed by the ghost cells, indexed by the cell id.
+     */
+    public final Cell[] cells;
+    public final Face[] faces;
+    public final Node[] nodes;
+
+    /**
+     * Faces of each interior cell, in the same order as Cell.faces.
+     */
+    public final Adjacency cellFaces;
+    /**
+     * +1 if the cell is on the left of the face, -1 otherwise. Same layout as cellFaces.entries.
+     */
+    public final int[] cellFaceSigns;
+    public final Adjacency cellNodes;
+    /**
+     * Cell ids of the neighbors of each node, in the same order as Node.neighbors.
+     */
+    public final Adjacency nodeCells;
+
+    public final int[] faceLeft;
+    public final int[] faceRight;
+
+    private final Map<Cell, Integer> ghostIds;
+
+    private Adjacency faceNeighbors;
+    private Adjacency nodeNeighbors;
+    private Adjacency faceColors;
+    private Adjacency cellColors;
+
+    public Connectivity(Mesh mesh) {
+        List<Face> allFaces = new ArrayList<>(mesh.internalFaces());
+        mesh.boundaries().forEach(b -> allFaces.addAll(b.faces));
+
+        this.numCells = mesh.cells().size();
+        this.numInternalFaces = mesh.internalFaces().size();
+        this.numFaces = allFaces.size();
+        this.numNodes = mesh.nodes().size();
+
+        this.faces = new Face[numFaces];
+        for (Face face : allFaces) {
+            faces[face.index()] = face;
+        }
+
+        this.cells = new Cell[numCells + numFaces - numInternalFaces];
+        this.ghostIds = new IdentityHashMap<>();
+        for (Cell cell : mesh.cells()) {
+            cells[cell.index()] = cell;
+        }
+        for (int i = numInternalFaces; i < numFaces; i++) {
+            int ghostId = ghostId(i);
+            cells[ghostId] = faces[i].right;
+            ghostIds.put(faces[i].right, ghostId);
+        }
+
+        this.nodes = mesh.nodes().toArray(new Node[0]);
+        Map<Node, Integer> nodeIds = new IdentityHashMap<>();
+        for (int i = 0; i < numNodes; i++) {
+            nodeIds.put(nodes[i], i);
+        }
+
+        this.faceLeft = new int[numFaces];
+        this.faceRight = new int[numFaces];
+        for (Face face : faces) {
+            faceLeft[face.index()] = id(face.left);
+            faceRight[face.index()] = id(face.right);
+        }
+
+        List<int[]> cellFaceRows = new ArrayList<>();
+        List<int[]> cellNodeRows = new ArrayList<>();
+        for (int i = 0; i < numCells; i++) {
+            Cell cell = cells[i];
+            cellFaceRows.add(cell.faces.stream().mapToInt(Face::index).toArray());
+            int[] cellNodeRow = new int[cell.nodes.length];
+            for (int n = 0; n < cellNodeRow.length; n++) {
+                cellNodeRow[n] = nodeIds.get(cell.nodes[n]);
+            }
+            cellNodeRows.add(cellNodeRow);
+        }
+        this.cellFaces = Adjacency.of(cellFaceRows);
+        this.cellNodes = Adjacency.of(cellNodeRows);
+
+        this.cellFaceSigns = new int[cellFaces.entries.length];
+        for (int i = 0; i < numCells; i++) {
+            for (int k = cellFaces.start[i]; k < cellFaces.start[i + 1]; k++) {
+                cellFaceSigns[k] = faceLeft[cellFaces.entries[k]] == i ? 1 : -1;
+            }
+        }
+
+        List<int[]> nodeCellRows = new ArrayList<>();
+        for (Node node : nodes) {
+            nodeCellRows.add(node.neighbors.stream().mapToInt(this::id).toArray());
+        }
+        this.nodeCells = Adjacency.of(nodeCellRows);
+    }
+
+    /**
+     * Connectivity of a mesh restored by CachedMesh, with the arrays and colorings of the mesh the arrays were
+     * taken from.
+     *
+     * @param cells Interior cells followed by the ghost cells, indexed by the cell id.
+     */
+    Connectivity(Cell[] cells, Face[] faces, Node[] nodes, MeshArrays arrays) {
+        this.numCells = arrays.numCells;
+        this.numInternalFaces = arrays.numInternalFaces;
+        this.numFaces = arrays.numFaces;
+        this.numNodes = arrays.numNodes;
+
+        this.cells = cells;
+        this.faces = faces;
+        this.nodes = nodes;
+        this.ghostIds = new IdentityHashMap<>();
+        for (int i = numCells; i < cells.length; i++) {
+            ghostIds.put(cells[i], i);
+        }
+
+        this.cellFaces = arrays.cellFaces;
+        this.cellFaceSigns = arrays.cellFaceSigns;
+        this.cellNodes = arrays.cellNodes;
+        this.nodeCells = arrays.nodeCells;
+        this.faceLeft = arrays.faceLeft;
+        this.faceRight = arrays.faceRight;
+        this.faceColors = arrays.faceColors;
+        this.cellColors = arrays.cellColors;
+    }
+
+    public int ghostId(int boundaryFaceIndex) {
+        return numCells + boundaryFaceIndex - numInternalFaces;
+    }
+
+    /**
+     * @param cell Interior or ghost cell of the mesh.
+     * @return Id of the cell.
+     */
+    public int id(Cell cell) {
+        if (cell.index() >= 0) return cell.index();
+        Integer ghostId = ghostIds.get(cell);
+        if (ghostId == null)
+            throw new IllegalArgumentException("The cell is neither an interior cell nor a ghost cell of the mesh.");
+
+        return ghostId;
+    }
+
+    /**
+     * @return Cell ids of the cells sharing a face with each interior cell (the ghost cells included),
+     * in the order in which the faces of the cell are stored. Created at the first call.
+     */
+    public synchronized Adjacency faceNeighbors() {
+        if (faceNeighbors == null) {
+            List<int[]> rows = new ArrayList<>();
+            for (int i = 0; i < numCells; i++) {
+                int[] row = new int[cellFaces.size(i)];
+                int size = 0;
+                for (int k = cellFaces.start[i]; k < cellFaces.start[i + 1]; k++) {
+                    int face = cellFaces.entries[k];
+                    size = addDistinct(row, size, faceLeft[face], i);
+                    size = addDistinct(row, size, faceRight[face], i);
+                }
+                rows.add(Arrays.copyOf(row, size));
+            }
+            faceNeighbors = Adjacency.of(rows);
+        }
+
+        return faceNeighbors;
+    }
+
+    /**
+     * @return Cell ids of the cells sharing a node with each interior cell (the ghost cells included),
+     * in the order in which the nodes of the cell are stored. Created at the first call.
+     */
+    public synchronized Adjacency nodeNeighbors() {
+        if (nodeNeighbors == null) {
+            List<int[]> rows = new ArrayList<>();
+            for (int i = 0; i < numCells; i++) {
+                int maxSize = 0;
+                for (int k = cellNodes.start[i]; k < cellNodes.start[i + 1]; k++) {
+                    maxSize += nodeCells.size(cellNodes.entries[k]);
+                }
+                int[] row = new int[maxSize];
+                int size = 0;
+                for (int k = cellNodes.start[i]; k < cellNodes.start[i + 1]; k++) {
+                    int node = cellNodes.entries[k];
+                    for (int n = nodeCells.start[node]; n < nodeCells.start[node + 1]; n++) {
+                        size = addDistinct(row, size, nodeCells.entries[n], i);
+                    }
+                }
+                rows.add(Arrays.copyOf(row, size));
+            }
+            nodeNeighbors = Adjacency.of(rows);
+        }
+
+        return nodeNeighbors;
+    }
+
+    /**
+     * Greedy coloring of the faces, such that the faces of one color share no interior cell. The faces of a color
+     * can therefore add their fluxes to the residuals of their left and right cells in parallel.
+     *
+     * @return Face indices of each color, in increasing order. Created at the first call.
+     */
+    public synchronized Adjacency faceColors() {
+        if (faceColors == null) {
+            int maxCellFaces = 0;
+            for (int i = 0; i < numCells; i++) {
+                maxCellFaces = Math.max(maxCellFaces, cellFaces.size(i));
+            }
+            // a face has at most 2 * (maxCellFaces - 1) faces sharing a cell with it
+            boolean[] used = new boolean[2 * maxCellFaces + 1];
+            int[] faceColor = new int[numFaces];
+            Arrays.fill(faceColor, -1);
+            int numColors = 0;
+            for (int face = 0; face < numFaces; face++) {
+                markColors(faceLeft[face], faceColor, used, true);
+                markColors(faceRight[face], faceColor, used, true);
+                int color = 0;
+                while (used[color]) color++;
+                markColors(faceLeft[face], faceColor, used, false);
+                markColors(faceRight[face], faceColor, used, false);
+
+                faceColor[face] = color;
+                numColors = Math.max(numColors, color + 1);
+            }
+            faceColors = groupByColor(faceColor, numColors);
+        }
+
+        return faceColors;
+    }
+
+    /**
+     * Greedy coloring of the interior cells, such that the cells of one color share no face. The cells of a color
+     * can therefore be updated in parallel by a sweep that reads the updates of the neighboring cells.
+     *
+     * @return Cell ids of each color, in increasing order. Created at the first call.
+     */
+    public synchronized Adjacency cellColors() {
+        if (cellColors == null) {
+            Adjacency neighbors = faceNeighbors();
+            int maxNeighbors = 0;
+            for (int i = 0; i < numCells; i++) {
+                maxNeighbors = Math.max(maxNeighbors, neighbors.size(i));
+            }
+            boolean[] used = new boolean[maxNeighbors + 1];
+            int[] cellColor = new int[numCells];
+            Arrays.fill(cellColor, -1);
+            int numColors = 0;
+            for (int i = 0; i < numCells; i++) {
+                markCellColors(neighbors, i, cellColor, used, true);
+                int color = 0;
+                while (used[color]) color++;
+                markCellColors(neighbors, i, cellColor, used, false);
+
+                cellColor[i] = color;
+                numColors = Math.max(numColors, color + 1);
+            }
+            cellColors = groupByColor(cellColor, numColors);
+        }
+
+        return cellColors;
+    }
+
+    private void markCellColors(Adjacency neighbors, int cellId, int[] cellColor, boolean[] used, boolean mark) {
+        for (int k = neighbors.start[cellId]; k < neighbors.start[cellId + 1]; k++) {
+            int neighbor = neighbors.entries[k];
+            if (neighbor < numCells && cellColor[neighbor] >= 0) used[cellColor[neighbor]] = mark;
+        }
+    }
+
+    private static Adjacency groupByColor(int[] colorOf, int numColors) {
+        int[] start = new int[numColors + 1];
+        for (int color : colorOf) {
+            start[color + 1]++;
+        }
+        for (int color = 0; color < numColors; color++) {
+            start[color + 1] += start[color];
+        }
+        int[] position = Arrays.copyOf(start, numColors);
+        int[] entries = new int[colorOf.length];
+        for (int i = 0; i < colorOf.length; i++) {
+            entries[position[colorOf[i]]++] = i;
+        }
+
+        return new Adjacency(start, entries);
+    }
+
+    private void markColors(int cellId, int[] faceColor, boolean[] used, boolean mark) {
+        if (cellId >= numCells) return; // ghost cells belong to a single face
+        for (int k = cellFaces.start[cellId]; k < cellFaces.start[cellId + 1]; k++) {
+            int color = faceColor[cellFaces.entries[k]];
+            if (color >= 0) used[color] = mark;
+        }
+    }
+
+    private static int addDistinct(int[] row, int size, int cellId, int excludedId) {
+        if (cellId == excludedId) return size;
+        for (int i = 0; i < size; i++) {
+            if (row[i] == cellId) return size;
+        }
+        row[size] = cellId;
+
+        return size + 1;
+    }
+}
@@ -0,0 +1,24 @@
+package main.mesh;
+
+/**
+ * Fields computed from the cell values before the residuals are evaluated. The solver components declare the
+ * fields they read, so that SpaceDiscretization computes only those.
+ */
+public enum DerivedField {
+    /**
+     * States of the ghost cells, set by the boundary conditions.
+     */
+    GHOST_VALUES,
+    /**
+     * Face values FieldStore.faceU, interpolated from the neighbor cells (including the ghost cells).
+     */
+    FACE_VALUES,
+    /**
+     * Face gradients FieldStore.faceGradients, interpolated together with the face values.
+     */
+    FACE_GRADIENTS,
+    /**
+     * Cell gradients FieldStore.cellGradients, computed by the CellGradientCalculator.
+     */
+    CELL_GRADIENTS
+}
@@ -16,10 +16,13 @@ public class Face {
     public final Surface surface;
     public final Cell left;
     public Cell right;
+    private final int numVars;
 
-    public final double[] U;
-    public final Vector[] gradientU;
-    public final double[] flux;
+    /**
+     * Storage of the face values and gradients, see Cell.fields.
+     */
+    private FieldStore fields;
+    private int fieldRow;
 
     public double maxAbsEigenvalue;
 
@@ -32,9 +35,9 @@ public class Face {
         this.left = requireNonNull(left, "The left neighbor cannot be null");
         this.right = right;
 
-        this.U = new double[numVars];
-        this.gradientU = new Vector[numVars];
-        this.flux = new double[numVars];
+        this.numVars = numVars;
+        this.fields = null;
+        this.fieldRow = 0;
     }
 
     public void setIndex(int index) {
@@ -45,40 +48,95 @@ public class Face {
         }
     }
 
+    /**
+     * Allows the index to be set again, used when the faces of a mesh are renumbered.
+     */
+    void clearIndex() {
+        this.index = -1;
+    }
+
     public int index() {
         return this.index;
     }
 
+    public int numVars() {
+        return numVars;
+    }
+
+    public FieldStore fields() {
+        if (fields == null) {
+            fields = new FieldStore(0, 1, numVars);
+            fieldRow = 0;
+            if (surface != null) fields.geometry.setFace(0, surface);
+        }
+        return fields;
+    }
+
+    public int fieldRow() {
+        fields();
+        return fieldRow;
+    }
+
+    void setFields(FieldStore fields, int fieldRow) {
+        this.fields = fields;
+        this.fieldRow = fieldRow;
+    }
+
+    /**
+     * @return Copy of the face values (FieldStore.faceU).
+     */
+    public double[] U() {
+        return fields().get(fields.faceU, fieldRow);
+    }
+
+    public double U(int var) {
+        return fields().faceU[fields.faceOffset(fieldRow) + var];
+    }
+
+    public void setU(double[] values) {
+        fields().set(fields.faceU, fieldRow, values);
+    }
+
+    public void setU(int var, double value) {
+        fields().faceU[fields.faceOffset(fieldRow) + var] = value;
+    }
+
+    /**
+     * @return Copy of the gradients of the face values (FieldStore.faceGradients).
+     */
+    public Vector[] gradientU() {
+        FieldStore fields = fields();
+        Vector[] gradientU = new Vector[numVars];
+        for (int var = 0; var < numVars; var++) {
+            int offset = fields.faceGradientOffset(fieldRow, var);
+            gradientU[var] = new Vector(fields.faceGradients[offset], fields.faceGradients[offset + 1],
+                    fields.faceGradients[offset + 2]);
+        }
+
+        return gradientU;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
 
-        Face otherFace = (Face) o;
-        Face thisFace = this;
-
-        boolean same = hasSameNodes(thisFace.nodes, otherFace.nodes);
-        if (same) {
-            // Set the right nodes from the other face
-            thisFace.right = otherFace.left;
-            otherFace.right = thisFace.left;
-
-            // Average of the normal from the other face (subtract since it is pointing in opposite direction)
-            Vector avgNormal = thisFace.surface.unitNormal()
-                    .sub(otherFace.surface.unitNormal())
-                    .unit();
-            thisFace.surface.setUnitNormal(avgNormal);
-            otherFace.surface.setUnitNormal(avgNormal.mult(-1));
-        }
-
-        return same;
+        return hasSameNodes(this.nodes, ((Face) o).nodes);
     }
 
+    /**
+     * @return Hash code independent of the order of the nodes. The hash codes of the nodes are mixed before
+     * they are added, so that faces sharing some of the nodes are unlikely to collide.
+     */
     @Override
     public int hashCode() {
-        return Arrays.stream(this.nodes)
-                .mapToInt(Object::hashCode)
-                .sum();
+        int hash = 0;
+        for (Node node : this.nodes) {
+            int h = node.hashCode() * 0x9E3779B9;
+            hash += h ^ (h >>> 16);
+        }
+
+        return hash;
     }
 
     private boolean hasSameNodes(Node[] a1, Node[] a2) {
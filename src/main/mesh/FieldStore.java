@@ -0,0 +1,139 @@
+package main.mesh;
+
+import java.util.Arrays;
+
+/**
+ * Contiguous storage of the cell and face fields of a mesh.
+ * The values of a cell (face) are stored in one row of each field, the row number being the index of the cell (face).
+ * For example the residual of variable var of cell i is residual[i * numVars + var].
+ * The ghost cells of the boundary faces follow the interior cells in a contiguous block (row numCells + ghost index,
+ * as in Connectivity.ghostId) of the fields that are read for them: the cell averages U, the gradients and
+ * reconstruction coefficients (which stay zero) and the cell centroids of the geometry.
+ */
+public class FieldStore {
+    /**
+     * Number of reconstruction coefficients per variable (gradient components).
+     */
+    public static final int NUM_COEFFS = 3;
+
+    public final int numCells;
+    public final int numGhostCells;
+    public final int numFaces;
+    public final int numVars;
+
+    /**
+     * Cell averages of the interior cells followed by the ghost cells, whose values are set by the boundary
+     * conditions.
+     */
+    public final double[] U;
+    public final double[] residual;
+    public final double[] Wn;
+    public final double[] Wnm1;
+    public final double[] Wnm2;
+    public final double[] reconstructCoeffs;
+    /**
+     * Gradients computed by the CellGradientCalculator, laid out as reconstructCoeffs (zero for the ghost cells).
+     */
+    public final double[] cellGradients;
+
+    /**
+     * Gradients of the face values interpolated by LeastSquareFaceInterpolation, laid out as reconstructCoeffs.
+     */
+    public final double[] faceGradients;
+    /**
+     * Face values interpolated by LeastSquareFaceInterpolation (DerivedField.FACE_VALUES).
+     */
+    public final double[] faceU;
+
+    public final GeometryStore geometry;
+    private Connectivity connectivity;
+
+    public FieldStore(int numCells, int numFaces, int numVars) {
+        this(numCells, 0, numFaces, numVars);
+    }
+
+    public FieldStore(int numCells, int numGhostCells, int numFaces, int numVars) {
+        this(new GeometryStore(numCells, numGhostCells, numFaces), numVars);
+    }
+
+    /**
+     * @param geometry Geometry of the cells and faces, which sets the number of cells, ghost cells and faces.
+     */
+    FieldStore(GeometryStore geometry, int numVars) {
+        this.numCells = geometry.numCells;
+        this.numGhostCells = geometry.numGhostCells;
+        this.numFaces = geometry.numFaces;
+        this.numVars = numVars;
+
+        this.U = new double[(numCells + numGhostCells) * numVars];
+        this.residual = new double[numCells * numVars];
+        this.Wn = new double[numCells * numVars];
+        this.Wnm1 = new double[numCells * numVars];
+        this.Wnm2 = new double[numCells * numVars];
+        this.reconstructCoeffs = new double[(numCells + numGhostCells) * numVars * NUM_COEFFS];
+        this.cellGradients = new double[(numCells + numGhostCells) * numVars * NUM_COEFFS];
+
+        this.faceGradients = new double[numFaces * numVars * NUM_COEFFS];
+        this.faceU = new double[numFaces * numVars];
+
+        this.geometry = geometry;
+    }
+
+    /**
+     * @return Connectivity of the mesh, or null for the store of a stand-alone cell or face.
+     */
+    public Connectivity connectivity() {
+        return connectivity;
+    }
+
+    void setConnectivity(Connectivity connectivity) {
+        this.connectivity = connectivity;
+    }
+
+    public int cellOffset(int cellIndex) {
+        return cellIndex * numVars;
+    }
+
+    public int faceOffset(int faceIndex) {
+        return faceIndex * numVars;
+    }
+
+    public int coeffOffset(int cellIndex, int var) {
+        return (cellIndex * numVars + var) * NUM_COEFFS;
+    }
+
+    public int faceGradientOffset(int faceIndex, int var) {
+        return (faceIndex * numVars + var) * NUM_COEFFS;
+    }
+
+    /**
+     * @param field One of the cell fields or face fields of this store.
+     * @param row   Index of the cell or face.
+     * @return Copy of the values in the row, zeros for a ghost cell row of a field which has only interior cells.
+     */
+    public double[] get(double[] field, int row) {
+        return get(field, row, new double[numVars]);
+    }
+
+    /**
+     * @param values Array into which the values in the row are copied, for the callers which reuse a buffer.
+     * @return values
+     */
+    public double[] get(double[] field, int row, double[] values) {
+        if (row * numVars < field.length)
+            System.arraycopy(field, row * numVars, values, 0, numVars);
+        else
+            Arrays.fill(values, 0, numVars, 0.0);
+
+        return values;
+    }
+
+    /**
+     * @param field  One of the cell fields or face fields of this store.
+     * @param row    Index of the cell or face.
+     * @param values Values to be copied into the row.
+     */
+    public void set(double[] field, int row, double[] values) {
+        System.arraycopy(values, 0, field, row * numVars, numVars);
+    }
+}
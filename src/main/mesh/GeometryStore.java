@@ -0,0 +1,87 @@
+package main.mesh;
+
+import main.geom.Point;
+import main.geom.Vector;
+
+/**
+ * Packed geometry of the cells and faces of a mesh, laid out like the FieldStore: the values of a cell (face)
+ * are in the row given by the index of the cell (face). Vector quantities take three consecutive values,
+ * for example the y component of the unit normal of face i is faceNormal[i * 3 + 1].
+ * The centroids of the ghost cells follow the interior cells in cellCentroid.
+ */
+public class GeometryStore {
+    public final int numCells;
+    public final int numGhostCells;
+    public final int numFaces;
+
+    public final double[] cellVolume;
+    public final double[] cellCentroid;
+
+    public final double[] faceArea;
+    public final double[] faceCentroid;
+    public final double[] faceNormal;
+    public final double[] faceTangent1;
+    public final double[] faceTangent2;
+    /**
+     * Unit normal multiplied by the face area.
+     */
+    public final double[] faceAreaNormal;
+
+    public GeometryStore(int numCells, int numFaces) {
+        this(numCells, 0, numFaces);
+    }
+
+    public GeometryStore(int numCells, int numGhostCells, int numFaces) {
+        this.numCells = numCells;
+        this.numGhostCells = numGhostCells;
+        this.numFaces = numFaces;
+
+        this.cellVolume = new double[numCells];
+        this.cellCentroid = new double[(numCells + numGhostCells) * 3];
+
+        this.faceArea = new double[numFaces];
+        this.faceCentroid = new double[numFaces * 3];
+        this.faceNormal = new double[numFaces * 3];
+        this.faceTangent1 = new double[numFaces * 3];
+        this.faceTangent2 = new double[numFaces * 3];
+        this.faceAreaNormal = new double[numFaces * 3];
+    }
+
+    public void setCell(int row, Shape shape) {
+        cellVolume[row] = shape.volume;
+        set(cellCentroid, row, shape.centroid);
+    }
+
+    /**
+     * @param row   Row of the ghost cell, after the interior cells.
+     * @param shape Shape of the ghost cell, only the (mirrored) centroid is stored.
+     */
+    public void setGhostCell(int row, Shape shape) {
+        set(cellCentroid, row, shape.centroid);
+    }
+
+    public void setFace(int row, Surface surface) {
+        faceArea[row] = surface.area;
+        set(faceCentroid, row, surface.centroid);
+
+        Vector unitNormal = surface.unitNormal();
+        set(faceNormal, row, unitNormal);
+        set(faceTangent1, row, surface.unitTangent1());
+        set(faceTangent2, row, surface.unitTangent2());
+        set(faceAreaNormal, row, unitNormal.mult(surface.area));
+    }
+
+    private static void set(double[] array, int row, Point point) {
+        if (point == null) return; // stand-alone cells and faces may not have a centroid
+
+        array[row * 3] = point.x;
+        array[row * 3 + 1] = point.y;
+        array[row * 3 + 2] = point.z;
+    }
+
+    private static void set(double[] array, int row, Vector vector) {
+        array[row * 3] = vector.x;
+        array[row * 3 + 1] = vector.y;
+        array[row * 3 + 2] = vector.z;
+    }
+}
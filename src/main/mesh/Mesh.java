@@ -4,7 +4,6 @@ import main.geom.Point;
 import main.geom.VTKType;
 import main.geom.Vector;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
@@ -70,32 +69,80 @@ public interface Mesh {
         }
     }
 
-    static Cell ghostCell(Cell boundaryCell, Face boundaryFace) {
-        // mirror cell nodes about the face
-        List<Node> ghostCellNodes = new ArrayList<>();
-        for (Node node : boundaryCell.nodes) {
-            if (faceContains(boundaryFace, node)) {
-                ghostCellNodes.add(node);
-            } else { // mirror about the face
-                ghostCellNodes.add(mirrorNode(boundaryFace, node));
+    /**
+     * Creates the contiguous field storage, geometry and connectivity of the mesh and binds all the cells and faces
+     * to it. Must be called once the mesh is complete: indices set, faces oriented and neighbors assigned.
+     */
+    default void setupFields() {
+        int numVars = cells().get(0).numVars();
+        int numFaces = internalFaces().size() + boundaryStream()
+                .mapToInt(b -> b.faces.size())
+                .sum();
+        int numCells = cells().size();
+        int numInternalFaces = internalFaces().size();
+        FieldStore fields = new FieldStore(numCells, numFaces - numInternalFaces, numFaces, numVars);
+
+        GeometryStore geometry = fields.geometry;
+
+        for (Cell cell : cells()) {
+            cell.setFields(fields, cell.index());
+            geometry.setCell(cell.index(), cell.shape);
+        }
+        for (Face face : internalFaces()) {
+            face.setFields(fields, face.index());
+            geometry.setFace(face.index(), face.surface);
+        }
+        for (Boundary boundary : boundaries()) {
+            for (Face face : boundary.faces) {
+                face.setFields(fields, face.index());
+                geometry.setFace(face.index(), face.surface);
+
+                int ghostRow = numCells + face.index() - numInternalFaces;
+                face.right.setFields(fields, ghostRow);
+                geometry.setGhostCell(ghostRow, face.right.shape);
             }
         }
 
-        Node[] nodes = ghostCellNodes.toArray(new Node[0]);
+        fields.setConnectivity(new Connectivity(this));
+    }
 
-        VTKType vtkType = boundaryCell.vtkType;
-        Point ghostCellCentroid = mirrorPoint(boundaryFace, boundaryCell.shape.centroid);
-        Shape shape = new Shape(boundaryCell.shape.volume, ghostCellCentroid);
-        int numVars = boundaryCell.U.length;
+    /**
+     * @return Contiguous storage of the cell and face fields, shared by all cells and faces of the mesh.
+     */
+    default FieldStore fields() {
+        return cells().get(0).fields();
+    }
 
-        return new Cell(nodes, vtkType, shape, numVars);
+    /**
+     * @return Packed cell and face geometry of the mesh.
+     */
+    default GeometryStore geometry() {
+        return fields().geometry;
+    }
+
+    /**
+     * @return Integer connectivity and cached cell stencils of the mesh.
+     */
+    default Connectivity connectivity() {
+        return fields().connectivity();
     }
 
-    static private Node mirrorNode(Face face, Node node) {
-        Point mirroredPoint = mirrorPoint(face, node.location());
+    /**
+     * The ghost cell is the mirror image of the boundary cell about the boundary face, of which only the centroid is
+     * computed. Its nodes are the nodes of the boundary cell on the face, the mirrored nodes are not created, so its
+     * VTK type is that of the face, matching its nodes.
+     */
+    static Cell ghostCell(Cell boundaryCell, Face boundaryFace) {
+        Node[] nodes = Arrays.stream(boundaryCell.nodes)
+                .filter(node -> faceContains(boundaryFace, node))
+                .toArray(Node[]::new);
+
+        VTKType vtkType = boundaryFace.vtkType;
+        Point ghostCellCentroid = mirrorPoint(boundaryFace, boundaryCell.shape.centroid);
+        Shape shape = new Shape(boundaryCell.shape.volume, ghostCellCentroid);
+        int numVars = boundaryCell.numVars();
 
-        int numVars = face.U.length;
-        return new Node(mirroredPoint, numVars);
+        return Cell.ghost(nodes, vtkType, shape, numVars);
     }
 
     static private Point mirrorPoint(Face face, Point point) {
@@ -0,0 +1,221 @@
+package main.mesh;
+
+import main.geom.VTKType;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arrays from which a mesh can be restored without its mesh file (see CachedMesh): the nodes, the types and nodes of
+ * the cells and faces, the boundaries, the connectivity with its colorings and the geometry.
+ * The cells, faces and nodes are identified as in Connectivity.
+ */
+public class MeshArrays {
+    /**
+     * VTK types indexed by their id.
+     */
+    private static final VTKType[] TYPES = new VTKType[Arrays.stream(VTKType.values())
+            .mapToInt(type -> type.ID)
+            .max()
+            .orElse(0) + 1];
+
+    static {
+        for (VTKType type : VTKType.values()) {
+            TYPES[type.ID] = type;
+        }
+    }
+
+    public final int numCells;
+    public final int numInternalFaces;
+    public final int numFaces;
+    public final int numNodes;
+
+    /**
+     * Coordinates of the nodes, for example the y coordinate of node i is nodeCoordinates[i * 3 + 1].
+     */
+    public final double[] nodeCoordinates;
+    /**
+     * VTKType.ID of each interior cell.
+     */
+    public final int[] cellTypes;
+    /**
+     * VTKType.ID of each face.
+     */
+    public final int[] faceTypes;
+    /**
+     * Nodes of each face, in the same order as Face.nodes.
+     */
+    public final Adjacency faceNodes;
+    /**
+     * Index of the first face of each boundary, followed by numFaces. The faces of a boundary are numbered
+     * consecutively, as by Mesh.setAllFaceIndices().
+     */
+    public final int[] boundaryStart;
+    public final String[] boundaryNames;
+
+    public final Adjacency cellFaces;
+    public final int[] cellFaceSigns;
+    public final Adjacency cellNodes;
+    public final Adjacency nodeCells;
+    public final int[] faceLeft;
+    public final int[] faceRight;
+    public final Adjacency faceColors;
+    public final Adjacency cellColors;
+
+    public final GeometryStore geometry;
+
+    /**
+     * @throws IllegalArgumentException If the lengths of the arrays do not match each other, or if an id or a type
+     *                                  is out of range.
+     */
+    public MeshArrays(double[] nodeCoordinates, int[] cellTypes, int[] faceTypes, Adjacency faceNodes,
+                      int[] boundaryStart, String[] boundaryNames,
+                      Adjacency cellFaces, int[] cellFaceSigns, Adjacency cellNodes, Adjacency nodeCells,
+                      int[] faceLeft, int[] faceRight, Adjacency faceColors, Adjacency cellColors,
+                      GeometryStore geometry) {
+        this.numCells = cellTypes.length;
+        this.numFaces = faceTypes.length;
+        this.numNodes = nodeCoordinates.length / 3;
+        if (boundaryStart.length == 0)
+            throw new IllegalArgumentException("The boundary start array cannot be empty.");
+        this.numInternalFaces = boundaryStart[0];
+
+        this.nodeCoordinates = nodeCoordinates;
+        this.cellTypes = cellTypes;
+        this.faceTypes = faceTypes;
+        this.faceNodes = faceNodes;
+        this.boundaryStart = boundaryStart;
+        this.boundaryNames = boundaryNames;
+        this.cellFaces = cellFaces;
+        this.cellFaceSigns = cellFaceSigns;
+        this.cellNodes = cellNodes;
+        this.nodeCells = nodeCells;
+        this.faceLeft = faceLeft;
+        this.faceRight = faceRight;
+        this.faceColors = faceColors;
+        this.cellColors = cellColors;
+        this.geometry = geometry;
+
+        validate();
+    }
+
+    /**
+     * @param mesh Mesh with its fields set up. Its colorings are created if they have not been yet.
+     * @return Arrays of the mesh, sharing the geometry and connectivity arrays of the mesh.
+     */
+    public static MeshArrays of(Mesh mesh) {
+        Connectivity connectivity = mesh.connectivity();
+
+        double[] nodeCoordinates = new double[connectivity.numNodes * 3];
+        Map<Node, Integer> nodeIds = new IdentityHashMap<>();
+        for (int i = 0; i < connectivity.numNodes; i++) {
+            Node node = connectivity.nodes[i];
+            nodeCoordinates[i * 3] = node.x;
+            nodeCoordinates[i * 3 + 1] = node.y;
+            nodeCoordinates[i * 3 + 2] = node.z;
+            nodeIds.put(node, i);
+        }
+
+        int[] cellTypes = new int[connectivity.numCells];
+        for (int i = 0; i < connectivity.numCells; i++) {
+            cellTypes[i] = connectivity.cells[i].vtkType.ID;
+        }
+
+        int[] faceTypes = new int[connectivity.numFaces];
+        int[] faceNodeStart = new int[connectivity.numFaces + 1];
+        for (int i = 0; i < connectivity.numFaces; i++) {
+            faceTypes[i] = connectivity.faces[i].vtkType.ID;
+            faceNodeStart[i + 1] = faceNodeStart[i] + connectivity.faces[i].nodes.length;
+        }
+        int[] faceNodeEntries = new int[faceNodeStart[connectivity.numFaces]];
+        for (int i = 0; i < connectivity.numFaces; i++) {
+            Node[] nodes = connectivity.faces[i].nodes;
+            for (int n = 0; n < nodes.length; n++) {
+                faceNodeEntries[faceNodeStart[i] + n] = nodeIds.get(nodes[n]);
+            }
+        }
+
+        List<Boundary> boundaries = mesh.boundaries();
+        int[] boundaryStart = new int[boundaries.size() + 1];
+        String[] boundaryNames = new String[boundaries.size()];
+        boundaryStart[0] = connectivity.numInternalFaces;
+        for (int b = 0; b < boundaries.size(); b++) {
+            List<Face> faces = boundaries.get(b).faces;
+            for (int i = 0; i < faces.size(); i++) {
+                if (faces.get(i).index() != boundaryStart[b] + i)
+                    throw new IllegalArgumentException("The faces of each boundary must be numbered consecutively.");
+            }
+            boundaryStart[b + 1] = boundaryStart[b] + faces.size();
+            boundaryNames[b] = boundaries.get(b).name;
+        }
+
+        return new MeshArrays(nodeCoordinates, cellTypes, faceTypes, new Adjacency(faceNodeStart, faceNodeEntries),
+                boundaryStart, boundaryNames,
+                connectivity.cellFaces, connectivity.cellFaceSigns, connectivity.cellNodes, connectivity.nodeCells,
+                connectivity.faceLeft, connectivity.faceRight, connectivity.faceColors(), connectivity.cellColors(),
+                mesh.geometry());
+    }
+
+    public VTKType cellType(int cellIndex) {
+        return TYPES[cellTypes[cellIndex]];
+    }
+
+    public VTKType faceType(int faceIndex) {
+        return TYPES[faceTypes[faceIndex]];
+    }
+
+    private void validate() {
+        int numGhostCells = numFaces - numInternalFaces;
+        require(nodeCoordinates.length % 3 == 0, "node coordinates");
+        require(numInternalFaces >= 0 && numGhostCells >= 0, "boundary faces");
+        require(boundaryStart.length == boundaryNames.length + 1
+                && boundaryStart[boundaryNames.length] == numFaces, "boundaries");
+        for (int b = 0; b < boundaryNames.length; b++) {
+            require(boundaryStart[b + 1] >= boundaryStart[b] && boundaryNames[b] != null, "boundaries");
+        }
+        for (int id : cellTypes) requireType(id);
+        for (int id : faceTypes) requireType(id);
+
+        requireRows(faceNodes, numFaces, numNodes, "face nodes");
+        requireRows(cellFaces, numCells, numFaces, "cell faces");
+        require(cellFaceSigns.length == cellFaces.entries.length, "cell face signs");
+        requireRows(cellNodes, numCells, numNodes, "cell nodes");
+        requireRows(nodeCells, numNodes, numCells + numGhostCells, "node cells");
+
+        require(faceLeft.length == numFaces && faceRight.length == numFaces, "face neighbors");
+        for (int i = 0; i < numFaces; i++) {
+            require(faceLeft[i] >= 0 && faceLeft[i] < numCells, "face neighbors");
+            require(i < numInternalFaces
+                    ? faceRight[i] >= 0 && faceRight[i] < numCells
+                    : faceRight[i] == numCells + i - numInternalFaces, "face neighbors");
+        }
+
+        requireRows(faceColors, faceColors.numRows(), numFaces, "face colors");
+        require(faceColors.entries.length == numFaces, "face colors");
+        requireRows(cellColors, cellColors.numRows(), numCells, "cell colors");
+        require(cellColors.entries.length == numCells, "cell colors");
+
+        require(geometry.numCells == numCells && geometry.numGhostCells == numGhostCells
+                && geometry.numFaces == numFaces, "geometry");
+    }
+
+    private static void requireRows(Adjacency adjacency, int numRows, int numIds, String name) {
+        require(adjacency.numRows() == numRows && adjacency.start[0] == 0, name);
+        for (int i = 0; i < numRows; i++) {
+            require(adjacency.start[i + 1] >= adjacency.start[i], name);
+        }
+        for (int entry : adjacency.entries) {
+            require(entry >= 0 && entry < numIds, name);
+        }
+    }
+
+    private static void requireType(int id) {
+        require(id >= 0 && id < TYPES.length && TYPES[id] != null, "VTK types");
+    }
+
+    private static void require(boolean condition, String name) {
+        if (!condition) throw new IllegalArgumentException("Inconsistent " + name + " in the mesh arrays.");
+    }
+}
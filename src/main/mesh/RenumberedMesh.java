@@ -0,0 +1,71 @@
+package main.mesh;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Mesh with the cells of another mesh reordered for cache locality and the internal faces sorted by their left cell
+ * (and then by their right cell). The boundaries keep their faces in the same order.
+ * The cell and face indices, the field storage, geometry and connectivity are created anew,
+ * so the original mesh must not be used afterwards. The renumbering has to be done before the mesh is handed
+ * to the solver components, which store the indices.
+ */
+public class RenumberedMesh implements Mesh {
+    private final List<Cell> cells;
+    private final List<Face> internalFaces;
+    private final List<Node> nodes;
+    private final List<Boundary> boundaries;
+
+    public RenumberedMesh(Mesh mesh, CellOrdering ordering) {
+        int[] order = ordering.order(mesh);
+        int numCells = mesh.cells().size();
+        if (order.length != numCells)
+            throw new IllegalStateException("The ordering does not contain all the cells.");
+
+        int[] newIndex = new int[numCells];
+        List<Cell> cells = new ArrayList<>(numCells);
+        for (int i = 0; i < numCells; i++) {
+            newIndex[order[i]] = i;
+            cells.add(mesh.cells().get(order[i]));
+        }
+
+        List<Face> internalFaces = new ArrayList<>(mesh.internalFaces());
+        internalFaces.sort(Comparator
+                .comparingInt((Face face) -> newIndex[face.left.index()])
+                .thenComparingInt(face -> newIndex[face.right.index()]));
+
+        this.cells = List.copyOf(cells);
+        this.internalFaces = List.copyOf(internalFaces);
+        this.nodes = mesh.nodes();
+        this.boundaries = mesh.boundaries();
+
+        this.cells.forEach(Cell::clearIndex);
+        this.internalFaces.forEach(Face::clearIndex);
+        this.boundaries.forEach(b -> b.faces.forEach(Face::clearIndex));
+
+        setAllCellIndices();
+        setAllFaceIndices();
+        setupFields();
+    }
+
+    @Override
+    public List<Cell> cells() {
+        return cells;
+    }
+
+    @Override
+    public List<Face> internalFaces() {
+        return internalFaces;
+    }
+
+    @Override
+    public List<Node> nodes() {
+        return nodes;
+    }
+
+    @Override
+    public List<Boundary> boundaries() {
+        return boundaries;
+    }
+}
@@ -0,0 +1,26 @@
+package main.mesh;
+
+/**
+ * Mesh whose cells have an index structure (xi, eta and zeta), so that it can be coarsened by merging two cells in
+ * each index direction.
+ */
+public interface StructuredMesh extends Mesh {
+
+    /**
+     * @return Whether the number of cells is even, and at least two, in each index direction.
+     */
+    boolean canCoarsen();
+
+    /**
+     * @return Mesh of every other node of this mesh in each index direction, with the same boundary conditions and
+     * number of variables. Each coarse cell covers 2 x 2 (x 2) cells of this mesh.
+     * @throws IllegalStateException If the mesh cannot be coarsened.
+     */
+    StructuredMesh coarsen();
+
+    /**
+     * @return Index of the cell of coarsen() that covers each cell of this mesh, indexed by the cell index.
+     * @throws IllegalStateException If the mesh cannot be coarsened.
+     */
+    int[] coarseCellIndices();
+}
@@ -0,0 +1,126 @@
+package main.mesh.factory;
+
+import main.geom.Vector;
+import main.mesh.Face;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Matches the faces which are created separately by the two cells sharing them.
+ * A face is identified by its node indices, sorted and packed into two longs, and the faces are matched through
+ * an open-addressing hash table which is filled in parallel. Of two matching faces the one created first is kept:
+ * its right cell is set to the left cell of the other face and its normal is averaged with the (opposite) normal of
+ * the other face. The result does not depend on the order in which the threads fill the table.
+ */
+class FaceMatcher {
+    private static final int MAX_NODES = 4;
+
+    private final Face[] faces;
+    private final long[] keys;
+    private final AtomicIntegerArray partner;
+    private final AtomicIntegerArray table;
+    private final int mask;
+
+    /**
+     * @param faces       Faces of all the cells, in the order of creation.
+     * @param nodeIndices Node indices of each face.
+     */
+    private FaceMatcher(List<Face> faces, List<int[]> nodeIndices) {
+        if (faces.size() != nodeIndices.size())
+            throw new IllegalArgumentException("Node indices are required for each face.");
+
+        int numFaces = faces.size();
+        this.faces = faces.toArray(new Face[0]);
+        this.keys = new long[2 * numFaces];
+        this.partner = new AtomicIntegerArray(numFaces);
+        for (int f = 0; f < numFaces; f++) {
+            partner.set(f, -1);
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2 * numFaces, 2) - 1) << 1;
+        this.table = new AtomicIntegerArray(capacity);
+        this.mask = capacity - 1;
+
+        IntStream.range(0, numFaces).parallel()
+                .forEach(f -> setKey(f, nodeIndices.get(f)));
+    }
+
+    /**
+     * @param faces       Faces of all the cells, in the order of creation.
+     * @param nodeIndices Node indices of each face, in any order.
+     * @return Unique faces in the order of their first occurrence. The faces which are shared by two cells have
+     * their right cell set, the other faces (boundary faces) have a null right cell.
+     */
+    static List<Face> match(List<Face> faces, List<int[]> nodeIndices) {
+        return new FaceMatcher(faces, nodeIndices).match();
+    }
+
+    private List<Face> match() {
+        int numFaces = faces.length;
+        IntStream.range(0, numFaces).parallel().forEach(this::insert);
+        IntStream.range(0, numFaces).parallel()
+                .filter(f -> partner.get(f) > f)
+                .forEach(f -> stitch(faces[f], faces[partner.get(f)]));
+
+        return IntStream.range(0, numFaces)
+                .filter(f -> partner.get(f) == -1 || partner.get(f) > f)
+                .mapToObj(f -> faces[f])
+                .collect(toList());
+    }
+
+    private void setKey(int face, int[] nodeIndices) {
+        if (nodeIndices.length > MAX_NODES)
+            throw new IllegalArgumentException("Faces with more than " + MAX_NODES + " nodes are not supported.");
+
+        int[] sorted = Arrays.copyOf(nodeIndices, MAX_NODES);
+        Arrays.fill(sorted, nodeIndices.length, MAX_NODES, -1);
+        Arrays.sort(sorted, 0, nodeIndices.length);
+
+        keys[2 * face] = ((long) sorted[0] << 32) | (sorted[1] & 0xFFFFFFFFL);
+        keys[2 * face + 1] = ((long) sorted[2] << 32) | (sorted[3] & 0xFFFFFFFFL);
+    }
+
+    private void insert(int face) {
+        int slot = hash(keys[2 * face], keys[2 * face + 1]) & mask;
+        while (true) {
+            int entry = table.get(slot);
+            if (entry == 0) {
+                if (table.compareAndSet(slot, 0, face + 1)) return;
+                continue; // another thread took the slot, look at it again
+            }
+
+            int other = entry - 1;
+            if (keys[2 * other] == keys[2 * face] && keys[2 * other + 1] == keys[2 * face + 1]) {
+                if (!partner.compareAndSet(other, -1, face))
+                    throw new IllegalStateException("More than two cells share a face.");
+                partner.set(face, other);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int hash(long key1, long key2) {
+        long h = key1 * 0x9E3779B97F4A7C15L + key2;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+
+        return (int) h;
+    }
+
+    private static void stitch(Face kept, Face other) {
+        kept.right = other.left;
+
+        // Average of the normals (subtract since the other normal points in opposite direction)
+        Vector avgNormal = other.surface.unitNormal()
+                .sub(kept.surface.unitNormal())
+                .unit();
+        kept.surface.setUnitNormal(avgNormal.mult(-1));
+    }
+}
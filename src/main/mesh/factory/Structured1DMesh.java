@@ -8,7 +8,7 @@ import main.geom.factory.Line;
 import main.geom.factory.Vertex;
 import main.mesh.*;
 import main.physics.bc.BoundaryCondition;
-import main.io.DataFileReader;
+import main.io.MeshFileReader;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -27,19 +27,20 @@ public class Structured1DMesh implements Mesh {
 
     public Structured1DMesh(File meshFile, int numVars, BoundaryCondition bc_xiMin, BoundaryCondition bc_xiMax) throws FileNotFoundException {
         int xi;
-        try (DataFileReader meshFileReader = new DataFileReader(meshFile, "%")) {
+        try (MeshFileReader meshFileReader = MeshFileReader.open(meshFile, "%")) {
             int dim = meshFileReader.readIntParameter("dimension");
             if (dim != 1) {
                 throw new IllegalArgumentException("The mesh file dimension must be 1.");
             }
             String mode = meshFileReader.readParameter("mode");
-            if (!mode.equals("ASCII")) {
-                throw new IllegalArgumentException("Only ASCII mode is supported.");
+            if (!mode.equals("ASCII") && !mode.equals("BINARY")) {
+                throw new IllegalArgumentException("Only ASCII and BINARY modes are supported.");
             }
             xi = meshFileReader.readIntParameter("xi");
 
+            double[] coordinates = meshFileReader.readCoordinates(xi);
             this.nodes = IntStream.range(0, xi)
-                    .mapToObj(i -> new Node(meshFileReader.readXYZ(), numVars))
+                    .mapToObj(i -> new Node(coordinates[i * 3], coordinates[i * 3 + 1], coordinates[i * 3 + 2], numVars))
                     .collect(toList());
         }
 
@@ -142,6 +143,8 @@ public class Structured1DMesh implements Mesh {
                 }
             }
         }
+
+        setupFields();
     }
 
     @Override
@@ -8,45 +8,50 @@ import main.geom.factory.Line;
 import main.geom.factory.Quad;
 import main.mesh.*;
 import main.physics.bc.BoundaryCondition;
-import main.io.DataFileReader;
+import main.io.MeshFileReader;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.*;
 
-public class Structured2DMesh implements Mesh {
+public class Structured2DMesh implements StructuredMesh {
     private final List<Cell> cells;
     private final List<Face> internalFaces;
     private final List<Node> nodes;
     private final List<Boundary> boundaries;
 
+    private final int num_xi, num_eta;
+    private final int numVars;
+    private final BoundaryCondition bc_xiMin, bc_xiMax, bc_etaMin, bc_etaMax;
+
     public Structured2DMesh(File meshFile, int numVars,
                             BoundaryCondition bc_xiMin, BoundaryCondition bc_xiMax,
                             BoundaryCondition bc_etaMin, BoundaryCondition bc_etaMax) throws FileNotFoundException {
-        int num_xi, num_eta;
-        Node[][] nodeArray;
-        try (DataFileReader meshFileReader = new DataFileReader(meshFile, "%")) {
-            int dim = meshFileReader.readIntParameter("dimension");
-            if (dim != 2) {
-                throw new IllegalArgumentException("The mesh file dimension must be 2.");
-            }
-
-            String mode = meshFileReader.readParameter("mode");
-            if (!mode.equals("ASCII")) {
-                throw new IllegalArgumentException("Only ASCII mode is supported.");
-            }
-
-            num_xi = meshFileReader.readIntParameter("xi");
-            num_eta = meshFileReader.readIntParameter("eta");
+        this(readPoints(meshFile), numVars, bc_xiMin, bc_xiMax, bc_etaMin, bc_etaMax);
+    }
 
-            nodeArray = new Node[num_xi][num_eta];
-            this.nodes = new ArrayList<>();
-            for (int i = 0; i < num_xi; i++) {
-                for (int j = 0; j < num_eta; j++) {
-                    Node node = new Node(meshFileReader.readXYZ(), numVars);
-                    nodeArray[i][j] = node;
-                    this.nodes.add(node);
-                }
+    /**
+     * @param points Node locations, indexed by [xi][eta].
+     */
+    public Structured2DMesh(Point[][] points, int numVars,
+                            BoundaryCondition bc_xiMin, BoundaryCondition bc_xiMax,
+                            BoundaryCondition bc_etaMin, BoundaryCondition bc_etaMax) {
+        this.num_xi = points.length;
+        this.num_eta = points[0].length;
+        this.numVars = numVars;
+        this.bc_xiMin = bc_xiMin;
+        this.bc_xiMax = bc_xiMax;
+        this.bc_etaMin = bc_etaMin;
+        this.bc_etaMax = bc_etaMax;
+
+        Node[][] nodeArray = new Node[num_xi][num_eta];
+        this.nodes = new ArrayList<>();
+        for (int i = 0; i < num_xi; i++) {
+            for (int j = 0; j < num_eta; j++) {
+                Point p = points[i][j];
+                Node node = new Node(p.x, p.y, p.z, numVars);
+                nodeArray[i][j] = node;
+                this.nodes.add(node);
             }
         }
 
@@ -65,77 +70,34 @@ public class Structured2DMesh implements Mesh {
         }
         setAllCellIndices();
 
-        this.internalFaces = new ArrayList<>();
-        Set<Face> faceSet = new HashSet<>();
-        Node na, nb;
+        List<Face> cellFaces = new ArrayList<>();
+        List<int[]> cellFaceNodes = new ArrayList<>();
         for (Cell cell : this.cells) {
-            Node n0 = cell.nodes[0];
-            Node n1 = cell.nodes[1];
-            Node n2 = cell.nodes[2];
-            Node n3 = cell.nodes[3];
+            int i = cell.index() / (num_eta - 1);
+            int j = cell.index() % (num_eta - 1);
+            int[] nodeIndices = {i * num_eta + j, (i + 1) * num_eta + j, (i + 1) * num_eta + j + 1, i * num_eta + j + 1};
 
-            Geometry cellGeom = new Quad(n0.location(), n1.location(), n2.location(), n3.location());
+            Node[] n = cell.nodes;
+            Geometry cellGeom = new Quad(n[0].location(), n[1].location(), n[2].location(), n[3].location());
             Vector cellNormal = cellGeom.unitNormal();
 
-            // Face 0
-            na = n0;
-            nb = n1;
-            Geometry faceGeom = new Line(na.location(), nb.location());
-            double area = faceGeom.length() * 1.0;
-            Point centroid = faceGeom.centroid();
-
-            Vector faceTangent = new Vector(na.location(), nb.location());
-            Vector unitNormal = faceTangent.cross(cellNormal).unit();
-
-            Surface surface = new Surface(area, centroid, unitNormal);
-
-            Face f0 = new Face(new Node[]{na, nb}, faceGeom.vtkType(), surface, cell, null, numVars);
-
-            // Face 1
-            na = n1;
-            nb = n2;
-            faceGeom = new Line(na.location(), nb.location());
-            area = faceGeom.length() * 1.0;
-            centroid = faceGeom.centroid();
-
-            faceTangent = new Vector(na.location(), nb.location());
-            unitNormal = faceTangent.cross(cellNormal).unit();
-
-            surface = new Surface(area, centroid, unitNormal);
-
-            Face f1 = new Face(new Node[]{na, nb}, faceGeom.vtkType(), surface, cell, null, numVars);
-
-            // Face 2
-            na = n2;
-            nb = n3;
-            faceGeom = new Line(na.location(), nb.location());
-            area = faceGeom.length() * 1.0;
-            centroid = faceGeom.centroid();
-
-            faceTangent = new Vector(na.location(), nb.location());
-            unitNormal = faceTangent.cross(cellNormal).unit();
-
-            surface = new Surface(area, centroid, unitNormal);
-
-            Face f2 = new Face(new Node[]{na, nb}, faceGeom.vtkType(), surface, cell, null, numVars);
-
-            // Face 3
-            na = n3;
-            nb = n0;
-            faceGeom = new Line(na.location(), nb.location());
-            area = faceGeom.length() * 1.0;
-            centroid = faceGeom.centroid();
-
-            faceTangent = new Vector(na.location(), nb.location());
-            unitNormal = faceTangent.cross(cellNormal).unit();
+            for (int f = 0; f < 4; f++) {
+                Node na = n[f];
+                Node nb = n[(f + 1) % 4];
+                Geometry faceGeom = new Line(na.location(), nb.location());
+                double area = faceGeom.length() * 1.0;
+                Point centroid = faceGeom.centroid();
 
-            surface = new Surface(area, centroid, unitNormal);
+                Vector faceTangent = new Vector(na.location(), nb.location());
+                Vector unitNormal = faceTangent.cross(cellNormal).unit();
 
-            Face f3 = new Face(new Node[]{na, nb}, faceGeom.vtkType(), surface, cell, null, numVars);
+                Surface surface = new Surface(area, centroid, unitNormal);
 
-            faceSet.addAll(List.of(f0, f1, f2, f3));
+                cellFaces.add(new Face(new Node[]{na, nb}, faceGeom.vtkType(), surface, cell, null, numVars));
+                cellFaceNodes.add(new int[]{nodeIndices[f], nodeIndices[(f + 1) % 4]});
+            }
         }
-        this.internalFaces.addAll(faceSet);
+        this.internalFaces = FaceMatcher.match(cellFaces, cellFaceNodes);
 
         // Remove all boundary faces
         this.internalFaces.removeIf(face -> face.right == null);
@@ -145,6 +107,7 @@ public class Structured2DMesh implements Mesh {
         Face[] xiMaxFaces = new Face[num_eta - 1];
         Face[] etaMinFaces = new Face[num_xi - 1];
         Face[] etaMaxFaces = new Face[num_xi - 1];
+        Node na, nb;
         int i, j;
         i = 0;
         for (j = 0; j < num_eta - 1; j++) {
@@ -281,6 +244,73 @@ public class Structured2DMesh implements Mesh {
                 face.right.faces.add(face);
             }
         }
+
+        setupFields();
+    }
+
+    private static Point[][] readPoints(File meshFile) throws FileNotFoundException {
+        try (MeshFileReader meshFileReader = MeshFileReader.open(meshFile, "%")) {
+            int dim = meshFileReader.readIntParameter("dimension");
+            if (dim != 2) {
+                throw new IllegalArgumentException("The mesh file dimension must be 2.");
+            }
+
+            String mode = meshFileReader.readParameter("mode");
+            if (!mode.equals("ASCII") && !mode.equals("BINARY")) {
+                throw new IllegalArgumentException("Only ASCII and BINARY modes are supported.");
+            }
+
+            int num_xi = meshFileReader.readIntParameter("xi");
+            int num_eta = meshFileReader.readIntParameter("eta");
+
+            double[] coordinates = meshFileReader.readCoordinates(num_xi * num_eta);
+            Point[][] points = new Point[num_xi][num_eta];
+            for (int i = 0; i < num_xi; i++) {
+                for (int j = 0; j < num_eta; j++) {
+                    int p = (i * num_eta + j) * 3;
+                    points[i][j] = new Point(coordinates[p], coordinates[p + 1], coordinates[p + 2]);
+                }
+            }
+            return points;
+        }
+    }
+
+    @Override
+    public boolean canCoarsen() {
+        return num_xi > 2 && num_eta > 2 && (num_xi - 1) % 2 == 0 && (num_eta - 1) % 2 == 0;
+    }
+
+    @Override
+    public Structured2DMesh coarsen() {
+        checkCoarsening();
+        Point[][] points = new Point[(num_xi + 1) / 2][(num_eta + 1) / 2];
+        for (int i = 0; i < points.length; i++) {
+            for (int j = 0; j < points[i].length; j++) {
+                points[i][j] = nodes.get(2 * i * num_eta + 2 * j).location();
+            }
+        }
+
+        return new Structured2DMesh(points, numVars, bc_xiMin, bc_xiMax, bc_etaMin, bc_etaMax);
+    }
+
+    @Override
+    public int[] coarseCellIndices() {
+        checkCoarsening();
+        int coarse_eta = (num_eta - 1) / 2;
+        int[] coarseCells = new int[cells.size()];
+        for (int c = 0; c < coarseCells.length; c++) {
+            int i = c / (num_eta - 1);
+            int j = c % (num_eta - 1);
+            coarseCells[c] = (i / 2) * coarse_eta + j / 2;
+        }
+
+        return coarseCells;
+    }
+
+    private void checkCoarsening() {
+        if (!canCoarsen())
+            throw new IllegalStateException("The mesh with " + (num_xi - 1) + " x " + (num_eta - 1)
+                    + " cells cannot be coarsened.");
     }
 
     @Override
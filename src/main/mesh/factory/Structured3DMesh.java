@@ -6,17 +6,27 @@ import main.geom.Point;
 import main.geom.VTKType;
 import main.geom.factory.Hexahedron;
 import main.geom.factory.Quad;
-import main.io.DataFileReader;
+import main.io.MeshFileReader;
 import main.mesh.*;
 import main.physics.bc.BoundaryCondition;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class Structured3DMesh implements StructuredMesh {
+    /**
+     * Nodes of the faces of a hexahedron cell, as positions in the node array of the cell.
+     * The nodes are based on VTK_HEXAHEDRON numbering such that the faces are
+     * oriented counter-clockwise, looking from outside of the volume.
+     */
+    private static final int[][] HEX_FACE_NODES = {
+            {3, 2, 1, 0}, {4, 5, 6, 7}, {0, 1, 5, 4}, {2, 3, 7, 6}, {1, 2, 6, 5}, {0, 4, 7, 3}
+    };
 
-public class Structured3DMesh implements Mesh {
     private enum FaceOrientation {
         CLOCKWISE, COUNTER_CLOCKWISE
     }
@@ -26,36 +36,44 @@ public class Structured3DMesh implements Mesh {
     private final List<Node> nodes;
     private final List<Boundary> boundaries;
 
+    private final int num_xi, num_eta, num_zeta;
+    private final int numVars;
+    private final BoundaryCondition bc_xiMin, bc_xiMax, bc_etaMin, bc_etaMax, bc_zetaMin, bc_zetaMax;
+
     public Structured3DMesh(File meshFile, int numVars,
                             BoundaryCondition bc_xiMin, BoundaryCondition bc_xiMax,
                             BoundaryCondition bc_etaMin, BoundaryCondition bc_etaMax,
                             BoundaryCondition bc_zetaMin, BoundaryCondition bc_zetaMax) throws FileNotFoundException {
-        int num_xi, num_eta, num_zeta;
-        Node[][][] nodeArray;
-        try (DataFileReader meshFileReader = new DataFileReader(meshFile, "%")) {
-            int dim = meshFileReader.readIntParameter("dimension");
-            if (dim != 3) {
-                throw new IllegalArgumentException("The mesh file dimension must be 3.");
-            }
-
-            String mode = meshFileReader.readParameter("mode");
-            if (!mode.equals("ASCII")) {
-                throw new IllegalArgumentException("Only ASCII mode is supported.");
-            }
-
-            num_xi = meshFileReader.readIntParameter("xi");
-            num_eta = meshFileReader.readIntParameter("eta");
-            num_zeta = meshFileReader.readIntParameter("zeta");
+        this(readPoints(meshFile), numVars, bc_xiMin, bc_xiMax, bc_etaMin, bc_etaMax, bc_zetaMin, bc_zetaMax);
+    }
 
-            nodeArray = new Node[num_xi][num_eta][num_zeta];
-            this.nodes = new ArrayList<>();
-            for (int i = 0; i < num_xi; i++) {
-                for (int j = 0; j < num_eta; j++) {
-                    for (int k = 0; k < num_zeta; k++) {
-                        Node node = new Node(meshFileReader.readXYZ(), numVars);
-                        nodeArray[i][j][k] = node;
-                        this.nodes.add(node);
-                    }
+    /**
+     * @param points Node locations, indexed by [xi][eta][zeta].
+     */
+    public Structured3DMesh(Point[][][] points, int numVars,
+                            BoundaryCondition bc_xiMin, BoundaryCondition bc_xiMax,
+                            BoundaryCondition bc_etaMin, BoundaryCondition bc_etaMax,
+                            BoundaryCondition bc_zetaMin, BoundaryCondition bc_zetaMax) {
+        this.num_xi = points.length;
+        this.num_eta = points[0].length;
+        this.num_zeta = points[0][0].length;
+        this.numVars = numVars;
+        this.bc_xiMin = bc_xiMin;
+        this.bc_xiMax = bc_xiMax;
+        this.bc_etaMin = bc_etaMin;
+        this.bc_etaMax = bc_etaMax;
+        this.bc_zetaMin = bc_zetaMin;
+        this.bc_zetaMax = bc_zetaMax;
+
+        Node[][][] nodeArray = new Node[num_xi][num_eta][num_zeta];
+        this.nodes = new ArrayList<>();
+        for (int i = 0; i < num_xi; i++) {
+            for (int j = 0; j < num_eta; j++) {
+                for (int k = 0; k < num_zeta; k++) {
+                    Point p = points[i][j][k];
+                    Node node = new Node(p.x, p.y, p.z, numVars);
+                    nodeArray[i][j][k] = node;
+                    this.nodes.add(node);
                 }
             }
         }
@@ -73,10 +91,21 @@ public class Structured3DMesh implements Mesh {
         }
         setAllCellIndices();
 
-        this.internalFaces = this.cells.stream()
-                .flatMap(cell -> hexCellFaces(cell).stream())
-                .distinct()
-                .collect(Collectors.toList());
+        int numCells = this.cells.size();
+        Face[] cellFaces = new Face[numCells * 6];
+        int[][] cellFaceNodes = new int[numCells * 6][];
+        int nodes_eta = num_eta, nodes_zeta = num_zeta;
+        IntStream.range(0, numCells).parallel().forEach(c -> {
+            List<Face> faces = hexCellFaces(this.cells.get(c));
+            int[] nodeIndices = hexCellNodeIndices(c, nodes_eta, nodes_zeta);
+            for (int f = 0; f < 6; f++) {
+                cellFaces[c * 6 + f] = faces.get(f);
+                int[] faceNodes = HEX_FACE_NODES[f];
+                cellFaceNodes[c * 6 + f] = new int[]{nodeIndices[faceNodes[0]], nodeIndices[faceNodes[1]],
+                        nodeIndices[faceNodes[2]], nodeIndices[faceNodes[3]]};
+            }
+        });
+        this.internalFaces = FaceMatcher.match(Arrays.asList(cellFaces), Arrays.asList(cellFaceNodes));
 
         // Remove all boundary faces
         this.internalFaces.removeIf(face -> face.right == null);
@@ -303,6 +332,81 @@ public class Structured3DMesh implements Mesh {
                 }
             }
         }
+
+        setupFields();
+    }
+
+    private static Point[][][] readPoints(File meshFile) throws FileNotFoundException {
+        try (MeshFileReader meshFileReader = MeshFileReader.open(meshFile, "%")) {
+            int dim = meshFileReader.readIntParameter("dimension");
+            if (dim != 3) {
+                throw new IllegalArgumentException("The mesh file dimension must be 3.");
+            }
+
+            String mode = meshFileReader.readParameter("mode");
+            if (!mode.equals("ASCII") && !mode.equals("BINARY")) {
+                throw new IllegalArgumentException("Only ASCII and BINARY modes are supported.");
+            }
+
+            int num_xi = meshFileReader.readIntParameter("xi");
+            int num_eta = meshFileReader.readIntParameter("eta");
+            int num_zeta = meshFileReader.readIntParameter("zeta");
+
+            double[] coordinates = meshFileReader.readCoordinates(num_xi * num_eta * num_zeta);
+            Point[][][] points = new Point[num_xi][num_eta][num_zeta];
+            for (int i = 0; i < num_xi; i++) {
+                for (int j = 0; j < num_eta; j++) {
+                    for (int k = 0; k < num_zeta; k++) {
+                        int p = ((i * num_eta + j) * num_zeta + k) * 3;
+                        points[i][j][k] = new Point(coordinates[p], coordinates[p + 1], coordinates[p + 2]);
+                    }
+                }
+            }
+            return points;
+        }
+    }
+
+    @Override
+    public boolean canCoarsen() {
+        return num_xi > 2 && num_eta > 2 && num_zeta > 2
+                && (num_xi - 1) % 2 == 0 && (num_eta - 1) % 2 == 0 && (num_zeta - 1) % 2 == 0;
+    }
+
+    @Override
+    public Structured3DMesh coarsen() {
+        checkCoarsening();
+        Point[][][] points = new Point[(num_xi + 1) / 2][(num_eta + 1) / 2][(num_zeta + 1) / 2];
+        for (int i = 0; i < points.length; i++) {
+            for (int j = 0; j < points[i].length; j++) {
+                for (int k = 0; k < points[i][j].length; k++) {
+                    points[i][j][k] = nodes.get((2 * i * num_eta + 2 * j) * num_zeta + 2 * k).location();
+                }
+            }
+        }
+
+        return new Structured3DMesh(points, numVars, bc_xiMin, bc_xiMax, bc_etaMin, bc_etaMax, bc_zetaMin, bc_zetaMax);
+    }
+
+    @Override
+    public int[] coarseCellIndices() {
+        checkCoarsening();
+        int cells_eta = num_eta - 1, cells_zeta = num_zeta - 1;
+        int coarse_eta = cells_eta / 2, coarse_zeta = cells_zeta / 2;
+        int[] coarseCells = new int[cells.size()];
+        for (int c = 0; c < coarseCells.length; c++) {
+            int i = c / (cells_eta * cells_zeta);
+            int j = (c / cells_zeta) % cells_eta;
+            int k = c % cells_zeta;
+            coarseCells[c] = ((i / 2) * coarse_eta + j / 2) * coarse_zeta + k / 2;
+        }
+
+        return coarseCells;
+    }
+
+    private void checkCoarsening() {
+        if (!canCoarsen())
+            throw new IllegalStateException("The mesh with " + (num_xi - 1) + " x " + (num_eta - 1) + " x "
+                    + (num_zeta - 1) + " cells cannot be coarsened.");
     }
 
     @Override
@@ -350,28 +454,33 @@ public class Structured3DMesh implements Mesh {
         return new Cell(new Node[]{n0, n1, n2, n3, n4, n5, n6, n7}, hexahedron.vtkType(), shape, numVars);
     }
 
+    /**
+     * @return Indices (in the node list) of the nodes of the cell, in the same order as in hexCell.
+     */
+    private int[] hexCellNodeIndices(int cellIndex, int num_eta, int num_zeta) {
+        int k = cellIndex % (num_zeta - 1);
+        int j = (cellIndex / (num_zeta - 1)) % (num_eta - 1);
+        int i = cellIndex / ((num_zeta - 1) * (num_eta - 1));
+
+        int n0 = (i * num_eta + j) * num_zeta + k;
+        int di = num_eta * num_zeta;
+        int dj = num_zeta;
+        int dk = 1;
+
+        return new int[]{n0, n0 + di, n0 + di + dj, n0 + dj, n0 + dk, n0 + di + dk, n0 + di + dj + dk, n0 + dj + dk};
+    }
+
     private List<Face> hexCellFaces(Cell cell) {
-        Node n0 = cell.nodes[0];
-        Node n1 = cell.nodes[1];
-        Node n2 = cell.nodes[2];
-        Node n3 = cell.nodes[3];
-        Node n4 = cell.nodes[4];
-        Node n5 = cell.nodes[5];
-        Node n6 = cell.nodes[6];
-        Node n7 = cell.nodes[7];
-
-        FaceOrientation faceOrientation = faceOrientation(n0, n1, n2, n3, n4, n5, n6, n7);
-
-        // The nodes are based on VTK_HEXAHEDRON numbering such that the faces are
-        // oriented counter-clockwise, looking from outside of the volume
-        Face f0 = createFace(n3, n2, n1, n0, cell, faceOrientation);
-        Face f1 = createFace(n4, n5, n6, n7, cell, faceOrientation);
-        Face f2 = createFace(n0, n1, n5, n4, cell, faceOrientation);
-        Face f3 = createFace(n2, n3, n7, n6, cell, faceOrientation);
-        Face f4 = createFace(n1, n2, n6, n5, cell, faceOrientation);
-        Face f5 = createFace(n0, n4, n7, n3, cell, faceOrientation);
-
-        return List.of(f0, f1, f2, f3, f4, f5);
+        Node[] n = cell.nodes;
+        FaceOrientation faceOrientation = faceOrientation(n[0], n[1], n[2], n[3], n[4], n[5], n[6], n[7]);
+
+        List<Face> faces = new ArrayList<>(6);
+        for (int[] faceNodes : HEX_FACE_NODES) {
+            faces.add(createFace(n[faceNodes[0]], n[faceNodes[1]], n[faceNodes[2]], n[faceNodes[3]],
+                    cell, faceOrientation));
+        }
+
+        return faces;
     }
 
     private FaceOrientation faceOrientation(Node n0, Node n1, Node n2, Node n3, Node n4, Node n5, Node n6, Node n7) {
@@ -416,6 +525,6 @@ public class Structured3DMesh implements Mesh {
         Surface surface = new Surface(quad.area(), quad.centroid(), quad.unitNormal());
         surface.setUnitNormal(surface.unitNormal().mult(faceOrientation == FaceOrientation.COUNTER_CLOCKWISE ? 1 : -1));
 
-        return new Face(new Node[]{n0, n1, n2, n3}, quad.vtkType(), surface, left, null, left.U.length);
+        return new Face(new Node[]{n0, n1, n2, n3}, quad.vtkType(), surface, left, null, left.numVars());
     }
 }
\ No newline at end of file
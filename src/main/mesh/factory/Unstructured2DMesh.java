@@ -7,7 +7,7 @@ import main.geom.Vector;
 import main.geom.factory.*;
 import main.mesh.*;
 import main.physics.bc.BoundaryCondition;
-import main.io.DataFileReader;
+import main.io.MeshFileReader;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -23,26 +23,29 @@ public class Unstructured2DMesh implements Mesh {
     private final List<Boundary> boundaries;
 
     public Unstructured2DMesh(File meshFile, int numVars, Map<String, BoundaryCondition> bcs) throws FileNotFoundException {
-        DataFileReader meshFileReader = new DataFileReader(meshFile, "%");
+        MeshFileReader meshFileReader = MeshFileReader.open(meshFile, "%");
         int dim = meshFileReader.readIntParameter("dimension");
         if (dim != 2) {
             throw new IllegalArgumentException("The mesh file dimension must be 2.");
         }
         String mode = meshFileReader.readParameter("mode");
-        if (!mode.equals("ASCII")) {
-            throw new IllegalArgumentException("Only ASCII mode is supported.");
+        if (!mode.equals("ASCII") && !mode.equals("BINARY")) {
+            throw new IllegalArgumentException("Only ASCII and BINARY modes are supported.");
         }
 
         int numPoints = meshFileReader.readIntParameter("points");
+        double[] coordinates = meshFileReader.readCoordinates(numPoints);
         this.nodes = List.copyOf(IntStream.range(0, numPoints)
-                .mapToObj(i -> new Node(meshFileReader.readXYZ(), numVars))
+                .mapToObj(i -> new Node(coordinates[i * 3], coordinates[i * 3 + 1], coordinates[i * 3 + 2], numVars))
                 .collect(toList()));
 
         int numElements = meshFileReader.readIntParameter("elements");
+        Adjacency elements = meshFileReader.readIntRows(numElements);
         List<Cell> cellList = new ArrayList<>();
-        Set<Face> faceSet = new HashSet<>();
+        List<Face> cellFaces = new ArrayList<>();
+        List<int[]> cellFaceNodes = new ArrayList<>();
         for (int i = 0; i < numElements; i++) {
-            int[] connectivity = meshFileReader.readIntArray();
+            int[] connectivity = elements.row(i);
             VTKType vtkType = VTKType.get(connectivity[0]);
             Node[] cellNodes = new Node[connectivity.length - 1];
             Point[] cellPoints = new Point[cellNodes.length];
@@ -74,17 +77,27 @@ public class Unstructured2DMesh implements Mesh {
             Cell cell = new Cell(cellNodes, vtkType, cellShape, numVars);
             cellList.add(cell);
 
-            // Create and add faces of the cell to Set
-            faceSet.addAll(createCellFaces(cell, cellGeom));
+            // Create faces of the cell, matched with the faces of the neighboring cells below
+            cellFaces.addAll(createCellFaces(cell, cellGeom));
+            for (int ni = 0; ni < cellNodes.length; ni++) {
+                cellFaceNodes.add(new int[]{connectivity[ni + 1], connectivity[(ni + 1) % cellNodes.length + 1]});
+            }
         }
         this.cells = List.copyOf(cellList);
         setAllCellIndices();
 
-        List<Face> allBoundaryFaces = faceSet.stream()
+        List<Face> faces = FaceMatcher.match(cellFaces, cellFaceNodes);
+        Map<Node, Integer> nodeIndices = new IdentityHashMap<>();
+        for (int i = 0; i < numPoints; i++) {
+            nodeIndices.put(nodes.get(i), i);
+        }
+        Map<Long, Face> allBoundaryFaces = new HashMap<>();
+        faces.stream()
                 .filter(f -> f.right == null)
-                .collect(toList());
+                .forEach(f -> allBoundaryFaces.put(
+                        edgeKey(nodeIndices.get(f.nodes[0]), nodeIndices.get(f.nodes[1])), f));
 
-        this.internalFaces = List.copyOf(faceSet.stream()
+        this.internalFaces = List.copyOf(faces.stream()
                 .filter(f -> f.right != null)
                 .collect(toList()));
 
@@ -93,18 +106,15 @@ public class Unstructured2DMesh implements Mesh {
         for (int bi = 0; bi < numBoundaries; bi++) {
             String bndName = meshFileReader.readParameter("bname");
             int numBndFaces = meshFileReader.readIntParameter("bfaces");
+            Adjacency bndFaceNodes = meshFileReader.readIntRows(numBndFaces);
             List<Face> bndFaces = new ArrayList<>();
             for (int fi = 0; fi < numBndFaces; fi++) {
-                int[] connectivity = meshFileReader.readIntArray();
+                int[] connectivity = bndFaceNodes.row(fi);
                 VTKType vtkType = VTKType.get(connectivity[0]);
                 if (vtkType != VTKType.VTK_LINE) {
                     throw new UnsupportedOperationException("Face: The geometry type " + vtkType + " is not supported.");
                 }
-                Node[] faceNodes = new Node[connectivity.length - 1];
-                for (int ni = 0; ni < faceNodes.length; ni++) {
-                    faceNodes[ni] = nodes.get(connectivity[ni + 1]);
-                }
-                Face bndFace = search(faceNodes, allBoundaryFaces)
+                Face bndFace = Optional.ofNullable(allBoundaryFaces.get(edgeKey(connectivity[1], connectivity[2])))
                         .orElseThrow(() -> new IllegalStateException("Couldn't locate boundary face in mesh."));
                 bndFace.right = Mesh.ghostCell(bndFace.left, bndFace);
                 bndFaces.add(bndFace);
@@ -142,6 +152,8 @@ public class Unstructured2DMesh implements Mesh {
                 face.right.faces.add(face);
             }
         }
+
+        setupFields();
     }
 
     private List<Face> createCellFaces(Cell cell, Geometry cellGeom) {
@@ -161,7 +173,7 @@ public class Unstructured2DMesh implements Mesh {
         Vector faceNormal = edgeUnitNormal(n0, n1, cellNormal);
         Surface surface = new Surface(faceGeom.length() * 1.0, faceGeom.centroid(), faceNormal);
 
-        return new Face(new Node[]{n0, n1}, cell.vtkType, surface, cell, null, cell.U.length);
+        return new Face(new Node[]{n0, n1}, faceGeom.vtkType(), surface, cell, null, cell.numVars());
     }
 
     private Vector edgeUnitNormal(Node n0, Node n1, Vector cellNormal) {
@@ -169,22 +181,14 @@ public class Unstructured2DMesh implements Mesh {
         return edgeTangent.cross(cellNormal).unit();
     }
 
-    private Optional<Face> search(Node[] faceNodes, List<Face> faces) {
-        for (Face face : faces) {
-            if (sameNodes(faceNodes, face.nodes))
-                return Optional.of(face);
-        }
-
-        return Optional.empty();
-    }
-
-    private boolean sameNodes(Node[] na1, Node[] na2) {
-        if (na1.length != na2.length) return false;
-
-        List<Node> nl1 = List.of(na1);
-        List<Node> nl2 = List.of(na2);
+    /**
+     * @return Key of the edge between the nodes, independent of the order of the nodes.
+     */
+    private static long edgeKey(int nodeIndex0, int nodeIndex1) {
+        int min = Math.min(nodeIndex0, nodeIndex1);
+        int max = Math.max(nodeIndex0, nodeIndex1);
 
-        return nl1.containsAll(nl2);
+        return ((long) min << 32) | max;
     }
 
     @Override
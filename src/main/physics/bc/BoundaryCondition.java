@@ -1,9 +1,21 @@
 package main.physics.bc;
 
+import main.mesh.DerivedField;
 import main.mesh.Face;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public interface BoundaryCondition {
     void setGhostCellValues(Face face);
 
     double[] convectiveFlux(Face face);
+
+    /**
+     * @return Fields read by convectiveFlux and setGhostCellValues besides the values of the interior cells,
+     * none unless the boundary condition declares otherwise.
+     */
+    default Set<DerivedField> requiredFields() {
+        return EnumSet.noneOf(DerivedField.class);
+    }
 }
@@ -3,7 +3,6 @@ package main.physics.bc;
 import main.mesh.Cell;
 import main.mesh.Face;
 import main.physics.goveqn.GoverningEquations;
-import main.util.DoubleArray;
 
 public class ExtrapolatedBC implements BoundaryCondition {
     private final GoverningEquations govEqn;
@@ -16,12 +15,12 @@ public class ExtrapolatedBC implements BoundaryCondition {
     public void setGhostCellValues(Face face) {
         Cell outerCell = face.right;
         Cell innerCell = face.left;
-        DoubleArray.copy(innerCell.U, outerCell.U);
+        outerCell.setU(innerCell.U());
     }
 
     @Override
     public double[] convectiveFlux(Face face) {
-        double[] innerVars = face.left.U;
+        double[] innerVars = face.left.U();
         return govEqn.convection().flux(innerVars, face.surface.unitNormal());
     }
 }
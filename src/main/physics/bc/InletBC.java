@@ -4,8 +4,6 @@ import main.geom.Vector;
 import main.mesh.Face;
 import main.physics.goveqn.factory.EulerEquations;
 
-import static main.util.DoubleArray.copy;
-
 public class InletBC implements BoundaryCondition {
 
     private final EulerEquations govEqn;
@@ -26,13 +24,13 @@ public class InletBC implements BoundaryCondition {
         };
         double mach = govEqn.mach(primVars, face.surface.unitNormal());
         if (mach > -1 && mach < 1) {
-            double[] insidePrimVars = govEqn.primitiveVars(face.left.U);
+            double[] insidePrimVars = govEqn.primitiveVars(face.left.U());
             double insidePressure = insidePrimVars[4];
             primVars[4] = insidePressure;
         }
         double[] consVars = govEqn.conservativeVars(primVars);
 
-        copy(consVars, face.right.U);
+        face.right.setU(consVars);
     }
 
     @Override
@@ -45,7 +43,7 @@ public class InletBC implements BoundaryCondition {
         };
         double mach = govEqn.mach(primVars, face.surface.unitNormal());
         if (mach > -1 && mach < 1) {
-            double[] insidePrimVars = govEqn.primitiveVars(face.left.U);
+            double[] insidePrimVars = govEqn.primitiveVars(face.left.U());
             double insidePressure = insidePrimVars[4];
             primVars[4] = insidePressure;
         }
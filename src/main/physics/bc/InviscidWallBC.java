@@ -4,8 +4,6 @@ import main.geom.Vector;
 import main.mesh.Face;
 import main.physics.goveqn.factory.EulerEquations;
 
-import static main.util.DoubleArray.copy;
-
 public class InviscidWallBC implements BoundaryCondition {
     private final EulerEquations govEqn;
 
@@ -17,7 +15,7 @@ public class InviscidWallBC implements BoundaryCondition {
     public void setGhostCellValues(Face face) {
         // extrapolate pressure and density
         // mirror velocity vector
-        double[] insidePrimVars = govEqn.primitiveVars(face.left.U);
+        double[] insidePrimVars = govEqn.primitiveVars(face.left.U());
         double rho = insidePrimVars[0];
         double u = insidePrimVars[1];
         double v = insidePrimVars[2];
@@ -36,13 +34,13 @@ public class InviscidWallBC implements BoundaryCondition {
         };
         double[] ghostCellConsVars = govEqn.conservativeVars(ghostCellPrimVars);
 
-        copy(ghostCellConsVars, face.right.U);
+        face.right.setU(ghostCellConsVars);
     }
 
     @Override
     public double[] convectiveFlux(Face face) {
         Vector n = face.surface.unitNormal();
-        double[] insidePrimVars = govEqn.primitiveVars(face.left.U);
+        double[] insidePrimVars = govEqn.primitiveVars(face.left.U());
         double p = insidePrimVars[4];
         return new double[]{
                 0, p * n.x, p * n.y, p * n.z, 0
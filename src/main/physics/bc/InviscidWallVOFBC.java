@@ -4,8 +4,6 @@ import main.geom.Vector;
 import main.mesh.Face;
 import main.physics.goveqn.factory.ArtificialCompressibilityVOFEquations;
 
-import static main.util.DoubleArray.copy;
-
 public class InviscidWallVOFBC implements BoundaryCondition {
     private final ArtificialCompressibilityVOFEquations govEqn;
 
@@ -17,7 +15,7 @@ public class InviscidWallVOFBC implements BoundaryCondition {
     public void setGhostCellValues(Face face) {
         // extrapolate pressure and C
         // mirror velocity vector
-        double[] insidePrimVars = govEqn.primitiveVars(face.left.U);
+        double[] insidePrimVars = govEqn.primitiveVars(face.left.U());
         double p = insidePrimVars[0];
         double u = insidePrimVars[1];
         double v = insidePrimVars[2];
@@ -36,13 +34,13 @@ public class InviscidWallVOFBC implements BoundaryCondition {
         };
         double[] ghostCellConsVars = govEqn.conservativeVars(ghostCellPrimVars);
 
-        copy(ghostCellConsVars, face.right.U);
+        face.right.setU(ghostCellConsVars);
     }
 
     @Override
     public double[] convectiveFlux(Face face) {
         Vector n = face.surface.unitNormal();
-        double[] insidePrimVars = govEqn.primitiveVars(face.left.U);
+        double[] insidePrimVars = govEqn.primitiveVars(face.left.U());
         double p = insidePrimVars[0];
         return new double[]{
                 0, p * n.x, p * n.y, p * n.z, 0
@@ -2,7 +2,6 @@ package main.physics.bc;
 
 import main.mesh.Face;
 import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
-import main.util.DoubleArray;
 
 public class PressureOutletBC implements BoundaryCondition {
     private final ArtificialCompressibilityEquations govEqn;
@@ -16,7 +15,7 @@ public class PressureOutletBC implements BoundaryCondition {
     @Override
     public void setGhostCellValues(Face face) {
         // Velocity is simply copied, pressure is linearly extrapolated
-        double[] insideConservativeVars = face.left.U;
+        double[] insideConservativeVars = face.left.U();
         double[] insidePrimitiveVars = govEqn.primitiveVars(insideConservativeVars);
         double pi = insidePrimitiveVars[0];
         double ui = insidePrimitiveVars[1];
@@ -31,13 +30,13 @@ public class PressureOutletBC implements BoundaryCondition {
 
         double[] ghostCellConservativeVars = govEqn.conservativeVars(ghostCellPrimitiveVars);
 
-        DoubleArray.copy(ghostCellConservativeVars, face.right.U);
+        face.right.setU(ghostCellConservativeVars);
     }
 
     @Override
     public double[] convectiveFlux(Face face) {
         // velocity is defined by inside cell, pressure is defined
-        double[] insideConservativeVars = face.left.U;
+        double[] insideConservativeVars = face.left.U();
         double ui = insideConservativeVars[1];
         double vi = insideConservativeVars[2];
         double wi = insideConservativeVars[3];
@@ -3,7 +3,6 @@ package main.physics.bc;
 import main.geom.Vector;
 import main.mesh.Face;
 import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
-import main.util.DoubleArray;
 
 public class WallBC implements BoundaryCondition {
 
@@ -18,7 +17,7 @@ public class WallBC implements BoundaryCondition {
     @Override
     public void setGhostCellValues(Face face) {
         // velocity is linearly extrapolated, pressure is simply copied
-        double[] insideConservativeVars = face.left.U;
+        double[] insideConservativeVars = face.left.U();
         double ui = insideConservativeVars[1];
         double vi = insideConservativeVars[2];
         double wi = insideConservativeVars[3];
@@ -32,13 +31,13 @@ public class WallBC implements BoundaryCondition {
                 ghostCellVelocity.z
         };
 
-        DoubleArray.copy(ghostConservativeVars, face.right.U);
+        face.right.setU(ghostConservativeVars);
     }
 
     @Override
     public double[] convectiveFlux(Face face) {
         // u, v, w defined by the velocity of the wall, p defined by the inside cell
-        double p_beta = face.left.U[0];
+        double p_beta = face.left.U(0);
         double u = this.wallVelocity.x;
         double v = this.wallVelocity.y;
         double w = this.wallVelocity.z;
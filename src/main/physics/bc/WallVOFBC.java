@@ -3,7 +3,6 @@ package main.physics.bc;
 import main.geom.Vector;
 import main.mesh.Face;
 import main.physics.goveqn.factory.ArtificialCompressibilityVOFEquations;
-import main.util.DoubleArray;
 
 public class WallVOFBC implements BoundaryCondition {
 
@@ -18,7 +17,7 @@ public class WallVOFBC implements BoundaryCondition {
     @Override
     public void setGhostCellValues(Face face) {
         // velocity is linearly extrapolated, pressure and volume-fraction is simply copied
-        double[] insideConservativeVars = face.left.U;
+        double[] insideConservativeVars = face.left.U();
         double[] insidePrimitiveVars = govEqn.primitiveVars(insideConservativeVars);
         double pi = insidePrimitiveVars[0];
         double ui = insidePrimitiveVars[1];
@@ -33,17 +32,17 @@ public class WallVOFBC implements BoundaryCondition {
         };
         double[] ghostConservativeVars = govEqn.conservativeVars(ghostPrimitiveVars);
 
-        DoubleArray.copy(ghostConservativeVars, face.right.U);
+        face.right.setU(ghostConservativeVars);
     }
 
     @Override
     public double[] convectiveFlux(Face face) {
         // u, v, w defined by the velocity of the wall, p and C defined by the inside cell
-        double p_rho_beta = face.left.U[0];
+        double p_rho_beta = face.left.U(0);
         double u = this.wallVelocity.x;
         double v = this.wallVelocity.y;
         double w = this.wallVelocity.z;
-        double C = face.left.U[4];
+        double C = face.left.U(4);
 
         double rho = govEqn.rho(C);
 
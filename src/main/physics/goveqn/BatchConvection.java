@@ -0,0 +1,91 @@
+package main.physics.goveqn;
+
+/**
+ * Convection of a block of up to BLOCK_SIZE states in structure-of-arrays layout: variable var of state i is at
+ * U[var * BLOCK_SIZE + i] and the unit normal of state i is (nx[i], ny[i], nz[i]). The outputs use the same layout.
+ * Each state gives the same values as the corresponding Convection method.
+ * <p>
+ * The Euler and artificial compressibility equations evaluate the blocks with the Vector API (jdk.incubator.vector)
+ * when the module is resolved, i.e. the JVM is started with --add-modules jdk.incubator.vector. These kernels
+ * process whole vectors, so they may also write the outputs of the states from count up to the next multiple of the
+ * vector length (at most BLOCK_SIZE); those values are meaningless. Without the module they fall back to plain loops
+ * over the states. scalar() serves the other equations.
+ */
+public interface BatchConvection {
+    /**
+     * A multiple of the vector length of every vector species of doubles.
+     */
+    int BLOCK_SIZE = 64;
+
+    int numVars();
+
+    void flux(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] F);
+
+    void maxAbsEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] out);
+
+    /**
+     * Smallest and largest of the sorted eigenvalues.
+     */
+    void minMaxEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count,
+                           double[] min, double[] max);
+
+    /**
+     * @return Whether the jdk.incubator.vector module is resolved, so that the Vector API kernels can be used.
+     */
+    static boolean vectorApiAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    /**
+     * Scalar fallback for the equations without a batch implementation, evaluating the states one by one.
+     */
+    static BatchConvection scalar(Convection convection, int numVars) {
+        return new BatchConvection() {
+            private final ThreadLocal<double[][]> state = ThreadLocal.withInitial(() -> new double[2][numVars]);
+
+            @Override
+            public int numVars() {
+                return numVars;
+            }
+
+            @Override
+            public void flux(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] F) {
+                double[][] s = state.get();
+                for (int i = 0; i < count; i++) {
+                    gather(U, i, s[0]);
+                    convection.flux(s[0], nx[i], ny[i], nz[i], s[1]);
+                    for (int var = 0; var < numVars; var++) {
+                        F[var * BLOCK_SIZE + i] = s[1][var];
+                    }
+                }
+            }
+
+            @Override
+            public void maxAbsEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] out) {
+                double[] Ui = state.get()[0];
+                for (int i = 0; i < count; i++) {
+                    gather(U, i, Ui);
+                    out[i] = convection.maxAbsEigenvalues(Ui, nx[i], ny[i], nz[i]);
+                }
+            }
+
+            @Override
+            public void minMaxEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count,
+                                          double[] min, double[] max) {
+                double[][] s = state.get();
+                for (int i = 0; i < count; i++) {
+                    gather(U, i, s[0]);
+                    convection.sortedEigenvalues(s[0], nx[i], ny[i], nz[i], s[1]);
+                    min[i] = s[1][0];
+                    max[i] = s[1][numVars - 1];
+                }
+            }
+
+            private void gather(double[] U, int i, double[] Ui) {
+                for (int var = 0; var < numVars; var++) {
+                    Ui[var] = U[var * BLOCK_SIZE + i];
+                }
+            }
+        };
+    }
+}
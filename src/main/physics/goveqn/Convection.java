@@ -31,4 +31,34 @@ public interface Convection {
      * @return maximum of absolute eigenvalues
      */
     double maxAbsEigenvalues(double[] conservativeVars, Vector unitNormal);
+
+    /**
+     * Same as flux(conservativeVars, unitNormal), written into out. The normal is given by its components, so that
+     * it can be read from the GeometryStore. The equations override this to avoid allocating.
+     *
+     * @param conservativeVars U
+     * @param nx               x component of n
+     * @param ny               y component of n
+     * @param nz               z component of n
+     * @param out              Fc nx + Gc ny + Hc nz
+     */
+    default void flux(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+        double[] flux = flux(conservativeVars, new Vector(nx, ny, nz));
+        System.arraycopy(flux, 0, out, 0, flux.length);
+    }
+
+    /**
+     * Same as sortedEigenvalues(conservativeVars, unitNormal), written into out.
+     */
+    default void sortedEigenvalues(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+        double[] eigenvalues = sortedEigenvalues(conservativeVars, new Vector(nx, ny, nz));
+        System.arraycopy(eigenvalues, 0, out, 0, eigenvalues.length);
+    }
+
+    /**
+     * Same as maxAbsEigenvalues(conservativeVars, unitNormal).
+     */
+    default double maxAbsEigenvalues(double[] conservativeVars, double nx, double ny, double nz) {
+        return maxAbsEigenvalues(conservativeVars, new Vector(nx, ny, nz));
+    }
 }
@@ -6,4 +6,41 @@ public interface Diffusion {
     double[] flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal);
 
     double maxAbsDiffusivity(double[] conservativeVars);
+
+    /**
+     * Same as flux(conservativeVars, gradConservativeVars, unitNormal), written into out.
+     * The equations override this to avoid allocating.
+     */
+    default void flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal, double[] out) {
+        double[] flux = flux(conservativeVars, gradConservativeVars, unitNormal);
+        System.arraycopy(flux, 0, out, 0, flux.length);
+    }
+
+    /**
+     * Same as flux(conservativeVars, gradConservativeVars, unitNormal, out), with the gradient of variable var at
+     * gradients[offset + 3 * var] (x, y and z components), as in FieldStore.faceGradients.
+     * The equations override this to avoid allocating.
+     */
+    default void flux(double[] conservativeVars, double[] gradients, int offset, Vector unitNormal, double[] out) {
+        Vector[] gradConservativeVars = new Vector[conservativeVars.length];
+        for (int var = 0; var < gradConservativeVars.length; var++) {
+            int i = offset + 3 * var;
+            gradConservativeVars[var] = new Vector(gradients[i], gradients[i + 1], gradients[i + 2]);
+        }
+        flux(conservativeVars, gradConservativeVars, unitNormal, out);
+    }
+
+    /**
+     * @return Components of the gradients in the layout of flux(conservativeVars, gradients, offset, unitNormal, out).
+     */
+    static double[] components(Vector[] gradConservativeVars) {
+        double[] gradients = new double[3 * gradConservativeVars.length];
+        for (int var = 0; var < gradConservativeVars.length; var++) {
+            gradients[3 * var] = gradConservativeVars[var].x;
+            gradients[3 * var + 1] = gradConservativeVars[var].y;
+            gradients[3 * var + 2] = gradConservativeVars[var].z;
+        }
+
+        return gradients;
+    }
 }
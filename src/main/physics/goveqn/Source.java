@@ -4,4 +4,34 @@ import main.geom.Vector;
 
 public interface Source {
     double[] sourceVector(double[] conservativeVars, Vector[] gradConservativeVars);
+
+    /**
+     * @return false if the source vector does not depend on the gradients, which are then not computed.
+     */
+    default boolean requiresGradients() {
+        return true;
+    }
+
+    /**
+     * Same as sourceVector(conservativeVars, gradConservativeVars), written into out.
+     * The equations override this to avoid allocating.
+     */
+    default void sourceVector(double[] conservativeVars, Vector[] gradConservativeVars, double[] out) {
+        double[] source = sourceVector(conservativeVars, gradConservativeVars);
+        System.arraycopy(source, 0, out, 0, source.length);
+    }
+
+    /**
+     * Same as sourceVector(conservativeVars, gradConservativeVars, out), with the gradient of variable var at
+     * gradients[offset + 3 * var] (x, y and z components), as in FieldStore.cellGradients.
+     * The equations override this to avoid allocating.
+     */
+    default void sourceVector(double[] conservativeVars, double[] gradients, int offset, double[] out) {
+        Vector[] gradConservativeVars = new Vector[conservativeVars.length];
+        for (int var = 0; var < gradConservativeVars.length; var++) {
+            int i = offset + 3 * var;
+            gradConservativeVars[var] = new Vector(gradients[i], gradients[i + 1], gradients[i + 2]);
+        }
+        sourceVector(conservativeVars, gradConservativeVars, out);
+    }
 }
@@ -2,6 +2,8 @@ package main.physics.goveqn;
 
 import main.geom.Vector;
 
+import java.util.Arrays;
+
 public class ZeroConvection implements Convection {
 
     private final double[] flux;
@@ -26,4 +28,19 @@ public class ZeroConvection implements Convection {
     public double maxAbsEigenvalues(double[] conservativeVars, Vector unitNormal) {
         return 0;
     }
+
+    @Override
+    public void flux(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+        Arrays.fill(out, 0.0);
+    }
+
+    @Override
+    public void sortedEigenvalues(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+        Arrays.fill(out, 0.0);
+    }
+
+    @Override
+    public double maxAbsEigenvalues(double[] conservativeVars, double nx, double ny, double nz) {
+        return 0;
+    }
 }
@@ -2,6 +2,8 @@ package main.physics.goveqn;
 
 import main.geom.Vector;
 
+import java.util.Arrays;
+
 public class ZeroDiffusion implements Diffusion {
     private final double[] zeroFlux;
 
@@ -14,6 +16,16 @@ public class ZeroDiffusion implements Diffusion {
         return zeroFlux;
     }
 
+    @Override
+    public void flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal, double[] out) {
+        Arrays.fill(out, 0.0);
+    }
+
+    @Override
+    public void flux(double[] conservativeVars, double[] gradients, int offset, Vector unitNormal, double[] out) {
+        Arrays.fill(out, 0.0);
+    }
+
     @Override
     public double maxAbsDiffusivity(double[] conservativeVars) {
         return 0;
@@ -2,6 +2,8 @@ package main.physics.goveqn;
 
 import main.geom.Vector;
 
+import java.util.Arrays;
+
 public class ZeroSource implements Source {
     private final double[] zeroVector;
 
@@ -13,4 +15,19 @@ public class ZeroSource implements Source {
     public double[] sourceVector(double[] conservativeVars, Vector[] gradConservativeVars) {
         return zeroVector;
     }
+
+    @Override
+    public boolean requiresGradients() {
+        return false;
+    }
+
+    @Override
+    public void sourceVector(double[] conservativeVars, Vector[] gradConservativeVars, double[] out) {
+        Arrays.fill(out, 0.0);
+    }
+
+    @Override
+    public void sourceVector(double[] conservativeVars, double[] gradients, int offset, double[] out) {
+        Arrays.fill(out, 0.0);
+    }
 }
@@ -14,6 +14,9 @@ public class ArtificialCompressibilityEquations implements GoverningEquations {
         GRAVITY = gravity;
         this.NU = dynamicViscosity / RHO;
         this.BETA = 1.0;
+        this.batchConvection = BatchConvection.vectorApiAvailable()
+                ? new ArtificialCompressibilityVectorConvection(BETA, RHO)
+                : loopBatchConvection;
     }
 
     @Override
@@ -102,64 +105,67 @@ public class ArtificialCompressibilityEquations implements GoverningEquations {
     private final Convection convection = new Convection() {
         @Override
         public double[] flux(double[] conservativeVars, Vector unitNormal) {
-            double[] primitiveVars = primitiveVars(conservativeVars);
-            double p = primitiveVars[0];
-            double u = primitiveVars[1];
-            double v = primitiveVars[2];
-            double w = primitiveVars[3];
+            double[] flux = new double[4];
+            flux(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z, flux);
 
-            double p_rho = p / RHO;
+            return flux;
+        }
 
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+        @Override
+        public void flux(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+            double p = conservativeVars[0] * BETA;
+            double u = conservativeVars[1];
+            double v = conservativeVars[2];
+            double w = conservativeVars[3];
+
+            double p_rho = p / RHO;
 
             double Vp = u * nx + v * ny + w * nz;
 
-            return new double[]{
-                    Vp,
-                    u * Vp + p_rho * nx,
-                    v * Vp + p_rho * ny,
-                    w * Vp + p_rho * nz
-            };
+            out[0] = Vp;
+            out[1] = u * Vp + p_rho * nx;
+            out[2] = v * Vp + p_rho * ny;
+            out[3] = w * Vp + p_rho * nz;
         }
 
         @Override
         public double[] sortedEigenvalues(double[] conservativeVars, Vector unitNormal) {
-            double[] primitiveVars = primitiveVars(conservativeVars);
-            //double p = primitiveVars[0];
-            double u = primitiveVars[1];
-            double v = primitiveVars[2];
-            double w = primitiveVars[3];
+            double[] eigenvalues = new double[4];
+            sortedEigenvalues(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z, eigenvalues);
 
-            double beta_rho = BETA / RHO;
+            return eigenvalues;
+        }
 
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+        @Override
+        public void sortedEigenvalues(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+            double u = conservativeVars[1];
+            double v = conservativeVars[2];
+            double w = conservativeVars[3];
+
+            double beta_rho = BETA / RHO;
 
             double Vp = u * nx + v * ny + w * nz;
 
             double a = Math.sqrt(Vp * Vp + beta_rho);
 
-            return new double[]{
-                    Vp - a, Vp, Vp, Vp + a
-            };
+            out[0] = Vp - a;
+            out[1] = Vp;
+            out[2] = Vp;
+            out[3] = Vp + a;
         }
 
         @Override
         public double maxAbsEigenvalues(double[] conservativeVars, Vector unitNormal) {
-            double[] primitiveVars = primitiveVars(conservativeVars);
-            //double p = primitiveVars[0];
-            double u = primitiveVars[1];
-            double v = primitiveVars[2];
-            double w = primitiveVars[3];
+            return maxAbsEigenvalues(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z);
+        }
 
-            double beta_rho = BETA / RHO;
+        @Override
+        public double maxAbsEigenvalues(double[] conservativeVars, double nx, double ny, double nz) {
+            double u = conservativeVars[1];
+            double v = conservativeVars[2];
+            double w = conservativeVars[3];
 
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+            double beta_rho = BETA / RHO;
 
             double Vp = u * nx + v * ny + w * nz;
 
@@ -170,6 +176,13 @@ public class ArtificialCompressibilityEquations implements GoverningEquations {
     };
 
     public double[] F(double[] conservativeVars) {
+        double[] F = new double[4];
+        F(conservativeVars, F);
+
+        return F;
+    }
+
+    public void F(double[] conservativeVars, double[] out) {
         double p_beta = conservativeVars[0];
         double u = conservativeVars[1];
         double v = conservativeVars[2];
@@ -177,15 +190,20 @@ public class ArtificialCompressibilityEquations implements GoverningEquations {
 
         double p = p_beta * BETA;
 
-        return new double[]{
-                u,
-                u * u + p / RHO,
-                u * v,
-                u * w
-        };
+        out[0] = u;
+        out[1] = u * u + p / RHO;
+        out[2] = u * v;
+        out[3] = u * w;
     }
 
     public double[] min_max_eigenvalues(double[] conservativeVars) {
+        double[] eigenvalues = new double[2];
+        min_max_eigenvalues(conservativeVars, eigenvalues);
+
+        return eigenvalues;
+    }
+
+    public void min_max_eigenvalues(double[] conservativeVars, double[] out) {
 //        double p_beta = conservativeVars[0];
         double u = conservativeVars[1];
 //        double v = conservativeVars[2];
@@ -193,9 +211,8 @@ public class ArtificialCompressibilityEquations implements GoverningEquations {
 
         double a = Math.sqrt(u * u + BETA / RHO);
 
-        return new double[]{
-                u - a, u + a
-        };
+        out[0] = u - a;
+        out[1] = u + a;
     }
 
     @Override
@@ -203,25 +220,105 @@ public class ArtificialCompressibilityEquations implements GoverningEquations {
         return convection;
     }
 
+    /**
+     * Fallback of batchConvection() without the Vector API, with the loops of the convection over the states.
+     */
+    private final BatchConvection loopBatchConvection = new BatchConvection() {
+        private static final int B = BLOCK_SIZE;
+
+        @Override
+        public int numVars() {
+            return 4;
+        }
+
+        @Override
+        public void flux(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] F) {
+            for (int i = 0; i < count; i++) {
+                double p = U[i] * BETA;
+                double u = U[B + i];
+                double v = U[2 * B + i];
+                double w = U[3 * B + i];
+
+                double p_rho = p / RHO;
+
+                double Vp = u * nx[i] + v * ny[i] + w * nz[i];
+
+                F[i] = Vp;
+                F[B + i] = u * Vp + p_rho * nx[i];
+                F[2 * B + i] = v * Vp + p_rho * ny[i];
+                F[3 * B + i] = w * Vp + p_rho * nz[i];
+            }
+        }
+
+        @Override
+        public void maxAbsEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] out) {
+            double beta_rho = BETA / RHO;
+            for (int i = 0; i < count; i++) {
+                double Vp = U[B + i] * nx[i] + U[2 * B + i] * ny[i] + U[3 * B + i] * nz[i];
+
+                double a = Math.sqrt(Vp * Vp + beta_rho);
+
+                out[i] = Math.abs(Vp) + a;
+            }
+        }
+
+        @Override
+        public void minMaxEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count,
+                                      double[] min, double[] max) {
+            double beta_rho = BETA / RHO;
+            for (int i = 0; i < count; i++) {
+                double Vp = U[B + i] * nx[i] + U[2 * B + i] * ny[i] + U[3 * B + i] * nz[i];
+
+                double a = Math.sqrt(Vp * Vp + beta_rho);
+
+                min[i] = Vp - a;
+                max[i] = Vp + a;
+            }
+        }
+    };
+
+    private final BatchConvection batchConvection;
+
+    /**
+     * @return Convection of blocks of states, for the batch Riemann solvers. It uses the Vector API when it is
+     * available (see BatchConvection).
+     */
+    public BatchConvection batchConvection() {
+        return batchConvection;
+    }
+
+    BatchConvection loopBatchConvection() {
+        return loopBatchConvection;
+    }
+
     private final Diffusion diffusion = new Diffusion() {
 
         @Override
         public double[] flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal) {
-            Vector grad_u = gradConservativeVars[1];
-            Vector grad_v = gradConservativeVars[2];
-            Vector grad_w = gradConservativeVars[3];
+            double[] flux = new double[4];
+            flux(conservativeVars, gradConservativeVars, unitNormal, flux);
+
+            return flux;
+        }
+
+        @Override
+        public void flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal, double[] out) {
+            flux(conservativeVars, Diffusion.components(gradConservativeVars), 0, unitNormal, out);
+        }
 
-            double du_dx = grad_u.x;
-            double du_dy = grad_u.y;
-            double du_dz = grad_u.z;
+        @Override
+        public void flux(double[] conservativeVars, double[] gradients, int offset, Vector unitNormal, double[] out) {
+            double du_dx = gradients[offset + 3];
+            double du_dy = gradients[offset + 4];
+            double du_dz = gradients[offset + 5];
 
-            double dv_dx = grad_v.x;
-            double dv_dy = grad_v.y;
-            double dv_dz = grad_v.z;
+            double dv_dx = gradients[offset + 6];
+            double dv_dy = gradients[offset + 7];
+            double dv_dz = gradients[offset + 8];
 
-            double dw_dx = grad_w.x;
-            double dw_dy = grad_w.y;
-            double dw_dz = grad_w.z;
+            double dw_dx = gradients[offset + 9];
+            double dw_dy = gradients[offset + 10];
+            double dw_dz = gradients[offset + 11];
 
             double tau_xx = 2.0 * NU * du_dx;
             double tau_yy = 2.0 * NU * dv_dy;
@@ -240,12 +337,10 @@ public class ArtificialCompressibilityEquations implements GoverningEquations {
             double ny = unitNormal.y;
             double nz = unitNormal.z;
 
-            return new double[]{
-                    0.0,
-                    tau_xx * nx + tau_yx * ny + tau_zx * nz,
-                    tau_xy * nx + tau_yy * ny + tau_zy * nz,
-                    tau_xz * nx + tau_yz * ny + tau_zz * nz
-            };
+            out[0] = 0.0;
+            out[1] = tau_xx * nx + tau_yx * ny + tau_zx * nz;
+            out[2] = tau_xy * nx + tau_yy * ny + tau_zy * nz;
+            out[3] = tau_xz * nx + tau_yz * ny + tau_zz * nz;
         }
 
         @Override
@@ -269,6 +364,25 @@ public class ArtificialCompressibilityEquations implements GoverningEquations {
                     GRAVITY.z
             };
         }
+
+        @Override
+        public void sourceVector(double[] conservativeVars, Vector[] gradConservativeVars, double[] out) {
+            out[0] = 0;
+            out[1] = GRAVITY.x;
+            out[2] = GRAVITY.y;
+            out[3] = GRAVITY.z;
+        }
+
+        @Override
+        public void sourceVector(double[] conservativeVars, double[] gradients, int offset, double[] out) {
+            // the source does not depend on the gradients
+            sourceVector(conservativeVars, (Vector[]) null, out);
+        }
+
+        @Override
+        public boolean requiresGradients() {
+            return false;
+        }
     };
 
     @Override
@@ -148,85 +148,103 @@ public class ArtificialCompressibilityVOFEquations implements GoverningEquations
     private final Convection convection = new Convection() {
         @Override
         public double[] flux(double[] conservativeVars, Vector unitNormal) {
-            double[] primitiveVars = primitiveVars(conservativeVars);
-            double p = primitiveVars[0];
-            double u = primitiveVars[1];
-            double v = primitiveVars[2];
-            double w = primitiveVars[3];
-            double C = primitiveVars[4];
+            double[] flux = new double[5];
+            flux(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z, flux);
 
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+            return flux;
+        }
 
+        @Override
+        public void flux(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+            double C = conservativeVars[4];
             double rho = rho(C);
 
+            double p = conservativeVars[0] * BETA * rho;
+            double u = conservativeVars[1] / rho;
+            double v = conservativeVars[2] / rho;
+            double w = conservativeVars[3] / rho;
+
             double Vp = u * nx + v * ny + w * nz;
             double rhoVp = rho * Vp;
 
-            return new double[]{
-                    Vp,
-                    u * rhoVp + p * nx,
-                    v * rhoVp + p * ny,
-                    w * rhoVp + p * nz,
-                    C * Vp
-            };
+            out[0] = Vp;
+            out[1] = u * rhoVp + p * nx;
+            out[2] = v * rhoVp + p * ny;
+            out[3] = w * rhoVp + p * nz;
+            out[4] = C * Vp;
         }
 
         @Override
         public double[] sortedEigenvalues(double[] conservativeVars, Vector unitNormal) {
-            double[] primitiveVars = primitiveVars(conservativeVars);
-            //double p = primitiveVars[0];
-            double u = primitiveVars[1];
-            double v = primitiveVars[2];
-            double w = primitiveVars[3];
+            double[] eigenvalues = new double[5];
+            sortedEigenvalues(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z, eigenvalues);
 
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+            return eigenvalues;
+        }
 
-            double Vp = u * nx + v * ny + w * nz;
+        @Override
+        public void sortedEigenvalues(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+            double Vp = normalVelocity(conservativeVars, nx, ny, nz);
 
             double a = Math.sqrt(Vp * Vp + BETA);
 
-            return new double[]{
-                    Vp - a, Vp, Vp, Vp, Vp + a
-            };
+            out[0] = Vp - a;
+            out[1] = Vp;
+            out[2] = Vp;
+            out[3] = Vp;
+            out[4] = Vp + a;
         }
 
         @Override
         public double maxAbsEigenvalues(double[] conservativeVars, Vector unitNormal) {
-            double[] primitiveVars = primitiveVars(conservativeVars);
-            //double p = primitiveVars[0];
-            double u = primitiveVars[1];
-            double v = primitiveVars[2];
-            double w = primitiveVars[3];
-
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+            return maxAbsEigenvalues(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z);
+        }
 
-            double Vp = u * nx + v * ny + w * nz;
+        @Override
+        public double maxAbsEigenvalues(double[] conservativeVars, double nx, double ny, double nz) {
+            double Vp = normalVelocity(conservativeVars, nx, ny, nz);
 
             double a = Math.sqrt(Vp * Vp + BETA);
 
             return Math.abs(Vp) + a;
         }
+
+        private double normalVelocity(double[] conservativeVars, double nx, double ny, double nz) {
+            double rho = rho(conservativeVars[4]);
+            double u = conservativeVars[1] / rho;
+            double v = conservativeVars[2] / rho;
+            double w = conservativeVars[3] / rho;
+
+            return u * nx + v * ny + w * nz;
+        }
     };
 
     public double[] F(double[] conservativeVars) {
-        double[] primitiveVars = primitiveVars(conservativeVars);
-        double p = primitiveVars[0];
-        double u = primitiveVars[1];
-        double v = primitiveVars[2];
-        double w = primitiveVars[3];
-        double C = primitiveVars[4];
+        double[] F = new double[5];
+        F(conservativeVars, F);
+
+        return F;
+    }
 
+    public void F(double[] conservativeVars, double[] out) {
+        double p_rho_beta = conservativeVars[0];
         double rhou = conservativeVars[1];
+        double rhov = conservativeVars[2];
+        double rhow = conservativeVars[3];
+        double C = conservativeVars[4];
 
-        return new double[]{
-                u, rhou * u + p, rhou * v, rhou * w, u * C
-        };
+        double rho = rho(C);
+
+        double p = p_rho_beta * BETA * rho;
+        double u = rhou / rho;
+        double v = rhov / rho;
+        double w = rhow / rho;
+
+        out[0] = u;
+        out[1] = rhou * u + p;
+        out[2] = rhou * v;
+        out[3] = rhou * w;
+        out[4] = u * C;
     }
 
     @Override
@@ -238,6 +256,19 @@ public class ArtificialCompressibilityVOFEquations implements GoverningEquations
 
         @Override
         public double[] flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal) {
+            double[] flux = new double[5];
+            flux(conservativeVars, gradConservativeVars, unitNormal, flux);
+
+            return flux;
+        }
+
+        @Override
+        public void flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal, double[] out) {
+            flux(conservativeVars, Diffusion.components(gradConservativeVars), 0, unitNormal, out);
+        }
+
+        @Override
+        public void flux(double[] conservativeVars, double[] gradients, int offset, Vector unitNormal, double[] out) {
             double C = conservativeVars[4];
             double rho = rho(C);
             double mu = mu(C);
@@ -249,26 +280,26 @@ public class ArtificialCompressibilityVOFEquations implements GoverningEquations
             double one_by_rho = 1.0 / rho;
             double rho2_minus_rho1_by_rho = -RHO1_MINUS_RHO2 / rho;
 
-            Vector dU4_times_rho_ratio = gradConservativeVars[4].mult(rho2_minus_rho1_by_rho);
+            int dU4 = offset + 12;
+            double dU4_x_times_rho_ratio = gradients[dU4] * rho2_minus_rho1_by_rho;
+            double dU4_y_times_rho_ratio = gradients[dU4 + 1] * rho2_minus_rho1_by_rho;
+            double dU4_z_times_rho_ratio = gradients[dU4 + 2] * rho2_minus_rho1_by_rho;
 
-            Vector grad_u = gradConservativeVars[1].mult(one_by_rho)
-                    .add(dU4_times_rho_ratio.mult(u));
-            Vector grad_v = gradConservativeVars[2].mult(one_by_rho)
-                    .add(dU4_times_rho_ratio.mult(v));
-            Vector grad_w = gradConservativeVars[3].mult(one_by_rho)
-                    .add(dU4_times_rho_ratio.mult(w));
+            int dU1 = offset + 3;
+            int dU2 = offset + 6;
+            int dU3 = offset + 9;
 
-            double du_dx = grad_u.x;
-            double du_dy = grad_u.y;
-            double du_dz = grad_u.z;
+            double du_dx = gradients[dU1] * one_by_rho + dU4_x_times_rho_ratio * u;
+            double du_dy = gradients[dU1 + 1] * one_by_rho + dU4_y_times_rho_ratio * u;
+            double du_dz = gradients[dU1 + 2] * one_by_rho + dU4_z_times_rho_ratio * u;
 
-            double dv_dx = grad_v.x;
-            double dv_dy = grad_v.y;
-            double dv_dz = grad_v.z;
+            double dv_dx = gradients[dU2] * one_by_rho + dU4_x_times_rho_ratio * v;
+            double dv_dy = gradients[dU2 + 1] * one_by_rho + dU4_y_times_rho_ratio * v;
+            double dv_dz = gradients[dU2 + 2] * one_by_rho + dU4_z_times_rho_ratio * v;
 
-            double dw_dx = grad_w.x;
-            double dw_dy = grad_w.y;
-            double dw_dz = grad_w.z;
+            double dw_dx = gradients[dU3] * one_by_rho + dU4_x_times_rho_ratio * w;
+            double dw_dy = gradients[dU3 + 1] * one_by_rho + dU4_y_times_rho_ratio * w;
+            double dw_dz = gradients[dU3 + 2] * one_by_rho + dU4_z_times_rho_ratio * w;
 
             double tau_xx = 2.0 * mu * du_dx;
             double tau_yy = 2.0 * mu * dv_dy;
@@ -287,13 +318,11 @@ public class ArtificialCompressibilityVOFEquations implements GoverningEquations
             double ny = unitNormal.y;
             double nz = unitNormal.z;
 
-            return new double[]{
-                    0.0,
-                    tau_xx * nx + tau_yx * ny + tau_zx * nz,
-                    tau_xy * nx + tau_yy * ny + tau_zy * nz,
-                    tau_xz * nx + tau_yz * ny + tau_zz * nz,
-                    0.0
-            };
+            out[0] = 0.0;
+            out[1] = tau_xx * nx + tau_yx * ny + tau_zx * nz;
+            out[2] = tau_xy * nx + tau_yy * ny + tau_zy * nz;
+            out[3] = tau_xz * nx + tau_yz * ny + tau_zz * nz;
+            out[4] = 0.0;
         }
 
         @Override
@@ -323,6 +352,28 @@ public class ArtificialCompressibilityVOFEquations implements GoverningEquations
                     0
             };
         }
+
+        @Override
+        public void sourceVector(double[] conservativeVars, Vector[] gradConservativeVars, double[] out) {
+            double C = conservativeVars[4];
+            double rho = rho(C);
+            out[0] = 0;
+            out[1] = rho * GRAVITY.x;
+            out[2] = rho * GRAVITY.y;
+            out[3] = rho * GRAVITY.z;
+            out[4] = 0;
+        }
+
+        @Override
+        public void sourceVector(double[] conservativeVars, double[] gradients, int offset, double[] out) {
+            // the source does not depend on the gradients
+            sourceVector(conservativeVars, (Vector[]) null, out);
+        }
+
+        @Override
+        public boolean requiresGradients() {
+            return false;
+        }
     };
 
     @Override
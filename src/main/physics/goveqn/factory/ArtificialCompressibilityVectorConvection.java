@@ -0,0 +1,81 @@
+package main.physics.goveqn.factory;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+import main.physics.goveqn.BatchConvection;
+
+/**
+ * Convection of the artificial compressibility equations for blocks of states, evaluated with the Vector API.
+ * The lanes perform the operations of ArtificialCompressibilityEquations.convection() in the same order, so the
+ * results are the same as those of the scalar methods. Only created when BatchConvection.vectorApiAvailable().
+ */
+class ArtificialCompressibilityVectorConvection implements BatchConvection {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int B = BLOCK_SIZE;
+
+    private final double BETA, RHO;
+
+    ArtificialCompressibilityVectorConvection(double beta, double rho) {
+        this.BETA = beta;
+        this.RHO = rho;
+    }
+
+    @Override
+    public int numVars() {
+        return 4;
+    }
+
+    @Override
+    public void flux(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] F) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector p = DoubleVector.fromArray(SPECIES, U, i).mul(BETA);
+            DoubleVector u = DoubleVector.fromArray(SPECIES, U, B + i);
+            DoubleVector v = DoubleVector.fromArray(SPECIES, U, 2 * B + i);
+            DoubleVector w = DoubleVector.fromArray(SPECIES, U, 3 * B + i);
+
+            DoubleVector p_rho = p.div(RHO);
+
+            DoubleVector nxi = DoubleVector.fromArray(SPECIES, nx, i);
+            DoubleVector nyi = DoubleVector.fromArray(SPECIES, ny, i);
+            DoubleVector nzi = DoubleVector.fromArray(SPECIES, nz, i);
+            DoubleVector Vp = u.mul(nxi).add(v.mul(nyi)).add(w.mul(nzi));
+
+            Vp.intoArray(F, i);
+            u.mul(Vp).add(p_rho.mul(nxi)).intoArray(F, B + i);
+            v.mul(Vp).add(p_rho.mul(nyi)).intoArray(F, 2 * B + i);
+            w.mul(Vp).add(p_rho.mul(nzi)).intoArray(F, 3 * B + i);
+        }
+    }
+
+    @Override
+    public void maxAbsEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] out) {
+        double beta_rho = BETA / RHO;
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector Vp = normalVelocity(U, nx, ny, nz, i);
+
+            DoubleVector a = Vp.mul(Vp).add(beta_rho).sqrt();
+
+            Vp.abs().add(a).intoArray(out, i);
+        }
+    }
+
+    @Override
+    public void minMaxEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count,
+                                  double[] min, double[] max) {
+        double beta_rho = BETA / RHO;
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector Vp = normalVelocity(U, nx, ny, nz, i);
+
+            DoubleVector a = Vp.mul(Vp).add(beta_rho).sqrt();
+
+            Vp.sub(a).intoArray(min, i);
+            Vp.add(a).intoArray(max, i);
+        }
+    }
+
+    private static DoubleVector normalVelocity(double[] U, double[] nx, double[] ny, double[] nz, int i) {
+        return DoubleVector.fromArray(SPECIES, U, B + i).mul(DoubleVector.fromArray(SPECIES, nx, i))
+                .add(DoubleVector.fromArray(SPECIES, U, 2 * B + i).mul(DoubleVector.fromArray(SPECIES, ny, i)))
+                .add(DoubleVector.fromArray(SPECIES, U, 3 * B + i).mul(DoubleVector.fromArray(SPECIES, nz, i)));
+    }
+}
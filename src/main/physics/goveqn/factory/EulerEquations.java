@@ -11,6 +11,9 @@ public class EulerEquations implements GoverningEquations {
         this.GAMMA = gamma;
         this.R = R;
         this.CV = R / (gamma - 1.0);
+        this.batchConvection = BatchConvection.vectorApiAvailable()
+                ? new EulerVectorConvection(GAMMA, R, CV)
+                : loopBatchConvection;
     }
 
     private double eos_p(double rho, double T) {
@@ -69,17 +72,21 @@ public class EulerEquations implements GoverningEquations {
         double u = rhou / rho;
         double v = rhov / rho;
         double w = rhow / rho;
+        double p = pressure(rho, u, v, w, rhoE);
+
+        return new double[]{
+                rho, u, v, w, p
+        };
+    }
+
+    private double pressure(double rho, double u, double v, double w, double rhoE) {
         double E = rhoE / rho;
 
         double kineticE = 0.5 * (u * u + v * v + w * w);
         double internalE = E - kineticE;
 
         double T = internalE / CV;
-        double p = eos_p(rho, T);
-
-        return new double[]{
-                rho, u, v, w, p
-        };
+        return eos_p(rho, T);
     }
 
     @Override
@@ -122,65 +129,73 @@ public class EulerEquations implements GoverningEquations {
     private final Convection convection = new Convection() {
         @Override
         public double[] flux(double[] conservativeVars, Vector unitNormal) {
-            double[] primitiveVars = primitiveVars(conservativeVars);
-            double rho = primitiveVars[0];
-            double u = primitiveVars[1];
-            double v = primitiveVars[2];
-            double w = primitiveVars[3];
-            double p = primitiveVars[4];
+            double[] flux = new double[5];
+            flux(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z, flux);
+
+            return flux;
+        }
 
+        @Override
+        public void flux(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+            double rho = conservativeVars[0];
+            double u = conservativeVars[1] / rho;
+            double v = conservativeVars[2] / rho;
+            double w = conservativeVars[3] / rho;
             double rhoE = conservativeVars[4];
-            double rhoE_plus_p = rhoE + p;
+            double p = pressure(rho, u, v, w, rhoE);
 
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+            double rhoE_plus_p = rhoE + p;
 
             double Vp = u * nx + v * ny + w * nz;
             double rhoVp = rho * Vp;
 
-            return new double[]{
-                    rhoVp,
-                    rhoVp * u + p * nx,
-                    rhoVp * v + p * ny,
-                    rhoVp * w + p * nz,
-                    rhoE_plus_p * Vp
-            };
+            out[0] = rhoVp;
+            out[1] = rhoVp * u + p * nx;
+            out[2] = rhoVp * v + p * ny;
+            out[3] = rhoVp * w + p * nz;
+            out[4] = rhoE_plus_p * Vp;
         }
 
         @Override
         public double[] sortedEigenvalues(double[] conservativeVars, Vector unitNormal) {
-            double[] primitiveVars = primitiveVars(conservativeVars);
-            double rho = primitiveVars[0];
-            double u = primitiveVars[1];
-            double v = primitiveVars[2];
-            double w = primitiveVars[3];
-            double p = primitiveVars[4];
-
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+            double[] eigenvalues = new double[5];
+            sortedEigenvalues(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z, eigenvalues);
+
+            return eigenvalues;
+        }
+
+        @Override
+        public void sortedEigenvalues(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+            double rho = conservativeVars[0];
+            double u = conservativeVars[1] / rho;
+            double v = conservativeVars[2] / rho;
+            double w = conservativeVars[3] / rho;
+            double p = pressure(rho, u, v, w, conservativeVars[4]);
+
             double vn = u * nx + v * ny + w * nz;
 
             double a = Math.sqrt(GAMMA * p / rho);
 
-            return new double[]{
-                    vn - a, vn, vn, vn, vn + a
-            };
+            out[0] = vn - a;
+            out[1] = vn;
+            out[2] = vn;
+            out[3] = vn;
+            out[4] = vn + a;
         }
 
         @Override
         public double maxAbsEigenvalues(double[] conservativeVars, Vector unitNormal) {
-            double[] primitiveVars = primitiveVars(conservativeVars);
-            double rho = primitiveVars[0];
-            double u = primitiveVars[1];
-            double v = primitiveVars[2];
-            double w = primitiveVars[3];
-            double p = primitiveVars[4];
-
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+            return maxAbsEigenvalues(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z);
+        }
+
+        @Override
+        public double maxAbsEigenvalues(double[] conservativeVars, double nx, double ny, double nz) {
+            double rho = conservativeVars[0];
+            double u = conservativeVars[1] / rho;
+            double v = conservativeVars[2] / rho;
+            double w = conservativeVars[3] / rho;
+            double p = pressure(rho, u, v, w, conservativeVars[4]);
+
             double vn = u * nx + v * ny + w * nz;
 
             double a = Math.sqrt(GAMMA * p / rho);
@@ -194,6 +209,91 @@ public class EulerEquations implements GoverningEquations {
         return convection;
     }
 
+    /**
+     * Fallback of batchConvection() without the Vector API, with the loops of the convection over the states.
+     */
+    private final BatchConvection loopBatchConvection = new BatchConvection() {
+        private static final int B = BLOCK_SIZE;
+
+        @Override
+        public int numVars() {
+            return 5;
+        }
+
+        @Override
+        public void flux(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] F) {
+            for (int i = 0; i < count; i++) {
+                double rho = U[i];
+                double u = U[B + i] / rho;
+                double v = U[2 * B + i] / rho;
+                double w = U[3 * B + i] / rho;
+                double rhoE = U[4 * B + i];
+                double p = pressure(rho, u, v, w, rhoE);
+
+                double rhoE_plus_p = rhoE + p;
+
+                double Vp = u * nx[i] + v * ny[i] + w * nz[i];
+                double rhoVp = rho * Vp;
+
+                F[i] = rhoVp;
+                F[B + i] = rhoVp * u + p * nx[i];
+                F[2 * B + i] = rhoVp * v + p * ny[i];
+                F[3 * B + i] = rhoVp * w + p * nz[i];
+                F[4 * B + i] = rhoE_plus_p * Vp;
+            }
+        }
+
+        @Override
+        public void maxAbsEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] out) {
+            for (int i = 0; i < count; i++) {
+                double rho = U[i];
+                double u = U[B + i] / rho;
+                double v = U[2 * B + i] / rho;
+                double w = U[3 * B + i] / rho;
+                double p = pressure(rho, u, v, w, U[4 * B + i]);
+
+                double vn = u * nx[i] + v * ny[i] + w * nz[i];
+
+                double a = Math.sqrt(GAMMA * p / rho);
+
+                out[i] = Math.abs(vn) + a;
+            }
+        }
+
+        @Override
+        public void minMaxEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count,
+                                      double[] min, double[] max) {
+            for (int i = 0; i < count; i++) {
+                double rho = U[i];
+                double u = U[B + i] / rho;
+                double v = U[2 * B + i] / rho;
+                double w = U[3 * B + i] / rho;
+                double p = pressure(rho, u, v, w, U[4 * B + i]);
+
+                double vn = u * nx[i] + v * ny[i] + w * nz[i];
+
+                double a = Math.sqrt(GAMMA * p / rho);
+
+                min[i] = vn - a;
+                max[i] = vn + a;
+            }
+        }
+    };
+
+    private final BatchConvection batchConvection;
+
+    /**
+     * @return Convection of blocks of states, for the batch Riemann solvers. It uses the Vector API when it is
+     * available (see BatchConvection).
+     */
+    public BatchConvection batchConvection() {
+        return batchConvection;
+    }
+
+    BatchConvection loopBatchConvection() {
+        return loopBatchConvection;
+    }
+
     private final Diffusion diffusion = new ZeroDiffusion(numVars());
 
     @Override
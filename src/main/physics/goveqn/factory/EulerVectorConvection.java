@@ -0,0 +1,108 @@
+package main.physics.goveqn.factory;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+import main.physics.goveqn.BatchConvection;
+
+/**
+ * Convection of the Euler equations for blocks of states, evaluated with the Vector API. The lanes perform the
+ * operations of EulerEquations.convection() in the same order, so the results are the same as those of the scalar
+ * methods. Only created when BatchConvection.vectorApiAvailable().
+ */
+class EulerVectorConvection implements BatchConvection {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int B = BLOCK_SIZE;
+
+    private final double GAMMA, R, CV;
+
+    EulerVectorConvection(double gamma, double R, double CV) {
+        this.GAMMA = gamma;
+        this.R = R;
+        this.CV = CV;
+    }
+
+    @Override
+    public int numVars() {
+        return 5;
+    }
+
+    @Override
+    public void flux(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] F) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector rho = DoubleVector.fromArray(SPECIES, U, i);
+            DoubleVector u = DoubleVector.fromArray(SPECIES, U, B + i).div(rho);
+            DoubleVector v = DoubleVector.fromArray(SPECIES, U, 2 * B + i).div(rho);
+            DoubleVector w = DoubleVector.fromArray(SPECIES, U, 3 * B + i).div(rho);
+            DoubleVector rhoE = DoubleVector.fromArray(SPECIES, U, 4 * B + i);
+            DoubleVector p = pressure(rho, u, v, w, rhoE);
+
+            DoubleVector rhoE_plus_p = rhoE.add(p);
+
+            DoubleVector nxi = DoubleVector.fromArray(SPECIES, nx, i);
+            DoubleVector nyi = DoubleVector.fromArray(SPECIES, ny, i);
+            DoubleVector nzi = DoubleVector.fromArray(SPECIES, nz, i);
+            DoubleVector Vp = u.mul(nxi).add(v.mul(nyi)).add(w.mul(nzi));
+            DoubleVector rhoVp = rho.mul(Vp);
+
+            rhoVp.intoArray(F, i);
+            rhoVp.mul(u).add(p.mul(nxi)).intoArray(F, B + i);
+            rhoVp.mul(v).add(p.mul(nyi)).intoArray(F, 2 * B + i);
+            rhoVp.mul(w).add(p.mul(nzi)).intoArray(F, 3 * B + i);
+            rhoE_plus_p.mul(Vp).intoArray(F, 4 * B + i);
+        }
+    }
+
+    @Override
+    public void maxAbsEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count, double[] out) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector rho = DoubleVector.fromArray(SPECIES, U, i);
+            DoubleVector u = DoubleVector.fromArray(SPECIES, U, B + i).div(rho);
+            DoubleVector v = DoubleVector.fromArray(SPECIES, U, 2 * B + i).div(rho);
+            DoubleVector w = DoubleVector.fromArray(SPECIES, U, 3 * B + i).div(rho);
+            DoubleVector p = pressure(rho, u, v, w, DoubleVector.fromArray(SPECIES, U, 4 * B + i));
+
+            DoubleVector vn = normalVelocity(u, v, w, nx, ny, nz, i);
+
+            DoubleVector a = p.mul(GAMMA).div(rho).sqrt();
+
+            vn.abs().add(a).intoArray(out, i);
+        }
+    }
+
+    @Override
+    public void minMaxEigenvalues(double[] U, double[] nx, double[] ny, double[] nz, int count,
+                                  double[] min, double[] max) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector rho = DoubleVector.fromArray(SPECIES, U, i);
+            DoubleVector u = DoubleVector.fromArray(SPECIES, U, B + i).div(rho);
+            DoubleVector v = DoubleVector.fromArray(SPECIES, U, 2 * B + i).div(rho);
+            DoubleVector w = DoubleVector.fromArray(SPECIES, U, 3 * B + i).div(rho);
+            DoubleVector p = pressure(rho, u, v, w, DoubleVector.fromArray(SPECIES, U, 4 * B + i));
+
+            DoubleVector vn = normalVelocity(u, v, w, nx, ny, nz, i);
+
+            DoubleVector a = p.mul(GAMMA).div(rho).sqrt();
+
+            vn.sub(a).intoArray(min, i);
+            vn.add(a).intoArray(max, i);
+        }
+    }
+
+    private static DoubleVector normalVelocity(DoubleVector u, DoubleVector v, DoubleVector w,
+                                               double[] nx, double[] ny, double[] nz, int i) {
+        return u.mul(DoubleVector.fromArray(SPECIES, nx, i))
+                .add(v.mul(DoubleVector.fromArray(SPECIES, ny, i)))
+                .add(w.mul(DoubleVector.fromArray(SPECIES, nz, i)));
+    }
+
+    private DoubleVector pressure(DoubleVector rho, DoubleVector u, DoubleVector v, DoubleVector w,
+                                  DoubleVector rhoE) {
+        DoubleVector E = rhoE.div(rho);
+
+        DoubleVector kineticE = u.mul(u).add(v.mul(v)).add(w.mul(w)).mul(0.5);
+        DoubleVector internalE = E.sub(kineticE);
+
+        DoubleVector T = internalE.div(CV);
+        return rho.mul(R).mul(T);
+    }
+}
@@ -87,13 +87,27 @@ public class GrainGrowthFanChenEquations implements GoverningEquations {
         @Override
         public double[] flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal) {
             double[] diffusionFlux = new double[numVars()];
-            for (int i = 0; i < diffusionFlux.length; i++) {
-                diffusionFlux[i] = L[i] * kappa[i] * gradConservativeVars[i].dot(unitNormal);
-            }
+            flux(conservativeVars, gradConservativeVars, unitNormal, diffusionFlux);
 
             return diffusionFlux;
         }
 
+        @Override
+        public void flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal, double[] out) {
+            flux(conservativeVars, Diffusion.components(gradConservativeVars), 0, unitNormal, out);
+        }
+
+        @Override
+        public void flux(double[] conservativeVars, double[] gradients, int offset, Vector unitNormal, double[] out) {
+            double nx = unitNormal.x;
+            double ny = unitNormal.y;
+            double nz = unitNormal.z;
+            for (int i = 0; i < NUM_ORIENTATIONS; i++) {
+                int g = offset + 3 * i;
+                out[i] = L[i] * kappa[i] * (gradients[g] * nx + gradients[g + 1] * ny + gradients[g + 2] * nz);
+            }
+        }
+
         private double maxAbsDiffusivity = 0.0;
 
         @Override
@@ -117,7 +131,13 @@ public class GrainGrowthFanChenEquations implements GoverningEquations {
         @Override
         public double[] sourceVector(double[] conservativeVars, Vector[] gradConservativeVars) {
             double[] sourceFlux = new double[numVars()];
+            sourceVector(conservativeVars, gradConservativeVars, sourceFlux);
 
+            return sourceFlux;
+        }
+
+        @Override
+        public void sourceVector(double[] conservativeVars, Vector[] gradConservativeVars, double[] out) {
             double sum_eta_i_sqr = 0.0;
             for (double eta : conservativeVars) {
                 sum_eta_i_sqr += eta * eta;
@@ -129,12 +149,21 @@ public class GrainGrowthFanChenEquations implements GoverningEquations {
                 double eta_i_cubed = eta_i_sqr * eta_i;
                 double sum_eta_j_sqr = sum_eta_i_sqr - eta_i_sqr;
 
-                sourceFlux[i] = -alpha * eta_i + beta * eta_i_cubed
+                out[i] = -alpha * eta_i + beta * eta_i_cubed
                         + 2.0 * gamma * eta_i * sum_eta_j_sqr;
-                sourceFlux[i] *= -L[i];
+                out[i] *= -L[i];
             }
+        }
 
-            return sourceFlux;
+        @Override
+        public void sourceVector(double[] conservativeVars, double[] gradients, int offset, double[] out) {
+            // the source does not depend on the gradients
+            sourceVector(conservativeVars, (Vector[]) null, out);
+        }
+
+        @Override
+        public boolean requiresGradients() {
+            return false;
         }
     };
 
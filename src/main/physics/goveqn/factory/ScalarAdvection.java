@@ -62,32 +62,39 @@ public class ScalarAdvection implements GoverningEquations {
     private final Convection convection = new Convection() {
         @Override
         public double[] flux(double[] conservativeVars, Vector unitNormal) {
+            double[] flux = new double[1];
+            flux(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z, flux);
+
+            return flux;
+        }
+
+        @Override
+        public void flux(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
             double phi = conservativeVars[0];
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
 
-            return new double[]{
-                    ax * phi * nx + ay * phi * ny + az * phi * nz
-            };
+            out[0] = ax * phi * nx + ay * phi * ny + az * phi * nz;
         }
 
         @Override
         public double[] sortedEigenvalues(double[] conservativeVars, Vector unitNormal) {
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+            double[] eigenvalues = new double[1];
+            sortedEigenvalues(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z, eigenvalues);
+
+            return eigenvalues;
+        }
 
-            return new double[]{
-                    ax * nx + ay * ny + az * nz
-            };
+        @Override
+        public void sortedEigenvalues(double[] conservativeVars, double nx, double ny, double nz, double[] out) {
+            out[0] = ax * nx + ay * ny + az * nz;
         }
 
         @Override
         public double maxAbsEigenvalues(double[] conservativeVars, Vector unitNormal) {
-            double nx = unitNormal.x;
-            double ny = unitNormal.y;
-            double nz = unitNormal.z;
+            return maxAbsEigenvalues(conservativeVars, unitNormal.x, unitNormal.y, unitNormal.z);
+        }
+
+        @Override
+        public double maxAbsEigenvalues(double[] conservativeVars, double nx, double ny, double nz) {
             double ev = ax * nx + ay * ny + az * nz;
 
             return Math.abs(ev);
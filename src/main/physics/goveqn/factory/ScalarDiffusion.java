@@ -68,17 +68,28 @@ public class ScalarDiffusion implements GoverningEquations {
     private final Diffusion diffusion = new Diffusion() {
         @Override
         public double[] flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal) {
-            double dphi_dx = gradConservativeVars[0].x;
-            double dphi_dy = gradConservativeVars[0].y;
-            double dphi_dz = gradConservativeVars[0].z;
+            double[] flux = new double[1];
+            flux(conservativeVars, gradConservativeVars, unitNormal, flux);
+
+            return flux;
+        }
+
+        @Override
+        public void flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal, double[] out) {
+            flux(conservativeVars, Diffusion.components(gradConservativeVars), 0, unitNormal, out);
+        }
+
+        @Override
+        public void flux(double[] conservativeVars, double[] gradients, int offset, Vector unitNormal, double[] out) {
+            double dphi_dx = gradients[offset];
+            double dphi_dy = gradients[offset + 1];
+            double dphi_dz = gradients[offset + 2];
 
             double nx = unitNormal.x;
             double ny = unitNormal.y;
             double nz = unitNormal.z;
 
-            return new double[]{
-                    diffusivity * (dphi_dx * nx + dphi_dy * ny + dphi_dz * nz)
-            };
+            out[0] = diffusivity * (dphi_dx * nx + dphi_dy * ny + dphi_dz * nz);
         }
 
         @Override
@@ -1,5 +1,17 @@
 package main.solver;
 
+import main.mesh.DerivedField;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public interface CellGradientCalculator {
     void setupAllCells();
+
+    /**
+     * @return Fields read by setupAllCells, all of them unless the calculator declares otherwise.
+     */
+    default Set<DerivedField> requiredFields() {
+        return EnumSet.allOf(DerivedField.class);
+    }
 }
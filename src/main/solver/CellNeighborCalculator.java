@@ -1,9 +1,27 @@
 package main.solver;
 
+import main.mesh.Adjacency;
 import main.mesh.Cell;
+import main.mesh.Connectivity;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public interface CellNeighborCalculator {
     List<Cell> calculateFor(Cell cell);
+
+    /**
+     * @param connectivity Connectivity of the mesh.
+     * @return Neighbors of all the interior cells as cell ids, in the same order as calculateFor.
+     */
+    default Adjacency stencil(Connectivity connectivity) {
+        List<int[]> rows = new ArrayList<>();
+        for (int i = 0; i < connectivity.numCells; i++) {
+            rows.add(calculateFor(connectivity.cells[i]).stream()
+                    .mapToInt(connectivity::id)
+                    .toArray());
+        }
+
+        return Adjacency.of(rows);
+    }
 }
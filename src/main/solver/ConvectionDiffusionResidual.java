@@ -0,0 +1,85 @@
+package main.solver;
+
+import main.mesh.Adjacency;
+import main.mesh.Connectivity;
+import main.mesh.DerivedField;
+import main.mesh.FieldStore;
+import main.mesh.Mesh;
+import main.physics.goveqn.GoverningEquations;
+import main.solver.convection.ConvectionResidual;
+import main.solver.convection.reconstructor.SolutionReconstructor;
+import main.solver.convection.riemann.RiemannSolver;
+import main.solver.diffusion.DiffusionResidual;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Convection and diffusion residuals of ConvectionResidual and DiffusionResidual in a single pass over the faces.
+ * The net flux (convective minus diffusive) multiplied by the face area is added to the residual of the left cell
+ * and subtracted from the residual of the right cell directly. The faces are processed color by color
+ * (Connectivity.faceColors), so that the faces processed in parallel never update the same cell.
+ * The residuals are the same as with the separate calculators up to the rounding of the sums.
+ * SpaceDiscretization replaces a ConvectionResidual and a DiffusionResidual by this calculator.
+ */
+public class ConvectionDiffusionResidual implements ResidualCalculator {
+    private final ConvectionResidual convection;
+    private final DiffusionResidual diffusion;
+    private final FieldStore fields;
+    private final Connectivity connectivity;
+    private final Adjacency faceColors;
+    private final ThreadLocal<double[][]> flux;
+
+    public ConvectionDiffusionResidual(SolutionReconstructor reconstructor, RiemannSolver riemannSolver,
+                                       GoverningEquations govEqn, Mesh mesh) {
+        this(new ConvectionResidual(reconstructor, riemannSolver, mesh), new DiffusionResidual(mesh, govEqn), mesh);
+    }
+
+    public ConvectionDiffusionResidual(ConvectionResidual convection, DiffusionResidual diffusion, Mesh mesh) {
+        this.convection = convection;
+        this.diffusion = diffusion;
+        this.fields = mesh.fields();
+        this.connectivity = mesh.connectivity();
+        this.faceColors = connectivity.faceColors();
+        this.flux = ThreadLocal.withInitial(() -> new double[2][fields.numVars]);
+    }
+
+    @Override
+    public void updateCellResiduals() {
+        convection.setupFluxes();
+
+        for (int color = 0; color < faceColors.numRows(); color++) {
+            IntStream.range(faceColors.start[color], faceColors.start[color + 1]).parallel()
+                    .forEach(k -> addFlux(faceColors.entries[k]));
+        }
+    }
+
+    @Override
+    public Set<DerivedField> requiredFields() {
+        Set<DerivedField> fields = EnumSet.noneOf(DerivedField.class);
+        fields.addAll(convection.requiredFields());
+        fields.addAll(diffusion.requiredFields());
+
+        return fields;
+    }
+
+    private void addFlux(int faceIndex) {
+        double[][] buffers = flux.get();
+        double[] convectiveFlux = buffers[0];
+        double[] diffusiveFlux = buffers[1];
+        convection.flux(faceIndex, convectiveFlux);
+        diffusion.flux(faceIndex, diffusiveFlux);
+
+        double area = fields.geometry.faceArea[faceIndex];
+        int numVars = fields.numVars;
+        int leftOffset = fields.cellOffset(connectivity.faceLeft[faceIndex]);
+        int right = connectivity.faceRight[faceIndex];
+        for (int var = 0; var < numVars; var++) {
+            double flux = (convectiveFlux[var] - diffusiveFlux[var]) * area;
+            fields.residual[leftOffset + var] += flux;
+            if (right < connectivity.numCells)
+                fields.residual[fields.cellOffset(right) + var] -= flux;
+        }
+    }
+}
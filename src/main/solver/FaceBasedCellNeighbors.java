@@ -1,7 +1,10 @@
 package main.solver;
 
+import main.mesh.Adjacency;
 import main.mesh.Cell;
+import main.mesh.Connectivity;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -10,10 +13,22 @@ import static java.util.stream.Collectors.toList;
 public class FaceBasedCellNeighbors implements CellNeighborCalculator {
     @Override
     public List<Cell> calculateFor(Cell cell) {
+        Connectivity connectivity = cell.fields().connectivity();
+        if (connectivity != null && cell.index() >= 0) {
+            return Arrays.stream(connectivity.faceNeighbors().row(cell.index()))
+                    .mapToObj(id -> connectivity.cells[id])
+                    .collect(toList());
+        }
+
         return cell.faces.stream()
                 .flatMap(face -> Stream.of(face.left, face.right))
                 .filter(c -> c != cell)
                 .distinct()
                 .collect(toList());
     }
+
+    @Override
+    public Adjacency stencil(Connectivity connectivity) {
+        return connectivity.faceNeighbors();
+    }
 }
@@ -8,7 +8,6 @@ import main.geom.factory.Quad;
 import main.mesh.Cell;
 import main.mesh.Mesh;
 import main.physics.goveqn.GoverningEquations;
-import main.util.DoubleArray;
 
 import java.util.function.Function;
 
@@ -29,8 +28,8 @@ public class FunctionInitializer implements SolutionInitializer {
 
     private void initialize(Cell cell, GoverningEquations govEqn) {
         double[] conservativeVars = calculateCentroidValues(cell);
-        DoubleArray.copy(conservativeVars, cell.U);
-        DoubleArray.copy(govEqn.realVars(conservativeVars), cell.Wn);
+        cell.setU(conservativeVars);
+        cell.fields().set(cell.fields().Wn, cell.fieldRow(), govEqn.realVars(conservativeVars));
     }
 
     private double[] calculateCentroidValues(Cell cell) {
@@ -184,7 +183,7 @@ public class FunctionInitializer implements SolutionInitializer {
         int numDivs = 20;
         Point[][] grid = grid(p00, p10, p11, p01, numDivs);
 
-        double[] sumFdA = new double[cell.U.length];
+        double[] sumFdA = new double[cell.numVars()];
         for (int i = 0; i < numDivs; i++) {
             for (int j = 0; j < numDivs; j++) {
                 Point pa = grid[i][j];
@@ -1,10 +1,16 @@
 package main.solver;
 
-import main.geom.Vector;
 import main.mesh.Cell;
+import main.mesh.DerivedField;
 import main.mesh.Face;
+import main.mesh.FieldStore;
+import main.mesh.GeometryStore;
 import main.mesh.Mesh;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
 public class GreenGaussCellGradient implements CellGradientCalculator {
     private final Mesh mesh;
 
@@ -17,28 +23,40 @@ public class GreenGaussCellGradient implements CellGradientCalculator {
         mesh.cellStream().forEach(this::setCell);
     }
 
-    private void setCell(Cell cell) {
-        // Assuming that face average U is calculated (face.U)
-        int numVars = cell.U.length;
+    @Override
+    public Set<DerivedField> requiredFields() {
+        return EnumSet.of(DerivedField.FACE_VALUES);
+    }
 
-        Vector[] gradients = new Vector[numVars];
-        for (int var = 0; var < numVars; var++) {
-            gradients[var] = new Vector(0, 0, 0);
-        }
+    private void setCell(Cell cell) {
+        // Assuming that face average U is calculated (FieldStore.faceU)
+        FieldStore fields = cell.fields();
+        int numVars = fields.numVars;
+        double[] gradients = fields.cellGradients;
+        int gradientOffset = fields.coeffOffset(cell.fieldRow(), 0);
+        Arrays.fill(gradients, gradientOffset, gradientOffset + numVars * 3, 0.0);
 
         for (Face face : cell.faces) {
-            double area = face.surface.area;
-            Vector unitNormal = face.surface.unitNormal().mult(face.left == cell ? 1 : -1);
-            Vector projectedArea = unitNormal.mult(area);
+            FieldStore faceFields = face.fields();
+            GeometryStore geometry = faceFields.geometry;
+            int offset = face.fieldRow() * 3;
+            int faceOffset = faceFields.faceOffset(face.fieldRow());
+            double sign = face.left == cell ? 1 : -1;
+            double projectedArea_x = sign * geometry.faceAreaNormal[offset];
+            double projectedArea_y = sign * geometry.faceAreaNormal[offset + 1];
+            double projectedArea_z = sign * geometry.faceAreaNormal[offset + 2];
             for (int var = 0; var < numVars; var++) {
-                gradients[var] = gradients[var].add(projectedArea.mult(face.U[var]));
+                double u = faceFields.faceU[faceOffset + var];
+                int g = gradientOffset + var * 3;
+                gradients[g] += projectedArea_x * u;
+                gradients[g + 1] += projectedArea_y * u;
+                gradients[g + 2] += projectedArea_z * u;
             }
         }
 
-        double volume = cell.shape.volume;
-        for (int var = 0; var < numVars; var++) {
-            gradients[var] = gradients[var].mult(1.0 / volume);
-            cell.gradientU[var] = gradients[var];
+        double oneByVolume = 1.0 / fields.geometry.cellVolume[cell.fieldRow()];
+        for (int g = gradientOffset; g < gradientOffset + numVars * 3; g++) {
+            gradients[g] *= oneByVolume;
         }
     }
 }
@@ -1,7 +1,12 @@
 package main.solver;
 
 import main.geom.Vector;
+import main.io.PreprocessingCache;
+import main.mesh.Adjacency;
 import main.mesh.Cell;
+import main.mesh.Connectivity;
+import main.mesh.DerivedField;
+import main.mesh.FieldStore;
 import main.mesh.Mesh;
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.DiagonalMatrix;
@@ -9,16 +14,23 @@ import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.SingularValueDecomposition;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
 
 import static main.util.DoubleArray.divide;
 import static main.util.DoubleArray.sum;
-import static main.util.DoubleMatrix.multiply;
 
 public class LeastSquareCellGradient implements CellGradientCalculator {
 
-    private final Cell[][] neighbors;
-    private final double[][][] inverseMatrix;
+    private final Adjacency neighbors;
+    private final Cell[] cellsById;
+    /**
+     * Least-squares matrix (3 rows, one column for each neighbor) of each cell, row-wise at 3 * neighbors.start[cell].
+     */
+    private final double[] coefficients;
     private final Mesh mesh;
 
     /**
@@ -31,18 +43,41 @@ public class LeastSquareCellGradient implements CellGradientCalculator {
      * @param neighCalc (cell) -> List<Cell>
      */
     public LeastSquareCellGradient(Mesh mesh, CellNeighborCalculator neighCalc) {
-        int numCells = mesh.cells().size();
-        this.neighbors = new Cell[numCells][];
-        this.inverseMatrix = new double[numCells][][];
+        this(mesh, neighCalc, PreprocessingCache.disabled());
+    }
+
+    /**
+     * @param mesh      Mesh
+     * @param neighCalc (cell) -> List<Cell>
+     * @param cache     Cache of the stencil and the least-squares matrices.
+     */
+    public LeastSquareCellGradient(Mesh mesh, CellNeighborCalculator neighCalc, PreprocessingCache cache) {
+        Connectivity connectivity = mesh.connectivity();
+        String stencilName = neighCalc.getClass().getSimpleName();
+        this.neighbors = cache.adjacency("stencil_" + stencilName, connectivity.numCells,
+                connectivity.cells.length, () -> neighCalc.stencil(connectivity));
+        this.cellsById = connectivity.cells;
         this.mesh = mesh;
+        this.coefficients = cache.doubles("cell_gradient_" + stencilName, 3 * neighbors.entries.length,
+                this::leastSquareCoefficients);
+    }
+
+    private double[] leastSquareCoefficients() {
+        double[] coefficients = new double[3 * neighbors.entries.length];
+        mesh.cellStream().forEach(cell -> setup(cell, coefficients));
 
-        mesh.cellStream().forEach(cell -> setup(cell, neighCalc));
+        return coefficients;
     }
 
-    private void setup(Cell cell, CellNeighborCalculator neighCalc) {
-        List<Cell> neighs = neighCalc.calculateFor(cell);
-        this.neighbors[cell.index()] = neighs.toArray(new Cell[0]);
-        this.inverseMatrix[cell.index()] = leastSquareMatrix(cell, neighs);
+    private void setup(Cell cell, double[] coefficients) {
+        List<Cell> neighs = Arrays.stream(neighbors.row(cell.index()))
+                .mapToObj(id -> cellsById[id])
+                .collect(toList());
+        double[][] matrix = leastSquareMatrix(cell, neighs);
+        int offset = 3 * neighbors.start[cell.index()];
+        for (int row = 0; row < 3; row++) {
+            System.arraycopy(matrix[row], 0, coefficients, offset + row * neighs.size(), neighs.size());
+        }
     }
 
     private double[][] leastSquareMatrix(Cell cell, List<Cell> neighs) {
@@ -77,28 +112,48 @@ public class LeastSquareCellGradient implements CellGradientCalculator {
         return divide(positiveWeights, sum(positiveWeights));
     }
 
+    /**
+     * The stencils include the ghost cells.
+     */
+    @Override
+    public Set<DerivedField> requiredFields() {
+        return EnumSet.of(DerivedField.GHOST_VALUES);
+    }
+
     @Override
     public void setupAllCells() {
         mesh.cellStream().forEach(this::setCell);
     }
 
+    /**
+     * Gradients of all the variables of the cell in one traversal of the stencil, accumulated in the cell's row of
+     * FieldStore.cellGradients.
+     */
     private void setCell(Cell cell) {
-        int numVars = cell.U.length;
-        for (int var = 0; var < numVars; var++) {
-            cell.gradientU[var] = forVar(cell, var);
-        }
-    }
-
-    private Vector forVar(Cell cell, int var) {
         int cellIndex = cell.index();
-        Cell[] neighCells = neighbors[cellIndex];
-        double[] dU = new double[neighCells.length];
-
-        for (int neigh = 0; neigh < dU.length; neigh++) {
-            dU[neigh] = neighCells[neigh].U[var] - cell.U[var];
+        int start = neighbors.start[cellIndex];
+        int numNeighs = neighbors.size(cellIndex);
+        FieldStore fields = cell.fields();
+        int numVars = fields.numVars;
+        double[] U = fields.U;
+        int cellOffset = fields.cellOffset(cell.fieldRow());
+        double[] gradients = fields.cellGradients;
+        int gradientOffset = fields.coeffOffset(cell.fieldRow(), 0);
+        Arrays.fill(gradients, gradientOffset, gradientOffset + numVars * 3, 0.0);
+
+        int offset = 3 * start;
+        for (int neigh = 0; neigh < numNeighs; neigh++) {
+            int neighOffset = fields.cellOffset(neighbors.entries[start + neigh]);
+            double cx = coefficients[offset + neigh];
+            double cy = coefficients[offset + numNeighs + neigh];
+            double cz = coefficients[offset + 2 * numNeighs + neigh];
+            for (int var = 0; var < numVars; var++) {
+                double dU = U[neighOffset + var] - U[cellOffset + var];
+                int g = gradientOffset + 3 * var;
+                gradients[g] += cx * dU;
+                gradients[g + 1] += cy * dU;
+                gradients[g + 2] += cz * dU;
+            }
         }
-        double[] solution = multiply(inverseMatrix[cellIndex], dU);
-
-        return new Vector(solution[0], solution[1], solution[2]);
     }
 }
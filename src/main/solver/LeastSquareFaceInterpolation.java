@@ -2,8 +2,8 @@ package main.solver;
 
 import main.geom.Point;
 import main.geom.Vector;
+import main.io.PreprocessingCache;
 import main.mesh.*;
-import main.util.DoubleMatrix;
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.DiagonalMatrix;
 import org.apache.commons.math3.linear.RealMatrix;
@@ -17,26 +17,49 @@ import static main.util.DoubleArray.divide;
 import static main.util.DoubleArray.sum;
 
 public class LeastSquareFaceInterpolation {
-    private final Cell[][] neighbours;
-    private final double[][][] inverseMatrix;
+    /**
+     * Neighbor cells (interior or ghost cell ids) of each face.
+     */
+    private final Adjacency neighbours;
+    /**
+     * Least-squares matrix (4 rows, one column for each neighbor) of each face, row-wise at 4 * neighbours.start[face].
+     */
+    private final double[] coefficients;
+    private final Cell[] cellsById;
     private final Mesh mesh;
     private final Set<Node> boundaryIntersectionNodes;
+    /**
+     * Values (row 0) and gradient components (rows 1 to 3) of each variable of the face being interpolated.
+     */
+    private final ThreadLocal<double[]> solution;
 
     public LeastSquareFaceInterpolation(Mesh mesh) {
+        this(mesh, PreprocessingCache.disabled());
+    }
+
+    public LeastSquareFaceInterpolation(Mesh mesh, PreprocessingCache cache) {
         this.mesh = mesh;
         this.boundaryIntersectionNodes = calculateCornerNodes(mesh);
-        int totalNumFaces = mesh.internalFaces().size();
-        totalNumFaces += mesh.boundaryStream()
-                .mapToInt(b -> b.faces.size())
-                .sum();
-
-        this.neighbours = new Cell[totalNumFaces][];
-        this.inverseMatrix = new double[totalNumFaces][][];
-        mesh.internalFaceStream()
-                .forEach(this::setup);
-        mesh.boundaryStream()
-                .flatMap(b -> b.faces.stream())
-                .forEach(this::setup);
+        Connectivity connectivity = mesh.connectivity();
+        this.cellsById = connectivity.cells;
+
+        this.neighbours = cache.adjacency("face_interpolation_stencil", connectivity.numFaces,
+                connectivity.cells.length, () -> Adjacency.of(Arrays.stream(connectivity.faces)
+                        .map(face -> Arrays.stream(getNeighbours(face))
+                                .mapToInt(connectivity::id)
+                                .toArray())
+                        .collect(Collectors.toList())));
+        this.coefficients = cache.doubles("face_interpolation", 4 * neighbours.entries.length,
+                () -> leastSquareCoefficients(connectivity));
+        this.solution = ThreadLocal.withInitial(() -> new double[4 * mesh.fields().numVars]);
+    }
+
+    private double[] leastSquareCoefficients(Connectivity connectivity) {
+        double[] coefficients = new double[4 * neighbours.entries.length];
+        Arrays.stream(connectivity.faces).parallel()
+                .forEach(face -> setup(face, coefficients));
+
+        return coefficients;
     }
 
     private Set<Node> calculateCornerNodes(Mesh mesh) {
@@ -74,12 +97,17 @@ public class LeastSquareFaceInterpolation {
         return allBoundaryNodes;
     }
 
-    private void setup(Face face) {
+    private void setup(Face face, double[] coefficients) {
         int index = face.index();
-        Cell[] neighs = getNeighbours(face);
-        this.neighbours[index] = neighs;
+        Cell[] neighs = Arrays.stream(neighbours.row(index))
+                .mapToObj(id -> cellsById[id])
+                .toArray(Cell[]::new);
 
-        this.inverseMatrix[index] = leastSquareMatrix(neighs, face.surface.centroid);
+        double[][] matrix = leastSquareMatrix(neighs, face.surface.centroid);
+        int offset = 4 * neighbours.start[index];
+        for (int row = 0; row < 4; row++) {
+            System.arraycopy(matrix[row], 0, coefficients, offset + row * neighs.length, neighs.length);
+        }
     }
 
     private double[][] leastSquareMatrix(Cell[] neighs, Point faceCentroid) {
@@ -130,26 +158,39 @@ public class LeastSquareFaceInterpolation {
         mesh.boundaryStream().flatMap(b -> b.faces.stream()).forEach(this::setFace);
     }
 
+    /**
+     * Values and gradients of all the variables of the face as one product of the least-squares matrix (4 rows)
+     * with the block of neighbor values (one row per neighbor, one column per variable).
+     */
     private void setFace(Face face) {
-        int numVars = face.U.length;
-        for (int var = 0; var < numVars; var++) {
-            setVar(face, var);
-        }
-    }
-
-    private void setVar(Face face, int var) {
         int index = face.index();
-        Cell[] neighs = neighbours[index];
-        int numNeighs = neighs.length;
-        double[] U = new double[numNeighs];
-
+        int start = neighbours.start[index];
+        int numNeighs = neighbours.size(index);
+        FieldStore fields = face.fields();
+        int numVars = fields.numVars;
+        double[] U = fields.U;
+        double[] solution = this.solution.get();
+        Arrays.fill(solution, 0.0);
+
+        int offset = 4 * start;
         for (int j = 0; j < numNeighs; j++) {
-            U[j] = neighs[j].U[var];
+            int neighOffset = fields.cellOffset(neighbours.entries[start + j]);
+            for (int row = 0; row < 4; row++) {
+                double coefficient = coefficients[offset + row * numNeighs + j];
+                int solutionOffset = row * numVars;
+                for (int var = 0; var < numVars; var++) {
+                    solution[solutionOffset + var] += coefficient * U[neighOffset + var];
+                }
+            }
         }
 
-        double[] solution = DoubleMatrix.multiply(inverseMatrix[index], U);
-
-        face.U[var] = solution[0];
-        face.gradientU[var] = new Vector(solution[1], solution[2], solution[3]);
+        int row = face.fieldRow();
+        System.arraycopy(solution, 0, fields.faceU, fields.faceOffset(row), numVars);
+        for (int var = 0; var < numVars; var++) {
+            int gradientOffset = fields.faceGradientOffset(row, var);
+            fields.faceGradients[gradientOffset] = solution[numVars + var];
+            fields.faceGradients[gradientOffset + 1] = solution[2 * numVars + var];
+            fields.faceGradients[gradientOffset + 2] = solution[3 * numVars + var];
+        }
     }
 }
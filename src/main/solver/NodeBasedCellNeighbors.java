@@ -1,6 +1,8 @@
 package main.solver;
 
+import main.mesh.Adjacency;
 import main.mesh.Cell;
+import main.mesh.Connectivity;
 
 import java.util.Arrays;
 import java.util.List;
@@ -10,10 +12,22 @@ import static java.util.stream.Collectors.toList;
 public class NodeBasedCellNeighbors implements CellNeighborCalculator {
     @Override
     public List<Cell> calculateFor(Cell cell) {
+        Connectivity connectivity = cell.fields().connectivity();
+        if (connectivity != null && cell.index() >= 0) {
+            return Arrays.stream(connectivity.nodeNeighbors().row(cell.index()))
+                    .mapToObj(id -> connectivity.cells[id])
+                    .collect(toList());
+        }
+
         return Arrays.stream(cell.nodes)
                 .flatMap(node -> node.neighbors.stream())
                 .filter(c -> c != cell)
                 .distinct()
                 .collect(toList());
     }
+
+    @Override
+    public Adjacency stencil(Connectivity connectivity) {
+        return connectivity.nodeNeighbors();
+    }
 }
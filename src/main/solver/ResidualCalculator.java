@@ -1,5 +1,17 @@
 package main.solver;
 
+import main.mesh.DerivedField;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public interface ResidualCalculator {
     void updateCellResiduals();
+
+    /**
+     * @return Fields read by updateCellResiduals, all of them unless the calculator declares otherwise.
+     */
+    default Set<DerivedField> requiredFields() {
+        return EnumSet.allOf(DerivedField.class);
+    }
 }
@@ -1,35 +1,96 @@
 package main.solver;
 
+import main.io.PreprocessingCache;
 import main.mesh.Boundary;
+import main.mesh.DerivedField;
 import main.mesh.Mesh;
 import main.physics.bc.BoundaryCondition;
+import main.solver.convection.ConvectionResidual;
+import main.solver.diffusion.DiffusionResidual;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Evaluates the residuals of all the cells. Before the residuals, only the fields declared by the residual calculators
+ * and the boundary conditions (and the fields these depend on) are computed. The face interpolation is not even set
+ * up as long as nothing reads the face values or gradients.
+ * Components which read the derived fields after the residuals, like the TimeStep, declare them with
+ * addRequiredFields().
+ * A ConvectionResidual and a DiffusionResidual in the residual list are evaluated together by a
+ * ConvectionDiffusionResidual, in a single pass over the faces.
+ */
 public class SpaceDiscretization {
 
     private final Mesh mesh;
     private final List<ResidualCalculator> residuals;
-    private final LeastSquareFaceInterpolation faceInterpolation;
+    private final PreprocessingCache cache;
     private final CellGradientCalculator cellGradientCalculator;
+    private final Set<DerivedField> additionalFields = EnumSet.noneOf(DerivedField.class);
+    private LeastSquareFaceInterpolation faceInterpolation;
 
     public SpaceDiscretization(Mesh mesh, CellGradientCalculator cellGradientCalculator, List<ResidualCalculator> residuals) {
+        this(mesh, cellGradientCalculator, residuals, PreprocessingCache.disabled());
+    }
+
+    public SpaceDiscretization(Mesh mesh, CellGradientCalculator cellGradientCalculator, List<ResidualCalculator> residuals,
+                               PreprocessingCache cache) {
         this.mesh = mesh;
         this.cellGradientCalculator = cellGradientCalculator;
-        this.residuals = residuals;
-        this.faceInterpolation = new LeastSquareFaceInterpolation(mesh);
+        this.residuals = fuseConvectionDiffusion(mesh, residuals);
+        this.cache = cache;
+    }
+
+    /**
+     * @param fields Fields read after setResiduals() by a component other than the residual calculators.
+     */
+    public void addRequiredFields(Set<DerivedField> fields) {
+        additionalFields.addAll(fields);
+    }
+
+    /**
+     * @return Fields computed before the residuals. They are determined on each evaluation, as the boundary
+     * conditions may be set after construction.
+     */
+    public Set<DerivedField> requiredFields() {
+        Set<DerivedField> fields = EnumSet.noneOf(DerivedField.class);
+        fields.addAll(additionalFields);
+        residuals.forEach(residual -> fields.addAll(residual.requiredFields()));
+        mesh.boundaries().forEach(boundary -> boundary.bc().ifPresent(bc -> fields.addAll(bc.requiredFields())));
+
+        if (fields.contains(DerivedField.CELL_GRADIENTS)) {
+            fields.addAll(cellGradientCalculator.requiredFields());
+        }
+        // values and gradients are interpolated together, from stencils including the ghost cells
+        if (fields.contains(DerivedField.FACE_VALUES) || fields.contains(DerivedField.FACE_GRADIENTS)) {
+            fields.addAll(EnumSet.of(DerivedField.FACE_VALUES, DerivedField.FACE_GRADIENTS,
+                    DerivedField.GHOST_VALUES));
+        }
+
+        return fields;
     }
 
     public void setResiduals() {
-        setGhostCellValues();
-        faceInterpolation.setupAllFaces();
-        cellGradientCalculator.setupAllCells();
+        Set<DerivedField> fields = requiredFields();
+        if (fields.contains(DerivedField.GHOST_VALUES)) setGhostCellValues();
+        if (fields.contains(DerivedField.FACE_VALUES)) faceInterpolation().setupAllFaces();
+        if (fields.contains(DerivedField.CELL_GRADIENTS)) cellGradientCalculator.setupAllCells();
 
-        mesh.cellStream().forEach(cell -> Arrays.fill(cell.residual, 0.0));
+        Arrays.fill(mesh.fields().residual, 0.0);
         residuals.forEach(ResidualCalculator::updateCellResiduals);
     }
 
+    private LeastSquareFaceInterpolation faceInterpolation() {
+        if (faceInterpolation == null) {
+            faceInterpolation = new LeastSquareFaceInterpolation(mesh, cache);
+        }
+
+        return faceInterpolation;
+    }
+
     private void setGhostCellValues() {
         mesh.boundaryStream().forEach(this::setGhostCellValues);
     }
@@ -39,4 +100,30 @@ public class SpaceDiscretization {
                 () -> new IllegalArgumentException("Boundary condition is not defined."));
         boundary.faces.forEach(bc::setGhostCellValues);
     }
+
+    private static List<ResidualCalculator> fuseConvectionDiffusion(Mesh mesh, List<ResidualCalculator> residuals) {
+        ConvectionResidual convection = null;
+        DiffusionResidual diffusion = null;
+        for (ResidualCalculator residual : residuals) {
+            if (residual instanceof ConvectionResidual) {
+                if (convection != null) return residuals;
+                convection = (ConvectionResidual) residual;
+            } else if (residual instanceof DiffusionResidual) {
+                if (diffusion != null) return residuals;
+                diffusion = (DiffusionResidual) residual;
+            }
+        }
+        if (convection == null || diffusion == null) return residuals;
+
+        List<ResidualCalculator> fused = new ArrayList<>();
+        for (ResidualCalculator residual : residuals) {
+            if (residual == convection) {
+                fused.add(new ConvectionDiffusionResidual(convection, diffusion, mesh));
+            } else if (residual != diffusion) {
+                fused.add(residual);
+            }
+        }
+
+        return fused;
+    }
 }
@@ -1,9 +1,14 @@
 package main.solver;
 
-import main.geom.Vector;
 import main.mesh.Cell;
+import main.mesh.DerivedField;
+import main.mesh.FieldStore;
 import main.mesh.Mesh;
 
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
 public class ZeroCellGradient implements CellGradientCalculator {
     private final Mesh mesh;
 
@@ -16,10 +21,14 @@ public class ZeroCellGradient implements CellGradientCalculator {
         mesh.cellStream().forEach(this::setupCell);
     }
 
+    @Override
+    public Set<DerivedField> requiredFields() {
+        return EnumSet.noneOf(DerivedField.class);
+    }
+
     private void setupCell(Cell cell) {
-        int numVars = cell.gradientU.length;
-        for (int var = 0; var < numVars; var++) {
-            cell.gradientU[var] = new Vector(0, 0, 0);
-        }
+        FieldStore fields = cell.fields();
+        int offset = fields.coeffOffset(cell.fieldRow(), 0);
+        Arrays.fill(fields.cellGradients, offset, offset + fields.numVars * FieldStore.NUM_COEFFS, 0.0);
     }
 }
@@ -1,72 +1,200 @@
 package main.solver.convection;
 
+import main.mesh.Adjacency;
 import main.mesh.Boundary;
-import main.mesh.Cell;
+import main.mesh.Connectivity;
+import main.mesh.DerivedField;
 import main.mesh.Face;
+import main.mesh.FieldStore;
 import main.mesh.Mesh;
 import main.physics.bc.BoundaryCondition;
 import main.solver.ResidualCalculator;
-import main.solver.convection.riemann.RiemannSolver;
 import main.solver.convection.reconstructor.SolutionReconstructor;
+import main.solver.convection.riemann.BatchRiemannSolver;
+import main.solver.convection.riemann.RiemannSolver;
 
-import static main.util.DoubleArray.*;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.IntStream;
 
+import static main.physics.goveqn.BatchConvection.BLOCK_SIZE;
+
+/**
+ * The flux of each face multiplied by the face area is added to the residual of the left cell and subtracted from
+ * the residual of the right cell directly. The faces are processed color by color (Connectivity.faceColors), so
+ * that the faces processed in parallel never update the same cell.
+ */
 public class ConvectionResidual implements ResidualCalculator {
     private final SolutionReconstructor reconstructor;
     private final RiemannSolver riemannSolver;
+    private final BatchRiemannSolver batchRiemannSolver;
     private final Mesh mesh;
+    private final FieldStore fields;
+    private final Connectivity connectivity;
+    private final Adjacency faceColors;
+    private final BoundaryCondition[] boundaryConditions;
+    private final ThreadLocal<double[]> flux;
+    private final ThreadLocal<double[][]> states;
+    private final ThreadLocal<FaceBlock> faceBlock;
+    /**
+     * Fluxes of the internal faces in batch mode, evaluated by setupFluxes(), laid out as FieldStore.faceU.
+     */
+    private final double[] internalFluxes;
 
     public ConvectionResidual(SolutionReconstructor reconstructor, RiemannSolver riemannSolver, Mesh mesh) {
+        this(reconstructor, riemannSolver, null, mesh);
+    }
+
+    /**
+     * Batch mode: the fluxes of the internal faces are evaluated by the batch solver in blocks of
+     * BatchConvection.BLOCK_SIZE faces when the fluxes are set up.
+     */
+    public ConvectionResidual(SolutionReconstructor reconstructor, BatchRiemannSolver batchRiemannSolver, Mesh mesh) {
+        this(reconstructor, null, batchRiemannSolver, mesh);
+    }
+
+    private ConvectionResidual(SolutionReconstructor reconstructor, RiemannSolver riemannSolver,
+                               BatchRiemannSolver batchRiemannSolver, Mesh mesh) {
         this.reconstructor = reconstructor;
         this.riemannSolver = riemannSolver;
+        this.batchRiemannSolver = batchRiemannSolver;
         this.mesh = mesh;
+        this.fields = mesh.fields();
+        this.connectivity = mesh.connectivity();
+        this.faceColors = connectivity.faceColors();
+        this.boundaryConditions = new BoundaryCondition[connectivity.numFaces - connectivity.numInternalFaces];
+        this.flux = ThreadLocal.withInitial(() -> new double[fields.numVars]);
+        this.states = ThreadLocal.withInitial(() -> new double[2][fields.numVars]);
+        this.faceBlock = ThreadLocal.withInitial(() -> new FaceBlock(fields.numVars));
+        this.internalFluxes = batchRiemannSolver == null ? null
+                : new double[connectivity.numInternalFaces * fields.numVars];
     }
 
     @Override
     public void updateCellResiduals() {
+        setupFluxes();
+
+        // add / subtract (flux * face.area) to the residuals of the left / right cells
+        for (int color = 0; color < faceColors.numRows(); color++) {
+            IntStream.range(faceColors.start[color], faceColors.start[color + 1]).parallel()
+                    .forEach(k -> addFlux(faceColors.entries[k]));
+        }
+    }
+
+    /**
+     * Reconstructs the solution and looks up the boundary conditions of the boundary faces. In batch mode it also
+     * evaluates the fluxes of the internal faces. Must be called before the fluxes are evaluated with
+     * flux(int, double[]).
+     */
+    public void setupFluxes() {
         // solution reconstruction for all cells
         reconstructor.reconstruct();
 
-        // Calculate the flux at the internal faces and save
-        mesh.internalFaceStream().forEach(this::setFlux);
-
-        // Calculate the flux at the boundary faces and save
-        mesh.boundaryStream().forEach(this::setFlux);
+        // the boundary conditions may have been changed after construction
+        for (Boundary boundary : mesh.boundaries()) {
+            BoundaryCondition bc = boundary.bc().orElseThrow(
+                    () -> new IllegalArgumentException("Boundary condition is not defined."));
+            for (Face face : boundary.faces) {
+                boundaryConditions[face.index() - connectivity.numInternalFaces] = bc;
+            }
+        }
 
-        // add / subtract (flux * face.area) to the cells residual
-        mesh.cellStream().forEach(this::updateResidual);
+        if (batchRiemannSolver != null) {
+            int numBlocks = (connectivity.numInternalFaces + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            IntStream.range(0, numBlocks).parallel().forEach(this::setBlockFluxes);
+        }
     }
 
-    private void updateResidual(Cell cell) {
-        int numVars = cell.residual.length;
-        double[] totalResidual = new double[numVars];
-        for (Face face : cell.faces) {
-            double[] flux = multiply(face.flux, face.surface.area);
-            if (face.left == cell) {
-                increment(totalResidual, flux);
-            } else {
-                decrement(totalResidual, flux);
-            }
+    /**
+     * @param faceIndex Index of an internal or boundary face.
+     * @param out       Convective flux through the face (per unit area), in the direction of the face normal.
+     */
+    public void flux(int faceIndex, double[] out) {
+        Face face = connectivity.faces[faceIndex];
+        if (faceIndex < connectivity.numInternalFaces && batchRiemannSolver != null) {
+            System.arraycopy(internalFluxes, faceIndex * fields.numVars, out, 0, fields.numVars);
+        } else if (faceIndex < connectivity.numInternalFaces) {
+            double[][] states = this.states.get();
+            reconstructor.faceStates(face, states[0], states[1]);
+            riemannSolver.flux(states[0], states[1], fields.geometry, faceIndex, out);
+        } else {
+            BoundaryCondition bc = boundaryConditions[faceIndex - connectivity.numInternalFaces];
+            System.arraycopy(bc.convectiveFlux(face), 0, out, 0, out.length);
         }
+    }
+
+    /**
+     * The fields of the reconstructor and the ghost cell values, which are the right states of the boundary faces
+     * (read for the wave speeds of the time step).
+     */
+    @Override
+    public Set<DerivedField> requiredFields() {
+        Set<DerivedField> fields = EnumSet.of(DerivedField.GHOST_VALUES);
+        fields.addAll(reconstructor.requiredFields());
 
-        increment(cell.residual, totalResidual);
+        return fields;
     }
 
-    private void setFlux(Boundary boundary) {
-        BoundaryCondition bc = boundary.bc().orElseThrow(
-                () -> new IllegalArgumentException("Boundary condition is not defined."));
-        boundary.faces.forEach(bFace -> setFlux(bFace, bc));
+    private void addFlux(int faceIndex) {
+        double[] flux = this.flux.get();
+        flux(faceIndex, flux);
+
+        double area = fields.geometry.faceArea[faceIndex];
+        int numVars = fields.numVars;
+        int leftOffset = fields.cellOffset(connectivity.faceLeft[faceIndex]);
+        int right = connectivity.faceRight[faceIndex];
+        for (int var = 0; var < numVars; var++) {
+            fields.residual[leftOffset + var] += flux[var] * area;
+            if (right < connectivity.numCells)
+                fields.residual[fields.cellOffset(right) + var] -= flux[var] * area;
+        }
     }
 
-    private void setFlux(Face face, BoundaryCondition bc) {
-        double[] flux = bc.convectiveFlux(face);
-        copy(flux, face.flux);
+    private void setBlockFluxes(int block) {
+        int firstFace = block * BLOCK_SIZE;
+        int count = Math.min(BLOCK_SIZE, connectivity.numInternalFaces - firstFace);
+        int numVars = fields.numVars;
+        double[] faceNormal = fields.geometry.faceNormal;
+        FaceBlock b = faceBlock.get();
+        double[][] states = this.states.get();
+        double[] UL = states[0];
+        double[] UR = states[1];
+
+        for (int i = 0; i < count; i++) {
+            reconstructor.faceStates(connectivity.faces[firstFace + i], UL, UR);
+            for (int var = 0; var < numVars; var++) {
+                b.UL[var * BLOCK_SIZE + i] = UL[var];
+                b.UR[var * BLOCK_SIZE + i] = UR[var];
+            }
+            int offset = (firstFace + i) * 3;
+            b.nx[i] = faceNormal[offset];
+            b.ny[i] = faceNormal[offset + 1];
+            b.nz[i] = faceNormal[offset + 2];
+        }
+
+        batchRiemannSolver.flux(b.UL, b.UR, b.nx, b.ny, b.nz, count, b.flux);
+
+        for (int i = 0; i < count; i++) {
+            int offset = (firstFace + i) * numVars;
+            for (int var = 0; var < numVars; var++) {
+                internalFluxes[offset + var] = b.flux[var * BLOCK_SIZE + i];
+            }
+        }
     }
 
-    private void setFlux(Face face) {
-        double[] UL = reconstructor.conservativeVars(face.left, face.surface.centroid);
-        double[] UR = reconstructor.conservativeVars(face.right, face.surface.centroid);
-        double[] flux = riemannSolver.flux(UL, UR, face);
-        copy(flux, face.flux);
+    /**
+     * States, normals and fluxes of a block of faces, in the layout of BatchConvection.
+     */
+    private static class FaceBlock {
+        final double[] UL, UR, flux;
+        final double[] nx = new double[BLOCK_SIZE];
+        final double[] ny = new double[BLOCK_SIZE];
+        final double[] nz = new double[BLOCK_SIZE];
+
+        FaceBlock(int numVars) {
+            this.UL = new double[numVars * BLOCK_SIZE];
+            this.UR = new double[numVars * BLOCK_SIZE];
+            this.flux = new double[numVars * BLOCK_SIZE];
+        }
     }
 }
@@ -2,7 +2,11 @@ package main.solver.convection.reconstructor;
 
 import main.geom.Point;
 import main.mesh.Cell;
-import main.util.DoubleArray;
+import main.mesh.DerivedField;
+import main.mesh.Face;
+
+import java.util.EnumSet;
+import java.util.Set;
 
 public class PiecewiseConstantReconstructor implements SolutionReconstructor {
     @Override
@@ -10,8 +14,19 @@ public class PiecewiseConstantReconstructor implements SolutionReconstructor {
         // nothing needs to be done for piecewise constant reconstructor
     }
 
+    @Override
+    public Set<DerivedField> requiredFields() {
+        return EnumSet.noneOf(DerivedField.class);
+    }
+
     @Override
     public double[] conservativeVars(Cell cell, Point atPoint) {
-        return DoubleArray.copyOf(cell.U);
+        return cell.U();
+    }
+
+    @Override
+    public void faceStates(Face face, double[] UL, double[] UR) {
+        face.left.fields().get(face.left.fields().U, face.left.fieldRow(), UL);
+        face.right.fields().get(face.right.fields().U, face.right.fieldRow(), UR);
     }
 }
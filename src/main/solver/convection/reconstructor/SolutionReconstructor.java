@@ -2,9 +2,31 @@ package main.solver.convection.reconstructor;
 
 import main.geom.Point;
 import main.mesh.Cell;
+import main.mesh.DerivedField;
+import main.mesh.Face;
+
+import java.util.EnumSet;
+import java.util.Set;
 
 public interface SolutionReconstructor {
     void reconstruct();
 
     double[] conservativeVars(Cell cell, Point atPoint);
+
+    /**
+     * Reconstructed states of the left and right cells at the centroid of an internal face, written into UL and UR.
+     */
+    default void faceStates(Face face, double[] UL, double[] UR) {
+        double[] left = conservativeVars(face.left, face.surface.centroid);
+        double[] right = conservativeVars(face.right, face.surface.centroid);
+        System.arraycopy(left, 0, UL, 0, left.length);
+        System.arraycopy(right, 0, UR, 0, right.length);
+    }
+
+    /**
+     * @return Fields read by reconstruct, all of them unless the reconstructor declares otherwise.
+     */
+    default Set<DerivedField> requiredFields() {
+        return EnumSet.allOf(DerivedField.class);
+    }
 }
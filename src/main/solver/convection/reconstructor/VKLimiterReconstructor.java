@@ -1,8 +1,13 @@
 package main.solver.convection.reconstructor;
 
 import main.geom.Point;
-import main.geom.Vector;
+import main.io.PreprocessingCache;
+import main.mesh.Adjacency;
 import main.mesh.Cell;
+import main.mesh.Connectivity;
+import main.mesh.DerivedField;
+import main.mesh.Face;
+import main.mesh.FieldStore;
 import main.mesh.Mesh;
 import main.mesh.Node;
 import main.physics.goveqn.GoverningEquations;
@@ -10,79 +15,171 @@ import main.physics.goveqn.Limits;
 import main.solver.CellNeighborCalculator;
 import main.util.Util;
 
-import static main.util.DoubleArray.add;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.IntStream;
 
 public class VKLimiterReconstructor implements SolutionReconstructor {
     private final Mesh mesh;
-    private final CellNeighborCalculator neighCalc;
-    private final Cell[][] neighbors;
+    private final Adjacency neighbors;
+    private final Cell[] cellsById;
     private final GoverningEquations govEqn;
+    private final Connectivity connectivity;
+    private final FieldStore fields;
+    /**
+     * Offsets from the cell centroid to the nodes of the cell, three components for each node,
+     * at 3 * nodeStart[cell] for the nodes of a cell.
+     */
+    private final int[] nodeStart;
+    private final double[] nodeOffsets;
+    /**
+     * Offsets from the centroids of the left and right cells to the centroid of each internal face,
+     * at 6 * face (left) and 6 * face + 3 (right).
+     */
+    private final double[] faceOffsets;
+    /**
+     * Reconstructed states on the left and right of each internal face, at FieldStore.faceOffset(face).
+     */
+    private final double[] faceUL;
+    private final double[] faceUR;
+    /**
+     * Minimum and maximum differences to the neighbors and limiter of each variable of the cell being limited.
+     */
+    private final ThreadLocal<double[][]> limiterValues;
 
     public VKLimiterReconstructor(Mesh mesh, GoverningEquations govEqn, CellNeighborCalculator neighCalc) {
+        this(mesh, govEqn, neighCalc, PreprocessingCache.disabled());
+    }
+
+    public VKLimiterReconstructor(Mesh mesh, GoverningEquations govEqn, CellNeighborCalculator neighCalc,
+                                  PreprocessingCache cache) {
         this.govEqn = govEqn;
-        int numCells = mesh.cells().size();
         this.mesh = mesh;
-        this.neighCalc = neighCalc;
-        this.neighbors = new Cell[numCells][];
+        this.connectivity = mesh.connectivity();
+        this.fields = mesh.fields();
+        this.neighbors = cache.adjacency("stencil_" + neighCalc.getClass().getSimpleName(),
+                connectivity.numCells, connectivity.cells.length, () -> neighCalc.stencil(connectivity));
+        this.cellsById = connectivity.cells;
+
+        this.nodeStart = new int[connectivity.numCells + 1];
+        for (int i = 0; i < connectivity.numCells; i++) {
+            nodeStart[i + 1] = nodeStart[i] + cellsById[i].nodes.length;
+        }
+        this.nodeOffsets = new double[3 * nodeStart[connectivity.numCells]];
+        for (int i = 0; i < connectivity.numCells; i++) {
+            Point centroid = cellsById[i].shape.centroid;
+            int offset = 3 * nodeStart[i];
+            for (Node node : cellsById[i].nodes) {
+                offset = setOffset(nodeOffsets, offset, centroid, node.x, node.y, node.z);
+            }
+        }
+
+        this.faceOffsets = new double[6 * connectivity.numInternalFaces];
+        for (int i = 0; i < connectivity.numInternalFaces; i++) {
+            Face face = connectivity.faces[i];
+            Point centroid = face.surface.centroid;
+            setOffset(faceOffsets, 6 * i, face.left.shape.centroid, centroid.x, centroid.y, centroid.z);
+            setOffset(faceOffsets, 6 * i + 3, face.right.shape.centroid, centroid.x, centroid.y, centroid.z);
+        }
 
-        mesh.cellStream().forEach(this::setup);
+        this.faceUL = new double[connectivity.numInternalFaces * fields.numVars];
+        this.faceUR = new double[connectivity.numInternalFaces * fields.numVars];
+        this.limiterValues = ThreadLocal.withInitial(() -> new double[3][fields.numVars]);
     }
 
-    private void setup(Cell cell) {
-        neighbors[cell.index()] = neighCalc.calculateFor(cell).toArray(new Cell[0]);
+    private static int setOffset(double[] offsets, int offset, Point from, double x, double y, double z) {
+        offsets[offset] = x - from.x;
+        offsets[offset + 1] = y - from.y;
+        offsets[offset + 2] = z - from.z;
 
-        for (int var = 0; var < cell.U.length; var++) {
-            cell.reconstructCoeffs[var] = new double[3];
-        }
+        return offset + 3;
     }
 
     @Override
     public void reconstruct() {
         mesh.cellStream().forEach(this::reconstructCell);
+        IntStream.range(0, connectivity.numInternalFaces).parallel().forEach(this::setFaceStates);
+    }
+
+    /**
+     * The limited gradients are the cell gradients, limited by the values of the stencil (including the ghost cells).
+     */
+    @Override
+    public Set<DerivedField> requiredFields() {
+        return EnumSet.of(DerivedField.CELL_GRADIENTS, DerivedField.GHOST_VALUES);
     }
 
+    /**
+     * Limits the gradients of all the variables of the cell, with one pass over the stencil and one over the nodes.
+     */
     private void reconstructCell(Cell cell) {
-        Vector[] gradients = cell.gradientU;
-        for (int var = 0; var < cell.U.length; var++) {
-            reconstructVar(cell, gradients, var);
+        int numVars = fields.numVars;
+        int cellIndex = cell.index();
+        double[] U = fields.U;
+        int cellOffset = fields.cellOffset(cellIndex);
+        Limits[] physicalLimits = govEqn.physicalLimits();
+        double[][] values = limiterValues.get();
+        double[] duMin = values[0];
+        double[] duMax = values[1];
+        double[] phi = values[2];
+
+        System.arraycopy(U, cellOffset, duMin, 0, numVars);
+        System.arraycopy(U, cellOffset, duMax, 0, numVars);
+        for (int k = neighbors.start[cellIndex]; k < neighbors.start[cellIndex + 1]; k++) {
+            int neighOffset = fields.cellOffset(neighbors.entries[k]);
+            for (int var = 0; var < numVars; var++) {
+                double value = U[neighOffset + var];
+                if (value > duMax[var]) duMax[var] = value;
+                if (value < duMin[var]) duMin[var] = value;
+            }
+        }
+        for (int var = 0; var < numVars; var++) {
+            Limits limits = physicalLimits[var];
+            duMax[var] = Util.clip(duMax[var], limits.min, limits.max) - U[cellOffset + var];
+            duMin[var] = Util.clip(duMin[var], limits.min, limits.max) - U[cellOffset + var];
+            phi[var] = Double.POSITIVE_INFINITY;
         }
-    }
 
-    private void reconstructVar(Cell cell, Vector[] gradients, int var) {
-        Limits physicalLimits = govEqn.physicalLimits()[var];
-
-        Cell[] cellNeighbors = neighbors[cell.index()];
-        double ui = cell.U[var];
-        double uMax = ui;
-        double uMin = ui;
-        for (Cell neighbor : cellNeighbors) {
-            double value = neighbor.U[var];
-            if (value > uMax) uMax = value;
-            if (value < uMin) uMin = value;
+        double[] gradients = fields.cellGradients;
+        int gradientOffset = fields.coeffOffset(cellIndex, 0);
+        for (int n = 3 * nodeStart[cellIndex]; n < 3 * nodeStart[cellIndex + 1]; n += 3) {
+            double dx = nodeOffsets[n];
+            double dy = nodeOffsets[n + 1];
+            double dz = nodeOffsets[n + 2];
+            for (int var = 0; var < numVars; var++) {
+                int g = gradientOffset + 3 * var;
+                double u = U[cellOffset + var];
+                double nodeValue = u + (gradients[g] * dx + gradients[g + 1] * dy + gradients[g + 2] * dz);
+                double nodePhi = Phi(duMin[var], duMax[var], u, nodeValue);
+                if (nodePhi < phi[var]) phi[var] = nodePhi;
+            }
         }
-        uMax = Util.clip(uMax, physicalLimits.min, physicalLimits.max);
-        double duMax = uMax - ui;
-
-        uMin = Util.clip(uMin, physicalLimits.min, physicalLimits.max);
-        double duMin = uMin - ui;
-
-        Vector gradient_unlimited = gradients[var];
-        double phi_i = Double.POSITIVE_INFINITY;
-        for (Node node : cell.nodes) {
-            double nodeValue = reconstructValueAt(cell, var, gradient_unlimited, node.location());
-            double nodePhi = Phi(duMin, duMax, ui, nodeValue);
-            if (nodePhi < phi_i) phi_i = nodePhi;
+
+        for (int var = 0; var < numVars; var++) {
+            int g = gradientOffset + 3 * var;
+            fields.reconstructCoeffs[g] = gradients[g] * phi[var];
+            fields.reconstructCoeffs[g + 1] = gradients[g + 1] * phi[var];
+            fields.reconstructCoeffs[g + 2] = gradients[g + 2] * phi[var];
         }
+    }
 
-        Vector gradient_limited = gradient_unlimited.mult(phi_i);
-        cell.reconstructCoeffs[var][0] = gradient_limited.x;
-        cell.reconstructCoeffs[var][1] = gradient_limited.y;
-        cell.reconstructCoeffs[var][2] = gradient_limited.z;
+    private void setFaceStates(int faceIndex) {
+        int faceOffset = fields.faceOffset(faceIndex);
+        setFaceState(connectivity.faceLeft[faceIndex], 6 * faceIndex, faceUL, faceOffset);
+        setFaceState(connectivity.faceRight[faceIndex], 6 * faceIndex + 3, faceUR, faceOffset);
     }
 
-    private double reconstructValueAt(Cell cell, int var, Vector gradient, Point at) {
-        Vector distanceVector = new Vector(cell.shape.centroid, at);
-        return cell.U[var] + gradient.dot(distanceVector);
+    private void setFaceState(int cellIndex, int offset, double[] faceU, int faceOffset) {
+        double[] U = fields.U;
+        int cellOffset = fields.cellOffset(cellIndex);
+        double rx = faceOffsets[offset];
+        double ry = faceOffsets[offset + 1];
+        double rz = faceOffsets[offset + 2];
+        for (int var = 0; var < fields.numVars; var++) {
+            int c = fields.coeffOffset(cellIndex, var);
+            double[] coeffs = fields.reconstructCoeffs;
+            faceU[faceOffset + var] = U[cellOffset + var] + (coeffs[c] * rx + coeffs[c + 1] * ry + coeffs[c + 2] * rz);
+        }
     }
 
     private double Phi(double duMin, double duMax, double ui, double uj) {
@@ -101,20 +198,34 @@ public class VKLimiterReconstructor implements SolutionReconstructor {
         return (y * y + 2.0 * y) / (y * y + y + 2.0);
     }
 
+    /**
+     * Copies the states computed by reconstruct().
+     */
+    @Override
+    public void faceStates(Face face, double[] UL, double[] UR) {
+        int faceOffset = fields.faceOffset(face.index());
+        System.arraycopy(faceUL, faceOffset, UL, 0, fields.numVars);
+        System.arraycopy(faceUR, faceOffset, UR, 0, fields.numVars);
+    }
+
     @Override
     public double[] conservativeVars(Cell cell, Point atPoint) {
-        int numVars = cell.U.length;
-        Vector r = new Vector(cell.shape.centroid, atPoint);
-        double[] dU = new double[numVars];
+        FieldStore fields = cell.fields();
+        int numVars = fields.numVars;
+        Point centroid = cell.shape.centroid;
+        double rx = atPoint.x - centroid.x;
+        double ry = atPoint.y - centroid.y;
+        double rz = atPoint.z - centroid.z;
+        double[] U = cell.U();
         for (int var = 0; var < numVars; var++) {
-            double du_dx = cell.reconstructCoeffs[var][0];
-            double du_dy = cell.reconstructCoeffs[var][1];
-            double du_dz = cell.reconstructCoeffs[var][2];
-            Vector gradient = new Vector(du_dx, du_dy, du_dz);
+            int coeffOffset = fields.coeffOffset(cell.fieldRow(), var);
+            double du_dx = fields.reconstructCoeffs[coeffOffset];
+            double du_dy = fields.reconstructCoeffs[coeffOffset + 1];
+            double du_dz = fields.reconstructCoeffs[coeffOffset + 2];
 
-            dU[var] = gradient.dot(r);
+            U[var] += du_dx * rx + du_dy * ry + du_dz * rz;
         }
 
-        return add(cell.U, dU);
+        return U;
     }
 }
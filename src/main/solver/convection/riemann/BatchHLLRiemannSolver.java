@@ -0,0 +1,83 @@
+package main.solver.convection.riemann;
+
+import main.physics.goveqn.BatchConvection;
+
+import static main.physics.goveqn.BatchConvection.BLOCK_SIZE;
+
+/**
+ * Block version of HLLRiemannSolver, giving the same fluxes. The wave speeds and fluxes are combined with the
+ * Vector API when it is available.
+ */
+public class BatchHLLRiemannSolver implements BatchRiemannSolver {
+    private final BatchConvection convection;
+    private final boolean vectorized;
+    private final ThreadLocal<Scratch> scratch;
+
+    public BatchHLLRiemannSolver(BatchConvection convection) {
+        this(convection, BatchConvection.vectorApiAvailable());
+    }
+
+    /**
+     * @param vectorized Whether the Vector API kernels are used, which requires the Vector API to be available.
+     */
+    BatchHLLRiemannSolver(BatchConvection convection, boolean vectorized) {
+        this.convection = convection;
+        this.vectorized = vectorized;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(convection.numVars()));
+    }
+
+    @Override
+    public void flux(double[] UL, double[] UR, double[] nx, double[] ny, double[] nz, int count, double[] out) {
+        Scratch s = scratch.get();
+        convection.minMaxEigenvalues(UL, nx, ny, nz, count, s.minL, s.maxL);
+        convection.minMaxEigenvalues(UR, nx, ny, nz, count, s.minR, s.maxR);
+        convection.flux(UL, nx, ny, nz, count, s.FL);
+        convection.flux(UR, nx, ny, nz, count, s.FR);
+
+        double[] SL = s.minL;
+        double[] SR = s.maxL;
+        if (vectorized) {
+            VectorRiemannKernels.waveSpeeds(SL, SR, s.minR, s.maxR, count);
+        } else {
+            for (int i = 0; i < count; i++) {
+                SL[i] = Math.min(SL[i], s.minR[i]);
+                SR[i] = Math.max(SR[i], s.maxR[i]);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (!(SL[i] >= 0.0 || SR[i] <= 0.0 || (SL[i] < 0 && SR[i] > 0)))
+                throw new IllegalStateException("The wave speeds are not valid: SL = " + SL[i] + ", SR = " + SR[i]);
+        }
+
+        double[] FL = s.FL;
+        double[] FR = s.FR;
+        int numVars = convection.numVars();
+        if (vectorized) {
+            VectorRiemannKernels.hll(UL, UR, FL, FR, SL, SR, numVars, count, out);
+            return;
+        }
+
+        for (int var = 0; var < numVars; var++) {
+            int offset = var * BLOCK_SIZE;
+            for (int i = offset; i < offset + count; i++) {
+                double SLi = SL[i - offset];
+                double SRi = SR[i - offset];
+                double hll = (SRi * FL[i] - SLi * FR[i] + SLi * SRi * (UR[i] - UL[i])) / (SRi - SLi);
+                out[i] = SLi >= 0.0 ? FL[i] : SRi <= 0.0 ? FR[i] : hll;
+            }
+        }
+    }
+
+    private static class Scratch {
+        final double[] FL, FR;
+        final double[] minL = new double[BLOCK_SIZE];
+        final double[] maxL = new double[BLOCK_SIZE];
+        final double[] minR = new double[BLOCK_SIZE];
+        final double[] maxR = new double[BLOCK_SIZE];
+
+        Scratch(int numVars) {
+            this.FL = new double[numVars * BLOCK_SIZE];
+            this.FR = new double[numVars * BLOCK_SIZE];
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package main.solver.convection.riemann;
+
+import main.physics.goveqn.BatchConvection;
+
+/**
+ * Riemann solver for a block of up to BatchConvection.BLOCK_SIZE faces. The left and right states and the fluxes are
+ * in the structure-of-arrays layout of BatchConvection, and (nx[i], ny[i], nz[i]) is the unit normal of face i.
+ * The arrays have room for BLOCK_SIZE faces; the fluxes of the faces from count on may be overwritten.
+ */
+public interface BatchRiemannSolver {
+    void flux(double[] UL, double[] UR, double[] nx, double[] ny, double[] nz, int count, double[] out);
+}
@@ -0,0 +1,68 @@
+package main.solver.convection.riemann;
+
+import main.physics.goveqn.BatchConvection;
+
+import static main.physics.goveqn.BatchConvection.BLOCK_SIZE;
+
+/**
+ * Block version of RusanovRiemannSolver, giving the same fluxes. The fluxes are combined with the Vector API when it
+ * is available.
+ */
+public class BatchRusanovRiemannSolver implements BatchRiemannSolver {
+    private final BatchConvection convection;
+    private final boolean vectorized;
+    private final ThreadLocal<Scratch> scratch;
+
+    public BatchRusanovRiemannSolver(BatchConvection convection) {
+        this(convection, BatchConvection.vectorApiAvailable());
+    }
+
+    /**
+     * @param vectorized Whether the Vector API kernels are used, which requires the Vector API to be available.
+     */
+    BatchRusanovRiemannSolver(BatchConvection convection, boolean vectorized) {
+        this.convection = convection;
+        this.vectorized = vectorized;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(convection.numVars()));
+    }
+
+    @Override
+    public void flux(double[] UL, double[] UR, double[] nx, double[] ny, double[] nz, int count, double[] out) {
+        Scratch s = scratch.get();
+        convection.flux(UL, nx, ny, nz, count, s.FL);
+        convection.flux(UR, nx, ny, nz, count, s.FR);
+        convection.maxAbsEigenvalues(UL, nx, ny, nz, count, s.evL);
+        convection.maxAbsEigenvalues(UR, nx, ny, nz, count, s.evR);
+
+        int numVars = convection.numVars();
+        if (vectorized) {
+            VectorRiemannKernels.rusanov(UL, UR, s.FL, s.FR, s.evL, s.evR, numVars, count, out);
+            return;
+        }
+
+        double[] FL = s.FL;
+        double[] FR = s.FR;
+        double[] ev = s.evL;
+        for (int i = 0; i < count; i++) {
+            ev[i] = Math.max(ev[i], s.evR[i]);
+        }
+
+        for (int var = 0; var < numVars; var++) {
+            int offset = var * BLOCK_SIZE;
+            for (int i = offset; i < offset + count; i++) {
+                out[i] = 0.5 * (FL[i] + FR[i] - ev[i - offset] * (UR[i] - UL[i]));
+            }
+        }
+    }
+
+    private static class Scratch {
+        final double[] FL, FR;
+        final double[] evL = new double[BLOCK_SIZE];
+        final double[] evR = new double[BLOCK_SIZE];
+
+        Scratch(int numVars) {
+            this.FL = new double[numVars * BLOCK_SIZE];
+            this.FR = new double[numVars * BLOCK_SIZE];
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package main.solver.convection.riemann;
 
-import main.geom.Vector;
-import main.mesh.Face;
-import main.mesh.Surface;
+import main.mesh.GeometryStore;
 import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
 
 import java.util.Arrays;
@@ -11,27 +9,33 @@ public class HLLC_AC_RiemannSolver implements RiemannSolver {
 
     private final ArtificialCompressibilityEquations govEqn;
     private final int numVars;
+    private final ThreadLocal<Scratch> scratch;
 
     public HLLC_AC_RiemannSolver(ArtificialCompressibilityEquations govEqn) {
         this.govEqn = govEqn;
         this.numVars = govEqn.numVars();
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(numVars));
     }
 
     @Override
-    public double[] flux(double[] UL, double[] UR, Face face) {
-        Surface surface = face.surface;
-        Vector n = surface.unitNormal();
-        Vector t1 = surface.unitTangent1();
-        Vector t2 = surface.unitTangent2();
+    public void flux(double[] UL, double[] UR, GeometryStore geometry, int faceIndex, double[] out) {
+        int offset = faceIndex * 3;
+        Scratch s = scratch.get();
 
-        UL = rotateU(UL, n, t1, t2);
-        UR = rotateU(UR, n, t1, t2);
+        rotateU(UL, geometry, offset, s.UL);
+        rotateU(UR, geometry, offset, s.UR);
+        UL = s.UL;
+        UR = s.UR;
 
-        double[] FL = govEqn.F(UL);
-        double[] FR = govEqn.F(UR);
+        double[] FL = s.FL;
+        double[] FR = s.FR;
+        govEqn.F(UL, FL);
+        govEqn.F(UR, FR);
 
-        double[] eigenvaluesL = govEqn.min_max_eigenvalues(UL);
-        double[] eigenvaluesR = govEqn.min_max_eigenvalues(UR);
+        double[] eigenvaluesL = s.eigenvaluesL;
+        double[] eigenvaluesR = s.eigenvaluesR;
+        govEqn.min_max_eigenvalues(UL, eigenvaluesL);
+        govEqn.min_max_eigenvalues(UR, eigenvaluesR);
 
         double SL = Math.min(eigenvaluesL[0], eigenvaluesR[0]);
         double SR = Math.max(eigenvaluesL[1], eigenvaluesR[1]);
@@ -40,30 +44,31 @@ public class HLLC_AC_RiemannSolver implements RiemannSolver {
 
         double SStar = (FR[1] - FL[1] - SR * UR[1] + SL * UL[1]) / SL_minus_SR;
 
-        double[] flux;
+        double[] flux = s.flux;
+        double[] UStar = s.UStar;
         if (SStar >= 0) {
             double p_betaStar = (UR[1] - UL[1] - SR * UR[0] + SL * UL[0]) / SL_minus_SR;
             double SL_minus_SStar = SL - SStar;
             double vStarL = (SL * UL[2] - FL[2]) / SL_minus_SStar;
             double wStarL = (SL * UL[3] - FL[3]) / SL_minus_SStar;
-            double[] UStarL = {
-                    p_betaStar, SStar, vStarL, wStarL
-            };
-            flux = new double[numVars];
+            UStar[0] = p_betaStar;
+            UStar[1] = SStar;
+            UStar[2] = vStarL;
+            UStar[3] = wStarL;
             for (int var = 0; var < numVars; var++) {
-                flux[var] = FL[var] + SL * (UStarL[var] - UL[var]);
+                flux[var] = FL[var] + SL * (UStar[var] - UL[var]);
             }
         } else if (SStar <= 0) {
             double p_betaStar = (UR[1] - UL[1] - SR * UR[0] + SL * UL[0]) / SL_minus_SR;
             double SR_minus_SStar = SR - SStar;
             double vStarR = (SR * UR[2] - FR[2]) / SR_minus_SStar;
             double wStarR = (SR * UR[3] - FR[3]) / SR_minus_SStar;
-            double[] UStarR = {
-                    p_betaStar, SStar, vStarR, wStarR
-            };
-            flux = new double[numVars];
+            UStar[0] = p_betaStar;
+            UStar[1] = SStar;
+            UStar[2] = vStarR;
+            UStar[3] = wStarR;
             for (int var = 0; var < numVars; var++) {
-                flux[var] = FR[var] + SR * (UStarR[var] - UR[var]);
+                flux[var] = FR[var] + SR * (UStar[var] - UR[var]);
             }
         } else {
             throw new IllegalStateException("The wave speeds are not valid." +
@@ -71,24 +76,62 @@ public class HLLC_AC_RiemannSolver implements RiemannSolver {
                     "\nRotated UR = " + Arrays.toString(UR));
         }
 
-        return cartesianF(flux, n, t1, t2);
+        cartesianF(flux, geometry, offset, out);
     }
 
-    private double[] rotateU(double[] U, Vector n, Vector t1, Vector t2) {
-        return new double[]{
-                U[0],
-                U[1] * n.x + U[2] * n.y + U[3] * n.z,
-                U[1] * t1.x + U[2] * t1.y + U[3] * t1.z,
-                U[1] * t2.x + U[2] * t2.y + U[3] * t2.z
-        };
+    private void rotateU(double[] U, GeometryStore geometry, int offset, double[] out) {
+        double nx = geometry.faceNormal[offset];
+        double ny = geometry.faceNormal[offset + 1];
+        double nz = geometry.faceNormal[offset + 2];
+
+        double t1x = geometry.faceTangent1[offset];
+        double t1y = geometry.faceTangent1[offset + 1];
+        double t1z = geometry.faceTangent1[offset + 2];
+
+        double t2x = geometry.faceTangent2[offset];
+        double t2y = geometry.faceTangent2[offset + 1];
+        double t2z = geometry.faceTangent2[offset + 2];
+
+        out[0] = U[0];
+        out[1] = U[1] * nx + U[2] * ny + U[3] * nz;
+        out[2] = U[1] * t1x + U[2] * t1y + U[3] * t1z;
+        out[3] = U[1] * t2x + U[2] * t2y + U[3] * t2z;
     }
 
-    private double[] cartesianF(double[] F, Vector n, Vector t1, Vector t2) {
-        return new double[]{
-                F[0],
-                F[1] * n.x + F[2] * t1.x + F[3] * t2.x,
-                F[1] * n.y + F[2] * t1.y + F[3] * t2.y,
-                F[1] * n.z + F[2] * t1.z + F[3] * t2.z
-        };
+    private void cartesianF(double[] F, GeometryStore geometry, int offset, double[] out) {
+        double nx = geometry.faceNormal[offset];
+        double ny = geometry.faceNormal[offset + 1];
+        double nz = geometry.faceNormal[offset + 2];
+
+        double t1x = geometry.faceTangent1[offset];
+        double t1y = geometry.faceTangent1[offset + 1];
+        double t1z = geometry.faceTangent1[offset + 2];
+
+        double t2x = geometry.faceTangent2[offset];
+        double t2y = geometry.faceTangent2[offset + 1];
+        double t2z = geometry.faceTangent2[offset + 2];
+
+        out[0] = F[0];
+        out[1] = F[1] * nx + F[2] * t1x + F[3] * t2x;
+        out[2] = F[1] * ny + F[2] * t1y + F[3] * t2y;
+        out[3] = F[1] * nz + F[2] * t1z + F[3] * t2z;
+    }
+
+    /**
+     * Intermediate arrays of one thread.
+     */
+    private static class Scratch {
+        final double[] UL, UR, FL, FR, UStar, flux;
+        final double[] eigenvaluesL = new double[2];
+        final double[] eigenvaluesR = new double[2];
+
+        Scratch(int numVars) {
+            this.UL = new double[numVars];
+            this.UR = new double[numVars];
+            this.FL = new double[numVars];
+            this.FR = new double[numVars];
+            this.UStar = new double[numVars];
+            this.flux = new double[numVars];
+        }
     }
 }
@@ -1,40 +1,46 @@
 package main.solver.convection.riemann;
 
-import main.geom.Vector;
-import main.mesh.Face;
-import main.mesh.Surface;
+import main.mesh.GeometryStore;
 import main.physics.goveqn.factory.ArtificialCompressibilityVOFEquations;
 
 public class HLLC_VOF_RiemannSolver implements RiemannSolver {
 
     private final ArtificialCompressibilityVOFEquations govEqn;
     private final int numVars;
+    private final ThreadLocal<Scratch> scratch;
 
     public HLLC_VOF_RiemannSolver(ArtificialCompressibilityVOFEquations govEqn) {
         this.govEqn = govEqn;
         this.numVars = govEqn.numVars();
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(numVars));
     }
 
     @Override
-    public double[] flux(double[] UL, double[] UR, Face face) {
-        Surface surface = face.surface;
-        Vector unitNormal = surface.unitNormal();
-        double[] eigenvaluesL = govEqn.convection().sortedEigenvalues(UL, unitNormal);
-        double[] eigenvaluesR = govEqn.convection().sortedEigenvalues(UR, unitNormal);
+    public void flux(double[] UL, double[] UR, GeometryStore geometry, int faceIndex, double[] out) {
+        int offset = faceIndex * 3;
+        double nx = geometry.faceNormal[offset];
+        double ny = geometry.faceNormal[offset + 1];
+        double nz = geometry.faceNormal[offset + 2];
+        Scratch s = scratch.get();
+        double[] eigenvaluesL = s.eigenvaluesL;
+        double[] eigenvaluesR = s.eigenvaluesR;
+        govEqn.convection().sortedEigenvalues(UL, nx, ny, nz, eigenvaluesL);
+        govEqn.convection().sortedEigenvalues(UR, nx, ny, nz, eigenvaluesR);
 
         double rho1_minus_rho2 = govEqn.rho1_minus_rho2();
 
         double SL = Math.min(eigenvaluesL[0], eigenvaluesR[0]);
         double SR = Math.max(eigenvaluesL[4], eigenvaluesR[4]);
 
-        Vector unitTangent1 = surface.unitTangent1();
-        Vector unitTangent2 = surface.unitTangent2();
+        rotateU(UL, geometry, offset, s.UL);
+        rotateU(UR, geometry, offset, s.UR);
+        UL = s.UL;
+        UR = s.UR;
 
-        UL = rotateU(UL, unitNormal, unitTangent1, unitTangent2);
-        UR = rotateU(UR, unitNormal, unitTangent1, unitTangent2);
-
-        double[] FL = govEqn.F(UL);
-        double[] FR = govEqn.F(UR);
+        double[] FL = s.FL;
+        double[] FR = s.FR;
+        govEqn.F(UL, FL);
+        govEqn.F(UR, FR);
 
         double CL = UL[4];
         double CR = UR[4];
@@ -55,6 +61,7 @@ public class HLLC_VOF_RiemannSolver implements RiemannSolver {
                 ((SL - SStar) / rhoStarL - (SR - SStar) / rhoStarR);
 
         double[] flux;
+        double[] UStar = s.UStar;
         if (SL >= 0.0) {
             flux = FL;
         } else if (SR <= 0.0) {
@@ -63,74 +70,93 @@ public class HLLC_VOF_RiemannSolver implements RiemannSolver {
 
             double rho_v_StarL = (UL[2] * SL - FL[2]) / (SL - SStar);
             double rho_w_StarL = (UL[3] * SL - FL[3]) / (SL - SStar);
-            double[] UStarL = {
-                    pStar_beta / rhoStarL, rhoStarL * SStar, rho_v_StarL, rho_w_StarL, CStarL
-            };
+            UStar[0] = pStar_beta / rhoStarL;
+            UStar[1] = rhoStarL * SStar;
+            UStar[2] = rho_v_StarL;
+            UStar[3] = rho_w_StarL;
+            UStar[4] = CStarL;
 
-            flux = new double[numVars];
+            flux = s.flux;
             for (int var = 0; var < numVars; var++) {
-                flux[var] = FL[var] + SL * (UStarL[var] - UL[var]);
+                flux[var] = FL[var] + SL * (UStar[var] - UL[var]);
             }
         } else if (SStar <= 0 && SR >= 0) {
 
             double rho_v_StarR = (UR[2] * SR - FR[2]) / (SR - SStar);
             double rho_w_StarR = (UR[3] * SR - FR[3]) / (SR - SStar);
-            double[] UStarR = {
-                    pStar_beta / rhoStarR, rhoStarR * SStar, rho_v_StarR, rho_w_StarR, CStarR
-            };
+            UStar[0] = pStar_beta / rhoStarR;
+            UStar[1] = rhoStarR * SStar;
+            UStar[2] = rho_v_StarR;
+            UStar[3] = rho_w_StarR;
+            UStar[4] = CStarR;
 
-            flux = new double[numVars];
+            flux = s.flux;
             for (int var = 0; var < numVars; var++) {
-                flux[var] = FR[var] + SR * (UStarR[var] - UR[var]);
+                flux[var] = FR[var] + SR * (UStar[var] - UR[var]);
             }
         } else {
             throw new IllegalStateException("The wave speeds are not valid.");
         }
 
-        return rotateBackF(flux, unitNormal, unitTangent1, unitTangent2);
+        rotateBackF(flux, geometry, offset, out);
+    }
+
+    private void rotateU(double[] U, GeometryStore geometry, int offset, double[] out) {
+        double nx = geometry.faceNormal[offset];
+        double ny = geometry.faceNormal[offset + 1];
+        double nz = geometry.faceNormal[offset + 2];
+
+        double t1x = geometry.faceTangent1[offset];
+        double t1y = geometry.faceTangent1[offset + 1];
+        double t1z = geometry.faceTangent1[offset + 2];
+
+        double t2x = geometry.faceTangent2[offset];
+        double t2y = geometry.faceTangent2[offset + 1];
+        double t2z = geometry.faceTangent2[offset + 2];
+
+        out[0] = U[0];
+        out[1] = U[1] * nx + U[2] * ny + U[3] * nz;
+        out[2] = U[1] * t1x + U[2] * t1y + U[3] * t1z;
+        out[3] = U[1] * t2x + U[2] * t2y + U[3] * t2z;
+        out[4] = U[4];
     }
 
-    private double[] rotateU(double[] U, Vector unitNormal, Vector unitTangent1, Vector unitTangent2) {
-        double nx = unitNormal.x;
-        double ny = unitNormal.y;
-        double nz = unitNormal.z;
-
-        double t1x = unitTangent1.x;
-        double t1y = unitTangent1.y;
-        double t1z = unitTangent1.z;
-
-        double t2x = unitTangent2.x;
-        double t2y = unitTangent2.y;
-        double t2z = unitTangent2.z;
-
-        return new double[]{
-                U[0],
-                U[1] * nx + U[2] * ny + U[3] * nz,
-                U[1] * t1x + U[2] * t1y + U[3] * t1z,
-                U[1] * t2x + U[2] * t2y + U[3] * t2z,
-                U[4]
-        };
+    private void rotateBackF(double[] F, GeometryStore geometry, int offset, double[] out) {
+        double nx = geometry.faceNormal[offset];
+        double ny = geometry.faceNormal[offset + 1];
+        double nz = geometry.faceNormal[offset + 2];
+
+        double t1x = geometry.faceTangent1[offset];
+        double t1y = geometry.faceTangent1[offset + 1];
+        double t1z = geometry.faceTangent1[offset + 2];
+
+        double t2x = geometry.faceTangent2[offset];
+        double t2y = geometry.faceTangent2[offset + 1];
+        double t2z = geometry.faceTangent2[offset + 2];
+
+        out[0] = F[0];
+        out[1] = F[1] * nx + F[2] * t1x + F[3] * t2x;
+        out[2] = F[1] * ny + F[2] * t1y + F[3] * t2y;
+        out[3] = F[1] * nz + F[2] * t1z + F[3] * t2z;
+        out[4] = F[4];
     }
 
-    private double[] rotateBackF(double[] F, Vector unitNormal, Vector unitTangent1, Vector unitTangent2) {
-        double nx = unitNormal.x;
-        double ny = unitNormal.y;
-        double nz = unitNormal.z;
-
-        double t1x = unitTangent1.x;
-        double t1y = unitTangent1.y;
-        double t1z = unitTangent1.z;
-
-        double t2x = unitTangent2.x;
-        double t2y = unitTangent2.y;
-        double t2z = unitTangent2.z;
-
-        return new double[]{
-                F[0],
-                F[1] * nx + F[2] * t1x + F[3] * t2x,
-                F[1] * ny + F[2] * t1y + F[3] * t2y,
-                F[1] * nz + F[2] * t1z + F[3] * t2z,
-                F[4]
-        };
+    /**
+     * Intermediate arrays of one thread.
+     */
+    private static class Scratch {
+        final double[] UL, UR, FL, FR, UStar, flux;
+        final double[] eigenvaluesL, eigenvaluesR;
+
+        Scratch(int numVars) {
+            this.eigenvaluesL = new double[numVars];
+            this.eigenvaluesR = new double[numVars];
+            this.UL = new double[numVars];
+            this.UR = new double[numVars];
+            this.FL = new double[numVars];
+            this.FR = new double[numVars];
+            this.UStar = new double[numVars];
+            this.flux = new double[numVars];
+        }
     }
 }
@@ -1,8 +1,6 @@
 package main.solver.convection.riemann;
 
-import main.geom.Vector;
-import main.mesh.Face;
-import main.mesh.Surface;
+import main.mesh.GeometryStore;
 import main.physics.goveqn.Convection;
 import main.physics.goveqn.GoverningEquations;
 
@@ -12,38 +10,45 @@ public class HLLRiemannSolver implements RiemannSolver {
     private final int numVars;
     private final int numVars_m1;
     private final Convection convection;
+    private final ThreadLocal<double[][]> scratch;
 
     public HLLRiemannSolver(GoverningEquations govEqn) {
         this.convection = govEqn.convection();
         this.numVars = govEqn.numVars();
         this.numVars_m1 = numVars - 1;
+        this.scratch = ThreadLocal.withInitial(() -> new double[4][numVars]);
     }
 
     @Override
-    public double[] flux(double[] UL, double[] UR, Face face) {
-        Surface surface = face.surface;
-        Vector unitNormal = surface.unitNormal();
-        double[] leftSideEigenvalues = convection.sortedEigenvalues(UL, unitNormal);
-        double[] rightSideEigenvalues = convection.sortedEigenvalues(UR, unitNormal);
+    public void flux(double[] UL, double[] UR, GeometryStore geometry, int faceIndex, double[] out) {
+        int offset = faceIndex * 3;
+        double nx = geometry.faceNormal[offset];
+        double ny = geometry.faceNormal[offset + 1];
+        double nz = geometry.faceNormal[offset + 2];
+        double[][] s = scratch.get();
+        double[] leftSideEigenvalues = s[0];
+        double[] rightSideEigenvalues = s[1];
+        convection.sortedEigenvalues(UL, nx, ny, nz, leftSideEigenvalues);
+        convection.sortedEigenvalues(UR, nx, ny, nz, rightSideEigenvalues);
 
         double SL = Math.min(leftSideEigenvalues[0], rightSideEigenvalues[0]);
         double SR = Math.max(leftSideEigenvalues[numVars_m1], rightSideEigenvalues[numVars_m1]);
 
-        double[] FL = convection.flux(UL, unitNormal);
-        double[] FR = convection.flux(UR, unitNormal);
+        double[] FL = s[2];
+        double[] FR = s[3];
+        convection.flux(UL, nx, ny, nz, FL);
+        convection.flux(UR, nx, ny, nz, FR);
 
         if (SL >= 0.0) {
-            return FL;
+            System.arraycopy(FL, 0, out, 0, numVars);
         } else if (SR <= 0.0) {
-            return FR;
+            System.arraycopy(FR, 0, out, 0, numVars);
         } else if (SL < 0 && SR > 0) {
-            double[] flux = new double[numVars];
             double SL_times_SR = SL * SR;
             double SR_minus_SL = SR - SL;
             for (int var = 0; var < numVars; var++) {
-                flux[var] = (SR * FL[var] - SL * FR[var] + SL_times_SR * (UR[var] - UL[var])) / SR_minus_SL;
+                out[var] = (SR * FL[var] - SL * FR[var] + SL_times_SR * (UR[var] - UL[var])) / SR_minus_SL;
             }
-            return flux;
         } else {
             throw new IllegalStateException("The wave speeds are not valid: \n" +
                     "UL = " + Arrays.toString(UL) + ",\n" +
@@ -1,7 +1,25 @@
 package main.solver.convection.riemann;
 
 import main.mesh.Face;
+import main.mesh.GeometryStore;
 
 public interface RiemannSolver {
-    double[] flux(double[] UL, double[] UR, Face face);
+    /**
+     * Flux at a face, written into a caller supplied array. The implementations keep their intermediate arrays in
+     * per-thread scratch space, so that the faces can be processed in parallel without allocating.
+     *
+     * @param UL        Conservative variables on the left side of the face.
+     * @param UR        Conservative variables on the right side of the face.
+     * @param geometry  Geometry store containing the face.
+     * @param faceIndex Row of the face in the geometry store.
+     * @param out       Array of length numVars in which the flux is written, must not be UL or UR.
+     */
+    void flux(double[] UL, double[] UR, GeometryStore geometry, int faceIndex, double[] out);
+
+    default double[] flux(double[] UL, double[] UR, Face face) {
+        double[] flux = new double[UL.length];
+        flux(UL, UR, face.fields().geometry, face.fieldRow(), flux);
+
+        return flux;
+    }
 }
@@ -1,36 +1,38 @@
 package main.solver.convection.riemann;
 
-import main.geom.Vector;
-import main.mesh.Face;
-import main.mesh.Surface;
+import main.mesh.GeometryStore;
 import main.physics.goveqn.Convection;
 import main.physics.goveqn.GoverningEquations;
 
 public class RusanovRiemannSolver implements RiemannSolver {
     private final GoverningEquations govEqn;
+    private final ThreadLocal<double[][]> scratch;
 
     public RusanovRiemannSolver(GoverningEquations govEqn) {
         this.govEqn = govEqn;
+        this.scratch = ThreadLocal.withInitial(() -> new double[2][govEqn.numVars()]);
     }
 
     @Override
-    public double[] flux(double[] UL, double[] UR, Face face) {
-        Surface surface = face.surface;
-        Vector unitNormal = surface.unitNormal();
+    public void flux(double[] UL, double[] UR, GeometryStore geometry, int faceIndex, double[] out) {
+        int offset = faceIndex * 3;
+        double nx = geometry.faceNormal[offset];
+        double ny = geometry.faceNormal[offset + 1];
+        double nz = geometry.faceNormal[offset + 2];
         Convection convection = govEqn.convection();
-        double[] FL = convection.flux(UL, unitNormal);
-        double[] FR = convection.flux(UR, unitNormal);
+        double[][] s = scratch.get();
+        double[] FL = s[0];
+        double[] FR = s[1];
+        convection.flux(UL, nx, ny, nz, FL);
+        convection.flux(UR, nx, ny, nz, FR);
 
-        double maxAbsEigenvalueL = convection.maxAbsEigenvalues(UL, unitNormal);
-        double maxAbsEigenvalueR = convection.maxAbsEigenvalues(UR, unitNormal);
+        double maxAbsEigenvalueL = convection.maxAbsEigenvalues(UL, nx, ny, nz);
+        double maxAbsEigenvalueR = convection.maxAbsEigenvalues(UR, nx, ny, nz);
         double ev = Math.max(maxAbsEigenvalueL, maxAbsEigenvalueR);
 
         int numVars = govEqn.numVars();
-        double[] flux = new double[numVars];
         for (int i = 0; i < numVars; i++) {
-            flux[i] = 0.5 * (FL[i] + FR[i] - ev * (UR[i] - UL[i]));
+            out[i] = 0.5 * (FL[i] + FR[i] - ev * (UR[i] - UL[i]));
         }
-
-        return flux;
     }
 }
@@ -0,0 +1,76 @@
+package main.solver.convection.riemann;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static main.physics.goveqn.BatchConvection.BLOCK_SIZE;
+
+/**
+ * Vector API versions of the loops of the batch Riemann solvers, giving the same values. Like the Vector API kernels
+ * of BatchConvection, they process whole vectors and may write past count. Only called when
+ * BatchConvection.vectorApiAvailable().
+ */
+final class VectorRiemannKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorRiemannKernels() {
+    }
+
+    /**
+     * out = 0.5 * (FL + FR - max(evL, evR) * (UR - UL)). evL is overwritten with max(evL, evR).
+     */
+    static void rusanov(double[] UL, double[] UR, double[] FL, double[] FR, double[] evL, double[] evR,
+                        int numVars, int count, double[] out) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, evL, i).max(DoubleVector.fromArray(SPECIES, evR, i)).intoArray(evL, i);
+        }
+
+        for (int var = 0; var < numVars; var++) {
+            int offset = var * BLOCK_SIZE;
+            for (int i = 0; i < count; i += SPECIES.length()) {
+                DoubleVector ev = DoubleVector.fromArray(SPECIES, evL, i);
+                DoubleVector dU = DoubleVector.fromArray(SPECIES, UR, offset + i)
+                        .sub(DoubleVector.fromArray(SPECIES, UL, offset + i));
+                DoubleVector.fromArray(SPECIES, FL, offset + i)
+                        .add(DoubleVector.fromArray(SPECIES, FR, offset + i))
+                        .sub(ev.mul(dU))
+                        .mul(0.5)
+                        .intoArray(out, offset + i);
+            }
+        }
+    }
+
+    /**
+     * SL = min(minL, minR) and SR = max(maxL, maxR), written into minL and maxL.
+     */
+    static void waveSpeeds(double[] minL, double[] maxL, double[] minR, double[] maxR, int count) {
+        for (int i = 0; i < count; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, minL, i).min(DoubleVector.fromArray(SPECIES, minR, i)).intoArray(minL, i);
+            DoubleVector.fromArray(SPECIES, maxL, i).max(DoubleVector.fromArray(SPECIES, maxR, i)).intoArray(maxL, i);
+        }
+    }
+
+    /**
+     * out = FL if SL >= 0, FR if SR <= 0, and the HLL flux otherwise.
+     */
+    static void hll(double[] UL, double[] UR, double[] FL, double[] FR, double[] SL, double[] SR,
+                    int numVars, int count, double[] out) {
+        for (int var = 0; var < numVars; var++) {
+            int offset = var * BLOCK_SIZE;
+            for (int i = 0; i < count; i += SPECIES.length()) {
+                DoubleVector SLi = DoubleVector.fromArray(SPECIES, SL, i);
+                DoubleVector SRi = DoubleVector.fromArray(SPECIES, SR, i);
+                DoubleVector FLi = DoubleVector.fromArray(SPECIES, FL, offset + i);
+                DoubleVector FRi = DoubleVector.fromArray(SPECIES, FR, offset + i);
+                DoubleVector dU = DoubleVector.fromArray(SPECIES, UR, offset + i)
+                        .sub(DoubleVector.fromArray(SPECIES, UL, offset + i));
+
+                DoubleVector hll = SRi.mul(FLi).sub(SLi.mul(FRi)).add(SLi.mul(SRi).mul(dU)).div(SRi.sub(SLi));
+                hll.blend(FRi, SRi.compare(VectorOperators.LE, 0.0))
+                        .blend(FLi, SLi.compare(VectorOperators.GE, 0.0))
+                        .intoArray(out, offset + i);
+            }
+        }
+    }
+}
@@ -1,55 +1,78 @@
 package main.solver.diffusion;
 
-import main.mesh.Cell;
+import main.mesh.Adjacency;
+import main.mesh.Connectivity;
+import main.mesh.DerivedField;
 import main.mesh.Face;
+import main.mesh.FieldStore;
 import main.mesh.Mesh;
 import main.physics.goveqn.GoverningEquations;
 import main.solver.ResidualCalculator;
 
-import static main.util.DoubleArray.*;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.IntStream;
 
+/**
+ * The flux of each face multiplied by the face area is subtracted from the residual of the left cell and added to
+ * the residual of the right cell directly, color by color as in ConvectionResidual.
+ */
 public class DiffusionResidual implements ResidualCalculator {
-    private final Mesh mesh;
     private final GoverningEquations govEqn;
+    private final FieldStore fields;
+    private final Connectivity connectivity;
+    private final Adjacency faceColors;
+    private final ThreadLocal<double[]> faceU;
+    private final ThreadLocal<double[]> flux;
 
     public DiffusionResidual(Mesh mesh, GoverningEquations govEqn) {
-        this.mesh = mesh;
         this.govEqn = govEqn;
+        this.fields = mesh.fields();
+        this.connectivity = mesh.connectivity();
+        this.faceColors = connectivity.faceColors();
+        this.faceU = ThreadLocal.withInitial(() -> new double[fields.numVars]);
+        this.flux = ThreadLocal.withInitial(() -> new double[fields.numVars]);
     }
 
     @Override
     public void updateCellResiduals() {
         // Assuming that the conservative variable gradients at the faces are already calculated
 
-        // For all the internal faces set flux
-        mesh.internalFaceStream()
-                .forEach(this::setFlux);
-
-        // For all the boundary faces set flux
-        mesh.boundaryStream()
-                .flatMap(b -> b.faces.stream())
-                .forEach(this::setFlux);
+        // For all the faces subtract / add face flux to the left / right cells
+        for (int color = 0; color < faceColors.numRows(); color++) {
+            IntStream.range(faceColors.start[color], faceColors.start[color + 1]).parallel()
+                    .forEach(k -> addFlux(faceColors.entries[k]));
+        }
+    }
 
-        // For all cells add / subtract face flux
-        mesh.cellStream().forEach(this::updateResidual);
+    @Override
+    public Set<DerivedField> requiredFields() {
+        return EnumSet.of(DerivedField.FACE_VALUES, DerivedField.FACE_GRADIENTS);
     }
 
-    private void setFlux(Face face) {
-        double[] flux = govEqn.diffusion().flux(face.U, face.gradientU, face.surface.unitNormal());
-        copy(flux, face.flux);
+    /**
+     * @param faceIndex Index of an internal or boundary face.
+     * @param out       Diffusive flux through the face (per unit area), in the direction of the face normal.
+     */
+    public void flux(int faceIndex, double[] out) {
+        Face face = connectivity.faces[faceIndex];
+        double[] faceU = fields.get(fields.faceU, faceIndex, this.faceU.get());
+        govEqn.diffusion().flux(faceU, fields.faceGradients, fields.faceGradientOffset(faceIndex, 0),
+                face.surface.unitNormal(), out);
     }
 
-    private void updateResidual(Cell cell) {
-        double[] totalResidual = new double[cell.residual.length];
-        for (Face face : cell.faces) {
-            double[] flux = multiply(face.flux, face.surface.area);
-            if (face.left == cell) {
-                decrement(totalResidual, flux);
-            } else {
-                increment(totalResidual, flux);
-            }
-        }
+    private void addFlux(int faceIndex) {
+        double[] flux = this.flux.get();
+        flux(faceIndex, flux);
 
-        increment(cell.residual, totalResidual);
+        double area = fields.geometry.faceArea[faceIndex];
+        int numVars = fields.numVars;
+        int leftOffset = fields.cellOffset(connectivity.faceLeft[faceIndex]);
+        int right = connectivity.faceRight[faceIndex];
+        for (int var = 0; var < numVars; var++) {
+            fields.residual[leftOffset + var] -= flux[var] * area;
+            if (right < connectivity.numCells)
+                fields.residual[fields.cellOffset(right) + var] += flux[var] * area;
+        }
     }
 }
@@ -1,21 +1,29 @@
 package main.solver.source;
 
 import main.mesh.Cell;
+import main.mesh.DerivedField;
+import main.mesh.FieldStore;
 import main.mesh.Mesh;
 import main.physics.goveqn.GoverningEquations;
 import main.solver.ResidualCalculator;
 
-import static main.util.DoubleArray.decrement;
-import static main.util.DoubleArray.multiply;
+import java.util.EnumSet;
+import java.util.Set;
 
 public class SourceResidual implements ResidualCalculator {
 
     private final Mesh mesh;
     private final GoverningEquations govEqn;
+    private final FieldStore fields;
+    private final ThreadLocal<double[]> U;
+    private final ThreadLocal<double[]> source;
 
     public SourceResidual(Mesh mesh, GoverningEquations govEqn) {
         this.mesh = mesh;
         this.govEqn = govEqn;
+        this.fields = mesh.fields();
+        this.U = ThreadLocal.withInitial(() -> new double[fields.numVars]);
+        this.source = ThreadLocal.withInitial(() -> new double[fields.numVars]);
     }
 
     @Override
@@ -23,8 +31,21 @@ public class SourceResidual implements ResidualCalculator {
         mesh.cellStream().forEach(this::updateResidual);
     }
 
+    @Override
+    public Set<DerivedField> requiredFields() {
+        return govEqn.source().requiresGradients()
+                ? EnumSet.of(DerivedField.CELL_GRADIENTS)
+                : EnumSet.noneOf(DerivedField.class);
+    }
+
     private void updateResidual(Cell cell) {
-        double[] residual = multiply(govEqn.source().sourceVector(cell.U, cell.gradientU), cell.shape.volume);
-        decrement(cell.residual, residual);
+        double[] U = fields.get(fields.U, cell.index(), this.U.get());
+        double[] source = this.source.get();
+        govEqn.source().sourceVector(U, fields.cellGradients, fields.coeffOffset(cell.index(), 0), source);
+        double volume = fields.geometry.cellVolume[cell.index()];
+        int cellOffset = fields.cellOffset(cell.index());
+        for (int var = 0; var < source.length; var++) {
+            fields.residual[cellOffset + var] -= source[var] * volume;
+        }
     }
 }
@@ -1,14 +1,10 @@
 package main.solver.time;
 
 import main.mesh.Cell;
+import main.mesh.FieldStore;
 import main.mesh.Mesh;
 import main.solver.Norm;
 import main.solver.SpaceDiscretization;
-import main.util.DoubleArray;
-
-import java.util.stream.Stream;
-
-import static main.util.DoubleArray.*;
 
 public class ExplicitSSPRK3TimeIntegrator implements TimeIntegrator {
 
@@ -16,17 +12,21 @@ public class ExplicitSSPRK3TimeIntegrator implements TimeIntegrator {
     private final SpaceDiscretization spaceDiscretization;
     private final int numVars;
     private final double[][] U;
+    private final ResidualNorm residualNorm;
     private final TimeStep timeStep;
     private double courantNum = 1.0; // default
     private TimeDiscretization realTimeDiscretization = null; // default
+    private ResidualSmoother residualSmoother = null; // default
 
     public ExplicitSSPRK3TimeIntegrator(Mesh mesh, SpaceDiscretization spaceDiscretization, TimeStep timeStep, int numVars) {
         this.mesh = mesh;
         this.spaceDiscretization = spaceDiscretization;
         this.timeStep = timeStep;
+        spaceDiscretization.addRequiredFields(timeStep.requiredFields());
         this.numVars = numVars;
         int numCells = mesh.cells().size();
         this.U = new double[numCells][numVars];
+        this.residualNorm = new ResidualNorm(mesh, U, numVars, true);
     }
 
     @Override
@@ -39,6 +39,22 @@ public class ExplicitSSPRK3TimeIntegrator implements TimeIntegrator {
         this.realTimeDiscretization = timeDiscretization;
     }
 
+    /**
+     * @param residualSmoother Smoothing of the residuals of each stage, or null for none.
+     */
+    public void setResidualSmoother(ResidualSmoother residualSmoother) {
+        this.residualSmoother = residualSmoother;
+    }
+
+    /**
+     * @param reuse Whether currentTotalResidual() reuses the norm accumulated while the final stage updated the
+     *              cell averages, instead of a pass over the cells. Every later change of the averages must then be
+     *              reported with cellAveragesModified(). Off by default.
+     */
+    public void setResidualNormReuse(boolean reuse) {
+        residualNorm.setReuse(reuse);
+    }
+
     @Override
     public void updateCellAverages() {
         saveCurrentAverages();
@@ -46,67 +62,33 @@ public class ExplicitSSPRK3TimeIntegrator implements TimeIntegrator {
         // Zeroth stage
         setResidualForAllCells();
         setTimeStepForAllCells();
+        smoothResiduals();
         calculateNewAveragesStage0();
 
         // First stage
         setResidualForAllCells();
+        smoothResiduals();
         calculateNewAveragesStage1();
 
         // Second stage
         setResidualForAllCells();
+        smoothResiduals();
         calculateNewAveragesStage2();
     }
 
     @Override
     public double[] currentTotalResidual(Norm norm) {
-        double[] zeros = new double[numVars];
-
-        Stream<double[]> absResidualStream = mesh.cellStream()
-                .map(cell -> apply(cell.U, U[cell.index()], (e1, e2) -> (e1 - e2) / cell.dt))
-                .map(DoubleArray::abs);
-
-        int numCells = mesh.cells().size();
-        double[] totalResidue;
-        switch (norm) {
-            case ONE_NORM:
-                totalResidue = absResidualStream
-                        .reduce(zeros, DoubleArray::add);
-                totalResidue = multiply(totalResidue, 1.0 / numCells);
-                break;
-
-            case TWO_NORM:
-                totalResidue = absResidualStream
-                        .map(DoubleArray::sqr)
-                        .reduce(zeros, DoubleArray::add);
-                totalResidue = multiply(totalResidue, 1.0 / numCells);
-                totalResidue = apply(totalResidue, Math::sqrt);
-                break;
-
-            case INFINITY_NORM:
-                totalResidue = absResidualStream
-                        .reduce(zeros, (d1, d2) -> apply(d1, d2, Math::max));
-                break;
-
-            default:
-                throw new IllegalArgumentException("Norm " + norm + " is not implemented.");
-        }
-
-        // normalize
-        double[] varMagnitude = mesh.cellStream()
-                .map(cell -> cell.U)
-                .map(DoubleArray::abs)
-                .reduce(zeros, DoubleArray::add);
-        varMagnitude = multiply(varMagnitude, 1.0 / numCells);
-        varMagnitude = apply(varMagnitude, e -> (e < 1e-12 ? 1.0 : e)); // avoid div by zero
-        for (int i = 0; i < numVars; i++) {
-            totalResidue[i] /= varMagnitude[i];
-        }
+        return residualNorm.total(norm);
+    }
 
-        return totalResidue;
+    @Override
+    public void cellAveragesModified() {
+        residualNorm.invalidate();
     }
 
     private void saveCurrentAverages() {
-        mesh.cellStream().forEach(cell -> copy(cell.U, U[cell.index()]));
+        FieldStore fields = mesh.fields();
+        mesh.cellStream().forEach(cell -> fields.get(fields.U, cell.fieldRow(), U[cell.index()]));
     }
 
     private void setResidualForAllCells() {
@@ -115,6 +97,11 @@ public class ExplicitSSPRK3TimeIntegrator implements TimeIntegrator {
             realTimeDiscretization.updateCellResiduals();
     }
 
+    private void smoothResiduals() {
+        if (residualSmoother != null)
+            residualSmoother.smooth();
+    }
+
     private void setTimeStepForAllCells() {
         double real_dt = realTimeDiscretization != null
                 ? realTimeDiscretization.dt()
@@ -131,14 +118,16 @@ public class ExplicitSSPRK3TimeIntegrator implements TimeIntegrator {
     }
 
     private void calculateNewAveragesStage2() {
-        mesh.cellStream().forEach(this::calculateNewAveragesStage2);
+        residualNorm.update(this::calculateNewAveragesStage2);
     }
 
     private void calculateNewAveragesStage0(Cell cell) {
         double dt_vol = cell.dt / cell.shape.volume;
-        int numVars = cell.U.length;
+        FieldStore fields = cell.fields();
+        int numVars = fields.numVars;
+        int offset = fields.cellOffset(cell.fieldRow());
         for (int var = 0; var < numVars; var++) {
-            cell.U[var] = cell.U[var] - cell.residual[var] * dt_vol;
+            fields.U[offset + var] = fields.U[offset + var] - fields.residual[offset + var] * dt_vol;
         }
     }
 
@@ -147,10 +136,12 @@ public class ExplicitSSPRK3TimeIntegrator implements TimeIntegrator {
 
     private void calculateNewAveragesStage1(Cell cell) {
         double dt_vol = cell.dt / cell.shape.volume;
-        int numVars = cell.U.length;
+        FieldStore fields = cell.fields();
+        int numVars = fields.numVars;
+        int offset = fields.cellOffset(cell.fieldRow());
         for (int var = 0; var < numVars; var++) {
-            cell.U[var] = THREE_FOURTH * this.U[cell.index()][var]
-                    + ONE_FOURTH * (cell.U[var] - dt_vol * cell.residual[var]);
+            fields.U[offset + var] = THREE_FOURTH * this.U[cell.index()][var]
+                    + ONE_FOURTH * (fields.U[offset + var] - dt_vol * fields.residual[offset + var]);
         }
     }
 
@@ -159,11 +150,13 @@ public class ExplicitSSPRK3TimeIntegrator implements TimeIntegrator {
 
     private void calculateNewAveragesStage2(Cell cell) {
         double dt_vol = cell.dt / cell.shape.volume;
-        int numVars = cell.U.length;
+        FieldStore fields = cell.fields();
+        int numVars = fields.numVars;
+        int offset = fields.cellOffset(cell.fieldRow());
 
         for (int var = 0; var < numVars; var++) {
-            cell.U[var] = ONE_THIRD * this.U[cell.index()][var]
-                    + TWO_THIRD * (cell.U[var] - dt_vol * cell.residual[var]);
+            fields.U[offset + var] = ONE_THIRD * this.U[cell.index()][var]
+                    + TWO_THIRD * (fields.U[offset + var] - dt_vol * fields.residual[offset + var]);
         }
     }
 }
@@ -0,0 +1,314 @@
+package main.solver.time;
+
+import main.mesh.AgglomeratedMesh;
+import main.mesh.Cell;
+import main.mesh.FieldStore;
+import main.mesh.Mesh;
+import main.mesh.StructuredMesh;
+import main.solver.Norm;
+import main.solver.SpaceDiscretization;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Full approximation storage (FAS) multigrid for steady problems. The coarse levels are the meshes of
+ * StructuredMesh.coarsen() for structured meshes, or of AgglomeratedMesh for any other mesh, each rediscretized with
+ * the given SpaceDiscretization factory, and any TimeIntegrator (usually an explicit one) is used as the smoother on
+ * each level.
+ * <p>
+ * One updateCellAverages() is one V- or W-cycle. The cell averages are restricted by volume weighting and the
+ * residuals, being volume integrals, by summation over the fine cells of each coarse cell. The coarse
+ * level solves R_H(U_H) + f_H = 0 with the forcing f_H = I(r_h) - R_H(I U_h), and the correction U_H - I U_h is
+ * prolonged to the fine cells by injection.
+ * <p>
+ * The forcing is added to the coarse residuals as the TimeDiscretization of the coarse smoothers. The real time
+ * discretization, if any, is set on the finest smoother only, so its term is frozen in the forcing of the coarse
+ * levels.
+ */
+public class FASMultigridTimeIntegrator implements TimeIntegrator {
+
+    public enum Cycle {
+        V, W
+    }
+
+    private final Cycle cycle;
+    private final List<Level> levels = new ArrayList<>();
+    private int preSmoothingSteps = 1; // default
+    private int postSmoothingSteps = 1; // default
+    private TimeDiscretization realTimeDiscretization = null; // default
+
+    /**
+     * Coarse levels of StructuredMesh.coarsen().
+     *
+     * @param mesh           Finest mesh.
+     * @param numLevels      Maximum number of levels, including the finest. Fewer levels are used if the mesh cannot
+     *                       be coarsened often enough.
+     * @param discretization Creates the SpaceDiscretization of a level from its mesh.
+     * @param smoother       Creates the smoothing TimeIntegrator of a level from its mesh and SpaceDiscretization.
+     */
+    public FASMultigridTimeIntegrator(StructuredMesh mesh, int numLevels, Cycle cycle,
+                                      Function<Mesh, SpaceDiscretization> discretization,
+                                      BiFunction<Mesh, SpaceDiscretization, TimeIntegrator> smoother) {
+        checkNumLevels(numLevels);
+        this.cycle = cycle;
+        List<Mesh> meshes = new ArrayList<>(List.of(mesh));
+        List<int[]> coarseCells = new ArrayList<>();
+        StructuredMesh levelMesh = mesh;
+        while (meshes.size() < numLevels && levelMesh.canCoarsen()) {
+            coarseCells.add(levelMesh.coarseCellIndices());
+            levelMesh = levelMesh.coarsen();
+            meshes.add(levelMesh);
+        }
+        createLevels(meshes, coarseCells, discretization, smoother);
+    }
+
+    /**
+     * Coarse levels of AgglomeratedMesh, for meshes without an index structure.
+     *
+     * @param mesh           Finest mesh.
+     * @param numLevels      Maximum number of levels, including the finest. Fewer levels are used if the cells of a
+     *                       level cannot be agglomerated any further.
+     * @param discretization Creates the SpaceDiscretization of a level from its mesh.
+     * @param smoother       Creates the smoothing TimeIntegrator of a level from its mesh and SpaceDiscretization.
+     */
+    public FASMultigridTimeIntegrator(Mesh mesh, int numLevels, Cycle cycle,
+                                      Function<Mesh, SpaceDiscretization> discretization,
+                                      BiFunction<Mesh, SpaceDiscretization, TimeIntegrator> smoother) {
+        checkNumLevels(numLevels);
+        this.cycle = cycle;
+        List<Mesh> meshes = new ArrayList<>(List.of(mesh));
+        List<int[]> coarseCells = new ArrayList<>();
+        Mesh levelMesh = mesh;
+        while (meshes.size() < numLevels && levelMesh.cells().size() > 1) {
+            AgglomeratedMesh coarseMesh = new AgglomeratedMesh(levelMesh);
+            if (coarseMesh.cells().size() == levelMesh.cells().size()) break;
+            coarseCells.add(coarseMesh.coarseCellIndices());
+            levelMesh = coarseMesh;
+            meshes.add(levelMesh);
+        }
+        createLevels(meshes, coarseCells, discretization, smoother);
+    }
+
+    private static void checkNumLevels(int numLevels) {
+        if (numLevels < 1)
+            throw new IllegalArgumentException("At least one level is required.");
+    }
+
+    private void createLevels(List<Mesh> meshes, List<int[]> coarseCells,
+                              Function<Mesh, SpaceDiscretization> discretization,
+                              BiFunction<Mesh, SpaceDiscretization, TimeIntegrator> smoother) {
+        for (Mesh levelMesh : meshes) {
+            SpaceDiscretization spaceDiscretization = discretization.apply(levelMesh);
+            levels.add(new Level(levelMesh, spaceDiscretization, smoother.apply(levelMesh, spaceDiscretization),
+                    levels.isEmpty()));
+        }
+        for (int l = 0; l < levels.size() - 1; l++) {
+            levels.get(l).setCoarseLevel(levels.get(l + 1), coarseCells.get(l));
+        }
+    }
+
+    public void setSmoothingSteps(int preSmoothingSteps, int postSmoothingSteps) {
+        if (preSmoothingSteps < 0 || postSmoothingSteps < 1)
+            throw new IllegalArgumentException("At least one post-smoothing step is required.");
+        this.preSmoothingSteps = preSmoothingSteps;
+        this.postSmoothingSteps = postSmoothingSteps;
+    }
+
+    public int numLevels() {
+        return levels.size();
+    }
+
+    @Override
+    public void setCourantNum(double courantNum) {
+        levels.forEach(level -> level.smoother.setCourantNum(courantNum));
+    }
+
+    @Override
+    public void setTimeDiscretization(TimeDiscretization timeDiscretization) {
+        this.realTimeDiscretization = timeDiscretization;
+        levels.get(0).smoother.setTimeDiscretization(timeDiscretization);
+    }
+
+    @Override
+    public void updateCellAverages() {
+        cycle(0);
+    }
+
+    @Override
+    public double[] currentTotalResidual(Norm norm) {
+        return levels.get(0).smoother.currentTotalResidual(norm);
+    }
+
+    @Override
+    public void cellAveragesModified() {
+        levels.get(0).smoother.cellAveragesModified();
+    }
+
+    private void cycle(int l) {
+        Level level = levels.get(l);
+        if (level.coarse == null) {
+            level.smooth(preSmoothingSteps + postSmoothingSteps);
+            return;
+        }
+
+        level.smooth(preSmoothingSteps);
+        level.setResiduals();
+        level.restrict();
+        int numCoarseCycles = cycle == Cycle.W && l + 2 < levels.size() ? 2 : 1;
+        for (int c = 0; c < numCoarseCycles; c++) {
+            cycle(l + 1);
+        }
+        level.prolong();
+        level.smooth(postSmoothingSteps);
+    }
+
+    private class Level {
+        private final Mesh mesh;
+        private final SpaceDiscretization spaceDiscretization;
+        private final TimeIntegrator smoother;
+        private final FieldStore fields;
+        private final int numVars;
+        private final Forcing forcing;
+        private Level coarse;
+        private int[] coarseCells;
+        private double[][] restrictedU;
+        private double[] fineVolumes;
+
+        Level(Mesh mesh, SpaceDiscretization spaceDiscretization, TimeIntegrator smoother, boolean finest) {
+            this.mesh = mesh;
+            this.spaceDiscretization = spaceDiscretization;
+            this.smoother = smoother;
+            this.fields = mesh.fields();
+            this.numVars = fields.numVars;
+            if (finest) {
+                this.forcing = null;
+            } else {
+                this.forcing = new Forcing(mesh, numVars);
+                smoother.setTimeDiscretization(forcing);
+            }
+        }
+
+        void setCoarseLevel(Level coarse, int[] coarseCells) {
+            this.coarse = coarse;
+            this.coarseCells = coarseCells;
+            this.restrictedU = new double[coarse.mesh.cells().size()][numVars];
+            // the volume of a coarse cell need not be the sum of the volumes of its fine cells
+            this.fineVolumes = new double[coarse.mesh.cells().size()];
+            for (Cell cell : mesh.cells()) {
+                fineVolumes[coarseCells[cell.index()]] += cell.shape.volume;
+            }
+        }
+
+        void smooth(int steps) {
+            for (int step = 0; step < steps; step++) {
+                smoother.updateCellAverages();
+            }
+        }
+
+        void setResiduals() {
+            spaceDiscretization.setResiduals();
+            if (forcing != null) {
+                forcing.updateCellResiduals();
+            } else if (realTimeDiscretization != null) {
+                realTimeDiscretization.updateCellResiduals();
+            }
+        }
+
+        /**
+         * Sets the cell averages and the forcing of the coarse level from the cell averages and residuals of this
+         * level.
+         */
+        void restrict() {
+            double[] f = coarse.forcing.f;
+            for (double[] U : restrictedU) {
+                Arrays.fill(U, 0.0);
+            }
+            Arrays.fill(f, 0.0);
+            // sequential, as several fine cells add to the same coarse cell
+            for (Cell cell : mesh.cells()) {
+                int coarseCell = coarseCells[cell.index()];
+                int offset = fields.cellOffset(cell.fieldRow());
+                double vol = cell.shape.volume;
+                for (int var = 0; var < numVars; var++) {
+                    restrictedU[coarseCell][var] += vol * fields.U[offset + var];
+                    f[coarseCell * numVars + var] += fields.residual[offset + var];
+                }
+            }
+            FieldStore coarseFields = coarse.fields;
+            coarse.mesh.cellStream().forEach(cell -> {
+                double[] U = restrictedU[cell.index()];
+                int offset = coarseFields.cellOffset(cell.fieldRow());
+                for (int var = 0; var < numVars; var++) {
+                    U[var] /= fineVolumes[cell.index()];
+                    coarseFields.U[offset + var] = U[var];
+                }
+            });
+
+            coarse.spaceDiscretization.setResiduals();
+            coarse.mesh.cellStream().forEach(cell -> {
+                int offset = coarseFields.cellOffset(cell.fieldRow());
+                for (int var = 0; var < numVars; var++) {
+                    f[cell.index() * numVars + var] -= coarseFields.residual[offset + var];
+                }
+            });
+        }
+
+        /**
+         * Adds the correction of the coarse level to the cell averages of this level.
+         */
+        void prolong() {
+            List<Cell> coarseCellList = coarse.mesh.cells();
+            FieldStore coarseFields = coarse.fields;
+            mesh.cellStream().forEach(cell -> {
+                int coarseCell = coarseCells[cell.index()];
+                int coarseOffset = coarseFields.cellOffset(coarseCellList.get(coarseCell).fieldRow());
+                int offset = fields.cellOffset(cell.fieldRow());
+                double[] U = restrictedU[coarseCell];
+                for (int var = 0; var < numVars; var++) {
+                    fields.U[offset + var] += coarseFields.U[coarseOffset + var] - U[var];
+                }
+            });
+            smoother.cellAveragesModified();
+        }
+    }
+
+    /**
+     * Adds the FAS forcing to the residuals of a coarse level. It does not limit the time step.
+     */
+    private static class Forcing implements TimeDiscretization {
+        private final Mesh mesh;
+        private final FieldStore fields;
+        private final int numVars;
+        private final double[] f;
+
+        Forcing(Mesh mesh, int numVars) {
+            this.mesh = mesh;
+            this.fields = mesh.fields();
+            this.numVars = numVars;
+            this.f = new double[mesh.cells().size() * numVars];
+        }
+
+        @Override
+        public void updateCellResiduals() {
+            mesh.cellStream().forEach(cell -> {
+                int offset = fields.cellOffset(cell.fieldRow());
+                for (int var = 0; var < numVars; var++) {
+                    fields.residual[offset + var] += f[cell.index() * numVars + var];
+                }
+            });
+        }
+
+        @Override
+        public double dt() {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public void shiftSolution() {
+        }
+    }
+}
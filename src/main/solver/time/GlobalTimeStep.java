@@ -1,8 +1,11 @@
 package main.solver.time;
 
+import main.mesh.DerivedField;
 import main.mesh.Mesh;
 import main.physics.goveqn.GoverningEquations;
 
+import java.util.Set;
+
 public class GlobalTimeStep implements TimeStep {
 
     private final LocalTimeStep localTimeStep;
@@ -27,4 +30,9 @@ public class GlobalTimeStep implements TimeStep {
         mesh.cellStream()
                 .forEach(cell -> cell.dt = minTimeStep);
     }
+
+    @Override
+    public Set<DerivedField> requiredFields() {
+        return localTimeStep.requiredFields();
+    }
 }
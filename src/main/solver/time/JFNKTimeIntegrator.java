@@ -0,0 +1,209 @@
+package main.solver.time;
+
+import main.mesh.Cell;
+import main.mesh.FieldStore;
+import main.mesh.GeometryStore;
+import main.mesh.Mesh;
+import main.physics.goveqn.GoverningEquations;
+import main.solver.Norm;
+import main.solver.SpaceDiscretization;
+import main.solver.time.ImplicitLUSGSTimeIntegrator.Sweep;
+import main.util.GMRES;
+
+import java.util.Arrays;
+
+/**
+ * Jacobian-free Newton-Krylov integrator for steady problems, globalized with pseudo-transient continuation.
+ * Each updateCellAverages() is one inexact Newton step of (vol / dt + dR/dU) dU = -R(U), where R is the residual of
+ * the SpaceDiscretization (and of the real time discretization, if any), used as a black box.
+ * The products with dR/dU are finite difference directional derivatives of R. The system is solved with restarted
+ * GMRES, preconditioned with one LU-SGS sweep (NATURAL by default, see ImplicitLUSGSTimeIntegrator). The Courant
+ * number grows as the residual falls (switched evolution relaxation):
+ * CFL = min(maxCourantNum, courantNum * |R(U_0)| / |R(U)|).
+ */
+public class JFNKTimeIntegrator implements TimeIntegrator {
+
+    private static final double SQRT_EPSILON = Math.sqrt(Math.ulp(1.0));
+    private static final int RESTART = 30;
+
+    private final Mesh mesh;
+    private final SpaceDiscretization spaceDiscretization;
+    private final TimeStep timeStep;
+    private final int numVars;
+    private final FieldStore fields;
+    private final GeometryStore geometry;
+    private final LUSGSSweep preconditioner;
+    private final GMRES gmres;
+    private final double[] U0;
+    private final double[] R0;
+    private final double[] rhs;
+    private final double[] dU;
+    private final ResidualNorm residualNorm;
+    private double courantNum = 1.0; // default
+    private double maxCourantNum = 1e4; // default
+    private double linearTolerance = 0.1; // default
+    private int maxLinearIterations = 30; // default
+    private double initialResidualNorm = Double.NaN;
+    private int linearIterations;
+    private TimeDiscretization realTimeDiscretization = null; // default
+
+    public JFNKTimeIntegrator(Mesh mesh, SpaceDiscretization spaceDiscretization, TimeStep timeStep,
+                              GoverningEquations govEqn) {
+        this(mesh, spaceDiscretization, timeStep, govEqn, Sweep.NATURAL);
+    }
+
+    /**
+     * @param preconditionerSweep Sweep of the LU-SGS preconditioner.
+     */
+    public JFNKTimeIntegrator(Mesh mesh, SpaceDiscretization spaceDiscretization, TimeStep timeStep,
+                              GoverningEquations govEqn, Sweep preconditionerSweep) {
+        this.mesh = mesh;
+        this.spaceDiscretization = spaceDiscretization;
+        this.timeStep = timeStep;
+        this.numVars = govEqn.numVars();
+        this.fields = mesh.fields();
+        this.geometry = mesh.geometry();
+        this.preconditioner = new LUSGSSweep(mesh, govEqn, preconditionerSweep);
+        spaceDiscretization.addRequiredFields(timeStep.requiredFields());
+        spaceDiscretization.addRequiredFields(preconditioner.requiredFields());
+
+        int size = mesh.cells().size() * numVars;
+        this.gmres = new GMRES(size, RESTART);
+        this.U0 = new double[size];
+        this.R0 = new double[size];
+        this.rhs = new double[size];
+        this.dU = new double[size];
+        // R(U) / vol of the Newton step, since (U_new - U_old) / dt vanishes at large time steps
+        this.residualNorm = new ResidualNorm(mesh, numVars, false, (cell, var) ->
+                R0[cell.index() * numVars + var] / geometry.cellVolume[cell.index()]);
+        // the norm is that of the residual at the start of the step, not of the averages after it
+        residualNorm.setReuse(true);
+    }
+
+    /**
+     * Initial Courant number of the pseudo-transient continuation.
+     */
+    @Override
+    public void setCourantNum(double courantNum) {
+        this.courantNum = courantNum;
+    }
+
+    public void setMaxCourantNum(double maxCourantNum) {
+        this.maxCourantNum = maxCourantNum;
+    }
+
+    /**
+     * @param linearTolerance     Relative tolerance of GMRES (the forcing term of the inexact Newton method).
+     * @param maxLinearIterations Maximum number of GMRES iterations per Newton step.
+     */
+    public void setLinearSolver(double linearTolerance, int maxLinearIterations) {
+        this.linearTolerance = linearTolerance;
+        this.maxLinearIterations = maxLinearIterations;
+    }
+
+    @Override
+    public void setTimeDiscretization(TimeDiscretization timeDiscretization) {
+        this.realTimeDiscretization = timeDiscretization;
+    }
+
+    @Override
+    public void updateCellAverages() {
+        setInitialResidual();
+        mesh.cellStream().forEach(cell -> {
+            int row = cell.index() * numVars;
+            int offset = fields.cellOffset(cell.index());
+            for (int var = 0; var < numVars; var++) {
+                U0[row + var] = fields.U[offset + var];
+                rhs[row + var] = -R0[row + var];
+            }
+        });
+
+        double norm = gmres.norm(R0);
+        if (Double.isNaN(initialResidualNorm)) initialResidualNorm = norm;
+        double cfl = Math.min(maxCourantNum, courantNum * initialResidualNorm / norm);
+        timeStep.updateCellTimeSteps(cfl, Double.POSITIVE_INFINITY);
+        preconditioner.setDiagonal(realTimeDiscretization != null ? 1.0 / realTimeDiscretization.dt() : 0.0);
+
+        Arrays.fill(dU, 0.0);
+        linearIterations = gmres.solve(this::jacobianProduct, preconditioner::solve, rhs, dU,
+                linearTolerance, maxLinearIterations);
+
+        residualNorm.update(this::calculateNewAverages);
+    }
+
+    /**
+     * @return Norm of R(U) / vol of the cell averages at the start of the last updateCellAverages(), normalized by
+     * the mean magnitude of the updated averages. Later changes of the averages are not reflected, they enter the
+     * residual of the next step.
+     */
+    @Override
+    public double[] currentTotalResidual(Norm norm) {
+        return residualNorm.total(norm);
+    }
+
+    /**
+     * @return Number of GMRES iterations of the last Newton step.
+     */
+    public int linearIterations() {
+        return linearIterations;
+    }
+
+    private void setResidualForAllCells() {
+        spaceDiscretization.setResiduals();
+        if (realTimeDiscretization != null)
+            realTimeDiscretization.updateCellResiduals();
+    }
+
+    /**
+     * R0 = R(U) of the current cell averages.
+     */
+    private void setInitialResidual() {
+        setResidualForAllCells();
+        mesh.cellStream().forEach(cell -> {
+            int row = cell.index() * numVars;
+            int offset = fields.cellOffset(cell.index());
+            for (int var = 0; var < numVars; var++) {
+                R0[row + var] = fields.residual[offset + var];
+            }
+        });
+    }
+
+    /**
+     * out = (vol / dt) v + (R(U_0 + eps v) - R(U_0)) / eps. The cell averages are U_0 again on return, as the
+     * preconditioner expects.
+     */
+    private void jacobianProduct(double[] v, double[] out) {
+        double vNorm = gmres.norm(v);
+        if (vNorm == 0.0) {
+            Arrays.fill(out, 0.0);
+            return;
+        }
+        double eps = SQRT_EPSILON * (1.0 + gmres.norm(U0)) / vNorm;
+
+        mesh.cellStream().forEach(cell -> {
+            int row = cell.index() * numVars;
+            int offset = fields.cellOffset(cell.index());
+            for (int var = 0; var < numVars; var++) {
+                fields.U[offset + var] = U0[row + var] + eps * v[row + var];
+            }
+        });
+        setResidualForAllCells();
+        mesh.cellStream().forEach(cell -> {
+            int row = cell.index() * numVars;
+            int offset = fields.cellOffset(cell.index());
+            double vol_dt = geometry.cellVolume[cell.index()] / cell.dt;
+            for (int var = 0; var < numVars; var++) {
+                out[row + var] = vol_dt * v[row + var] + (fields.residual[offset + var] - R0[row + var]) / eps;
+                fields.U[offset + var] = U0[row + var];
+            }
+        });
+    }
+
+    private void calculateNewAverages(Cell cell) {
+        int row = cell.index() * numVars;
+        int offset = fields.cellOffset(cell.index());
+        for (int var = 0; var < numVars; var++) {
+            fields.U[offset + var] = U0[row + var] + dU[row + var];
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package main.solver.time;
+
+import main.mesh.Adjacency;
+import main.mesh.Connectivity;
+import main.mesh.DerivedField;
+import main.mesh.FieldStore;
+import main.mesh.GeometryStore;
+import main.mesh.Mesh;
+import main.physics.goveqn.Convection;
+import main.physics.goveqn.GoverningEquations;
+import main.solver.time.ImplicitLUSGSTimeIntegrator.Sweep;
+
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Approximate solution of (vol / dt + dR/dU) dU = rhs with one forward and one backward LU-SGS sweep.
+ * The Jacobians are split by the face spectral radii: the diagonal is the scalar
+ * vol / dt + sum(0.5 * lambda * area + diffusivity * area^2 / vol) and the off-diagonal blocks are applied as
+ * differences of the convective fluxes. rhs and dU hold the variables of cell i at i * numVars.
+ */
+class LUSGSSweep {
+
+    private final GoverningEquations govEqn;
+    private final int numVars;
+    private final Sweep sweep;
+    private final Connectivity connectivity;
+    private final GeometryStore geometry;
+    private final FieldStore fields;
+    private final Adjacency cellColors;
+    private final int[] rank;
+    private final double[] diagonal;
+    private final double[] faceDiffusion;
+    private final ThreadLocal<double[][]> scratch;
+
+    LUSGSSweep(Mesh mesh, GoverningEquations govEqn, Sweep sweep) {
+        this.govEqn = govEqn;
+        this.numVars = govEqn.numVars();
+        this.sweep = sweep;
+        this.connectivity = mesh.connectivity();
+        this.geometry = mesh.geometry();
+        this.fields = mesh.fields();
+
+        int numCells = connectivity.numCells;
+        this.rank = new int[numCells];
+        if (sweep == Sweep.MULTICOLOR) {
+            this.cellColors = connectivity.cellColors();
+            for (int color = 0; color < cellColors.numRows(); color++) {
+                for (int k = cellColors.start[color]; k < cellColors.start[color + 1]; k++) {
+                    rank[cellColors.entries[k]] = color;
+                }
+            }
+        } else {
+            this.cellColors = null;
+            for (int i = 0; i < numCells; i++) {
+                rank[i] = i;
+            }
+        }
+
+        this.diagonal = new double[numCells];
+        this.faceDiffusion = new double[connectivity.numFaces];
+        this.scratch = ThreadLocal.withInitial(() -> new double[4][numVars]);
+    }
+
+    /**
+     * @return Fields read by setDiagonal(): the face values, from which the diffusivity is evaluated.
+     */
+    Set<DerivedField> requiredFields() {
+        return LocalTimeStep.requiredFields(govEqn);
+    }
+
+    void solve(double[] rhs, double[] dU) {
+        if (sweep == Sweep.MULTICOLOR) {
+            for (int color = 0; color < cellColors.numRows(); color++) {
+                colorStream(color).forEach(i -> forwardSweep(i, rhs, dU));
+            }
+            for (int color = cellColors.numRows() - 1; color >= 0; color--) {
+                colorStream(color).forEach(i -> backwardSweep(i, dU));
+            }
+        } else {
+            for (int i = 0; i < connectivity.numCells; i++) {
+                forwardSweep(i, rhs, dU);
+            }
+            for (int i = connectivity.numCells - 1; i >= 0; i--) {
+                backwardSweep(i, dU);
+            }
+        }
+    }
+
+    private IntStream colorStream(int color) {
+        return IntStream.range(cellColors.start[color], cellColors.start[color + 1]).parallel()
+                .map(k -> cellColors.entries[k]);
+    }
+
+    /**
+     * Sets the diagonal from the cell time steps and the face eigenvalues, as updated by the TimeStep.
+     *
+     * @param inverseRealDt 1 / real_dt with a real time discretization, 0 otherwise.
+     */
+    void setDiagonal(double inverseRealDt) {
+        IntStream.range(0, connectivity.numFaces).parallel().forEach(face -> {
+            double area = geometry.faceArea[face];
+            double[] faceU = fields.get(fields.faceU, face, scratch.get()[3]);
+            faceDiffusion[face] = govEqn.diffusion().maxAbsDiffusivity(faceU) * area * area;
+        });
+
+        IntStream.range(0, connectivity.numCells).parallel().forEach(i -> {
+            double volume = geometry.cellVolume[i];
+            double sum = volume / connectivity.cells[i].dt + volume * inverseRealDt;
+            for (int k = connectivity.cellFaces.start[i]; k < connectivity.cellFaces.start[i + 1]; k++) {
+                int face = connectivity.cellFaces.entries[k];
+                sum += spectralRadius(face, volume);
+            }
+            diagonal[i] = sum;
+        });
+    }
+
+    private double spectralRadius(int face, double volume) {
+        return 0.5 * connectivity.faces[face].maxAbsEigenvalue * geometry.faceArea[face]
+                + faceDiffusion[face] / volume;
+    }
+
+    /**
+     * dU*_i = (rhs_i - sum over the lower neighbors j of offDiagonal(i, j) dU*_j) / D_i
+     */
+    private void forwardSweep(int i, double[] rhs, double[] dU) {
+        double[] sum = scratch.get()[2];
+        for (int var = 0; var < numVars; var++) {
+            sum[var] = rhs[i * numVars + var];
+        }
+        subtractOffDiagonal(i, true, dU, sum);
+
+        for (int var = 0; var < numVars; var++) {
+            dU[i * numVars + var] = sum[var] / diagonal[i];
+        }
+    }
+
+    /**
+     * dU_i = dU*_i - (sum over the upper neighbors j of offDiagonal(i, j) dU_j) / D_i
+     */
+    private void backwardSweep(int i, double[] dU) {
+        double[] sum = scratch.get()[2];
+        for (int var = 0; var < numVars; var++) {
+            sum[var] = 0.0;
+        }
+        subtractOffDiagonal(i, false, dU, sum);
+
+        for (int var = 0; var < numVars; var++) {
+            dU[i * numVars + var] += sum[var] / diagonal[i];
+        }
+    }
+
+    /**
+     * Subtracts offDiagonal(i, j) dU_j = 0.5 * area * (F(U_j + dU_j) - F(U_j)) . n - spectralRadius * dU_j of the
+     * lower (or upper) interior neighbors j of cell i from sum, where n is the normal pointing out of cell i.
+     */
+    private void subtractOffDiagonal(int i, boolean lower, double[] dU, double[] sum) {
+        double[][] s = scratch.get();
+        double[] Uplus = s[0], flux = s[1], Uj = s[3];
+        Convection convection = govEqn.convection();
+        double volume = geometry.cellVolume[i];
+
+        for (int k = connectivity.cellFaces.start[i]; k < connectivity.cellFaces.start[i + 1]; k++) {
+            int face = connectivity.cellFaces.entries[k];
+            if (face >= connectivity.numInternalFaces) continue; // the boundary conditions are explicit
+            int sign = connectivity.cellFaceSigns[k];
+            int j = sign > 0 ? connectivity.faceRight[face] : connectivity.faceLeft[face];
+            if (lower != rank[j] < rank[i]) continue;
+
+            fields.get(fields.U, j, Uj);
+            int dUj = j * numVars;
+            for (int var = 0; var < numVars; var++) {
+                Uplus[var] = Uj[var] + dU[dUj + var];
+            }
+            double nx = sign * geometry.faceNormal[3 * face];
+            double ny = sign * geometry.faceNormal[3 * face + 1];
+            double nz = sign * geometry.faceNormal[3 * face + 2];
+            double halfArea = 0.5 * geometry.faceArea[face];
+            double spectralRadius = spectralRadius(face, volume);
+
+            convection.flux(Uplus, nx, ny, nz, flux);
+            for (int var = 0; var < numVars; var++) {
+                sum[var] -= halfArea * flux[var] - spectralRadius * dU[dUj + var];
+            }
+            convection.flux(Uj, nx, ny, nz, flux);
+            for (int var = 0; var < numVars; var++) {
+                sum[var] += halfArea * flux[var];
+            }
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package main.solver.time;
 
 import main.mesh.Cell;
+import main.mesh.DerivedField;
 import main.mesh.Face;
+import main.mesh.GeometryStore;
 import main.mesh.Mesh;
 import main.physics.goveqn.GoverningEquations;
+import main.physics.goveqn.ZeroDiffusion;
+
+import java.util.EnumSet;
+import java.util.Set;
 
 public class LocalTimeStep implements TimeStep {
 
@@ -15,6 +21,20 @@ public class LocalTimeStep implements TimeStep {
         this.govEqn = govEqn;
     }
 
+    /**
+     * @return The face values, from which the diffusivity is evaluated, unless there is no diffusion.
+     */
+    @Override
+    public Set<DerivedField> requiredFields() {
+        return requiredFields(govEqn);
+    }
+
+    static Set<DerivedField> requiredFields(GoverningEquations govEqn) {
+        return govEqn.diffusion() instanceof ZeroDiffusion
+                ? EnumSet.noneOf(DerivedField.class)
+                : EnumSet.of(DerivedField.FACE_VALUES);
+    }
+
     @Override
     public void updateCellTimeSteps(double courantNum, double timeStepLimit) {
         // Go through all the internal faces and save maxAbsEigenvalue
@@ -32,22 +52,23 @@ public class LocalTimeStep implements TimeStep {
     }
 
     private void updateTimeStep(Cell cell, double courantNum, double timeStepLimit) {
+        GeometryStore geometry = mesh.geometry();
+
         // Convection spectral radius
         double spectralRadiusConvection = 0.0;
         for (Face face : cell.faces) {
-            spectralRadiusConvection += face.maxAbsEigenvalue * face.surface.area;
+            spectralRadiusConvection += face.maxAbsEigenvalue * geometry.faceArea[face.index()];
         }
 
         // Diffusion spectral radius
         double spectralRadiusDiffusion = 0.0;
         for (Face face : cell.faces) {
-            // Assuming that face U is calculated before time step calculation
-            double diffusivity = govEqn.diffusion().maxAbsDiffusivity(face.U);
-            double area = face.surface.area;
+            double diffusivity = govEqn.diffusion().maxAbsDiffusivity(face.U());
+            double area = geometry.faceArea[face.index()];
 
             spectralRadiusDiffusion += diffusivity * area * area;
         }
-        double volume = cell.shape.volume;
+        double volume = geometry.cellVolume[cell.index()];
         spectralRadiusDiffusion /= volume;
 
         double C = 4.0; // Constant multiplying diffusion spectral radius, 4 for central discretization
@@ -58,8 +79,8 @@ public class LocalTimeStep implements TimeStep {
 
     private void updateEigenvalue(Face face) {
         face.maxAbsEigenvalue = Math.max(
-                govEqn.convection().maxAbsEigenvalues(face.left.U, face.surface.unitNormal()),
-                govEqn.convection().maxAbsEigenvalues(face.right.U, face.surface.unitNormal())
+                govEqn.convection().maxAbsEigenvalues(face.left.U(), face.surface.unitNormal()),
+                govEqn.convection().maxAbsEigenvalues(face.right.U(), face.surface.unitNormal())
         );
     }
 }
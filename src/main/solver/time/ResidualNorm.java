@@ -0,0 +1,164 @@
+package main.solver.time;
+
+import main.mesh.Cell;
+import main.mesh.Mesh;
+import main.solver.Norm;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static main.util.DoubleArray.apply;
+import static main.util.DoubleArray.multiply;
+
+/**
+ * Normalized residual of a time step, by default (U_new - U_old) / dt, accumulated while the final stage updates
+ * the cell averages. The cells are split into fixed blocks, each with its own partial sums, which are added in
+ * block order when the norm is requested. The result therefore does not depend on the scheduling of the threads.
+ * <p>
+ * By default the sums are accumulated again from the current cell averages whenever the norm is requested, so that
+ * changes of the averages after the final stage are included. Only with setReuse(true) are the sums of the final
+ * stage reused until invalidate() is called, which saves the pass over the mesh.
+ */
+class ResidualNorm {
+
+    private static final int BLOCK_SIZE = 512;
+    private static final int NUM_SUMS = 4;
+    private static final int ABS = 0, SQR = 1, MAX = 2, MAGNITUDE = 3;
+
+    private final List<Cell> cells;
+    private final CellResidual residual;
+    private final int numVars;
+    private final int numBlocks;
+    private final boolean rootMeanSquare;
+    private final double[] partialSums;
+    private boolean reuse = false;
+    private boolean stale = false;
+
+    /**
+     * Residual of variable var of the cell, after the final stage.
+     */
+    interface CellResidual {
+        double value(Cell cell, int var);
+    }
+
+    /**
+     * @param U              the cell averages at the start of the time step, indexed by the cell index.
+     * @param rootMeanSquare whether the two-norm is the root of the mean of the squares, instead of the root of the
+     *                       sum of the squares divided by the number of cells.
+     */
+    ResidualNorm(Mesh mesh, double[][] U, int numVars, boolean rootMeanSquare) {
+        this(mesh, numVars, rootMeanSquare, (cell, var) -> (cell.U(var) - U[cell.index()][var]) / cell.dt);
+    }
+
+    ResidualNorm(Mesh mesh, int numVars, boolean rootMeanSquare, CellResidual residual) {
+        this.cells = mesh.cells();
+        this.residual = residual;
+        this.numVars = numVars;
+        this.numBlocks = (cells.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.rootMeanSquare = rootMeanSquare;
+        this.partialSums = new double[numBlocks * NUM_SUMS * numVars];
+    }
+
+    /**
+     * Applies the final stage to all the cells and accumulates the residual of each updated cell.
+     */
+    void update(Consumer<Cell> finalStage) {
+        IntStream.range(0, numBlocks).parallel().forEach(block -> update(block, finalStage));
+        stale = false;
+    }
+
+    /**
+     * @param reuse Whether total() reuses the sums of the last update() until invalidate() is called, instead of
+     *              accumulating them again from the current cell averages.
+     */
+    void setReuse(boolean reuse) {
+        this.reuse = reuse;
+    }
+
+    /**
+     * The cell averages were changed after the final stage; the sums are recomputed on the next request.
+     */
+    void invalidate() {
+        stale = true;
+    }
+
+    private void update(int block, Consumer<Cell> finalStage) {
+        int offset = block * NUM_SUMS * numVars;
+        int abs = offset + ABS * numVars, sqr = offset + SQR * numVars,
+                max = offset + MAX * numVars, magnitude = offset + MAGNITUDE * numVars;
+        Arrays.fill(partialSums, offset, offset + NUM_SUMS * numVars, 0.0);
+
+        int end = Math.min(cells.size(), (block + 1) * BLOCK_SIZE);
+        for (int i = block * BLOCK_SIZE; i < end; i++) {
+            Cell cell = cells.get(i);
+            finalStage.accept(cell);
+            for (int var = 0; var < numVars; var++) {
+                double cellResidual = Math.abs(residual.value(cell, var));
+                partialSums[abs + var] += cellResidual;
+                partialSums[sqr + var] += cellResidual * cellResidual;
+                partialSums[max + var] = Math.max(partialSums[max + var], cellResidual);
+                partialSums[magnitude + var] += Math.abs(cell.U(var));
+            }
+        }
+    }
+
+    double[] total(Norm norm) {
+        if (stale || !reuse) {
+            update(cell -> {
+            });
+        }
+
+        int numCells = cells.size();
+        double[] totalResidue;
+        switch (norm) {
+            case ONE_NORM:
+                totalResidue = multiply(sum(ABS), 1.0 / numCells);
+                break;
+
+            case TWO_NORM:
+                totalResidue = sum(SQR);
+                if (rootMeanSquare) {
+                    totalResidue = apply(multiply(totalResidue, 1.0 / numCells), Math::sqrt);
+                } else {
+                    totalResidue = multiply(apply(totalResidue, Math::sqrt), 1.0 / numCells);
+                }
+                break;
+
+            case INFINITY_NORM:
+                totalResidue = new double[numVars];
+                for (int block = 0; block < numBlocks; block++) {
+                    int offset = (block * NUM_SUMS + MAX) * numVars;
+                    for (int var = 0; var < numVars; var++) {
+                        totalResidue[var] = Math.max(totalResidue[var], partialSums[offset + var]);
+                    }
+                }
+                break;
+
+            default:
+                throw new IllegalArgumentException("Norm " + norm + " is not implemented.");
+        }
+
+        // normalize
+        double[] varMagnitude = multiply(sum(MAGNITUDE), 1.0 / numCells);
+        varMagnitude = apply(varMagnitude, e -> (e < 1e-12 ? 1.0 : e)); // avoid div by zero
+        for (int i = 0; i < numVars; i++) {
+            totalResidue[i] /= varMagnitude[i];
+        }
+
+        return totalResidue;
+    }
+
+    private double[] sum(int kind) {
+        double[] sum = new double[numVars];
+        for (int block = 0; block < numBlocks; block++) {
+            int offset = (block * NUM_SUMS + kind) * numVars;
+            for (int var = 0; var < numVars; var++) {
+                sum[var] += partialSums[offset + var];
+            }
+        }
+
+        return sum;
+    }
+}
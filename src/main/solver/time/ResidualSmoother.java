@@ -0,0 +1,140 @@
+package main.solver.time;
+
+import main.mesh.Adjacency;
+import main.mesh.Cell;
+import main.mesh.Connectivity;
+import main.mesh.Face;
+import main.mesh.FieldStore;
+import main.mesh.GeometryStore;
+import main.mesh.Mesh;
+
+/**
+ * Implicit residual smoothing, to run the explicit integrators above their Courant number limit.
+ * The updates dU_i = dt_i R_i / vol_i are replaced by the approximate solution of
+ * (1 + eps_i n_i) dU'_i - eps_i sum_j dU'_j = dU_i, the central smoothing operator (I - eps Laplacian) over the
+ * n_i interior face neighbors j of each cell, with a few Jacobi iterations.
+ * <p>
+ * The coefficient adapts to the local convective Courant number CFL_i = dt_i sum_f (maxAbsEigenvalue_f A_f) / vol_i:
+ * eps_i = max(0, scale ((CFL_i / unsmoothedCourantNum)^2 - 1)), which is zero where the unsmoothed scheme is stable.
+ * The smoothed residuals are written back to FieldStore.residual, so the stage updates are unchanged.
+ */
+public class ResidualSmoother {
+
+    private final Mesh mesh;
+    private final int numVars;
+    private final int numIterations;
+    private final FieldStore fields;
+    private final GeometryStore geometry;
+    private final Connectivity connectivity;
+    private final double[] dU;
+    private final double[] smoothed;
+    private final double[] eps;
+    private double unsmoothedCourantNum = 1.0; // default
+    private double scale = 0.25; // default
+
+    public ResidualSmoother(Mesh mesh, int numVars, int numIterations) {
+        if (numIterations < 1)
+            throw new IllegalArgumentException("At least one iteration is required.");
+        this.mesh = mesh;
+        this.numVars = numVars;
+        this.numIterations = numIterations;
+        this.fields = mesh.fields();
+        this.geometry = mesh.geometry();
+        this.connectivity = mesh.connectivity();
+
+        int numCells = mesh.cells().size();
+        this.dU = new double[numCells * numVars];
+        this.smoothed = new double[numCells * numVars];
+        this.eps = new double[numCells];
+    }
+
+    /**
+     * @param unsmoothedCourantNum Courant number up to which the residuals are not smoothed.
+     * @param scale                Scale of the smoothing coefficient, 1/4 for a one-dimensional central scheme.
+     */
+    public void setCoefficients(double unsmoothedCourantNum, double scale) {
+        if (unsmoothedCourantNum <= 0.0 || scale < 0.0)
+            throw new IllegalArgumentException("The Courant number must be positive and the scale non-negative.");
+        this.unsmoothedCourantNum = unsmoothedCourantNum;
+        this.scale = scale;
+    }
+
+    /**
+     * Smooths the residuals in place. The cell time steps and face eigenvalues must be those of the current
+     * iteration, as set by the TimeStep.
+     */
+    public void smooth() {
+        boolean smoothing = mesh.cellStream()
+                .map(this::updateCoefficient)
+                .reduce(false, Boolean::logicalOr);
+        if (!smoothing) return;
+
+        mesh.cellStream().forEach(cell -> {
+            int row = cell.index() * numVars;
+            int offset = fields.cellOffset(cell.fieldRow());
+            double dt_vol = cell.dt / cell.shape.volume;
+            for (int var = 0; var < numVars; var++) {
+                dU[row + var] = dt_vol * fields.residual[offset + var];
+                smoothed[row + var] = dU[row + var];
+            }
+        });
+
+        Adjacency neighbors = connectivity.faceNeighbors();
+        int numCells = connectivity.numCells;
+        for (int iteration = 0; iteration < numIterations; iteration++) {
+            // the residual field holds the previous iterate, so that the cells can be updated in parallel
+            mesh.cellStream().forEach(cell -> {
+                int row = cell.index() * numVars;
+                int offset = fields.cellOffset(cell.fieldRow());
+                for (int var = 0; var < numVars; var++) {
+                    fields.residual[offset + var] = smoothed[row + var];
+                }
+            });
+            mesh.cellStream().forEach(cell -> {
+                int i = cell.index();
+                int row = i * numVars;
+                double e = eps[i];
+                int n = 0;
+                for (int var = 0; var < numVars; var++) {
+                    smoothed[row + var] = dU[row + var];
+                }
+                for (int k = neighbors.start[i]; k < neighbors.start[i + 1]; k++) {
+                    int j = neighbors.entries[k];
+                    if (j >= numCells) continue;
+                    n++;
+                    int offset = fields.cellOffset(j);
+                    for (int var = 0; var < numVars; var++) {
+                        smoothed[row + var] += e * fields.residual[offset + var];
+                    }
+                }
+                double inverseDiagonal = 1.0 / (1.0 + e * n);
+                for (int var = 0; var < numVars; var++) {
+                    smoothed[row + var] *= inverseDiagonal;
+                }
+            });
+        }
+
+        mesh.cellStream().forEach(cell -> {
+            int row = cell.index() * numVars;
+            int offset = fields.cellOffset(cell.fieldRow());
+            double vol_dt = cell.shape.volume / cell.dt;
+            for (int var = 0; var < numVars; var++) {
+                fields.residual[offset + var] = vol_dt * smoothed[row + var];
+            }
+        });
+    }
+
+    /**
+     * @return Whether the residual of the cell is smoothed.
+     */
+    private boolean updateCoefficient(Cell cell) {
+        double spectralRadius = 0.0;
+        for (Face face : cell.faces) {
+            spectralRadius += face.maxAbsEigenvalue * geometry.faceArea[face.index()];
+        }
+        double ratio = cell.dt * spectralRadius / cell.shape.volume / unsmoothedCourantNum;
+        eps[cell.index()] = Math.max(0.0, scale * (ratio * ratio - 1.0));
+
+        return eps[cell.index()] > 0.0;
+    }
+}
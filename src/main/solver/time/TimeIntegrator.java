@@ -10,4 +10,13 @@ public interface TimeIntegrator {
     void setTimeDiscretization(TimeDiscretization timeDiscretization);
 
     double[] currentTotalResidual(Norm norm);
+
+    /**
+     * To be called when the cell averages are changed after updateCellAverages() by an integrator which reuses the
+     * norm accumulated during the update (see ExplicitEulerTimeIntegrator.setResidualNormReuse()), so that the next
+     * currentTotalResidual() is computed from the changed averages. Without reuse the norm is always computed from
+     * the current averages and this is not needed.
+     */
+    default void cellAveragesModified() {
+    }
 }
@@ -1,5 +1,18 @@
 package main.solver.time;
 
+import main.mesh.DerivedField;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public interface TimeStep {
     void updateCellTimeSteps(double courantNum, double timeStepLimit);
+
+    /**
+     * @return Fields read by updateCellTimeSteps(). The time integrators declare them to their SpaceDiscretization,
+     * which computes them before the residuals, that is, before the time steps are updated.
+     */
+    default Set<DerivedField> requiredFields() {
+        return EnumSet.noneOf(DerivedField.class);
+    }
 }
@@ -1,9 +1,9 @@
 package main.solver.time;
 
 import main.mesh.Cell;
+import main.mesh.FieldStore;
 import main.mesh.Mesh;
 import main.physics.goveqn.GoverningEquations;
-import main.util.DoubleArray;
 
 public class TwoPointTimeDiscretization implements TimeDiscretization {
     private final Mesh mesh;
@@ -32,20 +32,21 @@ public class TwoPointTimeDiscretization implements TimeDiscretization {
     }
 
     private void shiftSolution(Cell cell) {
-        DoubleArray.copy(cell.Wn, cell.Wnm1);
-        DoubleArray.copy(govEqn.realVars(cell.U), cell.Wn);
+        FieldStore fields = cell.fields();
+        int offset = fields.cellOffset(cell.fieldRow());
+        System.arraycopy(fields.Wn, offset, fields.Wnm1, offset, fields.numVars);
+        fields.set(fields.Wn, cell.fieldRow(), govEqn.realVars(cell.U()));
     }
 
     private void updateResidual(Cell cell) {
-        double[] Wnp1 = govEqn.realVars(cell.U);
+        double[] Wnp1 = govEqn.realVars(cell.U());
         double vol_dt = cell.shape.volume / real_dt;
         int numVars = govEqn.numVars();
 
-        double[] residual = new double[numVars];
+        FieldStore fields = cell.fields();
+        int offset = fields.cellOffset(cell.fieldRow());
         for (int var = 0; var < numVars; var++) {
-            residual[var] = vol_dt * (Wnp1[var] - cell.Wn[var]);
+            fields.residual[offset + var] += vol_dt * (Wnp1[var] - fields.Wn[offset + var]);
         }
-
-        DoubleArray.increment(cell.residual, residual);
     }
 }
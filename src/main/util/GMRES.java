@@ -0,0 +1,187 @@
+package main.util;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Restarted flexible GMRES with right preconditioning, for systems given by the action of the matrix on a vector.
+ * The preconditioned vectors are kept, so the preconditioner may differ from one iteration to the next
+ * (e.g. a nonlinear sweep). The inner products are summed over fixed blocks in block order, so the results do not
+ * depend on the scheduling of the threads.
+ */
+public class GMRES {
+
+    public interface LinearOperator {
+        /**
+         * out = operator(x). out is never the same array as x.
+         */
+        void apply(double[] x, double[] out);
+    }
+
+    private static final int BLOCK_SIZE = 4096;
+
+    private final int size;
+    private final int restart;
+    private final int numBlocks;
+    private final double[][] V;
+    private final double[][] Z;
+    private final double[][] H;
+    private final double[] cs, sn, g, y;
+    private final double[] w;
+    private final double[] partialSums;
+    private double residualNorm;
+
+    public GMRES(int size, int restart) {
+        if (restart < 1)
+            throw new IllegalArgumentException("The restart length must be positive.");
+        this.size = size;
+        this.restart = restart;
+        this.numBlocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.V = new double[restart + 1][size];
+        this.Z = new double[restart][size];
+        this.H = new double[restart + 1][restart];
+        this.cs = new double[restart];
+        this.sn = new double[restart];
+        this.g = new double[restart + 1];
+        this.y = new double[restart];
+        this.w = new double[size];
+        this.partialSums = new double[numBlocks];
+    }
+
+    /**
+     * Improves x until |b - A x| <= relativeTolerance * |b| or maxIterations iterations are done.
+     *
+     * @param x Initial guess, overwritten with the solution.
+     * @return Number of iterations, i.e. preconditioned products with A.
+     */
+    public int solve(LinearOperator A, LinearOperator preconditioner, double[] b, double[] x,
+                     double relativeTolerance, int maxIterations) {
+        if (b.length != size || x.length != size)
+            throw new IllegalArgumentException("The vectors must have " + size + " entries.");
+
+        double tolerance = relativeTolerance * norm(b);
+        int iterations = 0;
+        while (true) {
+            A.apply(x, w);
+            IntStream.range(0, numBlocks).parallel().forEach(block -> {
+                for (int i = start(block); i < end(block); i++) {
+                    V[0][i] = b[i] - w[i];
+                }
+            });
+            double beta = norm(V[0]);
+            residualNorm = beta;
+            if (beta <= tolerance || iterations >= maxIterations) return iterations;
+
+            scale(V[0], 1.0 / beta);
+            Arrays.fill(g, 0.0);
+            g[0] = beta;
+
+            int k = 0;
+            while (k < restart && iterations < maxIterations) {
+                preconditioner.apply(V[k], Z[k]);
+                A.apply(Z[k], w);
+                iterations++;
+
+                // modified Gram-Schmidt
+                for (int i = 0; i <= k; i++) {
+                    H[i][k] = dot(w, V[i]);
+                    axpy(-H[i][k], V[i], w);
+                }
+                H[k + 1][k] = norm(w);
+                if (H[k + 1][k] > 0.0) {
+                    double inverse = 1.0 / H[k + 1][k];
+                    double[] v = V[k + 1];
+                    IntStream.range(0, numBlocks).parallel().forEach(block -> {
+                        for (int i = start(block); i < end(block); i++) {
+                            v[i] = w[i] * inverse;
+                        }
+                    });
+                }
+
+                for (int i = 0; i < k; i++) {
+                    double temp = cs[i] * H[i][k] + sn[i] * H[i + 1][k];
+                    H[i + 1][k] = -sn[i] * H[i][k] + cs[i] * H[i + 1][k];
+                    H[i][k] = temp;
+                }
+                double r = Math.hypot(H[k][k], H[k + 1][k]);
+                cs[k] = H[k][k] / r;
+                sn[k] = H[k + 1][k] / r;
+                H[k][k] = r;
+                H[k + 1][k] = 0.0;
+                g[k + 1] = -sn[k] * g[k];
+                g[k] = cs[k] * g[k];
+                k++;
+
+                if (Math.abs(g[k]) <= tolerance) break;
+            }
+
+            // x += Z y, with H y = g
+            for (int i = k - 1; i >= 0; i--) {
+                double sum = g[i];
+                for (int j = i + 1; j < k; j++) {
+                    sum -= H[i][j] * y[j];
+                }
+                y[i] = sum / H[i][i];
+            }
+            for (int i = 0; i < k; i++) {
+                axpy(y[i], Z[i], x);
+            }
+            if (Math.abs(g[k]) <= tolerance) {
+                residualNorm = Math.abs(g[k]);
+                return iterations;
+            }
+        }
+    }
+
+    /**
+     * @return Norm of the residual b - A x at the end of the last solve (estimated if it converged within a cycle).
+     */
+    public double residualNorm() {
+        return residualNorm;
+    }
+
+    public double dot(double[] a, double[] b) {
+        IntStream.range(0, numBlocks).parallel().forEach(block -> {
+            double sum = 0.0;
+            for (int i = start(block); i < end(block); i++) {
+                sum += a[i] * b[i];
+            }
+            partialSums[block] = sum;
+        });
+
+        double sum = 0.0;
+        for (double partialSum : partialSums) {
+            sum += partialSum;
+        }
+
+        return sum;
+    }
+
+    public double norm(double[] a) {
+        return Math.sqrt(dot(a, a));
+    }
+
+    private void axpy(double alpha, double[] x, double[] out) {
+        IntStream.range(0, numBlocks).parallel().forEach(block -> {
+            for (int i = start(block); i < end(block); i++) {
+                out[i] += alpha * x[i];
+            }
+        });
+    }
+
+    private void scale(double[] a, double s) {
+        IntStream.range(0, numBlocks).parallel().forEach(block -> {
+            for (int i = start(block); i < end(block); i++) {
+                a[i] *= s;
+            }
+        });
+    }
+
+    private int start(int block) {
+        return block * BLOCK_SIZE;
+    }
+
+    private int end(int block) {
+        return Math.min(size, (block + 1) * BLOCK_SIZE);
+    }
+}
@@ -0,0 +1,170 @@
+package main;
+
+import main.geom.Vector;
+import main.mesh.GeometryStore;
+import main.mesh.Mesh;
+import main.mesh.Surface;
+import main.mesh.factory.Unstructured2DMesh;
+import main.physics.bc.PressureOutletBC;
+import main.physics.bc.VelocityInletBC;
+import main.physics.bc.WallBC;
+import main.physics.goveqn.BatchConvection;
+import main.physics.goveqn.GoverningEquations;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
+import main.physics.goveqn.factory.EulerEquations;
+import main.solver.*;
+import main.solver.convection.ConvectionResidual;
+import main.solver.convection.reconstructor.SolutionReconstructor;
+import main.solver.convection.reconstructor.VKLimiterReconstructor;
+import main.solver.convection.riemann.BatchHLLRiemannSolver;
+import main.solver.convection.riemann.BatchRiemannSolver;
+import main.solver.convection.riemann.BatchRusanovRiemannSolver;
+import main.solver.convection.riemann.HLLRiemannSolver;
+import main.solver.convection.riemann.RiemannSolver;
+import main.solver.convection.riemann.RusanovRiemannSolver;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static main.physics.goveqn.BatchConvection.BLOCK_SIZE;
+
+/**
+ * Compares the time per convective residual evaluation of the cylinder problem
+ * with the scalar and the batched Riemann solvers, and the time per face of the flux kernels alone
+ * for the Euler and artificial compressibility equations.
+ * Run the main method with --add-modules jdk.incubator.vector; this is not a unit test.
+ */
+public class ConvectiveFluxBenchmark {
+
+    private static final int WARM_UP_ITERATIONS = 500;
+    private static final int ITERATIONS = 2000;
+    private static final int NUM_FACES = 32768;
+    private static final int KERNEL_WARM_UP_ITERATIONS = 100;
+    private static final int KERNEL_ITERATIONS = 200;
+
+    private static double sink;
+
+    public static void main(String[] args) throws FileNotFoundException {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.0, 1.0 / 120,
+                new Vector(0, 0, 0));
+        Mesh mesh = new Unstructured2DMesh(
+                new File("test/test_data/transient_flow_over_cylinder/mesh.cfdu"), govEqn.numVars(),
+                Map.of("cylinder", new WallBC(govEqn, new Vector(0, 0, 0)),
+                        "velocity inlet", new VelocityInletBC(govEqn, new Vector(1, 0, 0)),
+                        "pressure outlet", new PressureOutletBC(govEqn, 101325.0)));
+        new FunctionInitializer(p -> p.x > 0.5 && p.y > -5.0 && p.y < 5.0
+                ? new double[]{101325.0, 1, 0.2, 0.0}
+                : new double[]{101325.0, 1, 0.0, 0.0}).initialize(mesh, govEqn);
+
+        CellNeighborCalculator neighbors = new FaceBasedCellNeighbors();
+        CellGradientCalculator cellGradient = new LeastSquareCellGradient(mesh, neighbors);
+        SolutionReconstructor reconstructor = new VKLimiterReconstructor(mesh, govEqn, neighbors);
+        ResidualCalculator rusanov = new ConvectionResidual(reconstructor, new RusanovRiemannSolver(govEqn), mesh);
+        // the gradients and the reconstruction are the same for all the variants
+        new SpaceDiscretization(mesh, cellGradient, List.of(rusanov)).setResiduals();
+
+        report("Rusanov", rusanov);
+        report("Rusanov (batch)", new ConvectionResidual(reconstructor,
+                new BatchRusanovRiemannSolver(govEqn.batchConvection()), mesh));
+        report("HLL", new ConvectionResidual(reconstructor, new HLLRiemannSolver(govEqn), mesh));
+        report("HLL (batch)", new ConvectionResidual(reconstructor,
+                new BatchHLLRiemannSolver(govEqn.batchConvection()), mesh));
+
+        System.out.println("Vector API: " + BatchConvection.vectorApiAvailable());
+        Random rnd = new Random(17);
+        EulerEquations euler = new EulerEquations(1.4, 287);
+        reportKernels("Euler", euler, euler.batchConvection(), () -> euler.conservativeVars(new double[]{
+                0.5 + rnd.nextDouble(), 600 * (rnd.nextDouble() - 0.5), 300 * (rnd.nextDouble() - 0.5), 0.0,
+                50000 + 100000 * rnd.nextDouble()}));
+        reportKernels("AC", govEqn, govEqn.batchConvection(), () -> new double[]{
+                rnd.nextDouble() * 10, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5, 0.0});
+    }
+
+    private static void report(String name, ResidualCalculator convectionResidual) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            convectionResidual.updateCellResiduals();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            convectionResidual.updateCellResiduals();
+        }
+        double msPerIteration = (System.nanoTime() - start) * 1e-6 / ITERATIONS;
+
+        System.out.println(String.format("%-20s %8.3f ms/evaluation", name, msPerIteration));
+    }
+
+    /**
+     * Times the scalar and the batch Rusanov and HLL solvers on NUM_FACES random faces, whose states are already
+     * gathered in the layout each of them reads.
+     */
+    private static void reportKernels(String name, GoverningEquations govEqn, BatchConvection batchConvection,
+                                      Supplier<double[]> states) {
+        Random rnd = new Random(19);
+        int numVars = govEqn.numVars();
+        int numBlocks = NUM_FACES / BLOCK_SIZE;
+        double[][] UL = new double[NUM_FACES][], UR = new double[NUM_FACES][];
+        GeometryStore geometry = new GeometryStore(0, NUM_FACES);
+        double[][] blockUL = new double[numBlocks][numVars * BLOCK_SIZE];
+        double[][] blockUR = new double[numBlocks][numVars * BLOCK_SIZE];
+        double[][] nx = new double[numBlocks][BLOCK_SIZE];
+        double[][] ny = new double[numBlocks][BLOCK_SIZE];
+        double[][] nz = new double[numBlocks][BLOCK_SIZE];
+        for (int face = 0; face < NUM_FACES; face++) {
+            UL[face] = states.get();
+            UR[face] = states.get();
+            Vector n = new Vector(rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5, 0.0).unit();
+            geometry.setFace(face, new Surface(1.0, null, n));
+            int block = face / BLOCK_SIZE, i = face % BLOCK_SIZE;
+            for (int var = 0; var < numVars; var++) {
+                blockUL[block][var * BLOCK_SIZE + i] = UL[face][var];
+                blockUR[block][var * BLOCK_SIZE + i] = UR[face][var];
+            }
+            nx[block][i] = n.x;
+            ny[block][i] = n.y;
+            nz[block][i] = n.z;
+        }
+
+        RiemannSolver[] solvers = {new RusanovRiemannSolver(govEqn), new HLLRiemannSolver(govEqn)};
+        BatchRiemannSolver[] batchSolvers = {
+                new BatchRusanovRiemannSolver(batchConvection), new BatchHLLRiemannSolver(batchConvection)};
+        String[] solverNames = {"Rusanov", "HLL"};
+        double[] flux = new double[numVars];
+        double[] blockFlux = new double[numVars * BLOCK_SIZE];
+        for (int s = 0; s < solvers.length; s++) {
+            RiemannSolver solver = solvers[s];
+            BatchRiemannSolver batchSolver = batchSolvers[s];
+            double scalarNs = timePerFace(() -> {
+                for (int face = 0; face < NUM_FACES; face++) {
+                    solver.flux(UL[face], UR[face], geometry, face, flux);
+                    sink += flux[0];
+                }
+            });
+            double batchNs = timePerFace(() -> {
+                for (int block = 0; block < numBlocks; block++) {
+                    batchSolver.flux(blockUL[block], blockUR[block], nx[block], ny[block], nz[block], BLOCK_SIZE,
+                            blockFlux);
+                    sink += blockFlux[0];
+                }
+            });
+            System.out.println(String.format("%-6s %-8s scalar %6.1f ns/face, batch %6.1f ns/face",
+                    name, solverNames[s], scalarNs, batchNs));
+        }
+    }
+
+    private static double timePerFace(Runnable sweep) {
+        for (int i = 0; i < KERNEL_WARM_UP_ITERATIONS; i++) {
+            sweep.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < KERNEL_ITERATIONS; i++) {
+            sweep.run();
+        }
+        return (double) (System.nanoTime() - start) / KERNEL_ITERATIONS / NUM_FACES;
+    }
+}
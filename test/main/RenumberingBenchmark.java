@@ -0,0 +1,125 @@
+package main;
+
+import main.geom.Vector;
+import main.mesh.CellOrdering;
+import main.mesh.Mesh;
+import main.mesh.RenumberedMesh;
+import main.mesh.factory.Unstructured2DMesh;
+import main.physics.bc.ExtrapolatedBC;
+import main.physics.bc.PressureOutletBC;
+import main.physics.bc.VelocityInletBC;
+import main.physics.bc.WallBC;
+import main.physics.goveqn.GoverningEquations;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
+import main.physics.goveqn.factory.GrainGrowthFanChenEquations;
+import main.solver.*;
+import main.solver.convection.ConvectionResidual;
+import main.solver.convection.reconstructor.VKLimiterReconstructor;
+import main.solver.convection.riemann.HLLRiemannSolver;
+import main.solver.diffusion.DiffusionResidual;
+import main.solver.source.SourceResidual;
+import main.solver.time.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static main.util.DoubleArray.newFilledArray;
+import static main.util.DoubleArray.random;
+
+/**
+ * Compares the time per pseudo-time iteration of the cylinder and grain growth problems
+ * with the cells in file order and renumbered with each CellOrdering.
+ * Run the main method; this is not a unit test.
+ */
+public class RenumberingBenchmark {
+
+    private static final int WARM_UP_ITERATIONS = 200;
+    private static final int ITERATIONS = 500;
+
+    public static void main(String[] args) throws FileNotFoundException {
+        List<CellOrdering> orderings = new ArrayList<>();
+        orderings.add(null);
+        orderings.addAll(List.of(CellOrdering.values()));
+
+        for (CellOrdering ordering : orderings) {
+            report("transient_flow_over_cylinder", ordering, cylinder(ordering));
+        }
+        for (CellOrdering ordering : orderings) {
+            report("grain_growth", ordering, grainGrowth(ordering));
+        }
+    }
+
+    private static void report(String meshName, CellOrdering ordering, TimeIntegrator timeIntegrator) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            timeIntegrator.updateCellAverages();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            timeIntegrator.updateCellAverages();
+        }
+        double msPerIteration = (System.nanoTime() - start) * 1e-6 / ITERATIONS;
+
+        System.out.println(String.format("%-30s %-25s %8.3f ms/iteration",
+                meshName, ordering == null ? "FILE_ORDER" : ordering, msPerIteration));
+    }
+
+    private static Mesh renumber(Mesh mesh, CellOrdering ordering) {
+        return ordering == null ? mesh : new RenumberedMesh(mesh, ordering);
+    }
+
+    private static TimeIntegrator cylinder(CellOrdering ordering) throws FileNotFoundException {
+        double mu = 1.0 / 120;
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.0, mu, new Vector(0, 0, 0));
+        Mesh mesh = renumber(new Unstructured2DMesh(
+                new File("test/test_data/transient_flow_over_cylinder/mesh.cfdu"), govEqn.numVars(),
+                Map.of("cylinder", new WallBC(govEqn, new Vector(0, 0, 0)),
+                        "velocity inlet", new VelocityInletBC(govEqn, new Vector(1, 0, 0)),
+                        "pressure outlet", new PressureOutletBC(govEqn, 101325.0))), ordering);
+
+        new FunctionInitializer(p -> p.x > 0.5 && p.y > -5.0 && p.y < 5.0
+                ? new double[]{101325.0, 1, 0.2, 0.0}
+                : new double[]{101325.0, 1, 0.0, 0.0}).initialize(mesh, govEqn);
+
+        CellNeighborCalculator neighbors = new FaceBasedCellNeighbors();
+        ConvectionResidual convectionResidual = new ConvectionResidual(
+                new VKLimiterReconstructor(mesh, govEqn, neighbors), new HLLRiemannSolver(govEqn), mesh);
+        SpaceDiscretization spaceDiscretization = new SpaceDiscretization(mesh,
+                new LeastSquareCellGradient(mesh, neighbors),
+                List.of(convectionResidual, new DiffusionResidual(mesh, govEqn)));
+
+        return timeIntegrator(mesh, govEqn, spaceDiscretization);
+    }
+
+    private static TimeIntegrator grainGrowth(CellOrdering ordering) throws FileNotFoundException {
+        int numOrientations = 36;
+        GrainGrowthFanChenEquations govEqn = new GrainGrowthFanChenEquations(numOrientations, 1.0, 1.0, 1.0,
+                newFilledArray(numOrientations, 0.0003), newFilledArray(numOrientations, 1));
+        Mesh mesh = renumber(new Unstructured2DMesh(new File("test/test_data/grain_growth/mesh.cfdu"),
+                govEqn.numVars(), Map.of("boundary", new ExtrapolatedBC(govEqn))), ordering);
+
+        Random random = new Random(1324);
+        new FunctionInitializer(p -> random(numOrientations, random, -0.001, 0.001))
+                .initialize(mesh, govEqn);
+
+        SpaceDiscretization spaceDiscretization = new SpaceDiscretization(mesh,
+                new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors()),
+                List.of(new DiffusionResidual(mesh, govEqn), new SourceResidual(mesh, govEqn)));
+
+        return timeIntegrator(mesh, govEqn, spaceDiscretization);
+    }
+
+    private static TimeIntegrator timeIntegrator(Mesh mesh, GoverningEquations govEqn,
+                                                 SpaceDiscretization spaceDiscretization) {
+        TimeIntegrator timeIntegrator = new ExplicitEulerTimeIntegrator(mesh, spaceDiscretization,
+                new LocalTimeStep(mesh, govEqn), govEqn.numVars());
+        timeIntegrator.setCourantNum(1.0);
+        timeIntegrator.setTimeDiscretization(new TwoPointTimeDiscretization(mesh, govEqn, 0.1));
+
+        return timeIntegrator;
+    }
+}
@@ -142,7 +142,7 @@ public class Solver1DScalarAdvectionTest {
 
         problem.solutionInitializer().initialize(mesh, problem.govEqn());
         double[] initU = mesh.cellStream()
-                .mapToDouble(cell -> cell.U[0])
+                .mapToDouble(cell -> cell.U(0))
                 .toArray();
 
         Config config = problem.config();
@@ -158,7 +158,7 @@ public class Solver1DScalarAdvectionTest {
         }
 
         double[] calculatedSolU = mesh.cellStream()
-                .mapToDouble(cell -> cell.U[0])
+                .mapToDouble(cell -> cell.U(0))
                 .toArray();
 
         // Actual solution after 1 iteration
@@ -180,7 +180,7 @@ public class Solver1DScalarAdvectionTest {
             timeIntegrator.updateCellAverages();
         }
         calculatedSolU = mesh.cellStream()
-                .mapToDouble(cell -> cell.U[0])
+                .mapToDouble(cell -> cell.U(0))
                 .toArray();
 
         assertArrayEquals(expectedSolU, calculatedSolU, 1e-15);
@@ -196,7 +196,7 @@ public class Solver1DScalarAdvectionTest {
             timeIntegrator.updateCellAverages();
         }
         calculatedSolU = mesh.cellStream()
-                .mapToDouble(cell -> cell.U[0])
+                .mapToDouble(cell -> cell.U(0))
                 .toArray();
 
         assertArrayEquals(expectedSolU, calculatedSolU, 1e-15);
@@ -214,7 +214,7 @@ public class Solver1DScalarAdvectionTest {
             timeIntegrator.updateCellAverages();
         }
         calculatedSolU = mesh.cellStream()
-                .mapToDouble(cell -> cell.U[0])
+                .mapToDouble(cell -> cell.U(0))
                 .toArray();
 
         assertArrayEquals(expectedSolU, calculatedSolU, 1e-15);
@@ -135,21 +135,21 @@ public class Solver1DScalarDiffusionTest {
             Cell cip1 = mesh.cells().get(3);
             double expectedSol = expectedValueOfCell(cim1, ci, cip1);
             timeIntegrator.updateCellAverages();
-            double actualSol = ci.U[0];
+            double actualSol = ci.U(0);
             assertEquals(expectedSol, actualSol, 1e-15);
         }
         new VTKWriter(mesh, problem.govEqn()).write(new File("test/test_data/scalar1D_diffusion.vtu"));
     }
 
     private double expectedValueOfCell(Cell cim1, Cell ci, Cell cip1) {
-        double uim1 = cim1.U[0];
-        double ui = ci.U[0];
-        double uip1 = cip1.U[0];
+        double uim1 = cim1.U(0);
+        double ui = ci.U(0);
+        double uip1 = cip1.U(0);
 
         double dxSqr = new Vector(ci.shape.centroid, cip1.shape.centroid).magSqr();
         double d2u_dx2 = (uim1 - 2.0 * ui + uip1) / dxSqr;
 
-        double alpha = govEqn.diffusion().maxAbsDiffusivity(ci.U);
+        double alpha = govEqn.diffusion().maxAbsDiffusivity(ci.U());
         double dt = courantNumber * dxSqr / 8.0 / alpha;
 
         return ui + dt * alpha * d2u_dx2;
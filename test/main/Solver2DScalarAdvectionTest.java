@@ -177,7 +177,7 @@ public class Solver2DScalarAdvectionTest {
             if (problem.convergence().hasConverged(totalResidual)) break;
         }
         double[] calculatedSolU = mesh.cellStream()
-                .mapToDouble(cell -> cell.U[0])
+                .mapToDouble(cell -> cell.U(0))
                 .toArray();
 
         double[] expectedSolU = new double[(xi - 1) * (eta - 1)];
@@ -198,7 +198,7 @@ public class Solver2DScalarAdvectionTest {
         }
         timeIntegrator.updateCellAverages();
         calculatedSolU = mesh.cellStream()
-                .mapToDouble(cell -> cell.U[0])
+                .mapToDouble(cell -> cell.U(0))
                 .toArray();
         for (int i = 1; i < xi - 1; i++) {
             for (int j = 1; j < eta - 1; j++) {
@@ -215,7 +215,7 @@ public class Solver2DScalarAdvectionTest {
             timeIntegrator.updateCellAverages();
         }
         calculatedSolU = mesh.cellStream()
-                .mapToDouble(cell -> cell.U[0])
+                .mapToDouble(cell -> cell.U(0))
                 .toArray();
 
         for (int iter = 0; iter < 3; iter++) {
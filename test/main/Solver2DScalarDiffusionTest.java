@@ -172,7 +172,7 @@ public class Solver2DScalarDiffusionTest {
             Cell cijp1 = mesh.cells().get(17);
             double expectedSol = expectedValueOfCell(cij, cim1j, cip1j, cijm1, cijp1);
             timeIntegrator.updateCellAverages();
-            double actualSol = cij.U[0];
+            double actualSol = cij.U(0);
             assertEquals(expectedSol, actualSol, 1e-4);
         }
         new VTKWriter(mesh, problem.govEqn())
@@ -180,18 +180,18 @@ public class Solver2DScalarDiffusionTest {
     }
 
     private double expectedValueOfCell(Cell cij, Cell cim1j, Cell cip1j, Cell cijm1, Cell cijp1) {
-        double uim1j = cim1j.U[0];
-        double uij = cij.U[0];
-        double uip1j = cip1j.U[0];
-        double uijm1 = cijm1.U[0];
-        double uijp1 = cijp1.U[0];
+        double uim1j = cim1j.U(0);
+        double uij = cij.U(0);
+        double uip1j = cip1j.U(0);
+        double uijm1 = cijm1.U(0);
+        double uijp1 = cijp1.U(0);
 
         double dxSqr = new Vector(cij.shape.centroid, cip1j.shape.centroid).magSqr();
         double dySqr = new Vector(cij.shape.centroid, cijp1.shape.centroid).magSqr();
         double d2u_dx2 = (uim1j - 2.0 * uij + uip1j) / dxSqr;
         double d2u_dy2 = (uijm1 - 2.0 * uij + uijp1) / dySqr;
 
-        double alpha = govEqn.diffusion().maxAbsDiffusivity(cij.U);
+        double alpha = govEqn.diffusion().maxAbsDiffusivity(cij.U());
         double dt = courantNumber * (dxSqr * dySqr) / 4.0 / alpha / (2.0 * dxSqr + 2.0 * dySqr);
 
         return uij + dt * alpha * (d2u_dx2 + d2u_dy2);
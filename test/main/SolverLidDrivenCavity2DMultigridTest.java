@@ -0,0 +1,167 @@
+package main;
+
+import main.geom.Point;
+import main.geom.Vector;
+import main.io.VTKWriter;
+import main.mesh.Mesh;
+import main.mesh.StructuredMesh;
+import main.mesh.factory.Structured2DMesh;
+import main.physics.bc.BoundaryCondition;
+import main.physics.bc.WallBC;
+import main.physics.goveqn.GoverningEquations;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
+import main.solver.*;
+import main.solver.convection.ConvectionResidual;
+import main.solver.convection.reconstructor.VKLimiterReconstructor;
+import main.solver.convection.riemann.RusanovRiemannSolver;
+import main.solver.diffusion.DiffusionResidual;
+import main.solver.problem.ProblemDefinition;
+import main.solver.time.ExplicitEulerTimeIntegrator;
+import main.solver.time.FASMultigridTimeIntegrator;
+import main.solver.time.FASMultigridTimeIntegrator.Cycle;
+import main.solver.time.LocalTimeStep;
+import main.solver.time.TimeIntegrator;
+import main.util.DoubleArray;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+public class SolverLidDrivenCavity2DMultigridTest {
+
+    private ProblemDefinition createProblem(Cycle cycle) {
+        return new ProblemDefinition() {
+            private final double Re = 100;
+            private final double L = 1.0;
+            private final double rho = 1.0;
+            private final double lidVelocity = 1.0;
+            private final double mu = rho * lidVelocity * L / Re;
+            private final Vector gravity = new Vector(0, 0, 0);
+
+            private final ArtificialCompressibilityEquations govEqn
+                    = new ArtificialCompressibilityEquations(1.0, mu, gravity);
+
+            private final StructuredMesh mesh = create2DMesh(20, 20);
+
+            private StructuredMesh create2DMesh(int numXCells, int numYCells) {
+                Point[][] points = new Point[numXCells + 1][numYCells + 1];
+                for (int i = 0; i <= numXCells; i++) {
+                    for (int j = 0; j <= numYCells; j++) {
+                        points[i][j] = new Point(i * L / numXCells, j * L / numYCells, 0.0);
+                    }
+                }
+
+                BoundaryCondition stationaryWall = new WallBC(govEqn, new Vector(0, 0, 0));
+                BoundaryCondition movingLid = new WallBC(govEqn, new Vector(lidVelocity, 0, 0));
+                return new Structured2DMesh(points, govEqn.numVars(), stationaryWall, stationaryWall, stationaryWall, movingLid);
+            }
+
+            private final SolutionInitializer solutionInitializer = new FunctionInitializer(
+                    p -> new double[]{0, 0, 0, 0});
+
+
+            private SpaceDiscretization createSpaceDiscretization(Mesh mesh) {
+                CellNeighborCalculator cellNeighborCalculator = new FaceBasedCellNeighbors();
+                ConvectionResidual convectionResidual = new ConvectionResidual(
+                        new VKLimiterReconstructor(mesh, govEqn, cellNeighborCalculator),
+                        new RusanovRiemannSolver(govEqn), mesh);
+                DiffusionResidual diffusionResidual = new DiffusionResidual(mesh, govEqn);
+                CellGradientCalculator cellGradientCalculator = new LeastSquareCellGradient(mesh, cellNeighborCalculator);
+                return new SpaceDiscretization(mesh, cellGradientCalculator,
+                        List.of(convectionResidual, diffusionResidual));
+            }
+
+            private final FASMultigridTimeIntegrator timeIntegrator = new FASMultigridTimeIntegrator(mesh, 3, cycle,
+                    this::createSpaceDiscretization, (levelMesh, spaceDiscretization) ->
+                    new ExplicitEulerTimeIntegrator(levelMesh, spaceDiscretization,
+                            new LocalTimeStep(levelMesh, govEqn), govEqn.numVars()));
+
+            private final Convergence convergence = new Convergence(DoubleArray.newFilledArray(govEqn.numVars(), 1e-3));
+
+            private final Config config = createConfig();
+
+            private Config createConfig() {
+                Config config = new Config();
+                config.setMaxIterations(10000);
+                return config;
+            }
+
+            @Override
+            public String description() {
+                return "Lid Driven Cavity.";
+            }
+
+            @Override
+            public GoverningEquations govEqn() {
+                return govEqn;
+            }
+
+            @Override
+            public Mesh mesh() {
+                return mesh;
+            }
+
+            @Override
+            public SolutionInitializer solutionInitializer() {
+                return solutionInitializer;
+            }
+
+            @Override
+            public TimeIntegrator timeIntegrator() {
+                return timeIntegrator;
+            }
+
+
+            @Override
+            public Convergence convergence() {
+                return convergence;
+            }
+
+            @Override
+            public Config config() {
+                return config;
+            }
+        };
+    }
+
+    @Test
+    public void v_cycle() {
+        run(createProblem(Cycle.V), 180);
+    }
+
+    @Test
+    public void w_cycle() {
+        run(createProblem(Cycle.W), 72);
+    }
+
+    private void run(ProblemDefinition problem, int expectedIterations) {
+        Mesh mesh = problem.mesh();
+        problem.solutionInitializer().initialize(mesh, problem.govEqn());
+
+        TimeIntegrator timeIntegrator = problem.timeIntegrator();
+        timeIntegrator.setCourantNum(1.0);
+        Config config = problem.config();
+        Convergence convergence = problem.convergence();
+
+        int maxIter = config.getMaxIterations();
+        int iter = 0;
+        for (; iter < maxIter; iter++) {
+            timeIntegrator.updateCellAverages();
+            double[] residual = timeIntegrator.currentTotalResidual(config.getConvergenceNorm());
+            if (iter % 100 == 0) {
+                System.out.println(iter + ": " + Arrays.toString(residual));
+            }
+            if (convergence.hasConverged(residual)) {
+                System.out.println(iter + ": " + Arrays.toString(residual));
+                System.out.println("Converged.");
+                break;
+            }
+        }
+
+        new VTKWriter(mesh, problem.govEqn())
+                .write(new File("test/test_data/lid_driven_cavity2d_multigrid.vtu"));
+        Assert.assertEquals(expectedIterations, iter);
+    }
+}
\ No newline at end of file
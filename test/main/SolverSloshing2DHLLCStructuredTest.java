@@ -241,7 +241,7 @@ public class SolverSloshing2DHLLCStructuredTest {
                 double x = centroid.x;
                 double y = centroid.y;
                 double z = centroid.z;
-                double C = face.left.U[4];
+                double C = face.left.U(4);
                 writer.printf("%f %f %f %f\n", x, y, z, C);
             }
         } catch (IOException e) {
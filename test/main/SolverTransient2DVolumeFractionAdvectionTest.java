@@ -194,6 +194,7 @@ public class SolverTransient2DVolumeFractionAdvectionTest {
             for (int iter = 0; iter < config.getMaxIterations(); iter++) {
                 timeIntegrator.updateCellAverages();
                 setupInterfaceNormal(mesh);
+                timeIntegrator.cellAveragesModified();
                 double[] totalResidual = timeIntegrator.currentTotalResidual(config.getConvergenceNorm());
                 System.out.println(iter + ": " + Arrays.toString(totalResidual));
                 if (convergence.hasConverged(totalResidual)) {
@@ -245,19 +246,19 @@ public class SolverTransient2DVolumeFractionAdvectionTest {
     private final Vector zeroVector = new Vector(0, 0, 0);
 
     private void setupInterfaceNormal(Cell cell) {
-        Vector gradC = cell.gradientU[0];
+        Vector gradC = cell.gradientU()[0];
         double magGradC = gradC.mag();
 
         Vector interfaceNormal = magGradC > 1e-6 ? gradC.mult(1.0 / magGradC) : zeroVector;
 
-        cell.U[4] = interfaceNormal.x;
-        cell.U[5] = interfaceNormal.y;
-        cell.U[6] = interfaceNormal.z;
+        cell.setU(4, interfaceNormal.x);
+        cell.setU(5, interfaceNormal.y);
+        cell.setU(6, interfaceNormal.z);
     }
 
     private double[] saveC(Mesh mesh) {
         return mesh.cellStream()
-                .mapToDouble(cell -> cell.U[0])
+                .mapToDouble(cell -> cell.U(0))
                 .toArray();
     }
 
@@ -0,0 +1,85 @@
+package main.io;
+
+import main.mesh.Adjacency;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+import static main.util.TestHelper.assertThrows;
+import static org.junit.Assert.*;
+
+public class BinaryDataFileReaderTest {
+
+    @Test
+    public void read_written_parameters_and_blocks() throws FileNotFoundException {
+        File tempFile = new File("test/test_data/binaryDataFileTest.cfd");
+        double[] coordinates = {1.5, -2.25, 3.0, 1e-300, Double.MAX_VALUE, -0.0};
+        Adjacency rows = Adjacency.of(List.of(new int[]{9, 0, 1, 2, 3}, new int[]{5, 3, 2, 4}));
+
+        try (BinaryDataFileWriter writer = new BinaryDataFileWriter(tempFile)) {
+            writer.writeParameter("mode", "BINARY");
+            writer.writeParameter("points", 2);
+            writer.writeCoordinates(coordinates);
+            writer.writeParameter("elements", 2);
+            writer.writeIntRows(rows);
+            writer.writeParameter("bname", "Blue Boundary");
+        }
+
+        try (MeshFileReader reader = MeshFileReader.open(tempFile, "%")) {
+            assertTrue(reader instanceof BinaryDataFileReader);
+            assertEquals("BINARY", reader.readParameter("mode"));
+            assertEquals(2, reader.readIntParameter("points"));
+            assertArrayEquals(coordinates, reader.readCoordinates(2), 0.0);
+            assertEquals(2, reader.readIntParameter("elements"));
+            Adjacency readRows = reader.readIntRows(2);
+            assertArrayEquals(rows.start, readRows.start);
+            assertArrayEquals(rows.entries, readRows.entries);
+            assertEquals("Blue Boundary", reader.readParameter("bname"));
+            assertThrows(IllegalArgumentException.class, () -> reader.readParameter("boundaries"));
+        }
+
+        if (!tempFile.delete()) System.out.println("Unable to delete temporary file: " + tempFile);
+    }
+
+    @Test
+    public void ascii_files_are_opened_with_DataFileReader() throws IOException {
+        File tempFile = new File("test/test_data/binaryDataFileTest.cfd");
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("% Comment line\n" +
+                    "dimension = 2\n" +
+                    "mode = ASCII  % ASCII or BINARY\n" +
+                    "points = 1\n" +
+                    "1.0 2.0 3.0\n");
+        }
+
+        try (MeshFileReader reader = MeshFileReader.open(tempFile, "%")) {
+            assertTrue(reader instanceof DataFileReader);
+            assertEquals(2, reader.readIntParameter("dimension"));
+            assertEquals("ASCII", reader.readParameter("mode"));
+            assertEquals(1, reader.readIntParameter("points"));
+            assertArrayEquals(new double[]{1.0, 2.0, 3.0}, reader.readCoordinates(1), 0.0);
+        }
+
+        if (!tempFile.delete()) System.out.println("Unable to delete temporary file: " + tempFile);
+    }
+
+    @Test
+    public void reading_past_the_end_of_file_throws_exception() throws FileNotFoundException {
+        File tempFile = new File("test/test_data/binaryDataFileTest.cfd");
+        try (BinaryDataFileWriter writer = new BinaryDataFileWriter(tempFile)) {
+            writer.writeParameter("points", 2);
+            writer.writeCoordinates(new double[]{1, 2, 3});
+        }
+
+        try (MeshFileReader reader = new BinaryDataFileReader(tempFile, "%")) {
+            assertEquals(2, reader.readIntParameter("points"));
+            assertThrows(IllegalStateException.class, () -> reader.readCoordinates(2));
+        }
+
+        if (!tempFile.delete()) System.out.println("Unable to delete temporary file: " + tempFile);
+    }
+}
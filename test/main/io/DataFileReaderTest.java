@@ -1,15 +1,23 @@
 package main.io;
 
 import main.geom.Point;
+import main.mesh.Adjacency;
+import org.junit.Assume;
 import org.junit.Test;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Random;
 
 import static main.util.TestHelper.assertThrows;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class DataFileReaderTest {
 
@@ -66,4 +74,149 @@ public class DataFileReaderTest {
 
         if (!tempFile.delete()) System.out.println("Unable to delete temporary file: " + tempFile);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void bulk_read_of_coordinates_and_rows() throws IOException {
+        File tempFile = new File("test/test_data/dataFileTest.cfd");
+
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            String text = "points = 4\n" +
+                    "222.86   427.14  0.0\n" +
+                    "% Comment line\n" +
+                    "\n" +
+                    "  -2.000000000000000\t5.000000000000000    1.5e-3  % comment\n" +
+                    "0.1 +7 -0.0\r\n" +
+                    "1.2345678901234567890 1E300 .5\n" +
+                    "elements = 3\n" +
+                    "9    0    1   2    3\n" +
+                    "5    3    2   4   % triangle\n" +
+                    "\n" +
+                    "3 -7 2147483647\n" +
+                    "line=empty";
+            writer.write(text);
+        }
+        DataFileReader fileReader = new DataFileReader(tempFile, "%");
+
+        assertEquals(4, fileReader.readIntParameter("points"));
+        assertArrayEquals(new double[]{
+                222.86, 427.14, 0.0,
+                -2.0, 5.0, 1.5e-3,
+                0.1, 7.0, -0.0,
+                Double.parseDouble("1.2345678901234567890"), 1e300, 0.5
+        }, fileReader.readCoordinates(4), 0.0);
+        assertEquals(3, fileReader.readIntParameter("elements"));
+        Adjacency rows = fileReader.readIntRows(3);
+        assertArrayEquals(new int[]{0, 5, 9, 12}, rows.start);
+        assertArrayEquals(new int[]{9, 0, 1, 2, 3, 5, 3, 2, 4, 3, -7, 2147483647}, rows.entries);
+        assertEquals("empty", fileReader.readParameter("line"));
+
+        if (!tempFile.delete()) System.out.println("Unable to delete temporary file: " + tempFile);
+    }
+
+    @Test
+    public void bulk_read_of_many_lines_is_same_as_Double_parseDouble() throws IOException {
+        File tempFile = new File("test/test_data/dataFileTest.cfd");
+        int numPoints = 50000;
+        Random random = new Random(123);
+        double[] expected = new double[numPoints * 3];
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("points = " + numPoints + "\n");
+            for (int i = 0; i < numPoints; i++) {
+                String[] tokens = {
+                        String.valueOf(random.nextDouble() * 1000 - 500),
+                        String.format(Locale.ROOT, "%.15f", random.nextGaussian()),
+                        String.format(Locale.ROOT, "%.6e", random.nextDouble() * 1e-5)};
+                for (int d = 0; d < 3; d++) {
+                    expected[i * 3 + d] = Double.parseDouble(tokens[d]);
+                }
+                writer.write(String.join("   ", tokens) + "\n");
+            }
+            writer.write("end = 1\n");
+        }
+        DataFileReader fileReader = new DataFileReader(tempFile, "%");
+
+        assertEquals(numPoints, fileReader.readIntParameter("points"));
+        assertArrayEquals(expected, fileReader.readCoordinates(numPoints), 0.0);
+        assertEquals(1, fileReader.readIntParameter("end"));
+
+        if (!tempFile.delete()) System.out.println("Unable to delete temporary file: " + tempFile);
+    }
+
+    @Test
+    public void single_line_and_bulk_reads_skip_the_same_comments() throws IOException {
+        File tempFile = new File("test/test_data/dataFileTest.cfd");
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("points = 3 | number of points\n" +
+                    "| comment before the block\n" +
+                    "1.5 2 3 | first point\n" +
+                    "  | indented comment inside the block\n" +
+                    "\n" +
+                    "4 5.25 6|no space before the comment\n" +
+                    "| 10 11 12 numbers in a comment\n" +
+                    "7 8 9\n" +
+                    "elements = 2\n" +
+                    "1 2 3 | first row\n" +
+                    "| 4 5\n" +
+                    "6 7 |\n");
+        }
+
+        double[] expectedCoordinates = {1.5, 2, 3, 4, 5.25, 6, 7, 8, 9};
+        int[] expectedEntries = {1, 2, 3, 6, 7};
+        try (DataFileReader bulkReader = new DataFileReader(tempFile, "|")) {
+            assertEquals(3, bulkReader.readIntParameter("points"));
+            assertArrayEquals(expectedCoordinates, bulkReader.readCoordinates(3), 0.0);
+            assertEquals(2, bulkReader.readIntParameter("elements"));
+            Adjacency rows = bulkReader.readIntRows(2);
+            assertArrayEquals(new int[]{0, 3, 5}, rows.start);
+            assertArrayEquals(expectedEntries, rows.entries);
+        }
+        try (DataFileReader lineReader = new DataFileReader(tempFile, "|")) {
+            assertEquals(3, lineReader.readIntParameter("points"));
+            double[] coordinates = new double[9];
+            for (int i = 0; i < 3; i++) {
+                Point p = lineReader.readXYZ();
+                coordinates[i * 3] = p.x;
+                coordinates[i * 3 + 1] = p.y;
+                coordinates[i * 3 + 2] = p.z;
+            }
+            assertArrayEquals(expectedCoordinates, coordinates, 0.0);
+            assertEquals(2, lineReader.readIntParameter("elements"));
+            assertArrayEquals(new int[]{1, 2, 3}, lineReader.readIntArray());
+            assertArrayEquals(new int[]{6, 7}, lineReader.readIntArray());
+        }
+
+        if (!tempFile.delete()) System.out.println("Unable to delete temporary file: " + tempFile);
+    }
+
+    @Test
+    public void close_releases_the_mapping_of_the_file() throws IOException {
+        File maps = new File("/proc/self/maps");
+        Assume.assumeTrue(maps.canRead()); // only where the mappings of the process can be listed
+        File tempFile = new File("test/test_data/dataFileTest.cfd");
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("points = 1\n1 2 3\n");
+        }
+        String path = tempFile.getCanonicalPath();
+
+        DataFileReader fileReader = new DataFileReader(tempFile, "%");
+        assertEquals(1, fileReader.readIntParameter("points"));
+        assertTrue(Files.readString(maps.toPath()).contains(path));
+        fileReader.close();
+        assertFalse(Files.readString(maps.toPath()).contains(path));
+
+        if (!tempFile.delete()) System.out.println("Unable to delete temporary file: " + tempFile);
+    }
+
+    @Test
+    public void bulk_read_past_the_end_of_file_throws_exception() throws IOException {
+        File tempFile = new File("test/test_data/dataFileTest.cfd");
+        try (FileWriter writer = new FileWriter(tempFile)) {
+            writer.write("1 2 3\n4 5 6\n");
+        }
+        DataFileReader fileReader = new DataFileReader(tempFile, "%");
+
+        assertThrows(NoSuchElementException.class, () -> fileReader.readCoordinates(3));
+
+        if (!tempFile.delete()) System.out.println("Unable to delete temporary file: " + tempFile);
+    }
+}
@@ -0,0 +1,72 @@
+package main.io;
+
+import main.mesh.Face;
+import main.mesh.Mesh;
+import main.mesh.factory.Structured1DMesh;
+import main.mesh.factory.Structured2DMesh;
+import main.mesh.factory.Structured3DMesh;
+import main.mesh.factory.Unstructured2DMesh;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class MeshFileConverterTest {
+
+    private interface MeshLoader {
+        Mesh load(File file) throws FileNotFoundException;
+    }
+
+    private void assertSameMesh(String asciiFileName, MeshLoader loader) throws FileNotFoundException {
+        File asciiFile = new File("test/test_data/" + asciiFileName);
+        File binaryFile = new File("test/test_data/binary_" + asciiFileName);
+        MeshFileConverter.toBinary(asciiFile, binaryFile);
+
+        Mesh expected = loader.load(asciiFile);
+        Mesh actual = loader.load(binaryFile);
+
+        assertEquals(expected.nodes().size(), actual.nodes().size());
+        for (int i = 0; i < expected.nodes().size(); i++) {
+            assertEquals(expected.nodes().get(i).x, actual.nodes().get(i).x, 0.0);
+            assertEquals(expected.nodes().get(i).y, actual.nodes().get(i).y, 0.0);
+            assertEquals(expected.nodes().get(i).z, actual.nodes().get(i).z, 0.0);
+        }
+        assertArrayEquals(expected.geometry().cellVolume, actual.geometry().cellVolume, 0.0);
+        assertArrayEquals(expected.geometry().cellCentroid, actual.geometry().cellCentroid, 0.0);
+        assertArrayEquals(expected.geometry().faceArea, actual.geometry().faceArea, 0.0);
+        assertArrayEquals(expected.geometry().faceNormal, actual.geometry().faceNormal, 0.0);
+        assertEquals(expected.boundaries().size(), actual.boundaries().size());
+        for (int i = 0; i < expected.boundaries().size(); i++) {
+            assertEquals(expected.boundaries().get(i).name, actual.boundaries().get(i).name);
+            assertArrayEquals(expected.boundaries().get(i).faces.stream().mapToInt(Face::index).toArray(),
+                    actual.boundaries().get(i).faces.stream().mapToInt(Face::index).toArray());
+        }
+
+        if (!binaryFile.delete()) System.out.println("Unable to delete temporary file: " + binaryFile);
+    }
+
+    @Test
+    public void unstructured_2d_binary_mesh_is_same_as_ascii_mesh() throws FileNotFoundException {
+        assertSameMesh("mesh_unstructured_2d.cfdu", file -> new Unstructured2DMesh(file, 4, Map.of()));
+    }
+
+    @Test
+    public void structured_1d_binary_mesh_is_same_as_ascii_mesh() throws FileNotFoundException {
+        assertSameMesh("mesh_structured_1d.cfds", file -> new Structured1DMesh(file, 1, null, null));
+    }
+
+    @Test
+    public void structured_2d_binary_mesh_is_same_as_ascii_mesh() throws FileNotFoundException {
+        assertSameMesh("mesh_structured_2d.cfds", file -> new Structured2DMesh(file, 4, null, null, null, null));
+    }
+
+    @Test
+    public void structured_3d_binary_mesh_is_same_as_ascii_mesh() throws FileNotFoundException {
+        assertSameMesh("mesh_structured_3d.cfds",
+                file -> new Structured3DMesh(file, 2, null, null, null, null, null, null));
+    }
+}
@@ -0,0 +1,340 @@
+package main.io;
+
+import main.geom.Vector;
+import main.mesh.*;
+import main.mesh.factory.Unstructured2DMesh;
+import main.physics.bc.BoundaryCondition;
+import main.physics.bc.ExtrapolatedBC;
+import main.physics.bc.WallBC;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
+import main.physics.goveqn.factory.ScalarAdvection;
+import main.solver.*;
+import main.solver.convection.ConvectionResidual;
+import main.solver.convection.reconstructor.VKLimiterReconstructor;
+import main.solver.convection.riemann.RusanovRiemannSolver;
+import main.solver.diffusion.DiffusionResidual;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class PreprocessingCacheTest {
+    private final File meshFile = new File("test/test_data/mesh_unstructured_2d.cfdu");
+    private final File cacheDirectory = new File("test/test_data/preprocessing_cache");
+
+    @After
+    public void deleteCache() throws IOException {
+        if (!cacheDirectory.exists()) return;
+        try (Stream<Path> files = Files.walk(cacheDirectory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private Path entry(String name) throws IOException {
+        try (Stream<Path> files = Files.walk(cacheDirectory.toPath())) {
+            return files.filter(path -> path.getFileName().toString().equals(name + ".bin"))
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    private Mesh createMesh() throws FileNotFoundException {
+        return new Unstructured2DMesh(meshFile, 2, Map.of());
+    }
+
+    private PreprocessingCache createCache() throws IOException {
+        return new PreprocessingCache(cacheDirectory, meshFile, "Unstructured2DMesh");
+    }
+
+    @Test
+    public void entries_are_computed_once_and_then_read_from_the_cache() throws IOException {
+        AtomicInteger numComputed = new AtomicInteger();
+        double[] doubles = {1.5, -2.0, Double.MIN_VALUE, Double.NaN};
+        Adjacency adjacency = Adjacency.of(List.of(new int[]{3, 1}, new int[]{}, new int[]{7}));
+
+        for (int run = 0; run < 2; run++) {
+            PreprocessingCache cache = createCache();
+            double[] cachedDoubles = cache.doubles("doubles", doubles.length, () -> {
+                numComputed.incrementAndGet();
+                return doubles;
+            });
+            Adjacency cachedAdjacency = cache.adjacency("adjacency", 3, 8, () -> {
+                numComputed.incrementAndGet();
+                return adjacency;
+            });
+
+            assertArrayEquals(doubles, cachedDoubles, 0.0);
+            assertArrayEquals(adjacency.start, cachedAdjacency.start);
+            assertArrayEquals(adjacency.entries, cachedAdjacency.entries);
+        }
+
+        assertEquals(2, numComputed.get());
+    }
+
+    @Test
+    public void other_options_have_separate_entries() throws IOException {
+        PreprocessingCache cache = createCache();
+        cache.doubles("doubles", 1, () -> new double[]{1.0});
+
+        PreprocessingCache renumberedCache = new PreprocessingCache(cacheDirectory, meshFile,
+                "Unstructured2DMesh " + CellOrdering.REVERSE_CUTHILL_MCKEE);
+        double[] doubles = renumberedCache.doubles("doubles", 1, () -> new double[]{2.0});
+
+        assertArrayEquals(new double[]{2.0}, doubles, 0.0);
+    }
+
+    @Test
+    public void truncated_entry_is_computed_again_and_overwritten() throws IOException {
+        PreprocessingCache cache = createCache();
+        cache.doubles("doubles", 2, () -> new double[]{1.0, 2.0});
+        cache.adjacency("adjacency", 2, 2, () -> Adjacency.of(List.of(new int[]{1}, new int[]{0})));
+        for (String name : List.of("doubles", "adjacency")) {
+            Path file = entry(name);
+            byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        }
+
+        assertArrayEquals(new double[]{3.0, 4.0},
+                cache.doubles("doubles", 2, () -> new double[]{3.0, 4.0}), 0.0);
+        assertArrayEquals(new int[]{0},
+                cache.adjacency("adjacency", 2, 2, () -> Adjacency.of(List.of(new int[]{0}, new int[]{}))).entries);
+
+        assertArrayEquals(new double[]{3.0, 4.0}, cache.doubles("doubles", 2, () -> {
+            throw new AssertionError("Overwritten entry is not read.");
+        }), 0.0);
+        assertArrayEquals(new int[]{0}, cache.adjacency("adjacency", 2, 2, () -> {
+            throw new AssertionError("Overwritten entry is not read.");
+        }).entries);
+    }
+
+    @Test
+    public void entry_with_other_lengths_is_computed_again() throws IOException {
+        PreprocessingCache cache = createCache();
+        cache.doubles("doubles", 1, () -> new double[]{1.0});
+        cache.adjacency("adjacency", 1, 2, () -> Adjacency.of(List.of(new int[]{1})));
+
+        assertArrayEquals(new double[]{2.0, 3.0},
+                cache.doubles("doubles", 2, () -> new double[]{2.0, 3.0}), 0.0);
+        Adjacency adjacency = cache.adjacency("adjacency", 2, 2,
+                () -> Adjacency.of(List.of(new int[]{1}, new int[]{0})));
+        assertArrayEquals(new int[]{0, 1, 2}, adjacency.start);
+    }
+
+    @Test
+    public void entry_with_ids_outside_the_mesh_is_computed_again() throws IOException {
+        PreprocessingCache cache = createCache();
+        cache.adjacency("adjacency", 1, 4, () -> Adjacency.of(List.of(new int[]{3})));
+
+        Adjacency adjacency = cache.adjacency("adjacency", 1, 3, () -> Adjacency.of(List.of(new int[]{0})));
+
+        assertArrayEquals(new int[]{0}, adjacency.entries);
+    }
+
+    @Test
+    public void disabled_cache_always_computes() {
+        PreprocessingCache cache = PreprocessingCache.disabled();
+        cache.doubles("doubles", 1, () -> new double[]{1.0});
+
+        assertArrayEquals(new double[]{2.0}, cache.doubles("doubles", 1, () -> new double[]{2.0}), 0.0);
+        assertFalse(cacheDirectory.exists());
+    }
+
+    @Test
+    public void cell_gradients_with_cached_coefficients_are_same() throws IOException {
+        Random random = new Random(35);
+        double[][] gradients = new double[2][];
+        for (int run = 0; run < 2; run++) {
+            Mesh mesh = createMesh();
+            random.setSeed(35);
+            mesh.cells().forEach(cell -> {
+                cell.setU(0, random.nextDouble());
+                cell.setU(1, random.nextDouble());
+            });
+            PreprocessingCache cache = createCache();
+            new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors(), cache).setupAllCells();
+
+            gradients[run] = mesh.cells().stream()
+                    .flatMap(cell -> Stream.of(cell.gradientU()))
+                    .flatMapToDouble(g -> Stream.of(g.x, g.y, g.z).mapToDouble(Double::doubleValue))
+                    .toArray();
+        }
+
+        assertArrayEquals(gradients[0], gradients[1], 0.0);
+    }
+
+    @Test
+    public void mesh_is_constructed_once_and_then_restored_from_the_cache() throws IOException {
+        AtomicInteger numConstructed = new AtomicInteger();
+        BoundaryCondition bc = new ExtrapolatedBC(new ScalarAdvection(1, 0, 0));
+        Map<String, BoundaryCondition> bcs = Map.of("Blue Boundary", bc, "Green Boundary", bc, "Red Boundary", bc);
+        Mesh constructed = createCache().mesh(1, bcs, () -> {
+            numConstructed.incrementAndGet();
+            return new Unstructured2DMesh(meshFile, 1, bcs);
+        });
+        Mesh restored = createCache().mesh(1, bcs, () -> {
+            throw new AssertionError("The cached mesh is not constructed again.");
+        });
+
+        assertEquals(1, numConstructed.get());
+        assertTrue(restored instanceof CachedMesh);
+        assertSameMesh(constructed, restored);
+        for (Boundary boundary : restored.boundaries()) {
+            assertSame(bc, boundary.bc().orElseThrow());
+        }
+    }
+
+    @Test
+    public void renumbered_mesh_is_restored_with_its_numbering() throws IOException {
+        PreprocessingCache cache = new PreprocessingCache(cacheDirectory, meshFile,
+                "Unstructured2DMesh " + CellOrdering.REVERSE_CUTHILL_MCKEE);
+        Mesh constructed = cache.mesh(2, Map.of(),
+                () -> new RenumberedMesh(createMesh(), CellOrdering.REVERSE_CUTHILL_MCKEE));
+
+        assertSameMesh(constructed, cache.mesh(2, Map.of(), () -> {
+            throw new AssertionError("The cached mesh is not constructed again.");
+        }));
+    }
+
+    @Test
+    public void truncated_mesh_entry_is_constructed_again() throws IOException {
+        PreprocessingCache cache = createCache();
+        cache.mesh(2, Map.of(), this::createMesh);
+        Path file = entry("mesh");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        AtomicInteger numConstructed = new AtomicInteger();
+        Mesh mesh = cache.mesh(2, Map.of(), () -> {
+            numConstructed.incrementAndGet();
+            return createMesh();
+        });
+
+        assertEquals(1, numConstructed.get());
+        assertArrayEquals(bytes, Files.readAllBytes(file));
+        assertSameMesh(mesh, cache.mesh(2, Map.of(), this::createMesh));
+    }
+
+    @Test
+    public void residuals_on_the_restored_mesh_are_same() throws IOException {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.0, 0.01,
+                new Vector(0, 0, 0));
+        BoundaryCondition wall = new WallBC(govEqn, new Vector(0, 0, 0));
+        BoundaryCondition lid = new WallBC(govEqn, new Vector(1, 0, 0));
+        Map<String, BoundaryCondition> bcs = Map.of("Blue Boundary", wall, "Green Boundary", wall,
+                "Red Boundary", lid);
+
+        Random random = new Random(35);
+        double[][] residuals = new double[2][];
+        for (int run = 0; run < 2; run++) {
+            PreprocessingCache cache = createCache();
+            Mesh mesh = cache.mesh(govEqn.numVars(), bcs,
+                    () -> new Unstructured2DMesh(meshFile, govEqn.numVars(), bcs));
+            random.setSeed(35);
+            mesh.cells().forEach(cell -> {
+                for (int var = 0; var < govEqn.numVars(); var++) {
+                    cell.setU(var, random.nextDouble());
+                }
+            });
+            CellNeighborCalculator neighbors = new NodeBasedCellNeighbors();
+            SpaceDiscretization spaceDiscretization = new SpaceDiscretization(mesh,
+                    new LeastSquareCellGradient(mesh, neighbors, cache), List.of(
+                    new ConvectionResidual(new VKLimiterReconstructor(mesh, govEqn, neighbors, cache),
+                            new RusanovRiemannSolver(govEqn), mesh),
+                    new DiffusionResidual(mesh, govEqn)), cache);
+            spaceDiscretization.setResiduals();
+
+            residuals[run] = mesh.cells().stream()
+                    .flatMapToDouble(cell -> Arrays.stream(cell.residual()))
+                    .toArray();
+        }
+
+        assertArrayEquals(residuals[0], residuals[1], 0.0);
+    }
+
+    private static void assertSameMesh(Mesh expected, Mesh actual) {
+        Connectivity c1 = expected.connectivity();
+        Connectivity c2 = actual.connectivity();
+        assertEquals(c1.numCells, c2.numCells);
+        assertEquals(c1.numInternalFaces, c2.numInternalFaces);
+        assertEquals(c1.numFaces, c2.numFaces);
+        assertEquals(c1.numNodes, c2.numNodes);
+        assertSameAdjacency(c1.cellFaces, c2.cellFaces);
+        assertArrayEquals(c1.cellFaceSigns, c2.cellFaceSigns);
+        assertSameAdjacency(c1.cellNodes, c2.cellNodes);
+        assertSameAdjacency(c1.nodeCells, c2.nodeCells);
+        assertArrayEquals(c1.faceLeft, c2.faceLeft);
+        assertArrayEquals(c1.faceRight, c2.faceRight);
+        assertSameAdjacency(c1.faceColors(), c2.faceColors());
+        assertSameAdjacency(c1.cellColors(), c2.cellColors());
+        assertSameAdjacency(c1.faceNeighbors(), c2.faceNeighbors());
+        assertSameAdjacency(c1.nodeNeighbors(), c2.nodeNeighbors());
+
+        for (int i = 0; i < c1.numNodes; i++) {
+            assertEquals(c1.nodes[i].location().toString(), c2.nodes[i].location().toString());
+        }
+        for (int i = 0; i < c1.cells.length; i++) {
+            Cell cell1 = c1.cells[i];
+            Cell cell2 = c2.cells[i];
+            assertEquals(cell1.index(), cell2.index());
+            assertEquals(cell1.vtkType, cell2.vtkType);
+            assertEquals(cell1.shape.volume, cell2.shape.volume, 0.0);
+            assertEquals(cell1.shape.centroid.toString(), cell2.shape.centroid.toString());
+            assertArrayEquals(ids(c1, cell1.nodes), ids(c2, cell2.nodes));
+            assertArrayEquals(cell1.faces.stream().mapToInt(Face::index).toArray(),
+                    cell2.faces.stream().mapToInt(Face::index).toArray());
+        }
+        for (int i = 0; i < c1.numFaces; i++) {
+            Face face1 = c1.faces[i];
+            Face face2 = c2.faces[i];
+            assertEquals(face1.vtkType, face2.vtkType);
+            assertArrayEquals(ids(c1, face1.nodes), ids(c2, face2.nodes));
+            assertEquals(face1.surface.unitTangent1().toString(), face2.surface.unitTangent1().toString());
+            assertEquals(face1.surface.unitTangent2().toString(), face2.surface.unitTangent2().toString());
+        }
+
+        GeometryStore g1 = expected.geometry();
+        GeometryStore g2 = actual.geometry();
+        assertArrayEquals(g1.cellVolume, g2.cellVolume, 0.0);
+        assertArrayEquals(g1.cellCentroid, g2.cellCentroid, 0.0);
+        assertArrayEquals(g1.faceArea, g2.faceArea, 0.0);
+        assertArrayEquals(g1.faceCentroid, g2.faceCentroid, 0.0);
+        assertArrayEquals(g1.faceNormal, g2.faceNormal, 0.0);
+        assertArrayEquals(g1.faceTangent1, g2.faceTangent1, 0.0);
+        assertArrayEquals(g1.faceTangent2, g2.faceTangent2, 0.0);
+        assertArrayEquals(g1.faceAreaNormal, g2.faceAreaNormal, 0.0);
+
+        assertEquals(expected.boundaries().size(), actual.boundaries().size());
+        for (int b = 0; b < expected.boundaries().size(); b++) {
+            Boundary boundary1 = expected.boundaries().get(b);
+            Boundary boundary2 = actual.boundaries().get(b);
+            assertEquals(boundary1.name, boundary2.name);
+            assertArrayEquals(boundary1.faces.stream().mapToInt(Face::index).toArray(),
+                    boundary2.faces.stream().mapToInt(Face::index).toArray());
+        }
+    }
+
+    private static void assertSameAdjacency(Adjacency expected, Adjacency actual) {
+        assertArrayEquals(expected.start, actual.start);
+        assertArrayEquals(expected.entries, actual.entries);
+    }
+
+    private static int[] ids(Connectivity connectivity, Node[] nodes) {
+        List<Node> allNodes = Arrays.asList(connectivity.nodes);
+        return Arrays.stream(nodes)
+                .mapToInt(allNodes::indexOf)
+                .toArray();
+    }
+}
@@ -24,7 +24,7 @@ public class VTKWriterTest {
 
         Random rnd = new Random(86);
         mesh.cellStream()
-                .forEach(cell -> Arrays.fill(cell.U, rnd.nextDouble()));
+                .forEach(cell -> Arrays.fill(cell.U(), rnd.nextDouble()));
 
         vtkWriter.write(vtkFile);
     }
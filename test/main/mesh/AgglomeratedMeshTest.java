@@ -0,0 +1,73 @@
+package main.mesh;
+
+import main.geom.Vector;
+import main.mesh.factory.Unstructured2DMesh;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class AgglomeratedMeshTest {
+
+    private Mesh createMesh() throws FileNotFoundException {
+        return new Unstructured2DMesh(new File("test/test_data/mesh_diamond_airfoil_unstructured_2d.cfdu"), 3,
+                Map.of());
+    }
+
+    @Test
+    public void clusters_conserve_the_volume_and_are_connected() throws FileNotFoundException {
+        Mesh mesh = createMesh();
+        AgglomeratedMesh coarseMesh = new AgglomeratedMesh(mesh);
+        int[] coarseCells = coarseMesh.coarseCellIndices();
+        int numCoarseCells = coarseMesh.cells().size();
+        assertTrue(numCoarseCells < mesh.cells().size() / 3);
+
+        double[] volumes = new double[numCoarseCells];
+        int[] sizes = new int[numCoarseCells];
+        for (Cell cell : mesh.cells()) {
+            volumes[coarseCells[cell.index()]] += cell.shape.volume;
+            sizes[coarseCells[cell.index()]]++;
+        }
+        // the faces inside a cluster connect its cells
+        int[] internalFaces = new int[numCoarseCells];
+        for (Face face : mesh.internalFaces()) {
+            if (coarseCells[face.left.index()] == coarseCells[face.right.index()])
+                internalFaces[coarseCells[face.left.index()]]++;
+        }
+        for (Cell coarseCell : coarseMesh.cells()) {
+            int c = coarseCell.index();
+            assertEquals(volumes[c], coarseCell.shape.volume, 1e-15);
+            assertTrue(sizes[c] >= 2);
+            assertTrue(internalFaces[c] >= sizes[c] - 1);
+        }
+    }
+
+    @Test
+    public void coarse_cells_are_closed_by_their_faces() throws FileNotFoundException {
+        Mesh mesh = createMesh();
+        Mesh coarseMesh = new AgglomeratedMesh(new AgglomeratedMesh(mesh));
+
+        assertEquals(mesh.boundaries().size(), coarseMesh.boundaries().size());
+        for (int b = 0; b < mesh.boundaries().size(); b++) {
+            assertEquals(mesh.boundaries().get(b).name, coarseMesh.boundaries().get(b).name);
+            assertEquals(mesh.boundaries().get(b).faces.size(), coarseMesh.boundaries().get(b).faces.size());
+        }
+
+        for (Cell cell : coarseMesh.cells()) {
+            Vector sum = new Vector(0, 0, 0);
+            for (Face face : cell.faces) {
+                Vector areaVector = face.surface.unitNormal().mult(face.surface.area);
+                sum = sum.add(face.left == cell ? areaVector : areaVector.mult(-1));
+            }
+            assertEquals(0.0, sum.mag(), 1e-12);
+        }
+
+        Connectivity connectivity = coarseMesh.connectivity();
+        for (Face face : coarseMesh.internalFaces()) {
+            assertTrue(connectivity.faceLeft[face.index()] != connectivity.faceRight[face.index()]);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package main.mesh;
+
+import main.mesh.factory.Unstructured2DMesh;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ConnectivityTest {
+
+    private Mesh createMesh() throws FileNotFoundException {
+        return new Unstructured2DMesh(new File("test/test_data/mesh_unstructured_2d.cfdu"), 3, Map.of());
+    }
+
+    @Test
+    public void adjacency_of_rows() {
+        Adjacency adjacency = Adjacency.of(List.of(new int[]{4, 2}, new int[0], new int[]{7}));
+
+        assertEquals(3, adjacency.numRows());
+        assertArrayEquals(new int[]{0, 2, 2, 3}, adjacency.start);
+        assertArrayEquals(new int[]{4, 2, 7}, adjacency.entries);
+        assertEquals(0, adjacency.size(1));
+        assertArrayEquals(new int[]{7}, adjacency.row(2));
+    }
+
+    @Test
+    public void ghost_cells_follow_the_interior_cells() throws FileNotFoundException {
+        Mesh mesh = createMesh();
+        Connectivity connectivity = mesh.connectivity();
+
+        int numBoundaryFaces = mesh.boundaryStream().mapToInt(b -> b.faces.size()).sum();
+        assertEquals(mesh.cells().size() + numBoundaryFaces, connectivity.cells.length);
+
+        for (Boundary boundary : mesh.boundaries()) {
+            for (Face face : boundary.faces) {
+                int ghostId = connectivity.ghostId(face.index());
+                assertSame(face.right, connectivity.cells[ghostId]);
+                assertEquals(ghostId, connectivity.id(face.right));
+                assertEquals(ghostId, connectivity.faceRight[face.index()]);
+                assertEquals(face.left.index(), connectivity.faceLeft[face.index()]);
+            }
+        }
+    }
+
+    @Test
+    public void cell_faces_keep_the_order_and_orientation() throws FileNotFoundException {
+        Mesh mesh = createMesh();
+        Connectivity connectivity = mesh.connectivity();
+
+        for (Cell cell : mesh.cells()) {
+            int i = cell.index();
+            assertEquals(cell.faces.size(), connectivity.cellFaces.size(i));
+            for (int f = 0; f < cell.faces.size(); f++) {
+                Face face = cell.faces.get(f);
+                int k = connectivity.cellFaces.start[i] + f;
+                assertEquals(face.index(), connectivity.cellFaces.entries[k]);
+                assertEquals(face.left == cell ? 1 : -1, connectivity.cellFaceSigns[k]);
+            }
+        }
+    }
+
+    @Test
+    public void node_cells_keep_the_order_of_the_node_neighbors() throws FileNotFoundException {
+        Mesh mesh = createMesh();
+        Connectivity connectivity = mesh.connectivity();
+
+        for (int n = 0; n < mesh.nodes().size(); n++) {
+            Node node = mesh.nodes().get(n);
+            int[] row = connectivity.nodeCells.row(n);
+            assertEquals(node.neighbors.size(), row.length);
+            for (int i = 0; i < row.length; i++) {
+                assertSame(node.neighbors.get(i), connectivity.cells[row[i]]);
+            }
+        }
+    }
+
+    @Test
+    public void neighbor_stencils_are_distinct_and_exclude_the_cell() throws FileNotFoundException {
+        Mesh mesh = createMesh();
+        Connectivity connectivity = mesh.connectivity();
+
+        // cell 1 shares faces with the cells 0, 2 and 5
+        int[] faceNeighbors = connectivity.faceNeighbors().row(1);
+        assertEquals(3, faceNeighbors.length);
+        assertTrue(Arrays.stream(faceNeighbors).allMatch(id -> id == 0 || id == 2 || id == 5));
+
+        // cell 1 shares nodes with 5 interior cells and 4 ghost cells
+        int[] nodeNeighbors = connectivity.nodeNeighbors().row(1);
+        assertEquals(9, nodeNeighbors.length);
+        assertEquals(9, Arrays.stream(nodeNeighbors).distinct().filter(id -> id != 1).count());
+
+        assertSame(connectivity.faceNeighbors(), connectivity.faceNeighbors());
+    }
+
+    @Test
+    public void faces_of_a_color_share_no_interior_cell() throws FileNotFoundException {
+        Mesh mesh = createMesh();
+        Connectivity connectivity = mesh.connectivity();
+        Adjacency faceColors = connectivity.faceColors();
+
+        assertEquals(connectivity.numFaces, faceColors.entries.length);
+        int[] sortedFaces = faceColors.entries.clone();
+        Arrays.sort(sortedFaces);
+        for (int face = 0; face < connectivity.numFaces; face++) {
+            assertEquals(face, sortedFaces[face]);
+        }
+
+        for (int color = 0; color < faceColors.numRows(); color++) {
+            assertTrue(faceColors.size(color) > 0);
+            boolean[] touched = new boolean[connectivity.numCells];
+            for (int face : faceColors.row(color)) {
+                for (int cell : new int[]{connectivity.faceLeft[face], connectivity.faceRight[face]}) {
+                    if (cell >= connectivity.numCells) continue;
+                    assertFalse(touched[cell]);
+                    touched[cell] = true;
+                }
+            }
+        }
+        assertSame(faceColors, connectivity.faceColors());
+    }
+
+    @Test
+    public void cells_of_a_color_share_no_face() throws FileNotFoundException {
+        Mesh mesh = createMesh();
+        Connectivity connectivity = mesh.connectivity();
+        Adjacency cellColors = connectivity.cellColors();
+
+        int[] cellColor = new int[connectivity.numCells];
+        Arrays.fill(cellColor, -1);
+        for (int color = 0; color < cellColors.numRows(); color++) {
+            assertTrue(cellColors.size(color) > 0);
+            for (int cell : cellColors.row(color)) {
+                assertEquals(-1, cellColor[cell]);
+                cellColor[cell] = color;
+            }
+        }
+        assertEquals(connectivity.numCells, cellColors.entries.length);
+
+        for (int face = 0; face < connectivity.numInternalFaces; face++) {
+            assertNotEquals(cellColor[connectivity.faceLeft[face]], cellColor[connectivity.faceRight[face]]);
+        }
+        assertSame(cellColors, connectivity.cellColors());
+    }
+}
@@ -55,7 +55,7 @@ public class FaceTest {
     }
 
     @Test
-    public void if_faces_are_equal_then_their_right_cells_are_replaced_and_normals_are_averaged() {
+    public void equals_does_not_modify_the_faces() {
         int numVars = 2;
         Node n0 = new Node(2, 6, 9, numVars);
         Node n1 = new Node(3, -9, 7, numVars);
@@ -72,23 +72,38 @@ public class FaceTest {
 
         assertEquals(f1, f2);
 
-        assertSame(f1.right, f2.left);
-        assertSame(f2.right, f1.left);
+        assertNull(f1.right);
+        assertNull(f2.right);
+        TestHelper.assertVectorEquals(normal1, f1.surface.unitNormal(), 0.0);
+        TestHelper.assertVectorEquals(normal2, f2.surface.unitNormal(), 0.0);
+    }
 
-        Vector avgNormal = normal1.sub(normal2).mult(0.5).unit();
-        TestHelper.assertVectorEquals(avgNormal, f1.surface.unitNormal(), 1e-15);
-        TestHelper.assertVectorEquals(f1.surface.unitNormal(), f2.surface.unitNormal().mult(-1), 1e-15);
+    @Test
+    public void faces_with_different_nodes_are_not_equal() {
+        int numVars = 2;
+        Node n0 = new Node(2, 6, 9, numVars);
+        Node n1 = new Node(3, -9, 7, numVars);
+        Node n2 = new Node(1, 0, 7, numVars);
+        Cell left = new Cell(null, null, null, numVars);
+
+        Face f1 = new Face(new Node[]{n0, n1}, null, null, left, null, numVars);
+        Face f2 = new Face(new Node[]{n1, n2}, null, null, left, null, numVars);
+
+        assertNotEquals(f1, f2);
     }
 
     @Test
-    public void hashCode_of_face_returns_sum_of_node_hashCodes() {
+    public void hashCode_of_face_does_not_depend_on_order_of_nodes() {
         int numVars = 2;
         Node n0 = new Node(2, 6, 9, numVars);
         Node n1 = new Node(3, -9, 7, numVars);
+        Node n2 = new Node(1, 0, 7, numVars);
         Cell left = new Cell(null, null, null, numVars);
-        Face face = new Face(new Node[]{n0, n1}, null, null, left, null, numVars);
 
-        assertEquals(n0.hashCode() + n1.hashCode(), face.hashCode());
+        Face f1 = new Face(new Node[]{n0, n1, n2}, null, null, left, null, numVars);
+        Face f2 = new Face(new Node[]{n2, n0, n1}, null, null, left, null, numVars);
+
+        assertEquals(f1.hashCode(), f2.hashCode());
     }
 
     @Test
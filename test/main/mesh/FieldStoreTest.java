@@ -0,0 +1,140 @@
+package main.mesh;
+
+import main.mesh.factory.Structured2DMesh;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class FieldStoreTest {
+
+    @Test
+    public void rows_are_laid_out_contiguously() {
+        FieldStore fields = new FieldStore(3, 2, 4);
+
+        assertEquals(12, fields.residual.length);
+        assertEquals(12, fields.Wn.length);
+        assertEquals(36, fields.reconstructCoeffs.length);
+        assertEquals(8, fields.faceGradients.length / FieldStore.NUM_COEFFS);
+
+        assertEquals(8, fields.cellOffset(2));
+        assertEquals(4, fields.faceOffset(1));
+        assertEquals(27, fields.coeffOffset(2, 1));
+    }
+
+    @Test
+    public void set_and_get_copy_a_row() {
+        FieldStore fields = new FieldStore(3, 0, 2);
+        double[] values = {4.5, -1.2};
+        fields.set(fields.residual, 1, values);
+
+        assertArrayEquals(new double[]{0, 0, 4.5, -1.2, 0, 0}, fields.residual, 1e-15);
+
+        double[] row = fields.get(fields.residual, 1);
+        assertArrayEquals(values, row, 1e-15);
+        row[0] = 100;
+        assertEquals(4.5, fields.residual[2], 1e-15);
+    }
+
+    @Test
+    public void mesh_cells_and_faces_share_the_mesh_store() throws FileNotFoundException {
+        int numVars = 3;
+        File file = new File("test/test_data/mesh_structured_2d.cfds");
+        Mesh mesh = new Structured2DMesh(file, numVars, null, null, null, null);
+        FieldStore fields = mesh.fields();
+
+        assertEquals(mesh.cells().size(), fields.numCells);
+        assertEquals(numVars, fields.numVars);
+        for (Cell cell : mesh.cells()) {
+            assertSame(fields, cell.fields());
+            assertEquals(cell.index(), cell.fieldRow());
+        }
+        for (Face face : mesh.internalFaces()) {
+            assertEquals(face.index(), face.fieldRow());
+        }
+
+        Cell cell = mesh.cells().get(5);
+        fields.residual[fields.cellOffset(5) + 2] = 7.5;
+        assertEquals(7.5, cell.residual()[2], 1e-15);
+    }
+
+    @Test
+    public void cell_and_face_values_are_views_of_the_mesh_store() throws FileNotFoundException {
+        int numVars = 3;
+        File file = new File("test/test_data/mesh_structured_2d.cfds");
+        Mesh mesh = new Structured2DMesh(file, numVars, null, null, null, null);
+        FieldStore fields = mesh.fields();
+
+        Cell cell = mesh.cells().get(5);
+        cell.setU(new double[]{1.5, -2.0, 3.0});
+        assertArrayEquals(new double[]{1.5, -2.0, 3.0},
+                Arrays.copyOfRange(fields.U, fields.cellOffset(5), fields.cellOffset(6)), 1e-15);
+        fields.U[fields.cellOffset(5) + 1] = 4.0;
+        assertEquals(4.0, cell.U(1), 1e-15);
+
+        double[] copy = cell.U();
+        copy[0] = 100;
+        assertEquals(1.5, cell.U(0), 1e-15);
+
+        Face boundaryFace = mesh.boundaries().get(0).faces.get(0);
+        boundaryFace.right.setU(2, -6.5);
+        int ghostRow = mesh.connectivity().ghostId(boundaryFace.index());
+        assertEquals(-6.5, fields.U[fields.cellOffset(ghostRow) + 2], 1e-15);
+
+        Face face = mesh.internalFaces().get(3);
+        face.setU(0, 8.25);
+        assertEquals(8.25, fields.faceU[fields.faceOffset(3)], 1e-15);
+    }
+
+    @Test
+    public void values_are_kept_when_a_cell_is_bound_to_another_store() {
+        Cell cell = new Cell(null, null, null, 2);
+        cell.setU(new double[]{3.0, -1.0});
+
+        FieldStore fields = new FieldStore(4, 0, 2);
+        cell.setFields(fields, 2);
+
+        assertArrayEquals(new double[]{0, 0, 0, 0, 3.0, -1.0, 0, 0}, fields.U, 1e-15);
+        assertArrayEquals(new double[]{3.0, -1.0}, cell.U(), 1e-15);
+    }
+
+    @Test
+    public void ghost_cells_follow_the_interior_cells() throws FileNotFoundException {
+        int numVars = 3;
+        File file = new File("test/test_data/mesh_structured_2d.cfds");
+        Mesh mesh = new Structured2DMesh(file, numVars, null, null, null, null);
+        FieldStore fields = mesh.fields();
+        Connectivity connectivity = mesh.connectivity();
+
+        int numGhostCells = connectivity.numFaces - connectivity.numInternalFaces;
+        assertEquals(numGhostCells, fields.numGhostCells);
+        assertEquals(fields.numCells * numVars, fields.residual.length);
+        assertEquals((fields.numCells + numGhostCells) * numVars * 3, fields.reconstructCoeffs.length);
+        assertEquals((fields.numCells + numGhostCells) * 3, fields.geometry.cellCentroid.length);
+
+        for (Boundary boundary : mesh.boundaries()) {
+            for (Face face : boundary.faces) {
+                Cell ghost = face.right;
+                int row = connectivity.ghostId(face.index());
+                assertSame(fields, ghost.fields());
+                assertEquals(row, ghost.fieldRow());
+                assertEquals(ghost.shape.centroid.x, fields.geometry.cellCentroid[row * 3], 1e-15);
+                assertEquals(ghost.shape.centroid.y, fields.geometry.cellCentroid[row * 3 + 1], 1e-15);
+                assertArrayEquals(new double[numVars], ghost.residual(), 1e-15);
+                assertEquals(face.nodes.length, ghost.nodes.length);
+            }
+        }
+    }
+
+    @Test
+    public void standalone_cell_has_its_own_store() {
+        Cell cell = new Cell(null, null, null, 4);
+
+        assertEquals(1, cell.fields().numCells);
+        assertEquals(0, cell.fieldRow());
+        assertArrayEquals(new double[4], cell.residual(), 1e-15);
+    }
+}
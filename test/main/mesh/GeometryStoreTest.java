@@ -0,0 +1,72 @@
+package main.mesh;
+
+import main.geom.Point;
+import main.geom.VTKType;
+import main.geom.Vector;
+import main.mesh.factory.Structured3DMesh;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+
+import static org.junit.Assert.*;
+
+public class GeometryStoreTest {
+
+    @Test
+    public void setFace_packs_the_surface() {
+        GeometryStore geometry = new GeometryStore(0, 2);
+        Surface surface = new Surface(2.5, new Point(1, 2, 3), new Vector(0, 1, 0));
+        geometry.setFace(1, surface);
+
+        assertEquals(2.5, geometry.faceArea[1], 1e-15);
+        assertArrayEquals(new double[]{0, 0, 0, 1, 2, 3}, geometry.faceCentroid, 1e-15);
+        assertArrayEquals(new double[]{0, 0, 0, 0, 1, 0}, geometry.faceNormal, 1e-15);
+        assertArrayEquals(new double[]{0, 0, 0, 0, 2.5, 0}, geometry.faceAreaNormal, 1e-15);
+
+        Vector t1 = surface.unitTangent1();
+        Vector t2 = surface.unitTangent2();
+        assertArrayEquals(new double[]{0, 0, 0, t1.x, t1.y, t1.z}, geometry.faceTangent1, 1e-15);
+        assertArrayEquals(new double[]{0, 0, 0, t2.x, t2.y, t2.z}, geometry.faceTangent2, 1e-15);
+    }
+
+    @Test
+    public void setCell_packs_the_shape() {
+        GeometryStore geometry = new GeometryStore(2, 0);
+        geometry.setCell(0, new Shape(4.5, new Point(-1, 0.5, 7)));
+
+        assertArrayEquals(new double[]{4.5, 0}, geometry.cellVolume, 1e-15);
+        assertArrayEquals(new double[]{-1, 0.5, 7, 0, 0, 0}, geometry.cellCentroid, 1e-15);
+    }
+
+    @Test
+    public void mesh_geometry_matches_the_cells_and_faces() throws FileNotFoundException {
+        File file = new File("test/test_data/mesh_structured_3d.cfds");
+        Mesh mesh = new Structured3DMesh(file, 2, null, null, null, null, null, null);
+        GeometryStore geometry = mesh.geometry();
+
+        for (Cell cell : mesh.cells()) {
+            int i = cell.index();
+            assertEquals(cell.shape.volume, geometry.cellVolume[i], 1e-15);
+            assertEquals(cell.shape.centroid.y, geometry.cellCentroid[i * 3 + 1], 1e-15);
+        }
+
+        for (Face face : mesh.internalFaces()) {
+            int i = face.index();
+            Vector unitNormal = face.surface.unitNormal();
+            assertEquals(face.surface.area, geometry.faceArea[i], 1e-15);
+            assertEquals(unitNormal.x, geometry.faceNormal[i * 3], 1e-15);
+            assertEquals(unitNormal.z * face.surface.area, geometry.faceAreaNormal[i * 3 + 2], 1e-15);
+            assertEquals(face.surface.centroid.x, geometry.faceCentroid[i * 3], 1e-15);
+        }
+    }
+
+    @Test
+    public void standalone_face_has_its_own_geometry() {
+        Surface surface = new Surface(1.5, new Point(0, 0, 0), new Vector(1, 0, 0));
+        Cell left = new Cell(new Node[0], VTKType.VTK_QUAD, null, 3);
+        Face face = new Face(new Node[0], VTKType.VTK_LINE, surface, left, null, 3);
+
+        assertEquals(1.5, face.fields().geometry.faceArea[face.fieldRow()], 1e-15);
+    }
+}
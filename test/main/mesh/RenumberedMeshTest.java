@@ -0,0 +1,110 @@
+package main.mesh;
+
+import main.mesh.factory.Structured3DMesh;
+import main.mesh.factory.Unstructured2DMesh;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class RenumberedMeshTest {
+
+    private Mesh createMesh() throws FileNotFoundException {
+        return new Unstructured2DMesh(new File("test/test_data/transient_flow_over_cylinder/mesh.cfdu"), 4, Map.of());
+    }
+
+    private void assertConsistent(Mesh mesh) {
+        for (int i = 0; i < mesh.cells().size(); i++) {
+            Cell cell = mesh.cells().get(i);
+            assertEquals(i, cell.index());
+            assertEquals(i, cell.fieldRow());
+            assertSame(mesh.fields(), cell.fields());
+            assertEquals(cell.shape.volume, mesh.geometry().cellVolume[i], 0.0);
+        }
+
+        int previousLeft = -1;
+        for (int i = 0; i < mesh.internalFaces().size(); i++) {
+            Face face = mesh.internalFaces().get(i);
+            assertEquals(i, face.index());
+            assertTrue(face.left.index() >= previousLeft);
+            previousLeft = face.left.index();
+            assertEquals(face.surface.area, mesh.geometry().faceArea[i], 0.0);
+        }
+
+        Connectivity connectivity = mesh.connectivity();
+        for (Face face : mesh.internalFaces()) {
+            assertEquals(face.left.index(), connectivity.faceLeft[face.index()]);
+            assertEquals(face.right.index(), connectivity.faceRight[face.index()]);
+        }
+        for (Boundary boundary : mesh.boundaries()) {
+            for (Face face : boundary.faces) {
+                assertSame(face.right, connectivity.cells[connectivity.ghostId(face.index())]);
+            }
+        }
+    }
+
+    @Test
+    public void orderings_are_permutations() throws FileNotFoundException {
+        Mesh mesh = createMesh();
+        int numCells = mesh.cells().size();
+        for (CellOrdering ordering : CellOrdering.values()) {
+            int[] order = ordering.order(mesh);
+            int[] sorted = order.clone();
+            Arrays.sort(sorted);
+            for (int i = 0; i < numCells; i++) {
+                assertEquals(ordering.name(), i, sorted[i]);
+            }
+        }
+    }
+
+    @Test
+    public void renumbered_mesh_is_consistent() throws FileNotFoundException {
+        for (CellOrdering ordering : CellOrdering.values()) {
+            Mesh mesh = createMesh();
+            Set<Cell> cells = newIdentitySet(mesh);
+
+            Mesh renumbered = new RenumberedMesh(mesh, ordering);
+
+            assertEquals(cells.size(), renumbered.cells().size());
+            assertTrue(cells.containsAll(renumbered.cells()));
+            assertConsistent(renumbered);
+        }
+    }
+
+    @Test
+    public void renumbered_structured_3d_mesh_is_consistent() throws FileNotFoundException {
+        Mesh mesh = new Structured3DMesh(new File("test/test_data/mesh_structured_3d.cfds"), 2,
+                null, null, null, null, null, null);
+
+        assertConsistent(new RenumberedMesh(mesh, CellOrdering.HILBERT));
+    }
+
+    @Test
+    public void reverse_cuthill_mckee_reduces_the_bandwidth() throws FileNotFoundException {
+        Mesh mesh = createMesh();
+        int originalBandwidth = bandwidth(mesh);
+
+        Mesh renumbered = new RenumberedMesh(mesh, CellOrdering.REVERSE_CUTHILL_MCKEE);
+
+        assertTrue(bandwidth(renumbered) < originalBandwidth);
+    }
+
+    private int bandwidth(Mesh mesh) {
+        return mesh.internalFaces().stream()
+                .mapToInt(face -> Math.abs(face.left.index() - face.right.index()))
+                .max().orElse(0);
+    }
+
+    private Set<Cell> newIdentitySet(Mesh mesh) {
+        Set<Cell> cells = Collections.newSetFromMap(new IdentityHashMap<>());
+        cells.addAll(mesh.cells());
+        return cells;
+    }
+}
@@ -0,0 +1,99 @@
+package main.mesh.factory;
+
+import main.geom.Point;
+import main.geom.Vector;
+import main.mesh.Cell;
+import main.mesh.Face;
+import main.mesh.Node;
+import main.mesh.Surface;
+import main.util.TestHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FaceMatcherTest {
+    private final int numVars = 2;
+    private final Node n0 = new Node(2, 6, 9, numVars);
+    private final Node n1 = new Node(3, -9, 7, numVars);
+    private final Node n2 = new Node(1, 0, 7, numVars);
+
+    private Face face(Node na, Node nb, Cell left, Vector normal) {
+        Surface surface = new Surface(2.0, new Point(2, 5, 7), normal);
+        return new Face(new Node[]{na, nb}, null, surface, left, null, numVars);
+    }
+
+    @Test
+    public void matching_faces_are_stitched_and_normals_are_averaged() {
+        Cell left1 = new Cell(null, null, null, numVars);
+        Vector normal1 = new Vector(1, 2, 4).unit();
+        Face f1 = face(n0, n1, left1, normal1);
+
+        Cell left2 = new Cell(null, null, null, numVars);
+        Vector normal2 = new Vector(1.2, 1.6, 4.2).mult(-1).unit();
+        Face f2 = face(n1, n0, left2, normal2);
+
+        List<Face> faces = FaceMatcher.match(List.of(f1, f2), List.of(new int[]{0, 1}, new int[]{1, 0}));
+
+        assertEquals(1, faces.size());
+        assertSame(f1, faces.get(0));
+        assertSame(left2, f1.right);
+
+        Vector avgNormal = normal1.sub(normal2).mult(0.5).unit();
+        TestHelper.assertVectorEquals(avgNormal, f1.surface.unitNormal(), 1e-15);
+    }
+
+    @Test
+    public void unmatched_faces_are_kept_in_order_of_first_occurrence() {
+        Cell left1 = new Cell(null, null, null, numVars);
+        Cell left2 = new Cell(null, null, null, numVars);
+        Vector normal = new Vector(1, 0, 0);
+
+        Face f0 = face(n0, n1, left1, normal);
+        Face f1 = face(n1, n2, left1, normal);
+        Face f2 = face(n2, n1, left2, normal.mult(-1));
+        Face f3 = face(n2, n0, left2, normal);
+
+        List<Face> faces = FaceMatcher.match(List.of(f0, f1, f2, f3),
+                List.of(new int[]{0, 1}, new int[]{1, 2}, new int[]{2, 1}, new int[]{2, 0}));
+
+        assertEquals(List.of(f0, f1, f3), faces);
+        assertNull(f0.right);
+        assertSame(left2, f1.right);
+        assertNull(f3.right);
+    }
+
+    @Test
+    public void large_number_of_faces_are_matched_in_order_of_first_occurrence() {
+        int numFaces = 20000;
+        List<Face> faces = new ArrayList<>();
+        List<int[]> nodeIndices = new ArrayList<>();
+        Cell left = new Cell(null, null, null, numVars);
+        for (int i = 0; i < numFaces; i++) {
+            // Face i is shared with face i + 1 for all even i
+            faces.add(face(n0, n1, left, new Vector(i % 2 == 0 ? 1 : -1, 0, 0)));
+            int node = i / 2;
+            nodeIndices.add(i % 2 == 0 ? new int[]{node, node + 1} : new int[]{node + 1, node});
+        }
+
+        List<Face> matched = FaceMatcher.match(faces, nodeIndices);
+
+        assertEquals(numFaces / 2, matched.size());
+        for (int i = 0; i < matched.size(); i++) {
+            assertSame(faces.get(2 * i), matched.get(i));
+            assertNotNull(matched.get(i).right);
+        }
+    }
+
+    @Test
+    public void more_than_two_cells_sharing_a_face_throws_exception() {
+        Cell left = new Cell(null, null, null, numVars);
+        Vector normal = new Vector(1, 0, 0);
+        List<Face> faces = List.of(face(n0, n1, left, normal), face(n1, n0, left, normal), face(n0, n1, left, normal));
+
+        TestHelper.assertThrows(IllegalStateException.class, () -> FaceMatcher.match(faces,
+                List.of(new int[]{0, 1}, new int[]{1, 0}, new int[]{0, 1})));
+    }
+}
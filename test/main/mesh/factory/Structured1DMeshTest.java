@@ -178,7 +178,7 @@ public class Structured1DMeshTest {
         assertShapeEquals(expected.right.shape, actual.right.shape);
 
         // Have same number of variables
-        assertEquals(numVars, actual.flux.length);
+        assertEquals(numVars, actual.numVars());
     }
 
     private static void assertCellEquals(Cell expected, Cell actual) {
@@ -204,8 +204,8 @@ public class Structured1DMeshTest {
         assertShapeEquals(expected.shape, actual.shape);
 
         // Have same number of variables
-        assertEquals(numVars, actual.U.length);
-        assertEquals(numVars, actual.residual.length);
+        assertEquals(numVars, actual.numVars());
+        assertEquals(numVars, actual.residual().length);
     }
 
     private static void assertBoundaryEquals(Boundary expected, Boundary actual) {
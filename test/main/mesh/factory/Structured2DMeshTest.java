@@ -22,6 +22,7 @@ import java.util.stream.Stream;
 import static main.util.TestHelper.*;
 import static main.geom.VTKType.VTK_LINE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class Structured2DMeshTest {
@@ -287,4 +288,41 @@ public class Structured2DMeshTest {
         assertThrows(FileNotFoundException.class,
                 () -> new Structured2DMesh(doesNotExist, numVars, dummyBC, dummyBC, dummyBC, dummyBC));
     }
+
+    @Test
+    public void coarse_cells_cover_two_by_two_fine_cells() {
+        // stretched, so that the cell volumes differ
+        Point[][] points = new Point[5][7];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 7; j++) {
+                points[i][j] = new Point(i * i, j * j * j + 2 * j, 0);
+            }
+        }
+        Structured2DMesh mesh = new Structured2DMesh(points, numVars, dummyBC, dummyBC, dummyBC, dummyBC);
+        assertTrue(mesh.canCoarsen());
+
+        StructuredMesh coarseMesh = mesh.coarsen();
+        assertEquals(2 * 3, coarseMesh.cells().size());
+        assertEquals(4, coarseMesh.boundaries().size());
+        assertFalse(coarseMesh.canCoarsen());
+
+        int[] coarseCells = mesh.coarseCellIndices();
+        double[] volumes = new double[coarseMesh.cells().size()];
+        for (Cell cell : mesh.cells()) {
+            volumes[coarseCells[cell.index()]] += cell.shape.volume;
+        }
+        for (Cell coarseCell : coarseMesh.cells()) {
+            assertEquals(coarseCell.shape.volume, volumes[coarseCell.index()], 1e-12);
+        }
+        assertThrows(IllegalStateException.class, coarseMesh::coarsen);
+    }
+
+    @Test
+    public void mesh_with_odd_number_of_cells_cannot_be_coarsened() throws FileNotFoundException {
+        Structured2DMesh mesh = new Structured2DMesh(new File("test/test_data/mesh_structured_2d.cfds"), numVars,
+                dummyBC, dummyBC, dummyBC, dummyBC);
+        assertFalse(mesh.canCoarsen());
+        assertThrows(IllegalStateException.class, mesh::coarsen);
+        assertThrows(IllegalStateException.class, mesh::coarseCellIndices);
+    }
 }
@@ -78,83 +78,53 @@ public class Structured3DMeshSimpleTest {
 
         // left ghost
         shape = new Shape(13.125, new Point(0.75, -1.25, 1.75));
-        Cell leftGhost = new Cell(new Node[]{
-                n0, n6, n7, n1,
-                new Node(-0.5, -2, 0.0, numVars), new Node(2.0, -2.0, 0.0, numVars),
-                new Node(2.0, -2.0, 3.5, numVars), new Node(-0.5, -2.0, 3.5, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell leftGhost = new Cell(new Node[]{n0, n6, n7, n1},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // right ghost
         shape = new Shape(13.125, new Point(0.75, 3.25, 1.75));
-        Cell rightGhost = new Cell(new Node[]{
-                n4, n10, n11, n5,
-                new Node(-0.5, 4.0, 0.0, numVars), new Node(2.0, 4.0, 0.0, numVars),
-                new Node(2.0, 4.0, 3.5, numVars), new Node(-0.5, 4.0, 3.5, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell rightGhost = new Cell(new Node[]{n4, n10, n11, n5},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // top-left ghost
         shape = new Shape(13.125, new Point(0.75, 0.25, 5.25));
-        Cell topLeftGhost = new Cell(new Node[]{
-                n1, n7, n9, n3,
-                new Node(-0.5, -0.5, 7.0, numVars), new Node(2.0, -0.5, 7.0, numVars),
-                new Node(2.0, 1.0, 7.0, numVars), new Node(-0.5, 1.0, 7.0, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell topLeftGhost = new Cell(new Node[]{n1, n7, n9, n3},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // top-right ghost
         shape = new Shape(13.125, new Point(0.75, 1.75, 5.25));
-        Cell topRightGhost = new Cell(new Node[]{
-                n3, n9, n11, n5,
-                new Node(-0.5, 1.0, 7.0, numVars), new Node(2.0, 1.0, 7.0, numVars),
-                new Node(2.0, 2.5, 7.0, numVars), new Node(-0.5, 2.5, 7.0, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell topRightGhost = new Cell(new Node[]{n3, n9, n11, n5},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // bottom-left ghost
         shape = new Shape(13.125, new Point(0.75, 0.25, -1.75));
-        Cell bottomLeftGhost = new Cell(new Node[]{
-                n0, n6, n8, n2,
-                new Node(-0.5, -0.5, -3.5, numVars), new Node(2.0, -0.5, -3.5, numVars),
-                new Node(2.0, 1.0, -3.5, numVars), new Node(-0.5, 1.0, -3.5, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell bottomLeftGhost = new Cell(new Node[]{n0, n6, n8, n2},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // bottom-right ghost
         shape = new Shape(13.125, new Point(0.75, 1.75, -1.75));
-        Cell bottomRightGhost = new Cell(new Node[]{
-                n2, n8, n10, n4,
-                new Node(-0.5, 1.0, -3.5, numVars), new Node(2.0, 1.0, -3.5, numVars),
-                new Node(2.0, 2.5, -3.5, numVars), new Node(-0.5, 2.5, -3.5, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell bottomRightGhost = new Cell(new Node[]{n2, n8, n10, n4},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // front-left ghost
         shape = new Shape(13.125, new Point(3.25, 0.25, 1.75));
-        Cell frontLeftGhost = new Cell(new Node[]{
-                n6, n8, n9, n7,
-                new Node(4.5, -0.5, 0.0, numVars), new Node(4.5, 1.0, 0.0, numVars),
-                new Node(4.5, 1.0, 3.5, numVars), new Node(4.5, -0.5, 3.5, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell frontLeftGhost = new Cell(new Node[]{n6, n8, n9, n7},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // front-right ghost
         shape = new Shape(13.125, new Point(3.25, 1.75, 1.75));
-        Cell frontRightGhost = new Cell(new Node[]{
-                n8, n9, n11, n10,
-                new Node(4.5, 1.0, 0.0, numVars), new Node(4.5, 1.0, 3.5, numVars),
-                new Node(4.5, 2.5, 3.5, numVars), new Node(4.5, 2.5, 0.0, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell frontRightGhost = new Cell(new Node[]{n8, n9, n11, n10},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // back-left ghost
         shape = new Shape(13.125, new Point(-1.75, 0.25, 1.75));
-        Cell backLeftGhost = new Cell(new Node[]{
-                n0, n1, n3, n2,
-                new Node(-3.0, -0.5, 0.0, numVars), new Node(-3.0, -0.5, 3.5, numVars),
-                new Node(-3.0, 1.0, 3.5, numVars), new Node(-3.0, 1.0, 0.0, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell backLeftGhost = new Cell(new Node[]{n0, n1, n3, n2},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // back-right ghost
         shape = new Shape(13.125, new Point(-1.75, 1.75, 1.75));
-        Cell backRightGhost = new Cell(new Node[]{
-                n2, n3, n5, n4,
-                new Node(-3.0, 1.0, 0.0, numVars), new Node(-3.0, 1.0, 3.5, numVars),
-                new Node(-3.0, 2.5, 3.5, numVars), new Node(-3.0, 2.5, 0.0, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell backRightGhost = new Cell(new Node[]{n2, n3, n5, n4},
+                VTKType.VTK_QUAD, shape, numVars);
 
 
         Surface surface = new Surface(8.75, new Point(0.75, -0.5, 1.75), new Vector(0, -1, 0));
@@ -302,83 +272,53 @@ public class Structured3DMeshSimpleTest {
 
         // left ghost
         shape = new Shape(13.125, new Point(0.75, -1.25, 1.75));
-        Cell leftGhost = new Cell(new Node[]{
-                n0, n6, n7, n1,
-                new Node(-0.5, -2, 0.0, numVars), new Node(2.0, -2.0, 0.0, numVars),
-                new Node(2.0, -2.0, 3.5, numVars), new Node(-0.5, -2.0, 3.5, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell leftGhost = new Cell(new Node[]{n0, n6, n7, n1},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // right ghost
         shape = new Shape(13.125, new Point(0.75, 3.25, 1.75));
-        Cell rightGhost = new Cell(new Node[]{
-                n4, n10, n11, n5,
-                new Node(-0.5, 4.0, 0.0, numVars), new Node(2.0, 4.0, 0.0, numVars),
-                new Node(2.0, 4.0, 3.5, numVars), new Node(-0.5, 4.0, 3.5, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell rightGhost = new Cell(new Node[]{n4, n10, n11, n5},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // top-left ghost
         shape = new Shape(13.125, new Point(0.75, 0.25, 5.25));
-        Cell topLeftGhost = new Cell(new Node[]{
-                n1, n7, n9, n3,
-                new Node(-0.5, -0.5, 7.0, numVars), new Node(2.0, -0.5, 7.0, numVars),
-                new Node(2.0, 1.0, 7.0, numVars), new Node(-0.5, 1.0, 7.0, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell topLeftGhost = new Cell(new Node[]{n1, n7, n9, n3},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // top-right ghost
         shape = new Shape(13.125, new Point(0.75, 1.75, 5.25));
-        Cell topRightGhost = new Cell(new Node[]{
-                n3, n9, n11, n5,
-                new Node(-0.5, 1.0, 7.0, numVars), new Node(2.0, 1.0, 7.0, numVars),
-                new Node(2.0, 2.5, 7.0, numVars), new Node(-0.5, 2.5, 7.0, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell topRightGhost = new Cell(new Node[]{n3, n9, n11, n5},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // bottom-left ghost
         shape = new Shape(13.125, new Point(0.75, 0.25, -1.75));
-        Cell bottomLeftGhost = new Cell(new Node[]{
-                n0, n6, n8, n2,
-                new Node(-0.5, -0.5, -3.5, numVars), new Node(2.0, -0.5, -3.5, numVars),
-                new Node(2.0, 1.0, -3.5, numVars), new Node(-0.5, 1.0, -3.5, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell bottomLeftGhost = new Cell(new Node[]{n0, n6, n8, n2},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // bottom-right ghost
         shape = new Shape(13.125, new Point(0.75, 1.75, -1.75));
-        Cell bottomRightGhost = new Cell(new Node[]{
-                n2, n8, n10, n4,
-                new Node(-0.5, 1.0, -3.5, numVars), new Node(2.0, 1.0, -3.5, numVars),
-                new Node(2.0, 2.5, -3.5, numVars), new Node(-0.5, 2.5, -3.5, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell bottomRightGhost = new Cell(new Node[]{n2, n8, n10, n4},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // front-left ghost
         shape = new Shape(13.125, new Point(3.25, 0.25, 1.75));
-        Cell frontLeftGhost = new Cell(new Node[]{
-                n0, n1, n3, n2,
-                new Node(4.5, -0.5, 0.0, numVars), new Node(4.5, 1.0, 0.0, numVars),
-                new Node(4.5, 1.0, 3.5, numVars), new Node(4.5, -0.5, 3.5, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell frontLeftGhost = new Cell(new Node[]{n0, n1, n3, n2},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // front-right ghost
         shape = new Shape(13.125, new Point(3.25, 1.75, 1.75));
-        Cell frontRightGhost = new Cell(new Node[]{
-                n2, n3, n5, n4,
-                new Node(4.5, 1.0, 0.0, numVars), new Node(4.5, 1.0, 3.5, numVars),
-                new Node(4.5, 2.5, 3.5, numVars), new Node(4.5, 2.5, 0.0, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell frontRightGhost = new Cell(new Node[]{n2, n3, n5, n4},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // back-left ghost
         shape = new Shape(13.125, new Point(-1.75, 0.25, 1.75));
-        Cell backLeftGhost = new Cell(new Node[]{
-                n6, n8, n9, n7,
-                new Node(-3.0, -0.5, 0.0, numVars), new Node(-3.0, -0.5, 3.5, numVars),
-                new Node(-3.0, 1.0, 3.5, numVars), new Node(-3.0, 1.0, 0.0, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell backLeftGhost = new Cell(new Node[]{n6, n8, n9, n7},
+                VTKType.VTK_QUAD, shape, numVars);
 
         // back-right ghost
         shape = new Shape(13.125, new Point(-1.75, 1.75, 1.75));
-        Cell backRightGhost = new Cell(new Node[]{
-                n8, n9, n11, n10,
-                new Node(-3.0, 1.0, 0.0, numVars), new Node(-3.0, 1.0, 3.5, numVars),
-                new Node(-3.0, 2.5, 3.5, numVars), new Node(-3.0, 2.5, 0.0, numVars)},
-                VTKType.VTK_HEXAHEDRON, shape, numVars);
+        Cell backRightGhost = new Cell(new Node[]{n8, n9, n11, n10},
+                VTKType.VTK_QUAD, shape, numVars);
 
 
         Surface surface = new Surface(8.75, new Point(0.75, -0.5, 1.75), new Vector(0, -1, 0));
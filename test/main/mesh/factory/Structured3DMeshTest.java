@@ -19,6 +19,7 @@ import java.util.stream.Stream;
 
 import static main.util.TestHelper.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 public class Structured3DMeshTest {
@@ -108,8 +109,13 @@ public class Structured3DMeshTest {
                     if (i > 0 && i < numXCells + 1 && j > 0 && j < numYCells + 1 && k > 0 && k < numZCells + 1) {
                         cellID = index;
                     }
-                    Cell cell = new Cell(new Node[]{n0, n1, n2, n3, n4, n5, n6, n7},
-                            hexahedron.vtkType(), shape, numVars);
+                    Node[] nodes = {n0, n1, n2, n3, n4, n5, n6, n7};
+                    VTKType vtkType = hexahedron.vtkType();
+                    if (cellID == -1) { // ghost cells have only the nodes of the boundary face
+                        nodes = Stream.of(nodes).filter(expectedNodes::contains).toArray(Node[]::new);
+                        vtkType = VTKType.VTK_QUAD;
+                    }
+                    Cell cell = new Cell(nodes, vtkType, shape, numVars);
                     cell.setIndex(cellID);
                     cellArray[i][j][k] = cell;
                     if (i > 0 && i < numXCells + 1 && j > 0 && j < numYCells + 1 && k > 0 && k < numZCells + 1) {
@@ -379,4 +385,39 @@ public class Structured3DMeshTest {
         assertTrue(IntStream.range(0, allFaceList.size())
                 .allMatch(i -> allFaceList.get(i).index() == i));
     }
+
+    @Test
+    public void coarse_cells_cover_two_by_two_by_two_fine_cells() throws FileNotFoundException {
+        // stretched, so that the cell volumes differ
+        Point[][][] points = new Point[5][3][5];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 3; j++) {
+                for (int k = 0; k < 5; k++) {
+                    points[i][j][k] = new Point(i * i, j + 0.5 * j * j, k * k * k + k);
+                }
+            }
+        }
+        Structured3DMesh mesh = new Structured3DMesh(points, numVars,
+                dummyBC, dummyBC, dummyBC, dummyBC, dummyBC, dummyBC);
+        assertTrue(mesh.canCoarsen());
+
+        StructuredMesh coarseMesh = mesh.coarsen();
+        assertEquals(2 * 2, coarseMesh.cells().size());
+        assertEquals(6, coarseMesh.boundaries().size());
+        assertFalse(coarseMesh.canCoarsen());
+
+        int[] coarseCells = mesh.coarseCellIndices();
+        double[] volumes = new double[coarseMesh.cells().size()];
+        for (Cell cell : mesh.cells()) {
+            volumes[coarseCells[cell.index()]] += cell.shape.volume;
+        }
+        for (Cell coarseCell : coarseMesh.cells()) {
+            assertEquals(coarseCell.shape.volume, volumes[coarseCell.index()], 1e-12);
+        }
+
+        Structured3DMesh fileMesh = new Structured3DMesh(new File("test/test_data/mesh_structured_3d.cfds"), numVars,
+                dummyBC, dummyBC, dummyBC, dummyBC, dummyBC, dummyBC);
+        assertFalse(fileMesh.canCoarsen());
+        assertThrows(IllegalStateException.class, fileMesh::coarsen);
+    }
 }
@@ -439,10 +439,10 @@ public class Unstructured2DMeshTest {
         assertShapeEquals(expectedCell.shape, actualCell.shape);
 
         // U length equal
-        assertEquals(expectedCell.U.length, actualCell.U.length);
+        assertEquals(expectedCell.numVars(), actualCell.numVars());
 
         // residual length equal
-        assertEquals(expectedCell.residual.length, actualCell.residual.length);
+        assertEquals(expectedCell.residual().length, actualCell.residual().length);
     }
 
     private Boundary searchBoundary(Boundary query, List<Boundary> BoundaryList) {
@@ -10,7 +10,6 @@ import org.junit.Test;
 
 import java.util.Random;
 
-import static main.util.DoubleArray.copy;
 import static main.util.DoubleArray.random;
 import static org.junit.Assert.assertArrayEquals;
 
@@ -26,9 +25,9 @@ public class ExtrapolatedBCTest {
         Face testFace = new Face(null, null, null, left, right, govEqn.numVars());
 
         double[] expectedU = random(govEqn.numVars(), new Random(457));
-        copy(expectedU, left.U);
+        left.setU(expectedU);
         extrapolatedBC.setGhostCellValues(testFace);
-        assertArrayEquals(expectedU, testFace.right.U, 1e-15);
+        assertArrayEquals(expectedU, testFace.right.U(), 1e-15);
     }
 
     @Test
@@ -43,7 +42,7 @@ public class ExtrapolatedBCTest {
         Face testFace = new Face(null, null, surface, left, right, govEqn.numVars());
 
         double[] consVars = random(govEqn.numVars(), rnd);
-        copy(consVars, left.U);
+        left.setU(consVars);
         double[] actualFlux = extrapolatedBC.convectiveFlux(testFace);
         double[] expectedFlux = govEqn.convection().flux(consVars, unitNormal);
 
@@ -10,7 +10,6 @@ import org.junit.Test;
 
 import java.util.function.Function;
 
-import static main.util.DoubleArray.copy;
 import static org.junit.Assert.assertArrayEquals;
 
 public class InletBCTest {
@@ -35,11 +34,11 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         inletBC.setGhostCellValues(testFace);
         double[] primProp = new double[]{inletProps.density, inletProps.normalVelocityMagnitude, 0, 0, insidePrimVars[4]};
         double[] consProp = govEqn.conservativeVars(primProp);
-        assertArrayEquals(consProp, right.U, 1e-8);
+        assertArrayEquals(consProp, right.U(), 1e-8);
     }
 
     @Test
@@ -62,11 +61,11 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         inletBC.setGhostCellValues(testFace);
         double[] primProp = new double[]{inletProps.density, inletProps.normalVelocityMagnitude, 0, 0, inletProps.pressure};
         double[] consProp = govEqn.conservativeVars(primProp);
-        assertArrayEquals(consProp, right.U, 1e-8);
+        assertArrayEquals(consProp, right.U(), 1e-8);
     }
 
     @Test
@@ -89,11 +88,11 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         inletBC.setGhostCellValues(testFace);
         double[] primProp = new double[]{inletProps.density, 0, inletProps.normalVelocityMagnitude, 0, insidePrimVars[4]};
         double[] consProp = govEqn.conservativeVars(primProp);
-        assertArrayEquals(consProp, right.U, 1e-8);
+        assertArrayEquals(consProp, right.U(), 1e-8);
     }
 
     @Test
@@ -116,11 +115,11 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         inletBC.setGhostCellValues(testFace);
         double[] primProp = new double[]{inletProps.density, 0, inletProps.normalVelocityMagnitude, 0, inletProps.pressure};
         double[] consProp = govEqn.conservativeVars(primProp);
-        assertArrayEquals(consProp, right.U, 1e-8);
+        assertArrayEquals(consProp, right.U(), 1e-8);
     }
 
     @Test
@@ -143,11 +142,11 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         inletBC.setGhostCellValues(testFace);
         double[] primProp = new double[]{inletProps.density, 0, 0, inletProps.normalVelocityMagnitude, insidePrimVars[4]};
         double[] consProp = govEqn.conservativeVars(primProp);
-        assertArrayEquals(consProp, right.U, 1e-8);
+        assertArrayEquals(consProp, right.U(), 1e-8);
     }
 
     @Test
@@ -170,11 +169,11 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         inletBC.setGhostCellValues(testFace);
         double[] primProp = new double[]{inletProps.density, 0, 0, inletProps.normalVelocityMagnitude, inletProps.pressure};
         double[] consProp = govEqn.conservativeVars(primProp);
-        assertArrayEquals(consProp, right.U, 1e-8);
+        assertArrayEquals(consProp, right.U(), 1e-8);
     }
 
     @Test
@@ -197,7 +196,7 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         double[] actualFlux = inletBC.convectiveFlux(testFace);
         double[] primProp = new double[]{inletProps.density, inletProps.normalVelocityMagnitude, 0, 0, insidePrimVars[4]};
         double[] consProp = govEqn.conservativeVars(primProp);
@@ -225,7 +224,7 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         double[] actualFlux = inletBC.convectiveFlux(testFace);
         double[] primProp = new double[]{inletProps.density, inletProps.normalVelocityMagnitude, 0, 0, inletProps.pressure};
         double[] consProp = govEqn.conservativeVars(primProp);
@@ -253,7 +252,7 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         double[] actualFlux = inletBC.convectiveFlux(testFace);
         double[] primProp = new double[]{inletProps.density, 0, inletProps.normalVelocityMagnitude, 0, insidePrimVars[4]};
         double[] consProp = govEqn.conservativeVars(primProp);
@@ -281,7 +280,7 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         double[] actualFlux = inletBC.convectiveFlux(testFace);
         double[] primProp = new double[]{inletProps.density, 0, inletProps.normalVelocityMagnitude, 0, inletProps.pressure};
         double[] consProp = govEqn.conservativeVars(primProp);
@@ -309,7 +308,7 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         double[] actualFlux = inletBC.convectiveFlux(testFace);
         double[] primProp = new double[]{inletProps.density, 0, 0, inletProps.normalVelocityMagnitude, insidePrimVars[4]};
         double[] consProp = govEqn.conservativeVars(primProp);
@@ -337,7 +336,7 @@ public class InletBCTest {
         double[] insidePrimVars = {1.5, 20, 5, 21, 101328};
         double[] insideConsVars = govEqn.conservativeVars(insidePrimVars);
 
-        copy(insideConsVars, left.U);
+        left.setU(insideConsVars);
         double[] actualFlux = inletBC.convectiveFlux(testFace);
         double[] primProp = new double[]{inletProps.density, 0, 0, inletProps.normalVelocityMagnitude, inletProps.pressure};
         double[] consProp = govEqn.conservativeVars(primProp);
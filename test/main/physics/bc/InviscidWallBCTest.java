@@ -10,7 +10,6 @@ import org.junit.Test;
 import java.util.Arrays;
 import java.util.Random;
 
-import static main.util.DoubleArray.copy;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
@@ -27,21 +26,21 @@ public class InviscidWallBCTest {
         Cell right = new Cell(null, null, null, govEqn.numVars());
         Face testFace = new Face(null, null, surface, left, right, govEqn.numVars());
 
-        copy(new double[]{1.0, 0.0, 0.0, 0.0, 10.0}, left.U);
+        left.setU(new double[]{1.0, 0.0, 0.0, 0.0, 10.0});
         inviscidWallBC.setGhostCellValues(testFace);
-        assertEquals(1.0, right.U[0], 1e-8);
-        assertEquals(0.0, right.U[1], 1e-8);
-        assertEquals(0.0, right.U[2], 1e-8);
-        assertEquals(0.0, right.U[3], 1e-8);
-        assertEquals(10.0, right.U[4], 1e-8);
+        assertEquals(1.0, right.U(0), 1e-8);
+        assertEquals(0.0, right.U(1), 1e-8);
+        assertEquals(0.0, right.U(2), 1e-8);
+        assertEquals(0.0, right.U(3), 1e-8);
+        assertEquals(10.0, right.U(4), 1e-8);
 
-        copy(new double[]{5.0, 4.5, 4.5, 4.5, 124.0}, left.U);
+        left.setU(new double[]{5.0, 4.5, 4.5, 4.5, 124.0});
         inviscidWallBC.setGhostCellValues(testFace);
-        assertEquals(5.0, right.U[0], 1e-8);
-        assertEquals(-4.5, right.U[1], 1e-8);
-        assertEquals(-4.5, right.U[2], 1e-8);
-        assertEquals(-4.5, right.U[3], 1e-8);
-        assertEquals(124.0, right.U[4], 1e-8);
+        assertEquals(5.0, right.U(0), 1e-8);
+        assertEquals(-4.5, right.U(1), 1e-8);
+        assertEquals(-4.5, right.U(2), 1e-8);
+        assertEquals(-4.5, right.U(3), 1e-8);
+        assertEquals(124.0, right.U(4), 1e-8);
     }
 
     @Test
@@ -55,13 +54,13 @@ public class InviscidWallBCTest {
         Cell right = new Cell(null, null, null, govEqn.numVars());
         Face testFace = new Face(null, null, surface, left, right, govEqn.numVars());
 
-        copy(new double[]{1.0, 5.0, 8.0, 10.2, 10.0}, left.U);
+        left.setU(new double[]{1.0, 5.0, 8.0, 10.2, 10.0});
         inviscidWallBC.setGhostCellValues(testFace);
-        assertEquals(1.0, right.U[0], 1e-8);
-        assertEquals(-5.0, right.U[1], 1e-8);
-        assertEquals(8.0, right.U[2], 1e-8);
-        assertEquals(10.2, right.U[3], 1e-8);
-        assertEquals(10.0, right.U[4], 1e-8);
+        assertEquals(1.0, right.U(0), 1e-8);
+        assertEquals(-5.0, right.U(1), 1e-8);
+        assertEquals(8.0, right.U(2), 1e-8);
+        assertEquals(10.2, right.U(3), 1e-8);
+        assertEquals(10.0, right.U(4), 1e-8);
     }
 
     @Test
@@ -75,13 +74,13 @@ public class InviscidWallBCTest {
         Cell right = new Cell(null, null, null, govEqn.numVars());
         Face testFace = new Face(null, null, surface, left, right, govEqn.numVars());
 
-        copy(new double[]{1.0, 5.0, 8.0, 10.2, 10.0}, left.U);
+        left.setU(new double[]{1.0, 5.0, 8.0, 10.2, 10.0});
         inviscidWallBC.setGhostCellValues(testFace);
-        assertEquals(1.0, right.U[0], 1e-8);
-        assertEquals(5.0, right.U[1], 1e-8);
-        assertEquals(-8.0, right.U[2], 1e-8);
-        assertEquals(10.2, right.U[3], 1e-8);
-        assertEquals(10.0, right.U[4], 1e-8);
+        assertEquals(1.0, right.U(0), 1e-8);
+        assertEquals(5.0, right.U(1), 1e-8);
+        assertEquals(-8.0, right.U(2), 1e-8);
+        assertEquals(10.2, right.U(3), 1e-8);
+        assertEquals(10.0, right.U(4), 1e-8);
     }
 
     @Test
@@ -95,13 +94,13 @@ public class InviscidWallBCTest {
         Cell right = new Cell(null, null, null, govEqn.numVars());
         Face testFace = new Face(null, null, surface, left, right, govEqn.numVars());
 
-        copy(new double[]{1.0, 5.0, 8.0, 10.2, 10.0}, left.U);
+        left.setU(new double[]{1.0, 5.0, 8.0, 10.2, 10.0});
         inviscidWallBC.setGhostCellValues(testFace);
-        assertEquals(1.0, right.U[0], 1e-8);
-        assertEquals(5.0, right.U[1], 1e-8);
-        assertEquals(8.0, right.U[2], 1e-8);
-        assertEquals(-10.2, right.U[3], 1e-8);
-        assertEquals(10.0, right.U[4], 1e-8);
+        assertEquals(1.0, right.U(0), 1e-8);
+        assertEquals(5.0, right.U(1), 1e-8);
+        assertEquals(8.0, right.U(2), 1e-8);
+        assertEquals(-10.2, right.U(3), 1e-8);
+        assertEquals(10.0, right.U(4), 1e-8);
     }
 
     @Test
@@ -128,7 +127,7 @@ public class InviscidWallBCTest {
         double[] consVars = govEqn.conservativeVars(primVars);
         double[] expectedFlux = govEqn.convection().flux(consVars, normal);
 
-        copy(consVars, testFace.left.U);
+        testFace.left.setU(consVars);
         double[] actualFlux = inviscidWallBC.convectiveFlux(testFace);
 
         assertArrayEquals(expectedFlux, actualFlux, 1e-8);
@@ -158,7 +157,7 @@ public class InviscidWallBCTest {
         double[] consVars = govEqn.conservativeVars(primVars);
         double[] expectedFlux = govEqn.convection().flux(consVars, normal);
 
-        copy(consVars, testFace.left.U);
+        testFace.left.setU(consVars);
         double[] actualFlux = inviscidWallBC.convectiveFlux(testFace);
 
         assertArrayEquals(expectedFlux, actualFlux, 1e-8);
@@ -188,7 +187,7 @@ public class InviscidWallBCTest {
         double[] consVars = govEqn.conservativeVars(primVars);
         double[] expectedFlux = govEqn.convection().flux(consVars, normal);
 
-        copy(consVars, testFace.left.U);
+        testFace.left.setU(consVars);
         double[] actualFlux = inviscidWallBC.convectiveFlux(testFace);
 
         assertArrayEquals(expectedFlux, actualFlux, 1e-8);
@@ -218,7 +217,7 @@ public class InviscidWallBCTest {
         double[] consVars = govEqn.conservativeVars(primVars);
         double[] expectedFlux = govEqn.convection().flux(consVars, normal);
 
-        copy(consVars, testFace.left.U);
+        testFace.left.setU(consVars);
         double[] actualFlux = inviscidWallBC.convectiveFlux(testFace);
 
         assertArrayEquals(expectedFlux, actualFlux, 1e-8);
@@ -5,7 +5,6 @@ import main.mesh.Cell;
 import main.mesh.Face;
 import main.mesh.Surface;
 import main.physics.goveqn.factory.ArtificialCompressibilityVOFEquations;
-import main.util.DoubleArray;
 import org.junit.Test;
 
 import static org.junit.Assert.assertArrayEquals;
@@ -39,7 +38,7 @@ public class InviscidWallVOFBCTest {
         Cell ghost = new Cell(null, null, null, govEqn.numVars());
         Surface surface1 = new Surface(1.0, null, new Vector(1, 0, 0));
         Face face = new Face(null, null, surface1, left, ghost, govEqn.numVars());
-        DoubleArray.copy(conservativeVars, face.left.U);
+        face.left.setU(conservativeVars);
 
         bc.setGhostCellValues(face);
 
@@ -47,12 +46,12 @@ public class InviscidWallVOFBCTest {
                 p, -u, v, w, C
         });
 
-        assertArrayEquals(expectedGhostCellValues, face.right.U, 1e-15);
+        assertArrayEquals(expectedGhostCellValues, face.right.U(), 1e-15);
 
 
         Surface surface2 = new Surface(1.0, null, new Vector(0, 1, 0));
         face = new Face(null, null, surface2, left, ghost, govEqn.numVars());
-        DoubleArray.copy(conservativeVars, face.left.U);
+        face.left.setU(conservativeVars);
 
         bc.setGhostCellValues(face);
 
@@ -60,12 +59,12 @@ public class InviscidWallVOFBCTest {
                 p, u, -v, w, C
         });
 
-        assertArrayEquals(expectedGhostCellValues, face.right.U, 1e-15);
+        assertArrayEquals(expectedGhostCellValues, face.right.U(), 1e-15);
 
 
         Surface surface3 = new Surface(1.0, null, new Vector(0, 0, 1));
         face = new Face(null, null, surface3, left, ghost, govEqn.numVars());
-        DoubleArray.copy(conservativeVars, face.left.U);
+        face.left.setU(conservativeVars);
 
         bc.setGhostCellValues(face);
 
@@ -73,7 +72,7 @@ public class InviscidWallVOFBCTest {
                 p, u, v, -w, C
         });
 
-        assertArrayEquals(expectedGhostCellValues, face.right.U, 1e-15);
+        assertArrayEquals(expectedGhostCellValues, face.right.U(), 1e-15);
     }
 
     @Test
@@ -103,7 +102,7 @@ public class InviscidWallVOFBCTest {
         Cell ghost = new Cell(null, null, null, govEqn.numVars());
         Surface surface1 = new Surface(1.0, null, new Vector(1, 0, 0));
         Face face = new Face(null, null, surface1, left, ghost, govEqn.numVars());
-        DoubleArray.copy(conservativeVars, face.left.U);
+        face.left.setU(conservativeVars);
 
         double[] expectedFlux = {
                 0, p, 0, 0, 0
@@ -115,7 +114,7 @@ public class InviscidWallVOFBCTest {
 
         Surface surface2 = new Surface(1.0, null, new Vector(0, 1, 0));
         face = new Face(null, null, surface2, left, ghost, govEqn.numVars());
-        DoubleArray.copy(conservativeVars, face.left.U);
+        face.left.setU(conservativeVars);
 
         expectedFlux = new double[]{
                 0, 0, p, 0, 0
@@ -127,7 +126,7 @@ public class InviscidWallVOFBCTest {
 
         Surface surface3 = new Surface(1.0, null, new Vector(0, 0, 1));
         face = new Face(null, null, surface3, left, ghost, govEqn.numVars());
-        DoubleArray.copy(conservativeVars, face.left.U);
+        face.left.setU(conservativeVars);
 
         expectedFlux = new double[]{
                 0, 0, 0, p, 0
@@ -5,7 +5,6 @@ import main.mesh.Cell;
 import main.mesh.Face;
 import main.mesh.Surface;
 import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
-import main.util.DoubleArray;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -48,10 +47,10 @@ public class VelocityInletBCTest {
         double[] insideConservativeVars = {
                 pi / beta, ui, vi, wi
         };
-        DoubleArray.copy(insideConservativeVars, face.left.U);
+        face.left.setU(insideConservativeVars);
         bc.setGhostCellValues(face);
 
-        assertArrayEquals(expectedGhostConservativeVars, face.right.U, 1e-15);
+        assertArrayEquals(expectedGhostConservativeVars, face.right.U(), 1e-15);
     }
 
     @Test
@@ -88,7 +87,7 @@ public class VelocityInletBCTest {
         double[] insideConservativeVars = {
                 pi / beta, ui, vi, wi
         };
-        DoubleArray.copy(insideConservativeVars, face.left.U);
+        face.left.setU(insideConservativeVars);
 
         assertArrayEquals(expectedFlux, bc.convectiveFlux(face), 1e-15);
     }
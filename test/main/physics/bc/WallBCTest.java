@@ -5,7 +5,6 @@ import main.mesh.Cell;
 import main.mesh.Face;
 import main.mesh.Surface;
 import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
-import main.util.DoubleArray;
 import org.junit.Test;
 
 import static org.junit.Assert.assertArrayEquals;
@@ -29,14 +28,14 @@ public class WallBCTest {
 
         double beta = 1.0;
 
-        DoubleArray.copy(new double[]{p / beta, u, v, w}, insideCell.U);
+        insideCell.setU(new double[]{p / beta, u, v, w});
 
         double[] expectedU = {p / beta, -u, -v, -w};
 
         WallBC bc = new WallBC(govEqn, new Vector(0, 0, 0));
         bc.setGhostCellValues(face);
 
-        assertArrayEquals(expectedU, ghostCell.U, 1e-15);
+        assertArrayEquals(expectedU, ghostCell.U(), 1e-15);
     }
 
     @Test
@@ -56,7 +55,7 @@ public class WallBCTest {
 
         double beta = 1.0;
 
-        DoubleArray.copy(new double[]{p / beta, u, v, w}, insideCell.U);
+        insideCell.setU(new double[]{p / beta, u, v, w});
 
         Vector wallVelocity = new Vector(-1, 4, 0);
 
@@ -65,7 +64,7 @@ public class WallBCTest {
         WallBC bc = new WallBC(govEqn, wallVelocity);
         bc.setGhostCellValues(face);
 
-        assertArrayEquals(expectedU, ghostCell.U, 1e-15);
+        assertArrayEquals(expectedU, ghostCell.U(), 1e-15);
     }
 
     @Test
@@ -85,7 +84,7 @@ public class WallBCTest {
 
         double beta = 1.0;
 
-        DoubleArray.copy(new double[]{p / beta, u, v, w}, insideCell.U);
+        insideCell.setU(new double[]{p / beta, u, v, w});
 
         Vector wallVelocity = new Vector(-1, 4, 0);
         WallBC bc = new WallBC(govEqn, wallVelocity);
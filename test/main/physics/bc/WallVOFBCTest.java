@@ -6,7 +6,6 @@ import main.mesh.Cell;
 import main.mesh.Face;
 import main.mesh.Surface;
 import main.physics.goveqn.factory.ArtificialCompressibilityVOFEquations;
-import main.util.DoubleArray;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -25,7 +24,7 @@ public class WallVOFBCTest {
         };
         double[] insideConservativeVars = govEqn.conservativeVars(insidePrimitiveVars);
         Cell insideCell = new Cell(null, null, null, govEqn.numVars());
-        DoubleArray.copy(insideConservativeVars, insideCell.U);
+        insideCell.setU(insideConservativeVars);
         Cell ghostCell = new Cell(null, null, null, govEqn.numVars());
         Face face = new Face(null, null, null, insideCell, ghostCell, govEqn.numVars());
         WallVOFBC bc = new WallVOFBC(govEqn, wallVelocity);
@@ -35,7 +34,7 @@ public class WallVOFBCTest {
         double[] expectedGhostCellU = govEqn.conservativeVars(
                 new double[]{101325, 1.0, -11, 8.0, 0.75});
 
-        assertArrayEquals(expectedGhostCellU, face.right.U, 1e-15);
+        assertArrayEquals(expectedGhostCellU, face.right.U(), 1e-15);
     }
 
     @Test
@@ -55,7 +54,7 @@ public class WallVOFBCTest {
         };
         double[] insideConservativeVars = govEqn.conservativeVars(insidePrimitiveVars);
         Cell insideCell = new Cell(null, null, null, govEqn.numVars());
-        DoubleArray.copy(insideConservativeVars, insideCell.U);
+        insideCell.setU(insideConservativeVars);
         Cell ghostCell = new Cell(null, null, null, govEqn.numVars());
         Vector n = new Vector(7, 9, 2).unit();
         Surface surface = new Surface(2.5, new Point(0, 9, 0), n);
@@ -1,5 +1,7 @@
 package main.physics.goveqn;
 
+import main.geom.Vector;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
 import main.physics.goveqn.factory.EulerEquations;
 import org.junit.Test;
 
@@ -19,4 +21,65 @@ public class GoverningEquationsTest {
         double[] conservativeVars = {1, 2, 3, 4, 5};
         assertArrayEquals(conservativeVars, govEqn.realVars(conservativeVars), 1e-15);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void default_in_place_overloads_copy_the_returned_arrays() {
+        Convection convection = new Convection() {
+            @Override
+            public double[] flux(double[] conservativeVars, Vector unitNormal) {
+                return new double[]{conservativeVars[0] * unitNormal.x, conservativeVars[1] * unitNormal.y};
+            }
+
+            @Override
+            public double[] sortedEigenvalues(double[] conservativeVars, Vector unitNormal) {
+                return new double[]{-unitNormal.z, unitNormal.z};
+            }
+
+            @Override
+            public double maxAbsEigenvalues(double[] conservativeVars, Vector unitNormal) {
+                return Math.abs(unitNormal.z);
+            }
+        };
+        Source source = (conservativeVars, gradConservativeVars) -> new double[]{gradConservativeVars[0].x, 7};
+
+        double[] U = {3, 5};
+        double[] out = {-1, -1};
+        convection.flux(U, 2, 4, 6, out);
+        assertArrayEquals(new double[]{6, 20}, out, 0.0);
+
+        convection.sortedEigenvalues(U, 2, 4, 6, out);
+        assertArrayEquals(new double[]{-6, 6}, out, 0.0);
+        assertEquals(6, convection.maxAbsEigenvalues(U, 2, 4, -6), 0.0);
+
+        source.sourceVector(U, new Vector[]{new Vector(9, 0, 0)}, out);
+        assertArrayEquals(new double[]{9, 7}, out, 0.0);
+    }
+
+    @Test
+    public void diffusion_flux_from_gradient_components_is_same_as_from_gradient_vectors() {
+        Vector n = new Vector(0.6, 0.8, 0);
+        double[] U = {1, 2, 3, 4};
+        Vector[] gradU = {new Vector(1, 2, 3), new Vector(-4, 5, 6), new Vector(7, -8, 9), new Vector(1, 0, -2)};
+        double[] gradients = new double[6 + 12];
+        System.arraycopy(Diffusion.components(gradU), 0, gradients, 6, 12);
+
+        Diffusion diffusion = new Diffusion() {
+            @Override
+            public double[] flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal) {
+                return new double[]{gradConservativeVars[1].dot(unitNormal), gradConservativeVars[3].z, 0, 0};
+            }
+
+            @Override
+            public double maxAbsDiffusivity(double[] conservativeVars) {
+                return 0;
+            }
+        };
+        double[] out = new double[4];
+        diffusion.flux(U, gradients, 6, n, out);
+        assertArrayEquals(new double[]{1.6, -2, 0, 0}, out, 1e-15);
+
+        Diffusion acDiffusion = new ArtificialCompressibilityEquations(1.2, 0.3, new Vector(0, 0, 0)).diffusion();
+        acDiffusion.flux(U, gradients, 6, n, out);
+        assertArrayEquals(acDiffusion.flux(U, gradU, n), out, 0.0);
+    }
+}
@@ -22,4 +22,12 @@ public class ZeroSourceTest {
 
         assertArrayEquals(expectedVector, zeroSource.sourceVector(conservativeVars, gradConservativeVars), 1e-15);
     }
+
+    @Test
+    public void sourceVector_into_output_array_writes_zeros() {
+        double[] out = {4, -2, 7};
+        new ZeroSource(out.length).sourceVector(new double[3], new Vector[3], out);
+
+        assertArrayEquals(new double[3], out, 0.0);
+    }
 }
@@ -0,0 +1,90 @@
+package main.physics.goveqn.factory;
+
+import main.geom.Vector;
+import main.physics.goveqn.BatchConvection;
+import main.physics.goveqn.Convection;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static main.physics.goveqn.BatchConvection.BLOCK_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchConvectionTest {
+
+    private static final int COUNT = 53;
+
+    @Test
+    public void euler_batch_kernels_give_the_scalar_values() {
+        EulerEquations govEqn = new EulerEquations(1.4, 287);
+
+        Random rnd = new Random(7);
+        double[][] states = new double[COUNT][];
+        for (int i = 0; i < COUNT; i++) {
+            double rho = 0.5 + rnd.nextDouble();
+            double u = 2000 * (rnd.nextDouble() - 0.5), v = 300 * (rnd.nextDouble() - 0.5), w = 50 * rnd.nextDouble();
+            double p = 50000 + 100000 * rnd.nextDouble();
+            states[i] = govEqn.conservativeVars(new double[]{rho, u, v, w, p});
+        }
+
+        assertSameValues(govEqn.convection(), govEqn.loopBatchConvection(), states, rnd);
+        Assume.assumeTrue(BatchConvection.vectorApiAvailable()); // only with --add-modules jdk.incubator.vector
+        assertTrue(govEqn.batchConvection() instanceof EulerVectorConvection);
+        assertSameValues(govEqn.convection(), govEqn.batchConvection(), states, rnd);
+    }
+
+    @Test
+    public void artificial_compressibility_batch_kernels_give_the_scalar_values() {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.2, 0.01,
+                new Vector(0, 0, 0));
+
+        Random rnd = new Random(13);
+        double[][] states = new double[COUNT][];
+        for (int i = 0; i < COUNT; i++) {
+            states[i] = new double[]{
+                    rnd.nextDouble() * 10, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5};
+        }
+
+        assertSameValues(govEqn.convection(), govEqn.loopBatchConvection(), states, rnd);
+        Assume.assumeTrue(BatchConvection.vectorApiAvailable()); // only with --add-modules jdk.incubator.vector
+        assertTrue(govEqn.batchConvection() instanceof ArtificialCompressibilityVectorConvection);
+        assertSameValues(govEqn.convection(), govEqn.batchConvection(), states, rnd);
+    }
+
+    private static void assertSameValues(Convection convection, BatchConvection batch, double[][] states,
+                                         Random rnd) {
+        int numVars = batch.numVars();
+        double[] U = new double[numVars * BLOCK_SIZE];
+        double[] nx = new double[BLOCK_SIZE], ny = new double[BLOCK_SIZE], nz = new double[BLOCK_SIZE];
+        for (int i = 0; i < COUNT; i++) {
+            for (int var = 0; var < numVars; var++) {
+                U[var * BLOCK_SIZE + i] = states[i][var];
+            }
+            Vector n = new Vector(rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5).unit();
+            nx[i] = n.x;
+            ny[i] = n.y;
+            nz[i] = n.z;
+        }
+
+        double[] F = new double[numVars * BLOCK_SIZE];
+        double[] maxAbs = new double[BLOCK_SIZE], min = new double[BLOCK_SIZE], max = new double[BLOCK_SIZE];
+        batch.flux(U, nx, ny, nz, COUNT, F);
+        batch.maxAbsEigenvalues(U, nx, ny, nz, COUNT, maxAbs);
+        batch.minMaxEigenvalues(U, nx, ny, nz, COUNT, min, max);
+
+        double[] expectedFlux = new double[numVars];
+        double[] expectedEigenvalues = new double[numVars];
+        for (int i = 0; i < COUNT; i++) {
+            convection.flux(states[i], nx[i], ny[i], nz[i], expectedFlux);
+            for (int var = 0; var < numVars; var++) {
+                assertEquals(expectedFlux[var], F[var * BLOCK_SIZE + i], 0.0);
+            }
+            assertEquals(convection.maxAbsEigenvalues(states[i], nx[i], ny[i], nz[i]), maxAbs[i], 0.0);
+            convection.sortedEigenvalues(states[i], nx[i], ny[i], nz[i], expectedEigenvalues);
+            assertEquals(expectedEigenvalues[0], min[i], 0.0);
+            assertEquals(expectedEigenvalues[numVars - 1], max[i], 0.0);
+        }
+    }
+}
@@ -202,6 +202,26 @@ public class EulerEquationsTest {
         assertEquals(expectedMaxAbsEV, eulerEquations.convection().maxAbsEigenvalues(conservativeVars, unitDir), 1e-8);
     }
 
+    @Test
+    public void convection_into_output_arrays() {
+        EulerEquations eulerEquations = new EulerEquations(1.4, 287);
+        double[] conservativeVars = {1.2, 36.5, -12.1, 4.8, 253000};
+        Vector unitNormal = new Vector(3, -4, 12).unit();
+        double nx = unitNormal.x, ny = unitNormal.y, nz = unitNormal.z;
+
+        double[] out = new double[5];
+        eulerEquations.convection().flux(conservativeVars, nx, ny, nz, out);
+        assertArrayEquals(eulerEquations.convection().flux(conservativeVars, unitNormal), out, 0.0);
+
+        eulerEquations.convection().sortedEigenvalues(conservativeVars, nx, ny, nz, out);
+        assertArrayEquals(eulerEquations.convection().sortedEigenvalues(conservativeVars, unitNormal), out, 0.0);
+
+        assertEquals(eulerEquations.convection().maxAbsEigenvalues(conservativeVars, unitNormal),
+                eulerEquations.convection().maxAbsEigenvalues(conservativeVars, nx, ny, nz), 0.0);
+        assertEquals(Math.max(abs(out[0]), abs(out[4])),
+                eulerEquations.convection().maxAbsEigenvalues(conservativeVars, nx, ny, nz), 1e-12);
+    }
+
     @Test
     public void diffusion() {
         Random rnd = new Random(rndSeedEulerEquationsTest);
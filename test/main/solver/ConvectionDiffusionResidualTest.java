@@ -0,0 +1,64 @@
+package main.solver;
+
+import main.geom.Vector;
+import main.mesh.Cell;
+import main.mesh.Mesh;
+import main.mesh.factory.Structured2DMesh;
+import main.physics.bc.BoundaryCondition;
+import main.physics.bc.WallBC;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
+import main.solver.convection.ConvectionResidual;
+import main.solver.convection.reconstructor.VKLimiterReconstructor;
+import main.solver.convection.riemann.HLLC_AC_RiemannSolver;
+import main.solver.diffusion.DiffusionResidual;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class ConvectionDiffusionResidualTest {
+
+    @Test
+    public void residuals_are_same_as_with_separate_convection_and_diffusion() throws FileNotFoundException {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.2, 0.05,
+                new Vector(0, -9.81, 0));
+        BoundaryCondition wall = new WallBC(govEqn, new Vector(0, 0, 0));
+        BoundaryCondition lid = new WallBC(govEqn, new Vector(1, 0, 0));
+        Mesh mesh = new Structured2DMesh(new File("test/test_data/mesh_structured_2d.cfds"), govEqn.numVars(),
+                wall, wall, wall, lid);
+
+        Random rnd = new Random(23);
+        for (Cell cell : mesh.cells()) {
+            for (int var = 0; var < govEqn.numVars(); var++) {
+                cell.setU(var, rnd.nextDouble() * 2 - 1);
+            }
+        }
+
+        CellNeighborCalculator neighbors = new FaceBasedCellNeighbors();
+        CellGradientCalculator cellGradient = new LeastSquareCellGradient(mesh, neighbors);
+        VKLimiterReconstructor reconstructor = new VKLimiterReconstructor(mesh, govEqn, neighbors);
+        HLLC_AC_RiemannSolver riemannSolver = new HLLC_AC_RiemannSolver(govEqn);
+
+        ConvectionResidual convection = new ConvectionResidual(reconstructor, riemannSolver, mesh);
+        DiffusionResidual diffusion = new DiffusionResidual(mesh, govEqn);
+
+        // the pair is fused by SpaceDiscretization, which also sets up the face values and gradients
+        new SpaceDiscretization(mesh, cellGradient, List.of(convection, diffusion)).setResiduals();
+        double[] fusedResidual = mesh.fields().residual.clone();
+
+        Arrays.fill(mesh.fields().residual, 0.0);
+        convection.updateCellResiduals();
+        diffusion.updateCellResiduals();
+        double[] expectedResidual = mesh.fields().residual.clone();
+        assertArrayEquals(expectedResidual, fusedResidual, 1e-12);
+
+        Arrays.fill(mesh.fields().residual, 0.0);
+        new ConvectionDiffusionResidual(reconstructor, riemannSolver, govEqn, mesh).updateCellResiduals();
+        assertArrayEquals(expectedResidual, mesh.fields().residual, 1e-12);
+    }
+}
@@ -67,7 +67,7 @@ public class FunctionInitializerTest {
         initializer.initialize(mesh, govEqn);
 
         for (Cell cell : cells) {
-            assertArrayEquals(conservativeVars, cell.U, 1e-12);
+            assertArrayEquals(conservativeVars, cell.U(), 1e-12);
         }
     }
 
@@ -88,7 +88,7 @@ public class FunctionInitializerTest {
         initializer.initialize(mesh, govEqn);
 
         double[] expectedValue = {2.6372747421591165}; // Calculated using simple code for square
-        assertArrayEquals(expectedValue, cell.U, 1e-12);
+        assertArrayEquals(expectedValue, cell.U(), 1e-12);
     }
 
     @Test
@@ -107,7 +107,7 @@ public class FunctionInitializerTest {
         initializer.initialize(mesh, govEqn);
 
         double[] expectedValue = {3.0421834976763016}; // Calculated using simple code for triangle, 5 levels
-        assertArrayEquals(expectedValue, cell.U, 1e-15);
+        assertArrayEquals(expectedValue, cell.U(), 1e-15);
     }
 
     @Test
@@ -162,8 +162,8 @@ public class FunctionInitializerTest {
                 .map(f)
                 .reduce(DoubleArray.zeros(1), DoubleArray::add), 1.0 / evalPoints.length);
 
-        assertArrayEquals(expectedValue, mesh.cells().get(0).U, 1e-15);
-        assertArrayEquals(expectedValue, mesh.cells().get(0).Wn, 1e-15);
+        assertArrayEquals(expectedValue, mesh.cells().get(0).U(), 1e-15);
+        assertArrayEquals(expectedValue, mesh.cells().get(0).Wn(), 1e-15);
     }
 
     @Test
@@ -187,7 +187,7 @@ public class FunctionInitializerTest {
         initializer.initialize(mesh, govEqn);
 
         double[] expectedValue = f.apply(centroid);
-        assertArrayEquals(expectedValue, cell.U, 1e-12);
+        assertArrayEquals(expectedValue, cell.U(), 1e-12);
     }
 
     private Mesh createMesh(Cell... cellArray) {
@@ -8,7 +8,6 @@ import main.mesh.*;
 import main.mesh.factory.Structured1DMesh;
 import main.mesh.factory.Structured2DMesh;
 import main.mesh.factory.Structured3DMesh;
-import main.util.DoubleArray;
 import org.junit.Test;
 
 import java.io.File;
@@ -46,8 +45,8 @@ public class GreenGaussCellGradientTest {
         cell.faces.add(f1);
         cell.faces.add(f2);
 
-        DoubleArray.copy(new double[]{0, 0}, f1.U);
-        DoubleArray.copy(new double[]{1, 2}, f2.U);
+        f1.setU(new double[]{0, 0});
+        f2.setU(new double[]{1, 2});
 
         double dx = 2.8 - 0.5;
         Vector[] expectedGradients = new Vector[]{
@@ -59,7 +58,7 @@ public class GreenGaussCellGradientTest {
         CellGradientCalculator gradientCalculator = new GreenGaussCellGradient(mesh);
         gradientCalculator.setupAllCells();
 
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -97,8 +96,8 @@ public class GreenGaussCellGradientTest {
         assertVectorEquals(new Vector(1, 0, 0), fl.surface.unitNormal(), 1e-12);
         assertVectorEquals(new Vector(1, 0, 0), fr.surface.unitNormal(), 1e-12);
 
-        DoubleArray.copy(new double[]{3.0, 6.0, -9.0}, fl.U);
-        DoubleArray.copy(new double[]{-4.0, 8.0, -8.0}, fr.U);
+        fl.setU(new double[]{3.0, 6.0, -9.0});
+        fr.setU(new double[]{-4.0, 8.0, -8.0});
 
         double dx = 0.5 + 0.75;
 
@@ -109,7 +108,7 @@ public class GreenGaussCellGradientTest {
         };
 
         new GreenGaussCellGradient(mesh).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -148,8 +147,8 @@ public class GreenGaussCellGradientTest {
         assertVectorEquals(new Vector(0, 1, 0), fl.surface.unitNormal(), 1e-12);
         assertVectorEquals(new Vector(0, 1, 0), fr.surface.unitNormal(), 1e-12);
 
-        DoubleArray.copy(new double[]{3.0, 6.0, -9.0}, fl.U);
-        DoubleArray.copy(new double[]{-4.0, 8.0, -8.0}, fr.U);
+        fl.setU(new double[]{3.0, 6.0, -9.0});
+        fr.setU(new double[]{-4.0, 8.0, -8.0});
 
         double dy = 0.5 + 0.75;
 
@@ -160,7 +159,7 @@ public class GreenGaussCellGradientTest {
         };
 
         new GreenGaussCellGradient(mesh).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -199,8 +198,8 @@ public class GreenGaussCellGradientTest {
         assertVectorEquals(new Vector(0, 0, 1), fl.surface.unitNormal(), 1e-12);
         assertVectorEquals(new Vector(0, 0, 1), fr.surface.unitNormal(), 1e-12);
 
-        DoubleArray.copy(new double[]{3.0, 6.0, -9.0}, fl.U);
-        DoubleArray.copy(new double[]{-4.0, 8.0, -8.0}, fr.U);
+        fl.setU(new double[]{3.0, 6.0, -9.0});
+        fr.setU(new double[]{-4.0, 8.0, -8.0});
 
         double dz = 0.5 + 0.75;
 
@@ -211,7 +210,7 @@ public class GreenGaussCellGradientTest {
         };
 
         new GreenGaussCellGradient(mesh).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -258,8 +257,8 @@ public class GreenGaussCellGradientTest {
         assertVectorEquals(v1.add(v2).unit(), fl.surface.unitNormal(), 1e-12);
         assertVectorEquals(v2.add(v3).unit(), fr.surface.unitNormal(), 1e-12);
 
-        DoubleArray.copy(new double[]{3.0, 6.0, -9.0}, fl.U);
-        DoubleArray.copy(new double[]{-4.0, 8.0, -8.0}, fr.U);
+        fl.setU(new double[]{3.0, 6.0, -9.0});
+        fr.setU(new double[]{-4.0, 8.0, -8.0});
 
         double dx = -3 + 4;
         double dy = -1 - 1;
@@ -277,7 +276,7 @@ public class GreenGaussCellGradientTest {
         };
 
         new GreenGaussCellGradient(mesh).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -318,10 +317,10 @@ public class GreenGaussCellGradientTest {
 
         cell.faces.addAll(List.of(fs, fe, fn, fw));
 
-        DoubleArray.copy(new double[]{5.5, 6.4, 4}, fe.U);
-        DoubleArray.copy(new double[]{-5, 54.5, 4}, fw.U);
-        DoubleArray.copy(new double[]{-56, 0, 6}, fn.U);
-        DoubleArray.copy(new double[]{8, 0, -6}, fs.U);
+        fe.setU(new double[]{5.5, 6.4, 4});
+        fw.setU(new double[]{-5, 54.5, 4});
+        fn.setU(new double[]{-56, 0, 6});
+        fs.setU(new double[]{8, 0, -6});
 
         double dx = 1;
         double dy = 1;
@@ -332,7 +331,7 @@ public class GreenGaussCellGradientTest {
         };
 
         new GreenGaussCellGradient(createMesh(cell)).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -386,11 +385,11 @@ public class GreenGaussCellGradientTest {
                 // set face values using linear interpolation
                 faceU[var] = Ui[var] + expectedGradients[var].dot(dr);
             }
-            DoubleArray.copy(faceU, face.U);
+            face.setU(faceU);
         }
 
         new GreenGaussCellGradient(createMesh(cell)).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -449,11 +448,11 @@ public class GreenGaussCellGradientTest {
                 // set face values using linear interpolation
                 faceU[var] = Ui[var] + expectedGradients[var].dot(dr);
             }
-            DoubleArray.copy(faceU, face.U);
+            face.setU(faceU);
         }
 
         new GreenGaussCellGradient(mesh).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -507,11 +506,11 @@ public class GreenGaussCellGradientTest {
                 // set face values using linear interpolation
                 faceU[var] = Ui[var] + expectedGradients[var].dot(dr);
             }
-            DoubleArray.copy(faceU, face.U);
+            face.setU(faceU);
         }
 
         new GreenGaussCellGradient(createMesh(cell)).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -565,11 +564,11 @@ public class GreenGaussCellGradientTest {
                 // set face values using linear interpolation
                 faceU[var] = Ui[var] + expectedGradients[var].dot(dr);
             }
-            DoubleArray.copy(faceU, face.U);
+            face.setU(faceU);
         }
 
         new GreenGaussCellGradient(createMesh(cell)).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -623,7 +622,7 @@ public class GreenGaussCellGradientTest {
                 // set face values using linear interpolation
                 faceU[var] = Ui[var] + expectedGradients[var].dot(dr);
             }
-            DoubleArray.copy(faceU, face.U);
+            face.setU(faceU);
         }
 
         Vector[] normalGradientComponents = new Vector[numVars];
@@ -633,7 +632,7 @@ public class GreenGaussCellGradientTest {
         }
 
         new GreenGaussCellGradient(createMesh(cell)).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -710,11 +709,11 @@ public class GreenGaussCellGradientTest {
                 // set face values using linear interpolation
                 faceU[var] = Ui[var] + expectedGradients[var].dot(dr);
             }
-            DoubleArray.copy(faceU, face.U);
+            face.setU(faceU);
         }
 
         new GreenGaussCellGradient(createMesh(cell)).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -775,11 +774,11 @@ public class GreenGaussCellGradientTest {
                 // set face values using linear interpolation
                 faceU[var] = Ui[var] + expectedGradients[var].dot(dr);
             }
-            DoubleArray.copy(faceU, face.U);
+            face.setU(faceU);
         }
 
         new GreenGaussCellGradient(createMesh(cell)).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         assertVectorEquals(expectedGradients[0], actualGradients[0], 1e-12);
@@ -884,11 +883,11 @@ public class GreenGaussCellGradientTest {
             for (int i = 0; i < expectedGradients.length; i++) {
                 U[i] = U0[i] + expectedGradients[i].dot(dr);
             }
-            DoubleArray.copy(U, face.U);
+            face.setU(U);
         }
 
         new GreenGaussCellGradient(mesh).setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         for (int i = 0; i < numVars; i++) {
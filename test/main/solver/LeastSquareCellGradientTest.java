@@ -19,7 +19,6 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
-import static main.util.DoubleArray.copy;
 import static main.util.TestHelper.assertVectorEquals;
 import static org.junit.Assert.assertEquals;
 
@@ -33,12 +32,12 @@ public class LeastSquareCellGradientTest {
 
         // Setup variable values
         mesh.cellStream()
-                .forEach(cell -> copy(new double[]{45, 78, 25, 134, -24}, cell.U));
+                .forEach(cell -> cell.setU(new double[]{45, 78, 25, 134, -24}));
 
         CellGradientCalculator gradientCalc = new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors());
         gradientCalc.setupAllCells();
         Cell cell = mesh.cells().get(1);
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         Vector[] expectedGradients = new Vector[]{
                 new Vector(0, 0, 0), new Vector(0, 0, 0), new Vector(0, 0, 0),
@@ -67,13 +66,13 @@ public class LeastSquareCellGradientTest {
         mesh.cellStream().forEach(cell -> {
             Vector distVector = new Vector(c0.shape.centroid, cell.shape.centroid);
             for (int var = 0; var < U0.length; var++) {
-                cell.U[var] = U0[var] + expectedGradients[var].dot(distVector);
+                cell.setU(var, U0[var] + expectedGradients[var].dot(distVector));
             }
         });
 
         CellGradientCalculator gradientCalc = new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors());
         gradientCalc.setupAllCells();
-        Vector[] actualGradients = c0.gradientU;
+        Vector[] actualGradients = c0.gradientU();
 
         assertEquals(expectedGradients.length, actualGradients.length);
         for (int i = 0; i < expectedGradients.length; i++) {
@@ -98,13 +97,13 @@ public class LeastSquareCellGradientTest {
         mesh.nodeStream().flatMap(node -> node.neighbors.stream()).distinct().forEach(cell -> {
             Vector distVector = new Vector(c0.shape.centroid, cell.shape.centroid);
             for (int var = 0; var < U0.length; var++) {
-                cell.U[var] = U0[var] + expectedGradients[var].dot(distVector);
+                cell.setU(var, U0[var] + expectedGradients[var].dot(distVector));
             }
         });
 
         CellGradientCalculator gradientCalc = new LeastSquareCellGradient(mesh, new NodeBasedCellNeighbors());
         gradientCalc.setupAllCells();
-        Vector[] actualGradients = c0.gradientU;
+        Vector[] actualGradients = c0.gradientU();
 
         assertEquals(expectedGradients.length, actualGradients.length);
         for (int i = 0; i < expectedGradients.length; i++) {
@@ -123,14 +122,14 @@ public class LeastSquareCellGradientTest {
         Cell n2 = mesh.cells().get(2);
         Cell n3 = mesh.cells().get(5);
 
-        copy(new double[]{-40.0, -8.0, -28.0, 16.0, 36.0}, c0.U);
-        copy(new double[]{-7.0, 26.0, -38.0, 28.0, 40.0}, n1.U);
-        copy(new double[]{-18.0, -4.0, 25.0, 33.0, -5.0}, n2.U);
-        copy(new double[]{18.0, 45.0, 33.0, -19.0, 49.0}, n3.U);
+        c0.setU(new double[]{-40.0, -8.0, -28.0, 16.0, 36.0});
+        n1.setU(new double[]{-7.0, 26.0, -38.0, 28.0, 40.0});
+        n2.setU(new double[]{-18.0, -4.0, 25.0, 33.0, -5.0});
+        n3.setU(new double[]{18.0, 45.0, 33.0, -19.0, 49.0});
 
         CellGradientCalculator gradientCalc = new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors());
         gradientCalc.setupAllCells();
-        Vector[] actualGradients = c0.gradientU;
+        Vector[] actualGradients = c0.gradientU();
 
         // Calculated using Maxima
         Vector[] expectedGradients = {
@@ -170,13 +169,13 @@ public class LeastSquareCellGradientTest {
         Cell neigh1 = mesh.cells().get(0);
         Cell neigh2 = mesh.cells().get(2);
 
-        copy(new double[]{-5, 3, 10}, neigh1.U);
-        copy(new double[]{2, 5, 8}, cell.U);
-        copy(new double[]{2, 3, -2}, neigh2.U);
+        neigh1.setU(new double[]{-5, 3, 10});
+        cell.setU(new double[]{2, 5, 8});
+        neigh2.setU(new double[]{2, 3, -2});
 
         LeastSquareCellGradient cellGradient = new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors());
         cellGradient.setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         Point p1 = neigh1.shape.centroid;
         Point p2 = cell.shape.centroid;
@@ -217,13 +216,13 @@ public class LeastSquareCellGradientTest {
         Cell neigh1 = mesh.cells().get(0);
         Cell neigh2 = mesh.cells().get(2);
 
-        copy(new double[]{-5, 3, 10}, neigh1.U);
-        copy(new double[]{2, 5, 8}, cell.U);
-        copy(new double[]{2, 3, -2}, neigh2.U);
+        neigh1.setU(new double[]{-5, 3, 10});
+        cell.setU(new double[]{2, 5, 8});
+        neigh2.setU(new double[]{2, 3, -2});
 
         LeastSquareCellGradient cellGradient = new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors());
         cellGradient.setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         Point p1 = neigh1.shape.centroid;
         Point p2 = cell.shape.centroid;
@@ -264,13 +263,13 @@ public class LeastSquareCellGradientTest {
         Cell neigh1 = mesh.cells().get(0);
         Cell neigh2 = mesh.cells().get(2);
 
-        copy(new double[]{-5, 3, 10}, neigh1.U);
-        copy(new double[]{2, 5, 8}, cell.U);
-        copy(new double[]{2, 3, -2}, neigh2.U);
+        neigh1.setU(new double[]{-5, 3, 10});
+        cell.setU(new double[]{2, 5, 8});
+        neigh2.setU(new double[]{2, 3, -2});
 
         LeastSquareCellGradient cellGradient = new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors());
         cellGradient.setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         Point p1 = neigh1.shape.centroid;
         Point p2 = cell.shape.centroid;
@@ -311,13 +310,13 @@ public class LeastSquareCellGradientTest {
         Cell neigh1 = mesh.cells().get(0);
         Cell neigh2 = mesh.cells().get(2);
 
-        copy(new double[]{-5, 3, 10}, neigh1.U);
-        copy(new double[]{2, 5, 8}, cell.U);
-        copy(new double[]{2, 3, -2}, neigh2.U);
+        neigh1.setU(new double[]{-5, 3, 10});
+        cell.setU(new double[]{2, 5, 8});
+        neigh2.setU(new double[]{2, 3, -2});
 
         LeastSquareCellGradient cellGradient = new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors());
         cellGradient.setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         Point p1 = neigh1.shape.centroid;
         Point p2 = cell.shape.centroid;
@@ -358,13 +357,13 @@ public class LeastSquareCellGradientTest {
         Cell neigh1 = mesh.cells().get(0);
         Cell neigh2 = mesh.cells().get(2);
 
-        copy(new double[]{-5, 3, 10}, neigh1.U);
-        copy(new double[]{2, 5, 8}, cell.U);
-        copy(new double[]{2, 3, -2}, neigh2.U);
+        neigh1.setU(new double[]{-5, 3, 10});
+        cell.setU(new double[]{2, 5, 8});
+        neigh2.setU(new double[]{2, 3, -2});
 
         LeastSquareCellGradient cellGradient = new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors());
         cellGradient.setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         Point p1 = neigh1.shape.centroid;
         Point p2 = cell.shape.centroid;
@@ -480,12 +479,12 @@ public class LeastSquareCellGradientTest {
             for (int i = 0; i < expectedGradients.length; i++) {
                 U[i] = U0[i] + expectedGradients[i].dot(dr);
             }
-            DoubleArray.copy(U, neigh.U);
+            neigh.setU(U);
         }
 
         CellGradientCalculator gradientCalculator = new LeastSquareCellGradient(mesh, neighborsCalc);
         gradientCalculator.setupAllCells();
-        Vector[] actualGradients = cell.gradientU;
+        Vector[] actualGradients = cell.gradientU();
 
         assertEquals(numVars, actualGradients.length);
         for (int i = 0; i < numVars; i++) {
@@ -12,7 +12,6 @@ import java.io.*;
 import java.util.Arrays;
 import java.util.List;
 
-import static main.util.DoubleArray.copy;
 import static main.util.TestHelper.assertVectorEquals;
 import static org.junit.Assert.*;
 
@@ -148,14 +147,14 @@ public class LeastSquareFaceInterpolationTest {
         assertEquals(4, centralCellFaces.size());
 
         double[] constU = new double[]{1, -3};
-        mesh.cellStream().forEach(cell -> copy(constU, cell.U));
+        mesh.cellStream().forEach(cell -> cell.setU(constU));
 
         ls.setupAllFaces();
 
         for (Face face : centralCellFaces) {
-            assertArrayEquals(constU, face.U, 1e-12);
+            assertArrayEquals(constU, face.U(), 1e-12);
             for (int var = 0; var < numVars; var++) {
-                assertVectorEquals(new Vector(0, 0, 0), face.gradientU[var], 1e-12);
+                assertVectorEquals(new Vector(0, 0, 0), face.gradientU()[var], 1e-12);
             }
         }
     }
@@ -177,15 +176,15 @@ public class LeastSquareFaceInterpolationTest {
                 new Vector(-54, -8, 9),
                 new Vector(2, 7, -6)
         };
-        mesh.cellStream().forEach(cell -> copy(calculateValue(p0, U0, gradients, cell.shape.centroid), cell.U));
+        mesh.cellStream().forEach(cell -> cell.setU(calculateValue(p0, U0, gradients, cell.shape.centroid)));
 
         ls.setupAllFaces();
 
         for (Face face : centralCellFaces) {
-            assertArrayEquals(calculateValue(p0, U0, gradients, face.surface.centroid), face.U, 1e-12);
+            assertArrayEquals(calculateValue(p0, U0, gradients, face.surface.centroid), face.U(), 1e-12);
             for (int var = 0; var < numVars; var++) {
                 Vector expectedPlanarGradient = removeVectorComponent(gradients[var], planarNormal);
-                assertVectorEquals(expectedPlanarGradient, face.gradientU[var], 1e-12);
+                assertVectorEquals(expectedPlanarGradient, face.gradientU()[var], 1e-12);
             }
         }
     }
@@ -206,14 +205,14 @@ public class LeastSquareFaceInterpolationTest {
                 new Vector(-54, -8, 9),
                 new Vector(2, 7, -6)
         };
-        mesh.cellStream().forEach(cell -> copy(calculateValue(p0, U0, gradients, cell.shape.centroid), cell.U));
+        mesh.cellStream().forEach(cell -> cell.setU(calculateValue(p0, U0, gradients, cell.shape.centroid)));
 
         ls.setupAllFaces();
 
         for (Face face : centralCellFaces) {
-            assertArrayEquals(calculateValue(p0, U0, gradients, face.surface.centroid), face.U, 1e-12);
+            assertArrayEquals(calculateValue(p0, U0, gradients, face.surface.centroid), face.U(), 1e-12);
             for (int var = 0; var < numVars; var++) {
-                assertVectorEquals(gradients[var], face.gradientU[var], 1e-12);
+                assertVectorEquals(gradients[var], face.gradientU()[var], 1e-12);
             }
         }
     }
@@ -0,0 +1,116 @@
+package main.solver;
+
+import main.geom.Vector;
+import main.mesh.Cell;
+import main.mesh.DerivedField;
+import main.mesh.Mesh;
+import main.mesh.factory.Structured2DMesh;
+import main.physics.bc.BoundaryCondition;
+import main.physics.bc.ExtrapolatedBC;
+import main.physics.bc.InviscidWallBC;
+import main.physics.bc.WallBC;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
+import main.physics.goveqn.factory.EulerEquations;
+import main.physics.goveqn.factory.GrainGrowthFanChenEquations;
+import main.solver.convection.ConvectionResidual;
+import main.solver.convection.reconstructor.PiecewiseConstantReconstructor;
+import main.solver.convection.reconstructor.VKLimiterReconstructor;
+import main.solver.convection.riemann.HLLRiemannSolver;
+import main.solver.diffusion.DiffusionResidual;
+import main.solver.source.SourceResidual;
+import main.solver.time.ExplicitEulerTimeIntegrator;
+import main.solver.time.ImplicitLUSGSTimeIntegrator;
+import main.solver.time.LocalTimeStep;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.EnumSet;
+import java.util.List;
+
+import static main.util.DoubleArray.newFilledArray;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SpaceDiscretizationTest {
+
+    private static final File MESH_FILE = new File("test/test_data/mesh_structured_2d.cfds");
+
+    @Test
+    public void first_order_inviscid_flow_needs_only_the_ghost_cell_values() throws FileNotFoundException {
+        EulerEquations govEqn = new EulerEquations(1.4, 287);
+        BoundaryCondition wall = new InviscidWallBC(govEqn);
+        Mesh mesh = new Structured2DMesh(MESH_FILE, govEqn.numVars(), wall, wall, wall, wall);
+
+        SpaceDiscretization spaceDiscretization = new SpaceDiscretization(mesh, new ZeroCellGradient(mesh), List.of(
+                new ConvectionResidual(new PiecewiseConstantReconstructor(), new HLLRiemannSolver(govEqn), mesh)));
+
+        assertEquals(EnumSet.of(DerivedField.GHOST_VALUES), spaceDiscretization.requiredFields());
+    }
+
+    @Test
+    public void grain_growth_does_not_need_the_cell_gradients() throws FileNotFoundException {
+        int numOrientations = 3;
+        GrainGrowthFanChenEquations govEqn = new GrainGrowthFanChenEquations(numOrientations, 1.0, 1.0, 1.0,
+                newFilledArray(numOrientations, 0.0003), newFilledArray(numOrientations, 1));
+        BoundaryCondition extrapolated = new ExtrapolatedBC(govEqn);
+        Mesh mesh = new Structured2DMesh(MESH_FILE, govEqn.numVars(),
+                extrapolated, extrapolated, extrapolated, extrapolated);
+        CellGradientCalculator cellGradient = new LeastSquareCellGradient(mesh, new FaceBasedCellNeighbors());
+
+        SpaceDiscretization spaceDiscretization = new SpaceDiscretization(mesh, cellGradient,
+                List.of(new DiffusionResidual(mesh, govEqn), new SourceResidual(mesh, govEqn)));
+
+        assertEquals(EnumSet.of(DerivedField.GHOST_VALUES, DerivedField.FACE_VALUES, DerivedField.FACE_GRADIENTS),
+                spaceDiscretization.requiredFields());
+        for (Cell cell : mesh.cells()) {
+            cell.setU(0, cell.shape.centroid.x);
+        }
+        spaceDiscretization.setResiduals();
+        assertArrayEquals(new double[mesh.fields().cellGradients.length], mesh.fields().cellGradients, 0.0);
+    }
+
+    @Test
+    public void the_fields_of_the_cell_gradient_calculator_are_added_when_the_cell_gradients_are_needed()
+            throws FileNotFoundException {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.2, 0.05,
+                new Vector(0, 0, 0));
+        BoundaryCondition wall = new WallBC(govEqn, new Vector(0, 0, 0));
+        Mesh mesh = new Structured2DMesh(MESH_FILE, govEqn.numVars(), wall, wall, wall, wall);
+        VKLimiterReconstructor reconstructor = new VKLimiterReconstructor(mesh, govEqn, new FaceBasedCellNeighbors());
+
+        SpaceDiscretization spaceDiscretization = new SpaceDiscretization(mesh, new GreenGaussCellGradient(mesh),
+                List.of(new ConvectionResidual(reconstructor, new HLLRiemannSolver(govEqn), mesh)));
+
+        assertEquals(EnumSet.allOf(DerivedField.class), spaceDiscretization.requiredFields());
+    }
+
+    @Test
+    public void the_face_values_are_computed_for_the_diffusivity_of_the_time_step() throws FileNotFoundException {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.2, 0.05,
+                new Vector(0, 0, 0));
+        BoundaryCondition wall = new WallBC(govEqn, new Vector(0, 0, 0));
+        Mesh mesh = new Structured2DMesh(MESH_FILE, govEqn.numVars(), wall, wall, wall, wall);
+        SpaceDiscretization spaceDiscretization = new SpaceDiscretization(mesh, new ZeroCellGradient(mesh), List.of(
+                new ConvectionResidual(new PiecewiseConstantReconstructor(), new HLLRiemannSolver(govEqn), mesh)));
+        assertEquals(EnumSet.of(DerivedField.GHOST_VALUES), spaceDiscretization.requiredFields());
+
+        new ExplicitEulerTimeIntegrator(mesh, spaceDiscretization, new LocalTimeStep(mesh, govEqn), govEqn.numVars());
+
+        assertEquals(EnumSet.of(DerivedField.GHOST_VALUES, DerivedField.FACE_VALUES, DerivedField.FACE_GRADIENTS),
+                spaceDiscretization.requiredFields());
+    }
+
+    @Test
+    public void the_time_step_without_diffusion_needs_no_fields() throws FileNotFoundException {
+        EulerEquations govEqn = new EulerEquations(1.4, 287);
+        BoundaryCondition wall = new InviscidWallBC(govEqn);
+        Mesh mesh = new Structured2DMesh(MESH_FILE, govEqn.numVars(), wall, wall, wall, wall);
+        SpaceDiscretization spaceDiscretization = new SpaceDiscretization(mesh, new ZeroCellGradient(mesh), List.of(
+                new ConvectionResidual(new PiecewiseConstantReconstructor(), new HLLRiemannSolver(govEqn), mesh)));
+
+        new ImplicitLUSGSTimeIntegrator(mesh, spaceDiscretization, new LocalTimeStep(mesh, govEqn), govEqn);
+
+        assertEquals(EnumSet.of(DerivedField.GHOST_VALUES), spaceDiscretization.requiredFields());
+    }
+}
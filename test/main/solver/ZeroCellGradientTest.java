@@ -20,7 +20,7 @@ public class ZeroCellGradientTest {
 
         for (Cell cell : mesh.cells()) {
             for (int var = 0; var < numVars; var++) {
-                TestHelper.assertVectorEquals(new Vector(0, 0, 0), cell.gradientU[var], 1e-15);
+                TestHelper.assertVectorEquals(new Vector(0, 0, 0), cell.gradientU()[var], 1e-15);
             }
         }
     }
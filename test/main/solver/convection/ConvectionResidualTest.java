@@ -0,0 +1,64 @@
+package main.solver.convection;
+
+import main.mesh.Cell;
+import main.mesh.Mesh;
+import main.mesh.factory.Structured2DMesh;
+import main.physics.bc.BoundaryCondition;
+import main.physics.bc.InviscidWallBC;
+import main.physics.goveqn.factory.EulerEquations;
+import main.solver.CellGradientCalculator;
+import main.solver.CellNeighborCalculator;
+import main.solver.FaceBasedCellNeighbors;
+import main.solver.LeastSquareCellGradient;
+import main.solver.SpaceDiscretization;
+import main.solver.convection.reconstructor.VKLimiterReconstructor;
+import main.solver.convection.riemann.BatchHLLRiemannSolver;
+import main.solver.convection.riemann.BatchRusanovRiemannSolver;
+import main.solver.convection.riemann.HLLRiemannSolver;
+import main.solver.convection.riemann.RusanovRiemannSolver;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class ConvectionResidualTest {
+
+    @Test
+    public void batch_riemann_solvers_give_the_same_residuals() throws FileNotFoundException {
+        EulerEquations govEqn = new EulerEquations(1.4, 287);
+        BoundaryCondition wall = new InviscidWallBC(govEqn);
+        Mesh mesh = new Structured2DMesh(new File("test/test_data/mesh_structured_2d.cfds"), govEqn.numVars(),
+                wall, wall, wall, wall);
+
+        Random rnd = new Random(31);
+        for (Cell cell : mesh.cells()) {
+            double[] primitiveVars = {1 + rnd.nextDouble(), 1000 * rnd.nextDouble(), 100 * rnd.nextDouble(), 0,
+                    101325 * (1 + rnd.nextDouble())};
+            cell.setU(govEqn.conservativeVars(primitiveVars));
+        }
+
+        CellNeighborCalculator neighbors = new FaceBasedCellNeighbors();
+        CellGradientCalculator cellGradient = new LeastSquareCellGradient(mesh, neighbors);
+        VKLimiterReconstructor reconstructor = new VKLimiterReconstructor(mesh, govEqn, neighbors);
+
+        new SpaceDiscretization(mesh, cellGradient, List.of(
+                new ConvectionResidual(reconstructor, new RusanovRiemannSolver(govEqn), mesh))).setResiduals();
+        double[] expectedResidual = mesh.fields().residual.clone();
+        new SpaceDiscretization(mesh, cellGradient, List.of(
+                new ConvectionResidual(reconstructor, new BatchRusanovRiemannSolver(govEqn.batchConvection()), mesh)))
+                .setResiduals();
+        assertArrayEquals(expectedResidual, mesh.fields().residual, 0.0);
+
+        new SpaceDiscretization(mesh, cellGradient, List.of(
+                new ConvectionResidual(reconstructor, new HLLRiemannSolver(govEqn), mesh))).setResiduals();
+        expectedResidual = mesh.fields().residual.clone();
+        new SpaceDiscretization(mesh, cellGradient, List.of(
+                new ConvectionResidual(reconstructor, new BatchHLLRiemannSolver(govEqn.batchConvection()), mesh)))
+                .setResiduals();
+        assertArrayEquals(expectedResidual, mesh.fields().residual, 0.0);
+    }
+}
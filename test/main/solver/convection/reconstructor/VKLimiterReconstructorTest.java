@@ -4,6 +4,7 @@ import main.geom.Point;
 import main.geom.Vector;
 import main.geom.factory.Line;
 import main.mesh.Cell;
+import main.mesh.Face;
 import main.mesh.Mesh;
 import main.mesh.factory.Unstructured2DMesh;
 import main.physics.goveqn.factory.EulerEquations;
@@ -33,7 +34,7 @@ public class VKLimiterReconstructorTest {
                 new File("test/test_data/mesh_unstructured_2d.cfdu"), govEqn.numVars(), Map.of());
 
         double[] U = {1.2, 45, 75, 18, 6546135};
-        mesh.cellStream().forEach(cell -> copy(U, cell.U));
+        mesh.cellStream().forEach(cell -> cell.setU(U));
 
         CellNeighborCalculator neighborsCalculator = new FaceBasedCellNeighbors();
         CellGradientCalculator cellGradientCalculator = new LeastSquareCellGradient(mesh, neighborsCalculator);
@@ -65,9 +66,9 @@ public class VKLimiterReconstructorTest {
                 new File("test/test_data/mesh_unstructured_2d.cfdu"), govEqn.numVars(), Map.of());
 
         Cell cell_i = mesh.cells().get(1);
-        int numVars = cell_i.U.length;
+        int numVars = cell_i.numVars();
         Vector[] gradientsNotLimited = gradientsNotLimited();
-        mesh.cellStream().forEach(c -> copy(linearReconstruct(gradientsNotLimited, cell_i.shape.centroid, c.shape.centroid), c.U));
+        mesh.cellStream().forEach(c -> c.setU(linearReconstruct(gradientsNotLimited, cell_i.shape.centroid, c.shape.centroid)));
 
         double[] minPhysical = Arrays.stream(govEqn.physicalLimits())
                 .mapToDouble(l -> l.min)
@@ -78,16 +79,16 @@ public class VKLimiterReconstructorTest {
 
         Cell[] neighs = {mesh.cells().get(0), mesh.cells().get(2), mesh.cells().get(5)};
         double[] minU = max(minPhysical, min(Arrays.stream(neighs)
-                .map(cell -> cell.U)
-                .reduce(maxPhysical, DoubleArray::min), cell_i.U));
+                .map(cell -> cell.U())
+                .reduce(maxPhysical, DoubleArray::min), cell_i.U()));
 
         double[] maxU = min(maxPhysical, max(Arrays.stream(neighs)
-                .map(cell -> cell.U)
-                .reduce(minPhysical, DoubleArray::max), cell_i.U));
+                .map(cell -> cell.U())
+                .reduce(minPhysical, DoubleArray::max), cell_i.U()));
 
         double[] Phi = Arrays.stream(cell_i.nodes)
                 .map(n -> linearReconstruct(gradientsNotLimited, cell_i.shape.centroid, n.location()))
-                .map(Uj -> Phi(minU, maxU, cell_i.U, Uj))
+                .map(Uj -> Phi(minU, maxU, cell_i.U(), Uj))
                 .reduce(maxPhysical, DoubleArray::min);
 
         Vector[] gradientsLimited = IntStream.range(0, numVars)
@@ -126,9 +127,9 @@ public class VKLimiterReconstructorTest {
                 new File("test/test_data/mesh_unstructured_2d_yz.cfdu"), govEqn.numVars(), Map.of());
 
         Cell cell_i = mesh.cells().get(1);
-        int numVars = cell_i.U.length;
+        int numVars = cell_i.numVars();
         Vector[] gradientsNotLimited = gradientsNotLimited();
-        mesh.cellStream().forEach(c -> copy(linearReconstruct(gradientsNotLimited, cell_i.shape.centroid, c.shape.centroid), c.U));
+        mesh.cellStream().forEach(c -> c.setU(linearReconstruct(gradientsNotLimited, cell_i.shape.centroid, c.shape.centroid)));
 
         double[] minPhysical = Arrays.stream(govEqn.physicalLimits())
                 .mapToDouble(l -> l.min)
@@ -139,16 +140,16 @@ public class VKLimiterReconstructorTest {
 
         Cell[] neighs = {mesh.cells().get(0), mesh.cells().get(2), mesh.cells().get(5)};
         double[] minU = max(minPhysical, min(Arrays.stream(neighs)
-                .map(cell -> cell.U)
-                .reduce(maxPhysical, DoubleArray::min), cell_i.U));
+                .map(cell -> cell.U())
+                .reduce(maxPhysical, DoubleArray::min), cell_i.U()));
 
         double[] maxU = min(maxPhysical, max(Arrays.stream(neighs)
-                .map(cell -> cell.U)
-                .reduce(minPhysical, DoubleArray::max), cell_i.U));
+                .map(cell -> cell.U())
+                .reduce(minPhysical, DoubleArray::max), cell_i.U()));
 
         double[] Phi = Arrays.stream(cell_i.nodes)
                 .map(n -> linearReconstruct(gradientsNotLimited, cell_i.shape.centroid, n.location()))
-                .map(Uj -> Phi(minU, maxU, cell_i.U, Uj))
+                .map(Uj -> Phi(minU, maxU, cell_i.U(), Uj))
                 .reduce(maxPhysical, DoubleArray::min);
 
         Vector[] gradientsLimited = IntStream.range(0, numVars)
@@ -187,9 +188,9 @@ public class VKLimiterReconstructorTest {
                 new File("test/test_data/mesh_unstructured_2d_xz.cfdu"), govEqn.numVars(), Map.of());
 
         Cell cell_i = mesh.cells().get(1);
-        int numVars = cell_i.U.length;
+        int numVars = cell_i.numVars();
         Vector[] gradientsNotLimited = gradientsNotLimited();
-        mesh.cellStream().forEach(c -> copy(linearReconstruct(gradientsNotLimited, cell_i.shape.centroid, c.shape.centroid), c.U));
+        mesh.cellStream().forEach(c -> c.setU(linearReconstruct(gradientsNotLimited, cell_i.shape.centroid, c.shape.centroid)));
 
         double[] minPhysical = Arrays.stream(govEqn.physicalLimits())
                 .mapToDouble(l -> l.min)
@@ -200,16 +201,16 @@ public class VKLimiterReconstructorTest {
 
         Cell[] neighs = {mesh.cells().get(0), mesh.cells().get(2), mesh.cells().get(5)};
         double[] minU = max(minPhysical, min(Arrays.stream(neighs)
-                .map(cell -> cell.U)
-                .reduce(maxPhysical, DoubleArray::min), cell_i.U));
+                .map(cell -> cell.U())
+                .reduce(maxPhysical, DoubleArray::min), cell_i.U()));
 
         double[] maxU = min(maxPhysical, max(Arrays.stream(neighs)
-                .map(cell -> cell.U)
-                .reduce(minPhysical, DoubleArray::max), cell_i.U));
+                .map(cell -> cell.U())
+                .reduce(minPhysical, DoubleArray::max), cell_i.U()));
 
         double[] Phi = Arrays.stream(cell_i.nodes)
                 .map(n -> linearReconstruct(gradientsNotLimited, cell_i.shape.centroid, n.location()))
-                .map(Uj -> Phi(minU, maxU, cell_i.U, Uj))
+                .map(Uj -> Phi(minU, maxU, cell_i.U(), Uj))
                 .reduce(maxPhysical, DoubleArray::min);
 
         Vector[] gradientsLimited = IntStream.range(0, numVars)
@@ -282,4 +283,29 @@ public class VKLimiterReconstructorTest {
     private double next(Random rnd) {
         return rnd.nextDouble() * rnd.nextInt(100) - 50;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void face_states_are_the_reconstructed_values_at_the_face_centroids() throws FileNotFoundException {
+        EulerEquations govEqn = new EulerEquations(1.4, 287);
+        Mesh mesh = new Unstructured2DMesh(
+                new File("test/test_data/mesh_unstructured_2d.cfdu"), govEqn.numVars(), Map.of());
+
+        Random rnd = new Random(42);
+        for (Cell cell : mesh.cells()) {
+            cell.setU(random(govEqn.numVars(), rnd, 1, 2));
+        }
+
+        CellNeighborCalculator neighborsCalculator = new FaceBasedCellNeighbors();
+        new LeastSquareCellGradient(mesh, neighborsCalculator).setupAllCells();
+        SolutionReconstructor reconstructor = new VKLimiterReconstructor(mesh, govEqn, neighborsCalculator);
+        reconstructor.reconstruct();
+
+        double[] UL = new double[govEqn.numVars()];
+        double[] UR = new double[govEqn.numVars()];
+        for (Face face : mesh.internalFaces()) {
+            reconstructor.faceStates(face, UL, UR);
+            assertArrayEquals(reconstructor.conservativeVars(face.left, face.surface.centroid), UL, 0.0);
+            assertArrayEquals(reconstructor.conservativeVars(face.right, face.surface.centroid), UR, 0.0);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package main.solver.convection.riemann;
+
+import main.geom.Vector;
+import main.mesh.GeometryStore;
+import main.mesh.Surface;
+import main.physics.goveqn.BatchConvection;
+import main.physics.goveqn.GoverningEquations;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
+import main.physics.goveqn.factory.EulerEquations;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static main.physics.goveqn.BatchConvection.BLOCK_SIZE;
+import static org.junit.Assert.assertEquals;
+
+public class BatchRiemannSolverTest {
+
+    private static final int COUNT = 37;
+
+    @Test
+    public void batch_solvers_give_the_fluxes_of_the_scalar_solvers_for_euler_equations() {
+        EulerEquations govEqn = new EulerEquations(1.4, 287);
+        Random rnd = new Random(11);
+        Block block = new Block(govEqn, rnd, () -> {
+            double rho = 0.5 + rnd.nextDouble();
+            // supersonic states as well, for all the cases of HLL
+            double u = 2000 * (rnd.nextDouble() - 0.5), v = 300 * (rnd.nextDouble() - 0.5), w = 50 * rnd.nextDouble();
+            double p = 50000 + 100000 * rnd.nextDouble();
+            return govEqn.conservativeVars(new double[]{rho, u, v, w, p});
+        });
+
+        block.assertSameFluxes(govEqn, govEqn.batchConvection());
+    }
+
+    @Test
+    public void batch_solvers_give_the_fluxes_of_the_scalar_solvers_for_artificial_compressibility_equations() {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.2, 0.01,
+                new Vector(0, 0, 0));
+        Random rnd = new Random(29);
+        Block block = new Block(govEqn, rnd, () -> new double[]{
+                rnd.nextDouble() * 10, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5});
+
+        block.assertSameFluxes(govEqn, govEqn.batchConvection());
+    }
+
+    private interface StateGenerator {
+        double[] next();
+    }
+
+    private static class Block {
+        final int numVars;
+        final double[][] ULs = new double[COUNT][], URs = new double[COUNT][];
+        final double[] UL, UR;
+        final double[] nx = new double[BLOCK_SIZE], ny = new double[BLOCK_SIZE], nz = new double[BLOCK_SIZE];
+        final GeometryStore geometry = new GeometryStore(0, COUNT);
+
+        Block(GoverningEquations govEqn, Random rnd, StateGenerator states) {
+            this.numVars = govEqn.numVars();
+            this.UL = new double[numVars * BLOCK_SIZE];
+            this.UR = new double[numVars * BLOCK_SIZE];
+            for (int i = 0; i < COUNT; i++) {
+                ULs[i] = states.next();
+                URs[i] = states.next();
+                for (int var = 0; var < numVars; var++) {
+                    UL[var * BLOCK_SIZE + i] = ULs[i][var];
+                    UR[var * BLOCK_SIZE + i] = URs[i][var];
+                }
+                Vector n = new Vector(rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5).unit();
+                geometry.setFace(i, new Surface(1.0, null, n));
+                nx[i] = n.x;
+                ny[i] = n.y;
+                nz[i] = n.z;
+            }
+        }
+
+        /**
+         * Compares the batch solvers with the scalar solvers, with and without the Vector API kernels (when it is
+         * available) and with the scalar fallback of the convection.
+         */
+        void assertSameFluxes(GoverningEquations govEqn, BatchConvection batchConvection) {
+            BatchConvection scalar = BatchConvection.scalar(govEqn.convection(), numVars);
+            RiemannSolver rusanov = new RusanovRiemannSolver(govEqn);
+            RiemannSolver hll = new HLLRiemannSolver(govEqn);
+            for (BatchConvection convection : List.of(batchConvection, scalar)) {
+                assertSameFluxes(new BatchRusanovRiemannSolver(convection, false), rusanov);
+                assertSameFluxes(new BatchHLLRiemannSolver(convection, false), hll);
+                if (BatchConvection.vectorApiAvailable()) {
+                    assertSameFluxes(new BatchRusanovRiemannSolver(convection, true), rusanov);
+                    assertSameFluxes(new BatchHLLRiemannSolver(convection, true), hll);
+                }
+            }
+        }
+
+        void assertSameFluxes(BatchRiemannSolver batchSolver, RiemannSolver solver) {
+            double[] out = new double[numVars * BLOCK_SIZE];
+            batchSolver.flux(UL, UR, nx, ny, nz, COUNT, out);
+
+            double[] expected = new double[numVars];
+            for (int i = 0; i < COUNT; i++) {
+                solver.flux(ULs[i], URs[i], geometry, i, expected);
+                for (int var = 0; var < numVars; var++) {
+                    assertEquals(expected[var], out[var * BLOCK_SIZE + i], 0.0);
+                }
+            }
+        }
+    }
+}
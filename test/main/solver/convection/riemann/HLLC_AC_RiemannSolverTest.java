@@ -3,6 +3,7 @@ package main.solver.convection.riemann;
 import main.geom.Vector;
 import main.mesh.Cell;
 import main.mesh.Face;
+import main.mesh.GeometryStore;
 import main.mesh.Surface;
 import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
 import org.junit.Test;
@@ -87,6 +88,31 @@ public class HLLC_AC_RiemannSolverTest {
         assertArrayEquals(flux1, multiply(flux2, -1), 1e-15);
     }
 
+    @Test
+    public void flux_into_output_array_uses_the_face_row_of_the_geometry() {
+        HLLC_AC_RiemannSolver solver = new HLLC_AC_RiemannSolver(
+                new ArtificialCompressibilityEquations(45.5, 12.78, new Vector(-56, 78, 9)));
+
+        double[] UL = random(4, new Random(78), -100, 100);
+        double[] UR = random(4, new Random(-89), -100, 100);
+
+        Surface surface = new Surface(1.2, null, new Vector(3, 6, -12).unit());
+        Cell leftCell = new Cell(null, null, null, UL.length);
+        Face face = new Face(null, null, surface, leftCell, null, UL.length);
+        double[] expectedFlux = solver.flux(UL, UR, face);
+
+        GeometryStore geometry = new GeometryStore(0, 3);
+        geometry.setFace(2, surface);
+        double[] out = new double[4];
+        solver.flux(UL, UR, geometry, 2, out);
+        assertArrayEquals(expectedFlux, out, 0.0);
+
+        // repeated calls reuse the scratch arrays of the thread
+        solver.flux(UR, UL, geometry, 2, out);
+        solver.flux(UL, UR, geometry, 2, out);
+        assertArrayEquals(expectedFlux, out, 0.0);
+    }
+
     @Test
     public void flux_resulting_from_StarL_xsplit() {
         double rho = 28.5;
@@ -3,6 +3,7 @@ package main.solver.source;
 import main.geom.Point;
 import main.geom.Vector;
 import main.mesh.Cell;
+import main.mesh.FieldStore;
 import main.mesh.Mesh;
 import main.mesh.factory.Structured2DMesh;
 import main.physics.goveqn.*;
@@ -25,8 +26,12 @@ public class SourceResidualTest {
                 double avgVal = p.x * 2 + p.y * p.x + p.z * (5.0 + var * 2.1);
                 Vector gradVal = new Vector(4.5 * p.x, 7.5 * p.y, 8.3 * p.x + 7 * p.z + var);
 
-                cell.U[var] = avgVal;
-                cell.gradientU[var] = gradVal;
+                cell.setU(var, avgVal);
+                FieldStore fields = cell.fields();
+                int offset = fields.coeffOffset(cell.fieldRow(), var);
+                fields.cellGradients[offset] = gradVal.x;
+                fields.cellGradients[offset + 1] = gradVal.y;
+                fields.cellGradients[offset + 2] = gradVal.z;
             }
         }
 
@@ -36,10 +41,10 @@ public class SourceResidualTest {
         for (Cell cell : mesh.cells()) {
             double[] expectedSource = new double[govEqn.numVars()];
             for (int i = 0; i < expectedSource.length; i++) {
-                expectedSource[i] = -test_source(cell.U, cell.gradientU)[i] * cell.shape.volume;
+                expectedSource[i] = -test_source(cell.U(), cell.gradientU())[i] * cell.shape.volume;
             }
 
-            Assert.assertArrayEquals(expectedSource, cell.residual, 1e-15);
+            Assert.assertArrayEquals(expectedSource, cell.residual(), 1e-15);
         }
     }
 
@@ -0,0 +1,99 @@
+package main.solver.time;
+
+import main.geom.Vector;
+import main.mesh.Cell;
+import main.mesh.Mesh;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
+import main.solver.Norm;
+import main.solver.SpaceDiscretization;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+
+import static main.solver.time.ImplicitLUSGSTimeIntegratorTest.createMesh;
+import static main.solver.time.ImplicitLUSGSTimeIntegratorTest.createSpaceDiscretization;
+import static org.junit.Assert.assertArrayEquals;
+
+public class ExplicitEulerTimeIntegratorTest {
+
+    /**
+     * Integrator which limits the pressure after each step, without reporting it through cellAveragesModified().
+     */
+    private static class LimitingTimeIntegrator extends ExplicitEulerTimeIntegrator {
+        private final Mesh mesh;
+
+        LimitingTimeIntegrator(Mesh mesh, SpaceDiscretization spaceDiscretization, TimeStep timeStep, int numVars) {
+            super(mesh, spaceDiscretization, timeStep, numVars);
+            this.mesh = mesh;
+        }
+
+        @Override
+        public void updateCellAverages() {
+            super.updateCellAverages();
+            for (Cell cell : mesh.cells()) {
+                cell.setU(0, Math.max(cell.U(0), 0.0));
+            }
+        }
+    }
+
+    @Test
+    public void residual_of_averages_modified_without_notification_is_of_the_modified_averages()
+            throws FileNotFoundException {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.0, 0.01,
+                new Vector(0, 0, 0));
+        Mesh mesh = createMesh(govEqn);
+        TimeIntegrator timeIntegrator = new LimitingTimeIntegrator(mesh, createSpaceDiscretization(mesh, govEqn),
+                new LocalTimeStep(mesh, govEqn), govEqn.numVars());
+        timeIntegrator.setCourantNum(0.5);
+
+        double[][] U = mesh.cells().stream()
+                .map(cell -> cell.U())
+                .toArray(double[][]::new);
+        timeIntegrator.updateCellAverages();
+
+        assertArrayEquals(oneNorm(mesh, U), timeIntegrator.currentTotalResidual(Norm.ONE_NORM), 1e-12);
+    }
+
+    @Test
+    public void reused_residual_includes_averages_modified_with_notification() throws FileNotFoundException {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.0, 0.01,
+                new Vector(0, 0, 0));
+        Mesh mesh = createMesh(govEqn);
+        ExplicitEulerTimeIntegrator timeIntegrator = new ExplicitEulerTimeIntegrator(mesh,
+                createSpaceDiscretization(mesh, govEqn), new LocalTimeStep(mesh, govEqn), govEqn.numVars());
+        timeIntegrator.setCourantNum(0.5);
+        timeIntegrator.setResidualNormReuse(true);
+
+        double[][] U = mesh.cells().stream()
+                .map(cell -> cell.U())
+                .toArray(double[][]::new);
+        timeIntegrator.updateCellAverages();
+        assertArrayEquals(oneNorm(mesh, U), timeIntegrator.currentTotalResidual(Norm.ONE_NORM), 1e-12);
+
+        for (Cell cell : mesh.cells()) {
+            cell.setU(0, Math.max(cell.U(0), 0.0));
+        }
+        timeIntegrator.cellAveragesModified();
+        assertArrayEquals(oneNorm(mesh, U), timeIntegrator.currentTotalResidual(Norm.ONE_NORM), 1e-12);
+    }
+
+    /**
+     * One-norm of (U - U_old) / dt, normalized by the mean magnitude of the current cell averages.
+     */
+    private static double[] oneNorm(Mesh mesh, double[][] U_old) {
+        int numVars = mesh.fields().numVars;
+        double[] residual = new double[numVars];
+        double[] magnitude = new double[numVars];
+        for (Cell cell : mesh.cells()) {
+            for (int var = 0; var < numVars; var++) {
+                residual[var] += Math.abs((cell.U(var) - U_old[cell.index()][var]) / cell.dt);
+                magnitude[var] += Math.abs(cell.U(var));
+            }
+        }
+        for (int var = 0; var < numVars; var++) {
+            residual[var] /= magnitude[var];
+        }
+
+        return residual;
+    }
+}
@@ -75,14 +75,14 @@ public class ExplicitSSPRK3TimeIntegratorTest {
                 govEqn.numVars());
         timeIntegrator.setCourantNum(courantNum);
 
-        copy(Un, cell.U);
+        cell.setU(Un);
         timeIntegrator.updateCellAverages();
 
         // assert that time step is calculated properly
         assertEquals(dt, cell.dt, 1e-15);
 
         // assert that the expected value is same as the calculated value
-        assertArrayEquals(U3, cell.U, 1e-15);
+        assertArrayEquals(U3, cell.U(), 1e-15);
 
         // assert that the expected residual is same as calculated residual
         double[] totalResidual = divide(abs(subtract(U3, U0)), dt);
@@ -0,0 +1,111 @@
+package main.solver.time;
+
+import main.geom.Vector;
+import main.mesh.Cell;
+import main.mesh.Mesh;
+import main.mesh.factory.Structured2DMesh;
+import main.physics.bc.BoundaryCondition;
+import main.physics.bc.WallBC;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
+import main.solver.*;
+import main.solver.convection.ConvectionResidual;
+import main.solver.convection.reconstructor.PiecewiseConstantReconstructor;
+import main.solver.convection.riemann.RusanovRiemannSolver;
+import main.solver.diffusion.DiffusionResidual;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class ImplicitLUSGSTimeIntegratorTest {
+
+    @Test
+    public void residual_is_that_of_the_cell_averages_at_the_start_of_the_step() throws FileNotFoundException {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.0, 0.01,
+                new Vector(0, 0, 0));
+        Mesh mesh = createMesh(govEqn);
+        SpaceDiscretization spaceDiscretization = createSpaceDiscretization(mesh, govEqn);
+        TimeIntegrator timeIntegrator = new ImplicitLUSGSTimeIntegrator(mesh, spaceDiscretization,
+                new LocalTimeStep(mesh, govEqn), govEqn);
+        timeIntegrator.setCourantNum(10);
+
+        assertResidualIsThatOfTheStartOfTheStep(mesh, spaceDiscretization, timeIntegrator);
+    }
+
+    /**
+     * The reported norm is the residual of the averages the step started from, also when the averages are modified
+     * after the step. The modified averages are the start of the next step.
+     */
+    static void assertResidualIsThatOfTheStartOfTheStep(Mesh mesh, SpaceDiscretization spaceDiscretization,
+                                                         TimeIntegrator timeIntegrator) {
+        for (int step = 0; step < 2; step++) {
+            double[][] residual = residual(mesh, spaceDiscretization);
+            timeIntegrator.updateCellAverages();
+            double[] expected = oneNorm(mesh, residual);
+
+            assertArrayEquals(expected, timeIntegrator.currentTotalResidual(Norm.ONE_NORM), 1e-12);
+            for (Cell cell : mesh.cells()) {
+                cell.setU(1, cell.U(1) * 0.5);
+            }
+            timeIntegrator.cellAveragesModified();
+            assertArrayEquals(expected, timeIntegrator.currentTotalResidual(Norm.ONE_NORM), 1e-12);
+        }
+    }
+
+    static Mesh createMesh(ArtificialCompressibilityEquations govEqn) throws FileNotFoundException {
+        BoundaryCondition wall = new WallBC(govEqn, new Vector(0, 0, 0));
+        BoundaryCondition lid = new WallBC(govEqn, new Vector(1, 0, 0));
+        Mesh mesh = new Structured2DMesh(new File("test/test_data/mesh_structured_2d.cfds"), govEqn.numVars(),
+                wall, wall, wall, lid);
+
+        Random rnd = new Random(17);
+        for (Cell cell : mesh.cells()) {
+            for (int var = 0; var < govEqn.numVars(); var++) {
+                cell.setU(var, rnd.nextDouble() * 2 - 1);
+            }
+        }
+
+        return mesh;
+    }
+
+    static SpaceDiscretization createSpaceDiscretization(Mesh mesh, ArtificialCompressibilityEquations govEqn) {
+        CellNeighborCalculator neighbors = new FaceBasedCellNeighbors();
+        return new SpaceDiscretization(mesh, new LeastSquareCellGradient(mesh, neighbors), List.of(
+                new ConvectionResidual(new PiecewiseConstantReconstructor(), new RusanovRiemannSolver(govEqn), mesh),
+                new DiffusionResidual(mesh, govEqn)));
+    }
+
+    /**
+     * @return R of the current cell averages, indexed by the cell index.
+     */
+    static double[][] residual(Mesh mesh, SpaceDiscretization spaceDiscretization) {
+        spaceDiscretization.setResiduals();
+        return mesh.cells().stream()
+                .map(cell -> cell.residual().clone())
+                .toArray(double[][]::new);
+    }
+
+    /**
+     * One-norm of R / vol, normalized by the mean magnitude of the current cell averages.
+     */
+    static double[] oneNorm(Mesh mesh, double[][] R) {
+        int numVars = mesh.fields().numVars;
+        double[] residual = new double[numVars];
+        double[] magnitude = new double[numVars];
+        for (Cell cell : mesh.cells()) {
+            for (int var = 0; var < numVars; var++) {
+                residual[var] += Math.abs(R[cell.index()][var] / cell.shape.volume);
+                magnitude[var] += Math.abs(cell.U(var));
+            }
+        }
+        for (int var = 0; var < numVars; var++) {
+            residual[var] /= magnitude[var];
+        }
+
+        return residual;
+    }
+}
@@ -0,0 +1,29 @@
+package main.solver.time;
+
+import main.geom.Vector;
+import main.mesh.Mesh;
+import main.physics.goveqn.factory.ArtificialCompressibilityEquations;
+import main.solver.SpaceDiscretization;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+
+import static main.solver.time.ImplicitLUSGSTimeIntegratorTest.assertResidualIsThatOfTheStartOfTheStep;
+import static main.solver.time.ImplicitLUSGSTimeIntegratorTest.createMesh;
+import static main.solver.time.ImplicitLUSGSTimeIntegratorTest.createSpaceDiscretization;
+
+public class JFNKTimeIntegratorTest {
+
+    @Test
+    public void residual_is_that_of_the_cell_averages_at_the_start_of_the_step() throws FileNotFoundException {
+        ArtificialCompressibilityEquations govEqn = new ArtificialCompressibilityEquations(1.0, 0.01,
+                new Vector(0, 0, 0));
+        Mesh mesh = createMesh(govEqn);
+        SpaceDiscretization spaceDiscretization = createSpaceDiscretization(mesh, govEqn);
+        TimeIntegrator timeIntegrator = new JFNKTimeIntegrator(mesh, spaceDiscretization,
+                new LocalTimeStep(mesh, govEqn), govEqn);
+        timeIntegrator.setCourantNum(10);
+
+        assertResidualIsThatOfTheStartOfTheStep(mesh, spaceDiscretization, timeIntegrator);
+    }
+}
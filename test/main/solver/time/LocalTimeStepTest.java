@@ -51,6 +51,22 @@ public class LocalTimeStepTest {
         }
     }
 
+    @Test
+    public void diffusivityIsTakenFromTheFaceValues() throws IOException {
+        GoverningEquations govEqn = new StateDiffusionGoverningEquations();
+        Mesh mesh = mesh(govEqn.numVars());
+        mesh.cells().forEach(cell -> cell.setU(0, 0.0));
+        mesh.internalFaces().forEach(face -> face.setU(0, maxAbsDiffusivity));
+        mesh.boundaries().forEach(b -> b.faces.forEach(face -> face.setU(0, maxAbsDiffusivity)));
+
+        TimeStep timeStep = new LocalTimeStep(mesh, govEqn);
+        timeStep.updateCellTimeSteps(courantNumber, Double.POSITIVE_INFINITY);
+
+        for (Cell cell : mesh.cells()) {
+            assertEquals(expectedTimeStepWithOnlyDiffusion(cell.shape.volume, cell.faces), cell.dt, 1e-15);
+        }
+    }
+
     private double expectedTimeStepWithOnlyConvection(double volume, List<Face> faces) {
         double denominator = faces.stream()
                 .mapToDouble(f -> f.surface.area)
@@ -70,6 +86,10 @@ public class LocalTimeStepTest {
     }
 
     private Mesh mesh() throws IOException {
+        return mesh(convectiveGovEqn.numVars());
+    }
+
+    private Mesh mesh(int numVars) throws IOException {
         File tempFile = new File("test/test_data/tempMeshFile.cfds");
         try (FileWriter writer = new FileWriter(tempFile)) {
             writer.write("" +
@@ -95,7 +115,7 @@ public class LocalTimeStepTest {
                     "-4.000000  5.000000  0.0\n");
         }
 
-        Mesh mesh = new Structured2DMesh(tempFile, convectiveGovEqn.numVars(), null, null, null, null);
+        Mesh mesh = new Structured2DMesh(tempFile, numVars, null, null, null, null);
 
         if (!tempFile.delete()) {
             System.out.println("Unable to delete the temporary file: " + tempFile);
@@ -147,6 +167,33 @@ public class LocalTimeStepTest {
         }
     }
 
+    /**
+     * One variable, which is the diffusivity.
+     */
+    private class StateDiffusionGoverningEquations extends BaseGoverningEquations {
+        private final Diffusion diffusion = new Diffusion() {
+            @Override
+            public double[] flux(double[] conservativeVars, Vector[] gradConservativeVars, Vector unitNormal) {
+                return null;
+            }
+
+            @Override
+            public double maxAbsDiffusivity(double[] conservativeVars) {
+                return Math.abs(conservativeVars[0]);
+            }
+        };
+
+        @Override
+        public int numVars() {
+            return 1;
+        }
+
+        @Override
+        public Diffusion diffusion() {
+            return diffusion;
+        }
+    }
+
     private class BaseGoverningEquations implements GoverningEquations {
         @Override
         public String description() {
@@ -0,0 +1,129 @@
+package main.solver.time;
+
+import main.mesh.Cell;
+import main.mesh.Mesh;
+import main.mesh.factory.Structured2DMesh;
+import main.physics.bc.BoundaryCondition;
+import main.physics.bc.ExtrapolatedBC;
+import main.physics.goveqn.factory.EulerEquations;
+import main.solver.Norm;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class ResidualNormTest {
+
+    @Test
+    public void norms_accumulated_in_blocks_are_the_norms_over_all_the_cells() throws IOException {
+        EulerEquations govEqn = new EulerEquations(1.4, 287);
+        int numVars = govEqn.numVars();
+        Mesh mesh = createMesh(41, 31, govEqn);
+        int numCells = mesh.cells().size();
+        double[][] U = new double[numCells][numVars];
+
+        Random rnd = new Random(17);
+        for (Cell cell : mesh.cells()) {
+            for (int var = 0; var < numVars; var++) {
+                U[cell.index()][var] = rnd.nextDouble() - 0.5;
+            }
+            cell.dt = 0.1 + rnd.nextDouble();
+        }
+        ResidualNorm euler = new ResidualNorm(mesh, U, numVars, false);
+        ResidualNorm ssprk3 = new ResidualNorm(mesh, U, numVars, true);
+        euler.update(cell -> {
+            for (int var = 0; var < numVars; var++) {
+                cell.setU(var, U[cell.index()][var] + rnd.nextDouble() - 0.5);
+            }
+        });
+        ssprk3.update(cell -> {
+        });
+
+        double[] sumAbs = new double[numVars], sumSqr = new double[numVars], max = new double[numVars];
+        double[] magnitude = new double[numVars];
+        for (Cell cell : mesh.cells()) {
+            for (int var = 0; var < numVars; var++) {
+                double residual = Math.abs((cell.U(var) - U[cell.index()][var]) / cell.dt);
+                sumAbs[var] += residual;
+                sumSqr[var] += residual * residual;
+                max[var] = Math.max(max[var], residual);
+                magnitude[var] += Math.abs(cell.U(var)) / numCells;
+            }
+        }
+        double[] oneNorm = new double[numVars], twoNorm = new double[numVars], rms = new double[numVars];
+        double[] infNorm = new double[numVars];
+        for (int var = 0; var < numVars; var++) {
+            oneNorm[var] = sumAbs[var] / numCells / magnitude[var];
+            twoNorm[var] = Math.sqrt(sumSqr[var]) / numCells / magnitude[var];
+            rms[var] = Math.sqrt(sumSqr[var] / numCells) / magnitude[var];
+            infNorm[var] = max[var] / magnitude[var];
+        }
+
+        assertArrayEquals(oneNorm, euler.total(Norm.ONE_NORM), 1e-12);
+        assertArrayEquals(twoNorm, euler.total(Norm.TWO_NORM), 1e-12);
+        assertArrayEquals(infNorm, euler.total(Norm.INFINITY_NORM), 1e-12);
+        assertArrayEquals(rms, ssprk3.total(Norm.TWO_NORM), 1e-12);
+    }
+
+    @Test
+    public void modified_cell_averages_are_used_by_default() throws IOException {
+        EulerEquations govEqn = new EulerEquations(1.4, 287);
+        int numVars = govEqn.numVars();
+        Mesh mesh = createMesh(3, 3, govEqn);
+        double[][] U = new double[mesh.cells().size()][numVars];
+        for (Cell cell : mesh.cells()) {
+            cell.dt = 0.5;
+        }
+
+        ResidualNorm residualNorm = new ResidualNorm(mesh, U, numVars, false);
+        residualNorm.update(cell -> cell.setU(0, 1.0));
+        assertArrayEquals(new double[]{2.0, 0, 0, 0, 0}, residualNorm.total(Norm.INFINITY_NORM), 0.0);
+
+        mesh.cells().get(0).setU(1, 0.5);
+        assertArrayEquals(new double[]{2.0, 8.0, 0, 0, 0}, residualNorm.total(Norm.INFINITY_NORM), 0.0);
+    }
+
+    @Test
+    public void modified_cell_averages_are_used_after_invalidation() throws IOException {
+        EulerEquations govEqn = new EulerEquations(1.4, 287);
+        int numVars = govEqn.numVars();
+        Mesh mesh = createMesh(3, 3, govEqn);
+        double[][] U = new double[mesh.cells().size()][numVars];
+        for (Cell cell : mesh.cells()) {
+            cell.dt = 0.5;
+        }
+
+        ResidualNorm residualNorm = new ResidualNorm(mesh, U, numVars, false);
+        residualNorm.setReuse(true);
+        residualNorm.update(cell -> cell.setU(0, 1.0));
+        assertArrayEquals(new double[]{2.0, 0, 0, 0, 0}, residualNorm.total(Norm.INFINITY_NORM), 0.0);
+
+        // the accumulated norm is reused until it is invalidated
+        mesh.cells().get(0).setU(1, 0.5);
+        assertArrayEquals(new double[]{2.0, 0, 0, 0, 0}, residualNorm.total(Norm.INFINITY_NORM), 0.0);
+        residualNorm.invalidate();
+        assertArrayEquals(new double[]{2.0, 8.0, 0, 0, 0}, residualNorm.total(Norm.INFINITY_NORM), 0.0);
+    }
+
+    private Mesh createMesh(int xi, int eta, EulerEquations govEqn) throws IOException {
+        File meshFile = new File("test/test_data/tempResidualNormMesh.cfds");
+        try (FileWriter fileWriter = new FileWriter(meshFile)) {
+            fileWriter.write("dimension = 2\nmode = ASCII\nxi = " + xi + "\neta = " + eta + "\n");
+            for (int i = 0; i < xi; i++) {
+                for (int j = 0; j < eta; j++) {
+                    fileWriter.write(i + " " + j + " 0\n");
+                }
+            }
+        }
+        BoundaryCondition bc = new ExtrapolatedBC(govEqn);
+        Mesh mesh = new Structured2DMesh(meshFile, govEqn.numVars(), bc, bc, bc, bc);
+        Files.delete(meshFile.toPath());
+
+        return mesh;
+    }
+}
@@ -0,0 +1,84 @@
+package main.solver.time;
+
+import main.mesh.Cell;
+import main.mesh.FieldStore;
+import main.mesh.Mesh;
+import main.mesh.factory.Unstructured2DMesh;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static main.util.TestHelper.assertThrows;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ResidualSmootherTest {
+
+    private static final int numVars = 2;
+
+    /**
+     * Unit eigenvalues and cell time steps of the given Courant number.
+     */
+    private Mesh createMesh(double courantNum) throws FileNotFoundException {
+        Mesh mesh = new Unstructured2DMesh(new File("test/test_data/mesh_unstructured_2d.cfdu"), numVars, Map.of());
+        Stream.concat(mesh.internalFaceStream(), mesh.boundaryStream().flatMap(b -> b.faces.stream()))
+                .forEach(face -> face.maxAbsEigenvalue = 1.0);
+        for (Cell cell : mesh.cells()) {
+            double spectralRadius = cell.faces.stream().mapToDouble(face -> face.surface.area).sum();
+            cell.dt = courantNum * cell.shape.volume / spectralRadius;
+        }
+        return mesh;
+    }
+
+    @Test
+    public void residuals_are_unchanged_below_the_unsmoothed_courant_number() throws FileNotFoundException {
+        Mesh mesh = createMesh(1.5);
+        FieldStore fields = mesh.fields();
+        Random rnd = new Random(3);
+        for (int i = 0; i < mesh.cells().size() * numVars; i++) {
+            fields.residual[i] = rnd.nextDouble();
+        }
+        double[] expected = fields.residual.clone();
+
+        ResidualSmoother residualSmoother = new ResidualSmoother(mesh, numVars, 2);
+        residualSmoother.setCoefficients(2.0, 0.25);
+        residualSmoother.smooth();
+        assertArrayEquals(expected, fields.residual, 0.0);
+
+        assertThrows(IllegalArgumentException.class, () -> new ResidualSmoother(mesh, numVars, 0));
+        assertThrows(IllegalArgumentException.class, () -> residualSmoother.setCoefficients(0.0, 0.25));
+    }
+
+    @Test
+    public void smoothing_keeps_uniform_updates_and_damps_oscillations() throws FileNotFoundException {
+        Mesh mesh = createMesh(4.0);
+        FieldStore fields = mesh.fields();
+        ResidualSmoother residualSmoother = new ResidualSmoother(mesh, numVars, 3);
+
+        // uniform update dt R / vol in the first variable, alternating sign in the second
+        Random rnd = new Random(5);
+        double[] sign = new double[mesh.cells().size()];
+        for (Cell cell : mesh.cells()) {
+            int offset = fields.cellOffset(cell.index());
+            sign[cell.index()] = rnd.nextBoolean() ? 1.0 : -1.0;
+            fields.residual[offset] = cell.shape.volume / cell.dt;
+            fields.residual[offset + 1] = sign[cell.index()] * cell.shape.volume / cell.dt;
+        }
+        residualSmoother.smooth();
+
+        double sumSqr = 0.0;
+        for (Cell cell : mesh.cells()) {
+            int offset = fields.cellOffset(cell.index());
+            assertEquals(1.0, fields.residual[offset] * cell.dt / cell.shape.volume, 1e-12);
+            double dU = fields.residual[offset + 1] * cell.dt / cell.shape.volume;
+            assertTrue(Math.abs(dU) < 1.0);
+            sumSqr += dU * dU;
+        }
+        assertTrue(sumSqr < 0.5 * mesh.cells().size());
+    }
+}
@@ -0,0 +1,95 @@
+package main.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static main.util.TestHelper.assertThrows;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GMRESTest {
+
+    private static final int N = 60;
+
+    /**
+     * Non-symmetric matrix with a dominant diagonal: A[i][i] = 4 + i / N, A[i][i - 1] = -1.5, A[i][i + 1] = -0.5,
+     * plus a random entry N / 2 columns away.
+     */
+    private final double[][] A = createMatrix();
+
+    private double[][] createMatrix() {
+        Random rnd = new Random(41);
+        double[][] A = new double[N][N];
+        for (int i = 0; i < N; i++) {
+            A[i][i] = 4 + (double) i / N;
+            if (i > 0) A[i][i - 1] = -1.5;
+            if (i < N - 1) A[i][i + 1] = -0.5;
+            A[i][(i + N / 2) % N] += rnd.nextDouble() - 0.5;
+        }
+        return A;
+    }
+
+    private void multiply(double[] x, double[] out) {
+        for (int i = 0; i < N; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < N; j++) {
+                sum += A[i][j] * x[j];
+            }
+            out[i] = sum;
+        }
+    }
+
+    @Test
+    public void solves_a_non_symmetric_system_with_restarts() {
+        double[] expectedX = DoubleArray.random(N, new Random(7));
+        double[] b = new double[N];
+        multiply(expectedX, b);
+
+        GMRES gmres = new GMRES(N, 5);
+        double[] x = new double[N];
+        int iterations = gmres.solve(this::multiply, (v, z) -> System.arraycopy(v, 0, z, 0, N), b, x, 1e-12, 500);
+
+        assertTrue(iterations > 5);
+        assertArrayEquals(expectedX, x, 1e-10);
+        assertTrue(gmres.residualNorm() <= 1e-12 * gmres.norm(b));
+    }
+
+    @Test
+    public void preconditioner_reduces_the_iterations() {
+        double[] b = DoubleArray.random(N, new Random(3));
+        GMRES gmres = new GMRES(N, 30);
+
+        double[] x = new double[N];
+        int unpreconditioned = gmres.solve(this::multiply, (v, z) -> System.arraycopy(v, 0, z, 0, N),
+                b, x, 1e-10, 500);
+        double[] expectedX = x.clone();
+
+        // Gauss-Seidel sweep with the lower triangle of the tri-diagonal part
+        GMRES.LinearOperator gaussSeidel = (v, z) -> {
+            for (int i = 0; i < N; i++) {
+                z[i] = (v[i] - (i > 0 ? A[i][i - 1] * z[i - 1] : 0.0)) / A[i][i];
+            }
+        };
+        x = new double[N];
+        int preconditioned = gmres.solve(this::multiply, gaussSeidel, b, x, 1e-10, 500);
+
+        assertTrue(preconditioned < unpreconditioned);
+        assertArrayEquals(expectedX, x, 1e-8);
+    }
+
+    @Test
+    public void stops_at_the_maximum_number_of_iterations() {
+        double[] b = DoubleArray.random(N, new Random(5));
+        GMRES gmres = new GMRES(N, 4);
+
+        double[] x = new double[N];
+        assertEquals(3, gmres.solve(this::multiply, (v, z) -> System.arraycopy(v, 0, z, 0, N), b, x, 1e-14, 3));
+        assertTrue(gmres.residualNorm() < gmres.norm(b));
+
+        assertThrows(IllegalArgumentException.class, () -> new GMRES(N, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> gmres.solve(this::multiply, this::multiply, new double[N + 1], x, 1e-6, 10));
+    }
+}
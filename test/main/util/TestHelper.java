@@ -122,10 +122,10 @@ public class TestHelper {
         if (!containsSameFaces(expected.faces, actual.faces, tolerance)) return false;
 
         // has same lengths of arrays
-        int numVars = expected.U.length;
-        if (numVars != actual.U.length) return false;
-        if (numVars != actual.residual.length) return false;
-        return numVars == actual.reconstructCoeffs.length;
+        int numVars = expected.numVars();
+        if (numVars != actual.numVars()) return false;
+        if (numVars != actual.residual().length) return false;
+        return numVars == actual.reconstructCoeffs().length;
     }
 
     private static boolean sameShape(Shape expected, Shape actual, double tolerance) {
@@ -171,9 +171,7 @@ public class TestHelper {
         }
 
         // Has same length of arrays
-        int numVars = expected.U.length;
-        if (numVars != actual.U.length) return false;
-        return numVars == actual.flux.length;
+        return expected.numVars() == actual.numVars();
     }
 
     private static int compareSurfaces(Surface expected, Surface actual, double tolerance) {